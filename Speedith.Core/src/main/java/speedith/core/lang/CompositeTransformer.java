@@ -0,0 +1,115 @@
+package speedith.core.lang;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static speedith.core.i18n.Translations.i18n;
+
+/**
+ * Applies several {@link Transformer transformers} in a single traversal of a
+ * spider diagram.
+ * <p>Every visited sub-diagram is given to each of the transformers that are
+ * not {@link Transformer#isDone() done} yet. The visited sub-diagram is
+ * exchanged with the diagram returned by the transformer that changed it. If
+ * more than one transformer changes the same sub-diagram, a {@link
+ * TransformationException} is thrown. The traversal descends into a compound
+ * spider diagram if at least one of the transformers returned {@code null}
+ * for it (and none of them changed it).</p>
+ * <p>The sub-diagram indices given to the transformers are the indices in the
+ * original spider diagram (the same as if the transformers were applied on
+ * their own). The transformers should therefore change different
+ * sub-diagrams, none of which contains another one.</p>
+ */
+public class CompositeTransformer implements Transformer {
+
+    private final List<Transformer> transformers;
+
+    /**
+     * Creates a transformer that applies all the given transformers in a
+     * single traversal.
+     * @param transformers the transformers to apply.
+     */
+    public CompositeTransformer(List<? extends Transformer> transformers) {
+        if (transformers == null) {
+            throw new IllegalArgumentException(i18n("GERR_NULL_ARGUMENT", "transformers"));
+        }
+        this.transformers = Collections.unmodifiableList(new ArrayList<>(transformers));
+    }
+
+    public List<Transformer> getTransformers() {
+        return transformers;
+    }
+
+    @Override
+    public SpiderDiagram transform(PrimarySpiderDiagram sd, int diagramIndex, ArrayList<CompoundSpiderDiagram> parents, ArrayList<Integer> childIndices) {
+        SpiderDiagram transformed = null;
+        boolean descend = false;
+        for (Transformer t : transformers) {
+            if (!t.isDone()) {
+                SpiderDiagram result = t.transform(sd, diagramIndex, parents, childIndices);
+                transformed = combine(sd, diagramIndex, transformed, result);
+                descend |= result == null;
+            }
+        }
+        return getResult(sd, transformed, descend);
+    }
+
+    @Override
+    public SpiderDiagram transform(NullSpiderDiagram sd, int diagramIndex, ArrayList<CompoundSpiderDiagram> parents, ArrayList<Integer> childIndices) {
+        SpiderDiagram transformed = null;
+        boolean descend = false;
+        for (Transformer t : transformers) {
+            if (!t.isDone()) {
+                SpiderDiagram result = t.transform(sd, diagramIndex, parents, childIndices);
+                transformed = combine(sd, diagramIndex, transformed, result);
+                descend |= result == null;
+            }
+        }
+        return getResult(sd, transformed, descend);
+    }
+
+    @Override
+    public SpiderDiagram transform(CompoundSpiderDiagram sd, int diagramIndex, ArrayList<CompoundSpiderDiagram> parents, ArrayList<Integer> childIndices) {
+        SpiderDiagram transformed = null;
+        boolean descend = false;
+        for (Transformer t : transformers) {
+            if (!t.isDone()) {
+                SpiderDiagram result = t.transform(sd, diagramIndex, parents, childIndices);
+                transformed = combine(sd, diagramIndex, transformed, result);
+                descend |= result == null;
+            }
+        }
+        return getResult(sd, transformed, descend);
+    }
+
+    @Override
+    public boolean isDone() {
+        for (Transformer t : transformers) {
+            if (!t.isDone()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the change made by one of the transformers (if any).
+     */
+    private static SpiderDiagram combine(SpiderDiagram sd, int diagramIndex, SpiderDiagram transformed, SpiderDiagram result) {
+        if (result == null || result == sd || result.equals(sd)) {
+            return transformed;
+        }
+        if (transformed != null) {
+            throw new TransformationException(i18n("TRANSFORM_CONFLICTING_TRANSFORMATIONS", diagramIndex));
+        }
+        return result;
+    }
+
+    private static SpiderDiagram getResult(SpiderDiagram sd, SpiderDiagram transformed, boolean descend) {
+        if (transformed != null) {
+            return transformed;
+        }
+        return descend ? null : sd;
+    }
+}
@@ -93,6 +93,7 @@ public class CompoundSpiderDiagram extends SpiderDiagram implements Serializable
     private boolean hashInvalid = true;
     private int hash;
     private int subDiagramCount = -1;
+    private transient volatile long fingerprint;
     private static final long serialVersionUID = 6756171788260505819L;
 
     /**
@@ -237,7 +238,12 @@ public class CompoundSpiderDiagram extends SpiderDiagram implements Serializable
         if (t == null) {
             throw new IllegalArgumentException(i18n("GERR_NULL_ARGUMENT", "t"));
         }
-        return transform(t, this, 0, trackParents ? new ArrayList<CompoundSpiderDiagram>() : null, trackParents ? new ArrayList<Integer>() : null);
+        ArrayList<CompoundSpiderDiagram> parents = trackParents ? new ArrayList<CompoundSpiderDiagram>() : null;
+        ArrayList<Integer> childIndices = trackParents ? new ArrayList<Integer>() : null;
+        if (t instanceof TargetedTransformer) {
+            return transformTarget((TargetedTransformer) t, this, 0, parents, childIndices);
+        }
+        return transform(t, this, 0, parents, childIndices);
     }
 
     @Override
@@ -369,6 +375,9 @@ public class CompoundSpiderDiagram extends SpiderDiagram implements Serializable
         if (equals(other)) {
             return true;
         }
+        if (other == null || getFingerprint() != other.getFingerprint()) {
+            return false;
+        }
         // 1.) We know that this diagram will equal to another compound spider
         // diagram if they have the same operator and semantically equivalent
         // operands:
@@ -396,6 +405,14 @@ public class CompoundSpiderDiagram extends SpiderDiagram implements Serializable
         return hash;
     }
 
+    @Override
+    public long getFingerprint() {
+        if (fingerprint == 0) {
+            fingerprint = Fingerprints.ofCompoundDiagram(operator, operands);
+        }
+        return fingerprint;
+    }
+
     @Override
     public void toString(Appendable sb) throws IOException {
         if (sb == null) {
@@ -525,6 +542,47 @@ public class CompoundSpiderDiagram extends SpiderDiagram implements Serializable
         }
     }
 
+    /**
+     * Descends directly to the target sub-diagram of the transformer (using
+     * the {@link SpiderDiagram#getSubDiagramCount() sub-diagram counts} of the
+     * operands) and applies the transformer only on it. Only the compound
+     * spider diagrams on the path to the target are rebuilt.
+     */
+    @SuppressWarnings("AccessingNonPublicFieldOfAnotherObject")
+    private static SpiderDiagram transformTarget(TargetedTransformer t, CompoundSpiderDiagram curSD, int subDiagramIndex, ArrayList<CompoundSpiderDiagram> parents, ArrayList<Integer> childIndices) {
+        int targetIndex = t.getTargetSubDiagramIndex();
+        if (targetIndex == subDiagramIndex) {
+            SpiderDiagram transformedSD = t.transform(curSD, subDiagramIndex, parents, childIndices);
+            return transformedSD == null ? curSD : transformedSD;
+        }
+        // Find the operand that contains the target. The sub-diagram index of
+        // each operand is increased by the number of sub-diagrams in the
+        // previous operands.
+        int childSubDiagramIndex = subDiagramIndex + 1;
+        for (int childIndex = 0; childIndex < curSD.operands.size() && childSubDiagramIndex <= targetIndex; ++childIndex) {
+            SpiderDiagram childSD = curSD.operands.get(childIndex);
+            int childSubDiagramCount = childSD.getSubDiagramCount();
+            if (targetIndex < childSubDiagramIndex + childSubDiagramCount) {
+                pushParent(parents, curSD);
+                pushChildIndex(childIndices, childIndex);
+                SpiderDiagram transformedSD = childSD instanceof CompoundSpiderDiagram
+                        ? transformTarget(t, (CompoundSpiderDiagram) childSD, childSubDiagramIndex, parents, childIndices)
+                        : __applyTransform(childSD, t, childSubDiagramIndex, parents, childIndices);
+                popChildIndex(childIndices);
+                popParent(parents);
+                if (transformedSD == null || transformedSD.equals(childSD)) {
+                    return curSD;
+                }
+                ArrayList<SpiderDiagram> transformedChildren = new ArrayList<>(curSD.operands);
+                transformedChildren.set(childIndex, transformedSD);
+                return SpiderDiagrams.createCompoundSD(curSD.getOperator(), transformedChildren, false);
+            }
+            childSubDiagramIndex += childSubDiagramCount;
+        }
+        // The target is not within this diagram.
+        return curSD;
+    }
+
     /**
      * Applies the transformer on the given spider diagram based on the type of
      * the spider diagram.
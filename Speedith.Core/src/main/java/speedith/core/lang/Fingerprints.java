@@ -0,0 +1,108 @@
+package speedith.core.lang;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Computes the 64-bit {@link SpiderDiagram#getFingerprint() fingerprints} of
+ * spider diagrams.
+ * <p>Fingerprints of sets (zones, regions, shaded zones) and of the operands
+ * of commutative operators are combined in an order-insensitive way. The
+ * fingerprint of a primary spider diagram does not depend on the names of its
+ * spiders nor on its present zones.</p>
+ */
+final class Fingerprints {
+
+    private static final long PrimarySeed = 0xbb67ae8584caa73bL;
+    private static final long CompoundSeed = 0x3c6ef372fe94f82bL;
+    private static final long ZoneSeed = 0xa54ff53a5f1d36f1L;
+
+    private static final long FnvOffsetBasis = 0xcbf29ce484222325L;
+    private static final long FnvPrime = 0x100000001b3L;
+
+    private Fingerprints() {
+    }
+
+    static long ofPrimaryDiagram(int spidersCount, Map<String, Region> habitats, Collection<Zone> shadedZones) {
+        long habitatsFingerprint = 0;
+        if (habitats != null) {
+            for (Region habitat : habitats.values()) {
+                habitatsFingerprint += mix(ofZones(habitat.sortedZones()));
+            }
+        }
+        long fingerprint = combine(PrimarySeed, spidersCount);
+        fingerprint = combine(fingerprint, habitatsFingerprint);
+        return finish(combine(fingerprint, ofZones(shadedZones)));
+    }
+
+    static long ofCompoundDiagram(Operator operator, Collection<SpiderDiagram> operands) {
+        long fingerprint = combine(CompoundSeed, operator.ordinal());
+        if (operator.isCommutative()) {
+            long operandsFingerprint = 0;
+            for (SpiderDiagram operand : operands) {
+                operandsFingerprint += mix(operand.getFingerprint());
+            }
+            fingerprint = combine(fingerprint, operandsFingerprint);
+        } else {
+            for (SpiderDiagram operand : operands) {
+                fingerprint = combine(fingerprint, operand.getFingerprint());
+            }
+        }
+        return finish(fingerprint);
+    }
+
+    private static long ofZones(Collection<Zone> zones) {
+        long fingerprint = 0;
+        if (zones != null) {
+            for (Zone zone : zones) {
+                fingerprint += mix(ofZone(zone));
+            }
+        }
+        return fingerprint;
+    }
+
+    private static long ofZone(Zone zone) {
+        return combine(combine(ZoneSeed, ofContours(zone.getInContours())), ofContours(zone.getOutContours()));
+    }
+
+    private static long ofContours(Collection<String> contours) {
+        long fingerprint = contours.size();
+        for (String contour : contours) {
+            fingerprint = combine(fingerprint, ofString(contour));
+        }
+        return fingerprint;
+    }
+
+    /**
+     * The 64-bit FNV-1a hash of the characters of the given string.
+     */
+    private static long ofString(String str) {
+        long hash = FnvOffsetBasis;
+        for (int i = 0; i < str.length(); i++) {
+            hash ^= str.charAt(i);
+            hash *= FnvPrime;
+        }
+        return hash;
+    }
+
+    private static long combine(long fingerprint, long value) {
+        return mix(fingerprint * 31 + value);
+    }
+
+    /**
+     * The finaliser of the SplitMix64 generator (a bijection with good
+     * avalanche properties).
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+
+    /**
+     * Fingerprints are cached lazily with zero meaning "not computed yet".
+     */
+    private static long finish(long fingerprint) {
+        return fingerprint == 0 ? 1 : fingerprint;
+    }
+}
@@ -0,0 +1,266 @@
+package speedith.core.lang;
+
+import java.io.Serializable;
+import java.util.*;
+
+import static speedith.core.i18n.Translations.i18n;
+
+/**
+ * An immutable map of spiders (their names) and their {@link Region habitats}
+ * in a {@link PrimarySpiderDiagram primary spider diagram}. The spiders are
+ * sorted by their names.
+ * <p>The hash code is computed once. Adding or replacing a habitat returns a
+ * new map that shares the spiders and habitats of the original map and only
+ * updates its hash code.</p>
+ */
+public final class Habitats extends AbstractMap<String, Region> implements SortedMap<String, Region>, Serializable {
+
+    private static final long serialVersionUID = 2583167790218463317L;
+    private static final Region[] NoRegions = new Region[0];
+    private static final Habitats Empty = new Habitats(Spiders.empty(), NoRegions, 0);
+
+    private final Spiders spiders;
+    /**
+     * The habitats of the spiders (in the order of the spiders).
+     */
+    private final Region[] regions;
+    private transient int hash;
+    private transient boolean hashValid;
+    private transient Set<Entry<String, Region>> entries;
+
+    private Habitats(Spiders spiders, Region[] regions) {
+        this.spiders = spiders;
+        this.regions = regions;
+    }
+
+    private Habitats(Spiders spiders, Region[] regions, int hash) {
+        this(spiders, regions);
+        this.hash = hash;
+        this.hashValid = true;
+    }
+
+    /**
+     * Returns the empty map of habitats.
+     *
+     * @return the empty map of habitats.
+     */
+    public static Habitats empty() {
+        return Empty;
+    }
+
+    /**
+     * Returns a map that contains the given spiders and their habitats.
+     * <p>The given map is returned as is if it is a map of habitats
+     * already.</p>
+     *
+     * @param habitats the spiders and their habitats (may be {@code null}).
+     * @return a map that contains the given spiders and their habitats.
+     */
+    public static Habitats of(Map<String, Region> habitats) {
+        if (habitats instanceof Habitats) {
+            return (Habitats) habitats;
+        }
+        if (habitats == null || habitats.isEmpty()) {
+            return Empty;
+        }
+        if (!(habitats instanceof SortedMap) || ((SortedMap<String, Region>) habitats).comparator() != null) {
+            habitats = new TreeMap<>(habitats);
+        }
+        Region[] regions = habitats.values().toArray(new Region[habitats.size()]);
+        return new Habitats(Spiders.of(habitats.keySet()), regions);
+    }
+
+    // <editor-fold defaultstate="collapsed" desc="Map Methods">
+    @Override
+    public int size() {
+        return regions.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return regions.length == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object spider) {
+        return spiders.contains(spider);
+    }
+
+    @Override
+    public Region get(Object spider) {
+        int index = spiders.indexOf(spider);
+        return index < 0 ? null : regions[index];
+    }
+
+    @Override
+    public Spiders keySet() {
+        return spiders;
+    }
+
+    @Override
+    public Collection<Region> values() {
+        return Collections.unmodifiableList(Arrays.asList(regions));
+    }
+
+    @Override
+    public Set<Entry<String, Region>> entrySet() {
+        if (entries == null) {
+            entries = new AbstractSet<Entry<String, Region>>() {
+                @Override
+                public Iterator<Entry<String, Region>> iterator() {
+                    return new EntryIterator();
+                }
+
+                @Override
+                public int size() {
+                    return regions.length;
+                }
+            };
+        }
+        return entries;
+    }
+
+    @Override
+    public int hashCode() {
+        if (!hashValid) {
+            int newHash = 0;
+            for (int i = 0; i < regions.length; i++) {
+                newHash += entryHash(spiders.elementAt(i), regions[i]);
+            }
+            hash = newHash;
+            hashValid = true;
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other == this) {
+            return true;
+        }
+        if (other instanceof Habitats) {
+            Habitats habitats = (Habitats) other;
+            return hashCode() == habitats.hashCode()
+                   && spiders.equals(habitats.spiders)
+                   && Arrays.equals(regions, habitats.regions);
+        }
+        return super.equals(other);
+    }
+    // </editor-fold>
+
+    // <editor-fold defaultstate="collapsed" desc="SortedMap Methods">
+    @Override
+    public Comparator<? super String> comparator() {
+        return null;
+    }
+
+    @Override
+    public String firstKey() {
+        return spiders.first();
+    }
+
+    @Override
+    public String lastKey() {
+        return spiders.last();
+    }
+
+    @Override
+    public SortedMap<String, Region> subMap(String fromKey, String toKey) {
+        return of(new TreeMap<>(this).subMap(fromKey, toKey));
+    }
+
+    @Override
+    public SortedMap<String, Region> headMap(String toKey) {
+        return of(new TreeMap<>(this).headMap(toKey));
+    }
+
+    @Override
+    public SortedMap<String, Region> tailMap(String fromKey) {
+        return of(new TreeMap<>(this).tailMap(fromKey));
+    }
+    // </editor-fold>
+
+    // <editor-fold defaultstate="collapsed" desc="Non-Destructive Updates">
+    /**
+     * Returns a map that contains the habitats of this map and the given
+     * habitat of the given spider. <p>If this map contains the spider already,
+     * its habitat is replaced.</p>
+     *
+     * @param spider the name of the spider.
+     * @param habitat the habitat of the spider.
+     * @return a map that contains the habitats of this map and the given
+     * habitat of the given spider.
+     */
+    public Habitats plus(String spider, Region habitat) {
+        if (spider == null) {
+            throw new IllegalArgumentException(i18n("GERR_NULL_ARGUMENT", "spider"));
+        }
+        int index = spiders.indexOf(spider);
+        if (index >= 0) {
+            Region oldHabitat = regions[index];
+            if (oldHabitat == null ? habitat == null : oldHabitat.equals(habitat)) {
+                return this;
+            }
+            Region[] newRegions = regions.clone();
+            newRegions[index] = habitat;
+            return new Habitats(spiders, newRegions, hashCode() - entryHash(spider, oldHabitat) + entryHash(spider, habitat));
+        }
+        index = -index - 1;
+        Region[] newRegions = new Region[regions.length + 1];
+        System.arraycopy(regions, 0, newRegions, 0, index);
+        newRegions[index] = habitat;
+        System.arraycopy(regions, index, newRegions, index + 1, regions.length - index);
+        return new Habitats(spiders.plus(spider), newRegions, hashCode() + entryHash(spider, habitat));
+    }
+
+    /**
+     * Returns a map without the habitat of the given spider. <p>Returns this
+     * map if it does not contain the spider.</p>
+     *
+     * @param spider the name of the spider.
+     * @return a map without the habitat of the given spider.
+     */
+    public Habitats minus(String spider) {
+        int index = spiders.indexOf(spider);
+        if (index < 0) {
+            return this;
+        }
+        if (regions.length == 1) {
+            return Empty;
+        }
+        Region[] newRegions = new Region[regions.length - 1];
+        System.arraycopy(regions, 0, newRegions, 0, index);
+        System.arraycopy(regions, index + 1, newRegions, index, newRegions.length - index);
+        return new Habitats(spiders.minus(Arrays.asList(spider)), newRegions, hashCode() - entryHash(spider, regions[index]));
+    }
+    // </editor-fold>
+
+    private static int entryHash(String spider, Region habitat) {
+        return spider.hashCode() ^ (habitat == null ? 0 : habitat.hashCode());
+    }
+
+    private class EntryIterator implements Iterator<Entry<String, Region>> {
+
+        private int index;
+
+        @Override
+        public boolean hasNext() {
+            return index < regions.length;
+        }
+
+        @Override
+        public Entry<String, Region> next() {
+            if (index >= regions.length) {
+                throw new NoSuchElementException();
+            }
+            Entry<String, Region> entry = new SimpleImmutableEntry<>(spiders.elementAt(index), regions[index]);
+            index++;
+            return entry;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
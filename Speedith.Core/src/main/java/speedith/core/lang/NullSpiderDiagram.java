@@ -110,6 +110,11 @@ public class NullSpiderDiagram extends SpiderDiagram {
     public int hashCode() {
         return 0xb8e9561a;
     }
+
+    @Override
+    public long getFingerprint() {
+        return 0x6a09e667f3bcc908L;
+    }
     // </editor-fold>
 
     // <editor-fold defaultstate="collapsed" desc="The Singleton Holder Class">
@@ -134,6 +134,16 @@ public enum Operator {
     return arity;
   }
 
+  /**
+   * Indicates whether the order of the operands of this operator does not
+   * matter (i.e.: conjunction, disjunction and equivalence).
+   *
+   * @return {@code true} iff this operator is commutative.
+   */
+  public boolean isCommutative() {
+    return this == Conjunction || this == Disjunction || this == Equivalence;
+  }
+
   /**
    * Returns the name of the operator.
    *
@@ -26,14 +26,10 @@
  */
 package speedith.core.lang;
 
-import propity.util.Sets;
-
-import java.io.IOException;
-import java.io.Serializable;
+import java.io.*;
 import java.util.*;
 import java.util.Map.Entry;
 
-import static propity.util.Sets.equal;
 import static speedith.core.i18n.Translations.i18n;
 
 /**
@@ -84,19 +80,50 @@ public class PrimarySpiderDiagram extends SpiderDiagram implements Serializable
      */
     public static final String SDTextSpidersAttribute = "spiders";
     private static final long serialVersionUID = -2824062283982956082L;
-    private final TreeSet<String> spiders;
-    private final TreeMap<String, Region> spiderHabitatsMap;
-    private final TreeSet<Zone> shadedZones;
-    private final TreeSet<Zone> presentZones;
-    private TreeSet<String> contours;
+    /**
+     * The serial form of primary spider diagrams predates {@link Spiders},
+     * {@link Habitats} and {@link ZoneSet zone sets}. The diagrams are written
+     * with the tree-based collections they used to store, so that proofs saved
+     * by earlier versions can still be read.
+     */
+    private static final ObjectStreamField[] serialPersistentFields = {
+        new ObjectStreamField("spiders", TreeSet.class),
+        new ObjectStreamField("spiderHabitatsMap", TreeMap.class),
+        new ObjectStreamField("shadedZones", TreeSet.class),
+        new ObjectStreamField("presentZones", TreeSet.class),
+        new ObjectStreamField("contours", TreeSet.class),
+        new ObjectStreamField("hashInvalid", Boolean.TYPE),
+        new ObjectStreamField("hash", Integer.TYPE),
+        new ObjectStreamField("valid", Boolean.class)
+    };
+    private final Spiders spiders;
+    private final Habitats spiderHabitatsMap;
+    private final ZoneSet shadedZones;
+    private final ZoneSet presentZones;
+    private SortedSet<String> contours;
     private boolean hashInvalid = true;
     private int hash;
+    private transient volatile long fingerprint;
+    /**
+     * Zone sets derived from the shaded and present zones. They are computed
+     * when first requested.
+     */
+    private transient volatile ZoneSet visibleShadedZones;
+    private transient volatile ZoneSet unshadedZones;
+    private transient volatile ZoneSet missingZones;
+    private transient volatile PrimarySpiderDiagram semanticNormalForm;
+    private transient volatile Boolean wellFormed;
     private Boolean valid;
+    /**
+     * The pooled diagram that replaces this one after deserialisation.
+     */
+    private transient PrimarySpiderDiagram deserialized;
 
     /**
      * Creates an instance of a primary spider diagram with the given spiders,
      * their habitats and shaded zones. <p>This method makes copies of the given
-     * parameters.</p>
+     * parameters (unless they are immutable {@link Spiders}, {@link Habitats}
+     * and {@link ZoneSet zone sets} already).</p>
      *
      * @param spiders a set of spiders (their names) that appear in this spider
      * diagram.
@@ -107,17 +134,16 @@ public class PrimarySpiderDiagram extends SpiderDiagram implements Serializable
      * if possible (see {@link PrimarySpiderDiagram#getPresentZones()}).
      */
     PrimarySpiderDiagram(Collection<String> spiders, Map<String, Region> habitats, Collection<Zone> shadedZones, Collection<Zone> presentZones) {
-        this(spiders == null ? null : new TreeSet<>(spiders),
-                habitats == null ? null : new TreeMap<>(habitats),
-                shadedZones == null ? null : new TreeSet<>(shadedZones),
-                presentZones == null ? null : new TreeSet<>(presentZones));
+        this(Spiders.of(spiders), Habitats.of(habitats), ZoneSet.of(shadedZones), ZoneSet.of(presentZones));
     }
 
     /**
      * Initialises a new primary spider diagram with the given set of spiders,
      * habitats and shaded zones. <p>Note that this method does <span
      * style="font-weight:bold">not</span> make copies of the input
-     * parameters.</p>
+     * parameters (they are immutable).</p> <p>This constructor does not check the given
+     * parameters either (it merely assigns them). Whether the diagram is
+     * well-formed is checked lazily by {@link PrimarySpiderDiagram#isValid()}.</p>
      *
      * @param spiders a set of spiders (their names) that appear in this spider
      * diagram.
@@ -127,44 +153,22 @@ public class PrimarySpiderDiagram extends SpiderDiagram implements Serializable
      * @param presentZones the set of zones that should be drawn in the diagram
      * if possible (see {@link PrimarySpiderDiagram#getPresentZones()}).
      */
-    PrimarySpiderDiagram(TreeSet<String> spiders, TreeMap<String, Region> habitats, TreeSet<Zone> shadedZones, TreeSet<Zone> presentZones) {
-        // TODO: This should be checked in 'isValid'. The construction of a
-        // primary spider diagram should be as quick as possible (just reference
-        // assignments). Also check that no habitat is an empty or null region
-        // in the 'isValid' method.
-
-        // Check that habitats don't talk about spiders not present in
-        // 'spiders'.
-        // If there aren't any spiders, then there should not be any habitats
-        // too.
-        if (spiders == null || spiders.isEmpty()) {
-            if (habitats != null && !habitats.isEmpty()) {
-                throw new IllegalArgumentException(i18n("ERR_SD_HABITATS_WITHOUT_SPIDERS"));
-            }
-        } else if (habitats != null) {
-            // But if there are some spiders, then we have to check that the
-            // habitats don't talk about non-existent spiders.
-            if (!Sets.isNaturalSubset(habitats.navigableKeySet(), spiders)) {
-                throw new IllegalArgumentException(i18n("ERR_SD_HABITATS_WITHOUT_SPIDERS"));
-            }
-        }
-
-        this.spiders = spiders == null ? new TreeSet<String>() : spiders;
-        this.spiderHabitatsMap = habitats == null ? new TreeMap<String, Region>() : habitats;
-        this.shadedZones = shadedZones == null ? new TreeSet<Zone>() : shadedZones;
-        this.presentZones = presentZones == null ? new TreeSet<Zone>() : presentZones;
+    PrimarySpiderDiagram(Spiders spiders, Habitats habitats, ZoneSet shadedZones, ZoneSet presentZones) {
+        this.spiders = spiders == null ? Spiders.empty() : spiders;
+        this.spiderHabitatsMap = habitats == null ? Habitats.empty() : habitats;
+        this.shadedZones = shadedZones == null ? ZoneSet.empty() : shadedZones;
+        this.presentZones = presentZones == null ? ZoneSet.empty() : presentZones;
     }
 
     /**
-     * Returns an unmodifiable key-value map of spiders with their corresponding
-     * {@link Region habitats}. <p>Note: this method may return
-     * {@code null}.</p>
+     * Returns an immutable key-value map of spiders with their corresponding
+     * {@link Region habitats}.
      *
-     * @return an unmodifiable key-value map of spiders with their corresponding
+     * @return an immutable key-value map of spiders with their corresponding
      * {@link Region habitats}.
      */
-    public SortedMap<String, Region> getHabitats() {
-        return Collections.unmodifiableSortedMap(spiderHabitatsMap);
+    public Habitats getHabitats() {
+        return spiderHabitatsMap;
     }
 
     /**
@@ -179,13 +183,13 @@ public class PrimarySpiderDiagram extends SpiderDiagram implements Serializable
     }
 
     /**
-     * Returns an unmodifiable set of shaded {@link Zone zones} in this spider
-     * diagram. <p>Note: this method may return {@code null}.</p>
+     * Returns the immutable set of shaded {@link Zone zones} in this spider
+     * diagram.
      *
      * @return a set of shaded {@link Zone zones} in this spider diagram..
      */
-    public SortedSet<Zone> getShadedZones() {
-        return Collections.unmodifiableSortedSet(shadedZones);
+    public ZoneSet getShadedZones() {
+        return shadedZones;
     }
 
     /**
@@ -208,11 +212,10 @@ public class PrimarySpiderDiagram extends SpiderDiagram implements Serializable
      * shaded intersection zone). This set indicates whether or not to draw such
      * zones.</p>
      *
-     * @return a set of zones that should be drawn in the diagram. <p>May return
-     * {@code null}.</p>
+     * @return the immutable set of zones that should be drawn in the diagram.
      */
-    public SortedSet<Zone> getPresentZones() {
-        return Collections.unmodifiableSortedSet(presentZones);
+    public ZoneSet getPresentZones() {
+        return presentZones;
     }
 
     /**
@@ -228,14 +231,83 @@ public class PrimarySpiderDiagram extends SpiderDiagram implements Serializable
     }
 
     /**
-     * Returns an unmodifiable set of spiders (their names) that appear in this
-     * spider diagram. <p>Note: this method may return {@code null}.</p>
+     * Returns an unmodifiable set of the {@link
+     * PrimarySpiderDiagram#getShadedZones() shaded zones} that are also {@link
+     * PrimarySpiderDiagram#getPresentZones() present} in this spider diagram
+     * (i.e.: the zones that are drawn shaded). <p>The set is computed once and
+     * shared by all callers.</p>
+     *
+     * @return the shaded zones that are present in this spider diagram.
+     */
+    public ZoneSet getVisibleShadedZones() {
+        ZoneSet zones = visibleShadedZones;
+        if (zones == null) {
+            visibleShadedZones = zones = shadedZones.intersect(presentZones);
+        }
+        return zones;
+    }
+
+    /**
+     * Returns an unmodifiable set of the {@link
+     * PrimarySpiderDiagram#getPresentZones() present zones} that are not
+     * {@link PrimarySpiderDiagram#getShadedZones() shaded}. <p>The set is
+     * computed once and shared by all callers.</p>
+     *
+     * @return the present zones that are not shaded.
+     */
+    public ZoneSet getUnshadedZones() {
+        ZoneSet zones = unshadedZones;
+        if (zones == null) {
+            unshadedZones = zones = presentZones.minus(shadedZones);
+        }
+        return zones;
+    }
+
+    /**
+     * Returns an unmodifiable set of the {@link
+     * PrimarySpiderDiagram#getShadedZones() shaded zones} that are not {@link
+     * PrimarySpiderDiagram#getPresentZones() present} in this spider diagram
+     * (i.e.: the missing zones). <p>The set is computed once and shared by all
+     * callers.</p>
+     *
+     * @return the shaded zones that are not present in this spider diagram.
+     */
+    public ZoneSet getMissingZones() {
+        ZoneSet zones = missingZones;
+        if (zones == null) {
+            missingZones = zones = shadedZones.minus(presentZones);
+        }
+        return zones;
+    }
+
+    /**
+     * Returns a primary spider diagram that has the same models as this one
+     * and is equal to the normal forms of all diagrams that differ from this
+     * one only in their presentation (i.e.: in their present zones, in the
+     * names of their spiders, or in contours that do not distinguish any
+     * zones). <p>The normal form is computed once.</p>
+     * <p>Equal normal forms imply semantic equivalence, but semantically
+     * equivalent diagrams may still have different normal forms.</p>
+     *
+     * @return the semantic normal form of this diagram.
+     */
+    public PrimarySpiderDiagram getSemanticNormalForm() {
+        PrimarySpiderDiagram normalForm = semanticNormalForm;
+        if (normalForm == null) {
+            semanticNormalForm = normalForm = SemanticNormalForms.of(this);
+        }
+        return normalForm;
+    }
+
+    /**
+     * Returns the immutable set of spiders (their names) that appear in this
+     * spider diagram.
      *
      * @return a set of spiders (their names) that appear in this spider
      * diagram.
      */
-    public SortedSet<String> getSpiders() {
-        return Collections.unmodifiableSortedSet(spiders);
+    public Spiders getSpiders() {
+        return spiders;
     }
 
     /**
@@ -277,7 +349,7 @@ public class PrimarySpiderDiagram extends SpiderDiagram implements Serializable
      * spider diagram.</p> <p><span style="font-weight:bold">Important</span>:
      * this method returns the set of all contours only if this primary spider
      * diagram is {@link
-     * PrimarySpiderDiagram#isValid() valid}, otherwise an {@link UnsupportedOperationException
+     * PrimarySpiderDiagram#isWellFormed() well-formed}, otherwise an {@link UnsupportedOperationException
      * exception} is thrown.</p> <p>Note: this method never returns
      * {@code null}. If there are no contours then this method will return an
      * empty set.</p>
@@ -287,7 +359,7 @@ public class PrimarySpiderDiagram extends SpiderDiagram implements Serializable
      * primary spider diagram.
      */
     public SortedSet<String> getAllContours() {
-        if (isValid()) {
+        if (isWellFormed()) {
             return getContours();
         } else {
             throw new UnsupportedOperationException();
@@ -336,6 +408,29 @@ public class PrimarySpiderDiagram extends SpiderDiagram implements Serializable
         return valid;
     }
 
+    /**
+     * Indicates whether all zones of this diagram (its shaded zones, present
+     * zones and the zones of its habitats) mention exactly the contours of
+     * this diagram and whether every habitat belongs to one of its spiders and
+     * has at least one zone. <p>Unlike {@link PrimarySpiderDiagram#isValid()},
+     * this method does not require the outer zone to be present. The contours
+     * of a well-formed diagram (see {@link PrimarySpiderDiagram#getAllContours()})
+     * are well-defined.</p>
+     *
+     * @return {@code true} if and only if this diagram is well-formed.
+     */
+    public boolean isWellFormed() {
+        Boolean result = wellFormed;
+        if (result == null) {
+            SortedSet<String> allContours = getContours();
+            wellFormed = result = areHabitatsOfSpiders()
+                                  && areHabitatZonesValid(allContours)
+                                  && areShadedZonesValid(allContours)
+                                  && arePresentZonesWellFormed(allContours);
+        }
+        return result;
+    }
+
     @Override
     public SpiderDiagram transform(Transformer t, boolean trackParents) {
         if (t == null) {
@@ -369,17 +464,15 @@ public class PrimarySpiderDiagram extends SpiderDiagram implements Serializable
     }
 
     public PrimarySpiderDiagram addShading(Collection<Zone> zones) {
-        TreeSet<Zone> newShadedZones = new TreeSet<>(shadedZones);
         for (Zone newShadedZone : zones) {
             if (!newShadedZone.isValid(getAllContours())) {
                 throw new IllegalArgumentException("The zone '" + newShadedZone + "' is not valid in this diagram.");
             }
         }
-        newShadedZones.addAll(zones);
-        return new PrimarySpiderDiagram(
+        return SpiderDiagrams.createPrimarySD(
                 spiders,
                 spiderHabitatsMap,
-                newShadedZones,
+                shadedZones.plus(zones),
                 presentZones
         );
     }
@@ -396,6 +489,9 @@ public class PrimarySpiderDiagram extends SpiderDiagram implements Serializable
         if (equals(other)) {
             return true;
         }
+        if (other == null || getFingerprint() != other.getFingerprint()) {
+            return false;
+        }
         // Well, firstly, the diagrams have to be of the same type:
         if (other instanceof PrimarySpiderDiagram) {
             PrimarySpiderDiagram psd = (PrimarySpiderDiagram) other;
@@ -409,7 +505,7 @@ public class PrimarySpiderDiagram extends SpiderDiagram implements Serializable
                 return false;
             }
             // Also, shaded zones should be the same!
-            return equal(shadedZones, psd.shadedZones);
+            return shadedZones.equals(psd.shadedZones);
 
             // NOTE: Present zones do not influence the semantics of the spider
             // diagram.
@@ -420,15 +516,23 @@ public class PrimarySpiderDiagram extends SpiderDiagram implements Serializable
     @Override
     public int hashCode() {
         if (hashInvalid) {
-            hash = (spiders == null ? 0 : spiders.hashCode())
-                    + (spiderHabitatsMap == null ? 0 : spiderHabitatsMap.hashCode())
-                    + (shadedZones == null ? 0 : shadedZones.hashCode())
-                    + (presentZones == null ? 0 : presentZones.hashCode());
+            hash = spiders.hashCode()
+                    + spiderHabitatsMap.hashCode()
+                    + shadedZones.hashCode()
+                    + presentZones.hashCode();
             hashInvalid = false;
         }
         return hash;
     }
 
+    @Override
+    public long getFingerprint() {
+        if (fingerprint == 0) {
+            fingerprint = Fingerprints.ofPrimaryDiagram(getSpidersCount(), spiderHabitatsMap, shadedZones);
+        }
+        return fingerprint;
+    }
+
     /**
      * Creates a copy of this primary spider diagram that contains the given
      * spider and its habitat. <p>If the original primary spider diagram already
@@ -441,26 +545,8 @@ public class PrimarySpiderDiagram extends SpiderDiagram implements Serializable
      * spider and its habitat.
      */
     public PrimarySpiderDiagram addSpider(String spider, Region habitat) {
-        // Add the habitat to the map of spiders and their habitats.
-        TreeMap<String, Region> newHabitats = (spiderHabitatsMap == null) ? new TreeMap<String, Region>() : new TreeMap<>(spiderHabitatsMap);
-        newHabitats.put(spider, habitat);
-        // Now add the spider to the set of all spiders. Maybe we can reuse the
-        // set if it already contains the spider.
-        TreeSet<String> newSpiders;
-        if (spiders != null) {
-            if (spiders.contains(spider)) {
-                newSpiders = spiders;
-            } else {
-                newSpiders = new TreeSet<>(spiders);
-                newSpiders.add(spider);
-            }
-        } else {
-            newSpiders = new TreeSet<>();
-            newSpiders.add(spider);
-        }
-        // Finally construct the spider diagram (without making any copies of
-        // the spiders, habitats, and shaded zones collections).
-        return SpiderDiagrams.createPrimarySD(newSpiders, newHabitats, shadedZones, presentZones, false);
+        // The set of spiders is reused if it already contains the spider.
+        return SpiderDiagrams.createPrimarySD(spiders.plus(spider), spiderHabitatsMap.plus(spider, habitat), shadedZones, presentZones);
     }
 
     @Override
@@ -475,9 +561,7 @@ public class PrimarySpiderDiagram extends SpiderDiagram implements Serializable
         printHabitats(sb);
         sb.append(", ");
         printShadedZones(sb);
-        if (presentZones != null) {
-            printPresentZones(sb.append(", "));
-        }
+        printPresentZones(sb.append(", "));
         sb.append('}');
     }
 
@@ -528,7 +612,7 @@ public class PrimarySpiderDiagram extends SpiderDiagram implements Serializable
     private void printHabitats(Appendable sb) throws IOException {
         sb.append(SDTextHabitatsAttribute).append(" = ");
         sb.append('[');
-        if (spiderHabitatsMap != null && !spiderHabitatsMap.isEmpty()) {
+        if (!spiderHabitatsMap.isEmpty()) {
             Iterator<Entry<String, Region>> spIterator = spiderHabitatsMap.entrySet().iterator();
             if (spIterator.hasNext()) {
                 Entry<String, Region> habitat = spIterator.next();
@@ -548,10 +632,10 @@ public class PrimarySpiderDiagram extends SpiderDiagram implements Serializable
     @SuppressWarnings("AccessingNonPublicFieldOfAnotherObject")
     private boolean __isPsdEqual(PrimarySpiderDiagram psd) {
         return hashCode() == psd.hashCode()
-                && equal(spiders, psd.spiders)
-                && equal(spiderHabitatsMap == null ? null : spiderHabitatsMap.entrySet(), psd.spiderHabitatsMap == null ? null : psd.spiderHabitatsMap.entrySet())
-                && equal(shadedZones, psd.shadedZones)
-                && equal(presentZones, psd.presentZones);
+                && spiders.equals(psd.spiders)
+                && spiderHabitatsMap.equals(psd.spiderHabitatsMap)
+                && shadedZones.equals(psd.shadedZones)
+                && presentZones.equals(psd.presentZones);
     }
 
     /**
@@ -580,61 +664,18 @@ public class PrimarySpiderDiagram extends SpiderDiagram implements Serializable
     }
 
     /**
-     * Traverses all zones mentioned in this primary spider diagram and collects
-     * all names of contours mentioned in these zones.
+     * Looks up the contours mentioned in the first habitat, or the shaded
+     * zones, or the present zones of this primary spider diagram. The contours
+     * of zones and zone sets are cached, so nothing is recomputed here.
      */
-    private void extractContours() {
-        if (contours == null) {
-            contours = new TreeSet<>();
-            if (extractContoursFromHabitats()
-                    || extractContoursFromShadedZones()
-                    || extractContoursFromPresentZones());
-        }
-    }
-
-    private boolean extractContoursFromHabitats() {
+    private SortedSet<String> extractContours() {
         if (getHabitatsCount() > 0) {
-            Region region = spiderHabitatsMap.firstEntry().getValue();
+            Region region = spiderHabitatsMap.get(spiderHabitatsMap.firstKey());
             if (region.getZonesCount() > 0) {
-                Zone zone = region.sortedZones().first();
-                if (zone.getInContoursCount() > 0) {
-                    contours.addAll(zone.getInContours());
-                }
-                if (zone.getOutContoursCount() > 0) {
-                    contours.addAll(zone.getOutContours());
-                }
-                return true;
-            }
-        }
-        return false;
-    }
-
-    private boolean extractContoursFromShadedZones() {
-        if (getShadedZonesCount() > 0) {
-            Zone zone = shadedZones.first();
-            if (zone.getInContoursCount() > 0) {
-                contours.addAll(zone.getInContours());
-            }
-            if (zone.getOutContoursCount() > 0) {
-                contours.addAll(zone.getOutContours());
+                return region.sortedZones().first().getAllContours();
             }
-            return true;
         }
-        return false;
-    }
-
-    private boolean extractContoursFromPresentZones() {
-        if (getPresentZonesCount() > 0) {
-            Zone zone = presentZones.first();
-            if (zone.getInContoursCount() > 0) {
-                contours.addAll(zone.getInContours());
-            }
-            if (zone.getOutContoursCount() > 0) {
-                contours.addAll(zone.getOutContours());
-            }
-            return true;
-        }
-        return false;
+        return getShadedZonesCount() > 0 ? shadedZones.getContours() : presentZones.getContours();
     }
 
     /**
@@ -644,52 +685,57 @@ public class PrimarySpiderDiagram extends SpiderDiagram implements Serializable
      * @return see {@link PrimarySpiderDiagram#isValid()}.
      */
     private boolean checkValid() {
-        SortedSet<String> contours = getContours();
-        return areHabitatZonesValid(contours)
-               && areShadedZonesValid(contours)
-               && arePresentZonesValid(contours);
+        return isWellFormed() && isOuterZonePresent();
+    }
+
+    /**
+     * Checks that the habitats don't talk about spiders that are not in this
+     * diagram.
+     */
+    private boolean areHabitatsOfSpiders() {
+        return spiderHabitatsMap.isEmpty()
+               || spiders.containsAll(spiderHabitatsMap.keySet());
     }
 
-    private boolean arePresentZonesValid(SortedSet<String> contours) {
+    private boolean isOuterZonePresent() {
         // we need the outer zone (outside of all contours)
         // to be present at all times
-        boolean outerZonePresent = false;
-        if (this.presentZones != null) {
-            for (Zone zone : presentZones) {
-                if (zone.getInContoursCount() == 0) {
-                    outerZonePresent = true;
-                }
-                if (!zone.isValid(contours)) {
-                    return false;
-                }
+        for (Zone zone : presentZones) {
+            if (zone.getInContoursCount() == 0) {
+                return true;
             }
         }
-        return outerZonePresent;
+        return false;
+    }
+
+    private boolean arePresentZonesWellFormed(SortedSet<String> contours) {
+        for (Zone zone : presentZones) {
+            if (!zone.isValid(contours)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     private boolean areShadedZonesValid(SortedSet<String> contours) {
-        if (this.shadedZones != null) {
-            for (Zone zone : this.shadedZones) {
-                if (!zone.isValid(contours)) {
-                    return false;
-                }
+        for (Zone zone : this.shadedZones) {
+            if (!zone.isValid(contours)) {
+                return false;
             }
         }
         return true;
     }
 
     private boolean areHabitatZonesValid(SortedSet<String> contours) {
-        if (spiderHabitatsMap != null) {
-            for (Region region : this.spiderHabitatsMap.values()) {
-                if (region.getZonesCount() > 0) {
-                    for (Zone zone : region.sortedZones()) {
-                        if (!zone.isValid(contours)) {
-                            return false;
-                        }
+        for (Region region : this.spiderHabitatsMap.values()) {
+            if (region.getZonesCount() > 0) {
+                for (Zone zone : region.sortedZones()) {
+                    if (!zone.isValid(contours)) {
+                        return false;
                     }
-                } else {
-                    return false;
                 }
+            } else {
+                return false;
             }
         }
         return true;
@@ -717,8 +763,38 @@ public class PrimarySpiderDiagram extends SpiderDiagram implements Serializable
      * chosen zone of this primary spider diagram.
      */
     SortedSet<String> getContours() {
-        extractContours();
-        return Collections.unmodifiableSortedSet(contours);
+        if (contours == null) {
+            contours = extractContours();
+        }
+        return contours;
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("spiders", new TreeSet<>(spiders));
+        fields.put("spiderHabitatsMap", new TreeMap<>(spiderHabitatsMap));
+        fields.put("shadedZones", new TreeSet<>(shadedZones));
+        fields.put("presentZones", new TreeSet<>(presentZones));
+        // the contours, the hash and the validity are recomputed when needed
+        fields.put("contours", null);
+        fields.put("hashInvalid", true);
+        fields.put("hash", 0);
+        fields.put("valid", null);
+        out.writeFields();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        deserialized = SpiderDiagrams.createPrimarySD(
+                (Collection<String>) fields.get("spiders", null),
+                (Map<String, Region>) fields.get("spiderHabitatsMap", null),
+                (Collection<Zone>) fields.get("shadedZones", null),
+                (Collection<Zone>) fields.get("presentZones", null));
+    }
+
+    private Object readResolve() {
+        return deserialized;
     }
 
     /**
@@ -0,0 +1,103 @@
+package speedith.core.lang;
+
+import java.util.*;
+
+/**
+ * Computes the {@link PrimarySpiderDiagram#getSemanticNormalForm() semantic
+ * normal forms} of primary spider diagrams.
+ * <p>The normal form removes the presentation details that do not change the
+ * models of a diagram:</p>
+ * <ul>
+ * <li>the present zones (missing zones and shaded zones without spiders have
+ * the same semantics), except for the outer zone, which every valid diagram
+ * presents,</li>
+ * <li>the names of the spiders (spiders are existentially quantified) and</li>
+ * <li>the contours that do not distinguish any zones (a contour is free if
+ * flipping it in any zone does not change whether the zone is shaded nor which
+ * habitats contain it).</li>
+ * </ul>
+ * <p>Removing a free contour does not make any other contour free, so all free
+ * contours are removed at once and the result is a normal form of itself.</p>
+ * <p>Only {@link PrimarySpiderDiagram#isWellFormed() well-formed} diagrams are
+ * normalised. Whether the outer zone of the given diagram is present does not
+ * matter.</p>
+ */
+final class SemanticNormalForms {
+
+    private static final String SpiderNamePrefix = "s";
+
+    private SemanticNormalForms() {
+    }
+
+    static PrimarySpiderDiagram of(PrimarySpiderDiagram psd) {
+        if (!psd.isWellFormed()) {
+            return psd;
+        }
+        Collection<Region> habitats = psd.getHabitats().values();
+        ZoneSet shadedZones = psd.getShadedZones();
+
+        ArrayList<String> freeContours = new ArrayList<>();
+        ArrayList<String> remainingContours = new ArrayList<>();
+        for (String contour : psd.getAllContours()) {
+            if (isFree(contour, shadedZones, habitats)) {
+                freeContours.add(contour);
+            } else {
+                remainingContours.add(contour);
+            }
+        }
+
+        ArrayList<Region> sortedHabitats = new ArrayList<>();
+        for (Region habitat : habitats) {
+            sortedHabitats.add(freeContours.isEmpty() ? habitat : new Region(withoutContours(habitat.sortedZones(), freeContours)));
+        }
+        Collections.sort(sortedHabitats);
+        Habitats normalHabitats = Habitats.empty();
+        for (int i = 0; i < sortedHabitats.size(); i++) {
+            normalHabitats = normalHabitats.plus(SpiderNamePrefix + i, sortedHabitats.get(i));
+        }
+
+        ZoneSet normalShadedZones = freeContours.isEmpty() ? shadedZones : ZoneSet.of(withoutContours(shadedZones, freeContours));
+        ZoneSet outerZone = ZoneSet.of(new Zone(null, remainingContours));
+        return SpiderDiagrams.createPrimarySD(normalHabitats.keySet(), normalHabitats, normalShadedZones, outerZone);
+    }
+
+    private static boolean isFree(String contour, ZoneSet shadedZones, Collection<Region> habitats) {
+        for (Zone zone : shadedZones) {
+            if (!shadedZones.contains(flip(zone, contour))) {
+                return false;
+            }
+        }
+        for (Region habitat : habitats) {
+            ZoneSet zones = habitat.sortedZones();
+            for (Zone zone : zones) {
+                if (!zones.contains(flip(zone, contour))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static Zone flip(Zone zone, String contour) {
+        TreeSet<String> inContours = new TreeSet<>(zone.getInContours());
+        TreeSet<String> outContours = new TreeSet<>(zone.getOutContours());
+        if (inContours.remove(contour)) {
+            outContours.add(contour);
+        } else if (outContours.remove(contour)) {
+            inContours.add(contour);
+        }
+        return new Zone(inContours, outContours);
+    }
+
+    private static ArrayList<Zone> withoutContours(Collection<Zone> zones, Collection<String> contours) {
+        ArrayList<Zone> result = new ArrayList<>();
+        for (Zone zone : zones) {
+            TreeSet<String> inContours = new TreeSet<>(zone.getInContours());
+            TreeSet<String> outContours = new TreeSet<>(zone.getOutContours());
+            inContours.removeAll(contours);
+            outContours.removeAll(contours);
+            result.add(new Zone(inContours, outContours));
+        }
+        return result;
+    }
+}
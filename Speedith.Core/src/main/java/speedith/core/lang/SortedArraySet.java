@@ -0,0 +1,356 @@
+package speedith.core.lang;
+
+import java.io.Serializable;
+import java.util.*;
+
+import static speedith.core.i18n.Translations.i18n;
+
+/**
+ * An immutable set of naturally ordered elements that are stored in a sorted
+ * array. It is the common base of the value types of the primary spider
+ * diagrams (see {@link ZoneSet} and {@link Spiders}).
+ * <p>The hash code is computed once. Two sets of the same type are compared
+ * by their hash codes first and then element-wise, without any lookups.</p>
+ * <p>Adding or removing elements returns a new set (or this set if nothing
+ * changes). The new set reuses the elements of this set and updates the
+ * cached hash code instead of recomputing it.</p>
+ *
+ * @param <E> the type of the elements.
+ */
+public abstract class SortedArraySet<E extends Comparable<E>> extends AbstractSet<E> implements SortedSet<E>, Serializable {
+
+    private static final long serialVersionUID = -3412868473527416453L;
+    static final Object[] NoElements = new Object[0];
+
+    private final Object[] elements;
+    private transient int hash;
+    private transient boolean hashValid;
+
+    /**
+     * Wraps the given array (which must be sorted and without duplicates).
+     */
+    SortedArraySet(Object[] sortedElements) {
+        this.elements = sortedElements;
+    }
+
+    /**
+     * Wraps the given array (which must be sorted and without duplicates) and
+     * sets the hash code of the set.
+     */
+    SortedArraySet(Object[] sortedElements, int hash) {
+        this.elements = sortedElements;
+        this.hash = hash;
+        this.hashValid = true;
+    }
+
+    /**
+     * Creates a set of the same type as this one from the given sorted array.
+     */
+    abstract SortedArraySet<E> create(Object[] sortedElements, int hash);
+
+    // <editor-fold defaultstate="collapsed" desc="Set Methods">
+    @Override
+    public int size() {
+        return elements.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return elements.length == 0;
+    }
+
+    @Override
+    public boolean contains(Object element) {
+        return indexOf(element) >= 0;
+    }
+
+    /**
+     * Checks whether this set contains all the elements of the given
+     * collection. <p>Two sets of the same type are compared with a single
+     * linear merge.</p>
+     */
+    @Override
+    public boolean containsAll(Collection<?> collection) {
+        if (collection != null && collection.getClass() == getClass()) {
+            Object[] others = ((SortedArraySet<?>) collection).elements;
+            if (others.length > elements.length) {
+                return false;
+            }
+            int i = 0;
+            for (Object other : others) {
+                i = advanceTo(elements, i, other);
+                if (i == elements.length || compare(elements[i], other) != 0) {
+                    return false;
+                }
+                i++;
+            }
+            return true;
+        }
+        return super.containsAll(collection);
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new ArrayIterator<>(elements, 0, elements.length);
+    }
+
+    @Override
+    public Object[] toArray() {
+        return elements.clone();
+    }
+
+    @Override
+    public int hashCode() {
+        if (!hashValid) {
+            hash = hashOf(elements, 0, elements.length);
+            hashValid = true;
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other == this) {
+            return true;
+        }
+        if (other instanceof SortedArraySet) {
+            SortedArraySet<?> set = (SortedArraySet<?>) other;
+            return elements.length == set.elements.length
+                   && hashCode() == set.hashCode()
+                   && Arrays.equals(elements, set.elements);
+        }
+        return super.equals(other);
+    }
+    // </editor-fold>
+
+    // <editor-fold defaultstate="collapsed" desc="SortedSet Methods">
+    @Override
+    public Comparator<? super E> comparator() {
+        return null;
+    }
+
+    @Override
+    public E first() {
+        if (elements.length == 0) {
+            throw new NoSuchElementException();
+        }
+        return elementAt(0);
+    }
+
+    @Override
+    public E last() {
+        if (elements.length == 0) {
+            throw new NoSuchElementException();
+        }
+        return elementAt(elements.length - 1);
+    }
+
+    @Override
+    public SortedSet<E> subSet(E fromElement, E toElement) {
+        if (fromElement.compareTo(toElement) > 0) {
+            throw new IllegalArgumentException(i18n("GERR_ILLEGAL_ARGUMENT", "fromElement"));
+        }
+        return range(insertionPoint(fromElement), insertionPoint(toElement));
+    }
+
+    @Override
+    public SortedSet<E> headSet(E toElement) {
+        return range(0, insertionPoint(toElement));
+    }
+
+    @Override
+    public SortedSet<E> tailSet(E fromElement) {
+        return range(insertionPoint(fromElement), elements.length);
+    }
+    // </editor-fold>
+
+    // <editor-fold defaultstate="collapsed" desc="Non-Destructive Updates">
+    /**
+     * Returns a set that contains the elements of this set and the given
+     * elements. <p>Returns this set if it already contains all the given
+     * elements.</p>
+     */
+    SortedArraySet<E> withAll(Collection<? extends E> added) {
+        if (added == null || added.isEmpty()) {
+            return this;
+        }
+        Object[] newElements = sortedDistinct(added);
+        Object[] merged = new Object[elements.length + newElements.length];
+        int newHash = hashCode();
+        int i = 0, j = 0, k = 0;
+        while (j < newElements.length) {
+            int cmp = i < elements.length ? compare(elements[i], newElements[j]) : 1;
+            if (cmp < 0) {
+                merged[k++] = elements[i++];
+            } else if (cmp > 0) {
+                newHash += newElements[j].hashCode();
+                merged[k++] = newElements[j++];
+            } else {
+                merged[k++] = elements[i++];
+                j++;
+            }
+        }
+        if (k == i) {
+            return this;
+        }
+        System.arraycopy(elements, i, merged, k, elements.length - i);
+        k += elements.length - i;
+        return create(k == merged.length ? merged : Arrays.copyOf(merged, k), newHash);
+    }
+
+    /**
+     * Returns a set that contains the elements of this set that are (or are
+     * not) contained in the given collection. <p>Returns this set if all its
+     * elements are kept. Sets of the same type are filtered with a single
+     * linear merge.</p>
+     */
+    SortedArraySet<E> filter(Collection<?> others, boolean contained) {
+        if (elements.length == 0 || ((others == null || others.isEmpty()) && !contained)) {
+            return this;
+        }
+        Object[] sortedOthers = others != null && others.getClass() == getClass() ? ((SortedArraySet<?>) others).elements : null;
+        Object[] kept = new Object[elements.length];
+        int newHash = hashCode();
+        int k = 0, j = 0;
+        for (Object element : elements) {
+            boolean isContained;
+            if (sortedOthers == null) {
+                isContained = others != null && others.contains(element);
+            } else {
+                j = advanceTo(sortedOthers, j, element);
+                isContained = j < sortedOthers.length && compare(sortedOthers[j], element) == 0;
+            }
+            if (isContained == contained) {
+                kept[k++] = element;
+            } else {
+                newHash -= element.hashCode();
+            }
+        }
+        if (k == elements.length) {
+            return this;
+        }
+        return create(k == 0 ? NoElements : Arrays.copyOf(kept, k), newHash);
+    }
+    // </editor-fold>
+
+    // <editor-fold defaultstate="collapsed" desc="Helper Methods">
+    @SuppressWarnings("unchecked")
+    final E elementAt(int index) {
+        return (E) elements[index];
+    }
+
+    /**
+     * Returns the index of the given element or a negative number if this set
+     * does not contain it.
+     */
+    final int indexOf(Object element) {
+        if (element == null || elements.length == 0) {
+            return -1;
+        }
+        try {
+            return Arrays.binarySearch(elements, element);
+        } catch (ClassCastException ex) {
+            return -1;
+        }
+    }
+
+    /**
+     * Returns the elements of the given collection sorted and without
+     * duplicates. <p>Sorted sets with natural ordering are not sorted
+     * again. The (immutable) array of a sorted array set is returned as
+     * is.</p>
+     */
+    static Object[] sortedDistinct(Collection<?> collection) {
+        if (collection == null || collection.isEmpty()) {
+            return NoElements;
+        }
+        if (collection instanceof SortedArraySet) {
+            return ((SortedArraySet<?>) collection).elements;
+        }
+        Object[] array = collection.toArray();
+        if (collection instanceof SortedSet && ((SortedSet<?>) collection).comparator() == null) {
+            return array;
+        }
+        Arrays.sort(array);
+        int k = 1;
+        for (int i = 1; i < array.length; i++) {
+            if (compare(array[k - 1], array[i]) != 0) {
+                array[k++] = array[i];
+            }
+        }
+        return k == array.length ? array : Arrays.copyOf(array, k);
+    }
+
+    static int hashOf(Object[] elements, int from, int to) {
+        int hash = 0;
+        for (int i = from; i < to; i++) {
+            hash += elements[i].hashCode();
+        }
+        return hash;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compare(Object a, Object b) {
+        return ((Comparable<Object>) a).compareTo(b);
+    }
+
+    /**
+     * Returns the index of the first element of the sorted array (starting at
+     * the given index) that is not smaller than the given element.
+     */
+    private static int advanceTo(Object[] sortedElements, int from, Object element) {
+        while (from < sortedElements.length && compare(sortedElements[from], element) < 0) {
+            from++;
+        }
+        return from;
+    }
+
+    private int insertionPoint(E element) {
+        int index = Arrays.binarySearch(elements, element);
+        return index < 0 ? -index - 1 : index;
+    }
+
+    private SortedSet<E> range(int from, int to) {
+        if (from == 0 && to == elements.length) {
+            return this;
+        }
+        Object[] subElements = from >= to ? NoElements : Arrays.copyOfRange(elements, from, to);
+        return create(subElements, hashOf(subElements, 0, subElements.length));
+    }
+    // </editor-fold>
+
+    /**
+     * A read-only iterator over a range of an array.
+     */
+    static final class ArrayIterator<E> implements Iterator<E> {
+
+        private final Object[] elements;
+        private final int to;
+        private int index;
+
+        ArrayIterator(Object[] elements, int from, int to) {
+            this.elements = elements;
+            this.index = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < to;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next() {
+            if (index >= to) {
+                throw new NoSuchElementException();
+            }
+            return (E) elements[index++];
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
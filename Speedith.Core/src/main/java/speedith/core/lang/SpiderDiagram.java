@@ -111,6 +111,23 @@ public abstract class SpiderDiagram implements Iterable<SpiderDiagram>, SpiderDi
     @Override
     public abstract int hashCode();
 
+    /**
+     * Returns a 64-bit fingerprint of this spider diagram. <p>Spider diagrams
+     * that are {@link SpiderDiagram#isSEquivalentTo(speedith.core.lang.SpiderDiagram)
+     * semantically equivalent} (and therefore also those that are {@link
+     * SpiderDiagram#equals(java.lang.Object) syntactically equal}) have the
+     * same fingerprint. The fingerprint does not depend on the names of
+     * spiders, on the order of zones and regions or on the order of operands
+     * of {@link Operator#isCommutative() commutative} operators.</p> <p>Thus,
+     * if two spider diagrams have different fingerprints, they are neither
+     * equal nor semantically equivalent. Diagrams with the same fingerprint
+     * still have to be compared.</p> <p>The fingerprint is computed once per
+     * diagram instance.</p>
+     *
+     * @return the fingerprint of this spider diagram.
+     */
+    public abstract long getFingerprint();
+
     /**
      * Visits the given spider diagram and its children in a parent-first left-
      * to-right order. <p>If the diagram does not have any parents, then the
@@ -137,6 +154,9 @@ public abstract class SpiderDiagram implements Iterable<SpiderDiagram>, SpiderDi
      * transformer will get an empty or a {@code null} stack of parents.</p>
      * <p>Note: this function does not descend into spider diagrams returned by
      * the given {@link Transformer transformer}.</p>
+     * <p>{@link TargetedTransformer Targeted transformers} are applied only on
+     * their target sub-diagram, which is found without visiting the other
+     * sub-diagrams.</p>
      *
      * @param t            the object that transforms particular sub-diagrams.
      * @param trackParents indicates whether the parents of the visited
@@ -264,8 +284,9 @@ public abstract class SpiderDiagram implements Iterable<SpiderDiagram>, SpiderDi
      * constraints of a well-defined spider diagram). <p>A spider diagram is
      * valid if: <ul> <li>the sets of in- and out-contours are disjoint,</li>
      * <li>all zones are fully specified (they contain all the contours that are
-     * mentioned in the primary spider diagram), and</li> <li>all operands in a
-     * compound spider diagram are valid.</li> </ul> </p>
+     * mentioned in the primary spider diagram),</li> <li>all habitats in a
+     * primary spider diagram belong to its spiders, and</li> <li>all operands
+     * in a compound spider diagram are valid.</li> </ul> </p>
      *
      * @return {@code true} if and only if the diagram is valid according to the
      *         above rules.
@@ -77,11 +77,39 @@ public class SpiderDiagrams {
    * @return the primary spider diagram.
    */
   public static PrimarySpiderDiagram createPrimarySD(Collection<String> spiders, Map<String, Region> habitats, Collection<Zone> shadedZones, Collection<Zone> presentZones) {
-    return createPrimarySD(spiders, habitats, shadedZones, presentZones, true);
+    return createPrimarySD(Spiders.of(spiders), Habitats.of(habitats), ZoneSet.of(shadedZones), ZoneSet.of(presentZones));
   }
 
   public static PrimarySpiderDiagram createPrimarySD(Map<String, Region> habitats, Collection<Zone> shadedZones, Collection<Zone> presentZones) {
-    return createPrimarySD(habitats.keySet(), habitats, shadedZones, presentZones, true);
+    return createPrimarySD(habitats.keySet(), habitats, shadedZones, presentZones);
+  }
+
+  /**
+   * <p>Creates a new primary spider diagram with the given parameters and
+   * checks that it is {@link PrimarySpiderDiagram#isValid() valid}.</p>
+   * <p>The other factory methods do not check the diagrams they create (the
+   * check is deferred to {@link PrimarySpiderDiagram#isValid()}). This method
+   * should be used for diagrams that come from external input.</p>
+   *
+   * @param spiders      a set of spiders (their names) that appear in this
+   *                     spider diagram.
+   * @param habitats     a key-value map of spiders and their corresponding
+   *                     {@link Region habitats}.
+   * @param shadedZones  a set of shaded {@link Zone zones}.
+   * @param presentZones the set of zones that should be drawn in the diagram
+   *                     if possible (see {@link PrimarySpiderDiagram#getPresentZones()}).
+   * @return the primary spider diagram.
+   * @throws IllegalArgumentException thrown if the diagram is not valid.
+   */
+  public static PrimarySpiderDiagram createValidPrimarySD(Collection<String> spiders, Map<String, Region> habitats, Collection<Zone> shadedZones, Collection<Zone> presentZones) {
+    PrimarySpiderDiagram psd = createPrimarySD(spiders, habitats, shadedZones, presentZones);
+    if (!psd.getSpiders().containsAll(psd.getHabitats().keySet())) {
+      throw new IllegalArgumentException(i18n("ERR_SD_HABITATS_WITHOUT_SPIDERS"));
+    }
+    if (!psd.isValid()) {
+      throw new IllegalArgumentException(i18n("ERR_SD_INVALID_PRIMARY_SD", psd));
+    }
+    return psd;
   }
 
   /**
@@ -101,10 +129,11 @@ public class SpiderDiagrams {
   /**
    * <p>Creates a new primary spider diagram with the given parameters.</p>
    * <p><span style="font-weight:bold">Note</span>: this method does not make
-   * a copy of the given collections if possible.</p>
-   * <p><span style="font-weight:bold">Warning</span>: you should use this
-   * method only if you are sure that you will never modify the given
-   * collections (of spiders, habitats and shaded zones) again.</p>
+   * a copy of the given collections if they are immutable already (i.e.: if
+   * they are {@link Spiders}, {@link Habitats} and {@link ZoneSet zone sets}).
+   * Other collections are copied, thus this method is equivalent to {@link
+   * SpiderDiagrams#createPrimarySD(java.util.Collection, java.util.Map,
+   * java.util.Collection, java.util.Collection)}.</p>
    *
    * @param spiders      a set of spiders (their names) that appear in this
    *                     spider diagram.
@@ -116,40 +145,27 @@ public class SpiderDiagrams {
    * @return the primary spider diagram.
    */
   public static PrimarySpiderDiagram createPrimarySDNoCopy(Collection<String> spiders, Map<String, Region> habitats, Collection<Zone> shadedZones, Collection<Zone> presentZones) {
-    return createPrimarySD(spiders, habitats, shadedZones, presentZones, false);
+    return createPrimarySD(spiders, habitats, shadedZones, presentZones);
   }
 
   /**
-   * <p>Creates a new primary spider diagram with the given parameters.</p>
-   * <p><span style="font-weight:bold">Note</span>: setting the {@code
-   * copyCollections} flag to {@code false} makes this operation a bit faster,
-   * as this method will not create a copy of the given collections. However,
-   * you <span style="font-weight:bold">must not</span> change these
-   * collections afterwards, or it will lead to unexpected behaviour.</p>
-   * <p>Creates a primary spider diagram from the given collections of
-   * spiders, habitats and shaded zones without making a copy of these
-   * collections. Afterwards it checks whether the created spider diagram is
-   * in the pool already. If it is, it returns the one which is in the pool
-   * and finishes. If it is not, however, then it puts the newly created
-   * spider diagram into the pool. <span style="font-weight:bold">Note</span>:
-   * If the {@code copyCollections} flag is set then before putting the newly
-   * created spider diagram into the pool it first creates a new primary
-   * spider diagram that actually copies the collections and puts this one
-   * into the pool instead.</p>
+   * <p>Creates a new primary spider diagram from the given immutable
+   * collections (without copying them).</p>
+   * <p>It checks whether an equal spider diagram is in the pool already. If it
+   * is, it returns the one which is in the pool. Otherwise it puts the newly
+   * created spider diagram into the pool.</p>
    *
-   * @param spiders         a set of spiders (their names) that appear in this
-   *                        spider diagram.
-   * @param habitats        a key-value map of spiders and their corresponding
-   *                        {@link Region habitats}.
-   * @param shadedZones     a set of shaded {@link Zone zones}.
-   * @param presentZones    the set of zones that should be drawn in the diagram
-   *                        if possible (see {@link PrimarySpiderDiagram#getPresentZones()}).
-   * @param copyCollections indicates whether a copy of the above collections
-   *                        should be made to construct the new primary spider diagram.
+   * @param spiders      a set of spiders (their names) that appear in this
+   *                     spider diagram.
+   * @param habitats     a key-value map of spiders and their corresponding
+   *                     {@link Region habitats}.
+   * @param shadedZones  a set of shaded {@link Zone zones}.
+   * @param presentZones the set of zones that should be drawn in the diagram
+   *                     if possible (see {@link PrimarySpiderDiagram#getPresentZones()}).
    * @return the primary spider diagram.
    */
-  static PrimarySpiderDiagram createPrimarySD(TreeSet<String> spiders, TreeMap<String, Region> habitats, TreeSet<Zone> shadedZones, TreeSet<Zone> presentZones, boolean copyCollections) {
-    return __createPrimarySD(spiders, habitats, shadedZones, presentZones, copyCollections);
+  public static PrimarySpiderDiagram createPrimarySD(Spiders spiders, Habitats habitats, ZoneSet shadedZones, ZoneSet presentZones) {
+    return __createPrimarySD(spiders, habitats, shadedZones, presentZones);
   }
 
   /**
@@ -253,43 +269,11 @@ public class SpiderDiagrams {
     return __createCompoundSD(new CompoundSpiderDiagram(operator, operands), copyCollection, copyCollection ? operator.getName() : null, operands);
   }
 
-  private static PrimarySpiderDiagram createPrimarySD(Collection<String> spiders, Map<String, Region> habitats, Collection<Zone> shadedZones, Collection<Zone> presentZones, boolean copyCollections) {
-    if ((spiders == null || spiders instanceof TreeSet)
-        && (habitats == null || habitats instanceof TreeMap)
-        && (shadedZones == null || shadedZones instanceof TreeSet)
-        && (presentZones == null || presentZones instanceof TreeSet)) {
-      return createPrimarySD(spiders == null ? null : (TreeSet<String>) spiders,
-                             habitats == null ? null : (TreeMap<String, Region>) habitats,
-                             shadedZones == null ? null : (TreeSet<Zone>) shadedZones,
-                             presentZones == null ? null : (TreeSet<Zone>) presentZones,
-                             copyCollections);
-    } else {
-      TreeSet<String> spidersCopy = spiders == null ? null : new TreeSet<>(spiders);
-      TreeMap<String, Region> habitatsCopy = habitats == null ? null : new TreeMap<>(habitats);
-      TreeSet<Zone> shadedZonesCopy = shadedZones == null ? null : new TreeSet<>(shadedZones);
-      TreeSet<Zone> presentZonesCopy = presentZones == null ? null : new TreeSet<>(presentZones);
-      return __createPrimarySD(spidersCopy, habitatsCopy, shadedZonesCopy, presentZonesCopy, false);
-    }
-  }
-
-  @SuppressWarnings("unchecked")
-  private static PrimarySpiderDiagram __createPrimarySD(TreeSet<String> spiders, TreeMap<String, Region> habitats, TreeSet<Zone> shadedZones, TreeSet<Zone> presentZones, boolean copyCollections) {
+  private static PrimarySpiderDiagram __createPrimarySD(Spiders spiders, Habitats habitats, ZoneSet shadedZones, ZoneSet presentZones) {
     synchronized (pool) {
-      // TODO: Create separate classes for Habitats and Spiders, and use
-      // Region for 'shadedZones' and 'presentZones. This way, we will
-      // never have to worry about copying these sets, recalculating
-      // hashes and extracting mentioned contours.
-
-      // Create the "temporary" primary spider diagram.
-      PrimarySpiderDiagram psd = null;
-      if (copyCollections) {
-        psd = new PrimarySpiderDiagram(spiders == null ? null : (TreeSet<String>) spiders.clone(),
-                                       habitats == null ? null : (TreeMap<String, Region>) habitats.clone(),
-                                       shadedZones == null ? null : (TreeSet<Zone>) shadedZones.clone(),
-                                       presentZones == null ? null : (TreeSet<Zone>) presentZones.clone());
-      } else {
-        psd = new PrimarySpiderDiagram(spiders, habitats, shadedZones, presentZones);
-      }
+      // Create the "temporary" primary spider diagram. The collections are
+      // immutable, so they never have to be copied.
+      PrimarySpiderDiagram psd = new PrimarySpiderDiagram(spiders, habitats, shadedZones, presentZones);
 
       // Check if an exact copy of it exists in the pool already.
       SpiderDiagram exPsd = __getSDFromPool(psd);
@@ -0,0 +1,89 @@
+package speedith.core.lang;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import static speedith.core.i18n.Translations.i18n;
+
+/**
+ * An immutable sorted set of spiders (their names) of a {@link
+ * PrimarySpiderDiagram primary spider diagram}. It is also the key set of
+ * {@link Habitats}.
+ */
+public final class Spiders extends SortedArraySet<String> {
+
+    private static final long serialVersionUID = -4870587062364719412L;
+    private static final Spiders Empty = new Spiders(NoElements, 0);
+
+    private Spiders(Object[] sortedSpiders) {
+        super(sortedSpiders);
+    }
+
+    private Spiders(Object[] sortedSpiders, int hash) {
+        super(sortedSpiders, hash);
+    }
+
+    /**
+     * Returns the empty set of spiders.
+     *
+     * @return the empty set of spiders.
+     */
+    public static Spiders empty() {
+        return Empty;
+    }
+
+    /**
+     * Returns a set that contains the given spiders. <p>The given collection
+     * is returned as is if it is a set of spiders already.</p>
+     *
+     * @param spiders the names of the spiders (may be {@code null}).
+     * @return a set that contains the given spiders.
+     */
+    public static Spiders of(Collection<String> spiders) {
+        if (spiders instanceof Spiders) {
+            return (Spiders) spiders;
+        }
+        Object[] sortedSpiders = sortedDistinct(spiders);
+        return sortedSpiders.length == 0 ? Empty : new Spiders(sortedSpiders);
+    }
+
+    /**
+     * Returns a set that contains the given spiders.
+     *
+     * @param spiders the names of the spiders.
+     * @return a set that contains the given spiders.
+     */
+    public static Spiders of(String... spiders) {
+        return of(Arrays.asList(spiders));
+    }
+
+    /**
+     * Returns a set that contains the spiders of this set and the given
+     * spider. <p>Returns this set if it contains the spider already.</p>
+     *
+     * @param spider the name of the spider to add.
+     * @return a set that contains the spiders of this set and the given spider.
+     */
+    public Spiders plus(String spider) {
+        if (spider == null) {
+            throw new IllegalArgumentException(i18n("GERR_NULL_ARGUMENT", "spider"));
+        }
+        return contains(spider) ? this : (Spiders) withAll(Arrays.asList(spider));
+    }
+
+    /**
+     * Returns a set without the given spiders. <p>Returns this set if it
+     * contains none of the given spiders.</p>
+     *
+     * @param spiders the names of the spiders to remove.
+     * @return a set without the given spiders.
+     */
+    public Spiders minus(Collection<?> spiders) {
+        return (Spiders) filter(spiders, false);
+    }
+
+    @Override
+    Spiders create(Object[] sortedSpiders, int hash) {
+        return sortedSpiders.length == 0 ? Empty : new Spiders(sortedSpiders, hash);
+    }
+}
@@ -0,0 +1,26 @@
+package speedith.core.lang;
+
+/**
+ * A {@link Transformer transformer} that transforms at most one sub-diagram,
+ * namely the one at the {@link TargetedTransformer#getTargetSubDiagramIndex()
+ * target sub-diagram index}.
+ * <p>The {@link SpiderDiagram#transform(speedith.core.lang.Transformer,
+ * boolean) transform method} descends directly to the target sub-diagram
+ * (skipping all the other sub-diagrams) and calls the transformer only on the
+ * target. Only the compound spider diagrams on the path to the target are
+ * rebuilt.</p>
+ * <p>Implementations must therefore return {@code null} for every sub-diagram
+ * other than the target (without any side-effects). If the transformer returns
+ * {@code null} for the target as well, the spider diagram stays
+ * unchanged.</p>
+ */
+public interface TargetedTransformer extends Transformer {
+
+    /**
+     * Returns the (sequential) sub-diagram index of the only sub-diagram this
+     * transformer transforms.
+     *
+     * @return the sub-diagram index of the target sub-diagram.
+     */
+    int getTargetSubDiagramIndex();
+}
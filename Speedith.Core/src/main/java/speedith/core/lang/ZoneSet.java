@@ -0,0 +1,143 @@
+package speedith.core.lang;
+
+import java.util.*;
+
+/**
+ * An immutable sorted set of {@link Zone zones}. It is used for the shaded and
+ * present zones of {@link PrimarySpiderDiagram primary spider diagrams} and for
+ * the zones of {@link Region regions}.
+ * <p>Apart from the hash code, the set also caches the contours its zones
+ * mention (see {@link ZoneSet#getContours()}). Adding a single zone to a set
+ * (e.g.: shading a zone) reuses the zones of the original set and only
+ * updates its hash code.</p>
+ */
+public final class ZoneSet extends SortedArraySet<Zone> {
+
+    private static final long serialVersionUID = 6270133505744394816L;
+    private static final ZoneSet Empty = new ZoneSet(NoElements, 0);
+
+    private transient volatile SortedSet<String> contours;
+
+    private ZoneSet(Object[] sortedZones) {
+        super(sortedZones);
+    }
+
+    private ZoneSet(Object[] sortedZones, int hash) {
+        super(sortedZones, hash);
+    }
+
+    /**
+     * Returns the empty zone set.
+     *
+     * @return the empty zone set.
+     */
+    public static ZoneSet empty() {
+        return Empty;
+    }
+
+    /**
+     * Returns a zone set that contains the given zones. <p>The given
+     * collection is returned as is if it is a zone set already.</p>
+     *
+     * @param zones the zones of the set (may be {@code null}).
+     * @return a zone set that contains the given zones.
+     */
+    public static ZoneSet of(Collection<Zone> zones) {
+        if (zones instanceof ZoneSet) {
+            return (ZoneSet) zones;
+        }
+        Object[] sortedZones = sortedDistinct(zones);
+        return sortedZones.length == 0 ? Empty : new ZoneSet(sortedZones);
+    }
+
+    /**
+     * Returns a zone set that contains the given zones.
+     *
+     * @param zones the zones of the set.
+     * @return a zone set that contains the given zones.
+     */
+    public static ZoneSet of(Zone... zones) {
+        return of(Arrays.asList(zones));
+    }
+
+    /**
+     * Returns a zone set that contains the zones of this set and the given
+     * zones. <p>Returns this set if it contains all the given zones
+     * already.</p>
+     *
+     * @param zones the zones to add.
+     * @return a zone set that contains the zones of this set and the given
+     * zones.
+     */
+    public ZoneSet plus(Collection<Zone> zones) {
+        return (ZoneSet) withAll(zones);
+    }
+
+    /**
+     * See {@link ZoneSet#plus(java.util.Collection)}.
+     *
+     * @param zones the zones to add.
+     * @return a zone set that contains the zones of this set and the given
+     * zones.
+     */
+    public ZoneSet plus(Zone... zones) {
+        return plus(Arrays.asList(zones));
+    }
+
+    /**
+     * Returns a zone set without the given zones. <p>Returns this set if it
+     * contains none of the given zones.</p>
+     *
+     * @param zones the zones to remove.
+     * @return a zone set without the given zones.
+     */
+    public ZoneSet minus(Collection<?> zones) {
+        return (ZoneSet) filter(zones, false);
+    }
+
+    /**
+     * See {@link ZoneSet#minus(java.util.Collection)}.
+     *
+     * @param zones the zones to remove.
+     * @return a zone set without the given zones.
+     */
+    public ZoneSet minus(Zone... zones) {
+        return minus(Arrays.asList(zones));
+    }
+
+    /**
+     * Returns a zone set that contains the zones of this set that are also in
+     * the given collection.
+     *
+     * @param zones the zones to retain.
+     * @return the intersection of this set and the given zones.
+     */
+    public ZoneSet intersect(Collection<?> zones) {
+        return (ZoneSet) filter(zones, true);
+    }
+
+    /**
+     * Returns the contours that are mentioned in the zones of this set (as
+     * either in- or out-contours). <p>The set is computed once and shared by
+     * all callers.</p>
+     *
+     * @return an unmodifiable sorted set of the contours that are mentioned in
+     * the zones of this set.
+     */
+    public SortedSet<String> getContours() {
+        SortedSet<String> result = contours;
+        if (result == null) {
+            TreeSet<String> allContours = new TreeSet<>();
+            for (Zone zone : this) {
+                allContours.addAll(zone.getAllContours());
+            }
+            contours = result = Collections.unmodifiableSortedSet(allContours);
+        }
+        return result;
+    }
+
+    @Override
+    ZoneSet create(Object[] sortedZones, int hash) {
+        return sortedZones.length == 0 ? Empty : new ZoneSet(sortedZones, hash);
+    }
+}
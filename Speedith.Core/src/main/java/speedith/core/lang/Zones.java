@@ -1,9 +1,22 @@
 package speedith.core.lang;
 
+import java.math.BigInteger;
 import java.util.*;
 
+import static speedith.core.i18n.Translations.i18n;
+
 public final class Zones {
 
+    /**
+     * Returns all 2^n zones over the given n contours. <p>Note that the
+     * returned list grows exponentially with the number of contours. Use
+     * {@link Zones#allZonesOf(java.lang.String...)} if the zones only have to
+     * be visited (e.g.: filtered), and {@link Zones#allZonesCount(int)} if
+     * they only have to be counted.</p>
+     *
+     * @param contours the contours of the zones.
+     * @return all zones over the given contours.
+     */
     public static ArrayList<Zone> allZonesForContours(String... contours) {
         ArrayList<Zone> powerRegion = new ArrayList<>();
         powerRegion.add(new Zone());
@@ -13,6 +26,54 @@ public final class Zones {
         return powerRegion;
     }
 
+    /**
+     * Returns a view of all 2^n zones over the given n contours. <p>The zones
+     * are created lazily, one at a time, while iterating. This makes it
+     * possible to visit the zones of diagrams with many contours without
+     * holding all of them in memory.</p>
+     *
+     * @param contours the contours of the zones.
+     * @return a lazily enumerated view of all zones over the given contours.
+     */
+    public static Iterable<Zone> allZonesOf(String... contours) {
+        final String[] allContours = contours.clone();
+        return new Iterable<Zone>() {
+            @Override
+            public Iterator<Zone> iterator() {
+                return new AllZonesIterator(allContours);
+            }
+        };
+    }
+
+    /**
+     * Returns the number of all zones over the given number of contours (i.e.:
+     * 2^contoursCount). <p>The number does not overflow for any number of
+     * contours.</p>
+     *
+     * @param contoursCount the number of contours.
+     * @return the number of all zones over the given number of contours.
+     */
+    public static BigInteger allZonesCount(int contoursCount) {
+        if (contoursCount < 0) {
+            throw new IllegalArgumentException(i18n("GERR_ILLEGAL_ARGUMENT", "contoursCount"));
+        }
+        return BigInteger.ONE.shiftLeft(contoursCount);
+    }
+
+    /**
+     * Indicates whether the given number of zones equals the number of all
+     * zones over the given number of contours (i.e.: 2^contoursCount).
+     * <p>Unlike {@code 1 << contoursCount}, this check does not overflow for
+     * large numbers of contours.</p>
+     *
+     * @param zonesCount the number of zones.
+     * @param contoursCount the number of contours.
+     * @return {@code true} iff the number of zones is 2^contoursCount.
+     */
+    public static boolean isAllZonesCount(long zonesCount, int contoursCount) {
+        return contoursCount >= 0 && contoursCount < Long.SIZE - 1 && zonesCount == 1L << contoursCount;
+    }
+
     public static ArrayList<Zone> getZonesOutsideContours(Collection<Zone> region, String... contours) {
         ArrayList<Zone> zonesOutsideContours = new ArrayList<>();
         for (Zone zone : region) {
@@ -142,4 +203,54 @@ public final class Zones {
         newContours.add(contour);
         return newContours;
     }
+
+    /**
+     * Enumerates all zones over the given contours by counting in binary: the
+     * i-th contour is an in-contour of the current zone iff the i-th bit of
+     * the counter is set.
+     */
+    private static class AllZonesIterator implements Iterator<Zone> {
+
+        private final String[] contours;
+        private final BitSet inContours;
+        private boolean hasNext = true;
+
+        AllZonesIterator(String[] contours) {
+            this.contours = contours;
+            this.inContours = new BitSet(contours.length);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return hasNext;
+        }
+
+        @Override
+        public Zone next() {
+            if (!hasNext) {
+                throw new NoSuchElementException();
+            }
+            TreeSet<String> zoneInContours = new TreeSet<>();
+            TreeSet<String> zoneOutContours = new TreeSet<>();
+            for (int i = 0; i < contours.length; i++) {
+                if (inContours.get(i)) {
+                    zoneInContours.add(contours[i]);
+                } else {
+                    zoneOutContours.add(contours[i]);
+                }
+            }
+            Zone zone = new Zone(zoneInContours, zoneOutContours);
+            // Increment the counter. It overflows after the last zone.
+            int firstClearBit = inContours.nextClearBit(0);
+            hasNext = firstClearBit < contours.length;
+            inContours.clear(0, firstClearBit);
+            inContours.set(firstClearBit);
+            return zone;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
 }
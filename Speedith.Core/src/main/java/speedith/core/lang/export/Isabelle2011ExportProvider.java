@@ -31,6 +31,7 @@ import propity.util.Sets;
 import speedith.core.lang.*;
 
 import java.io.IOException;
+import java.io.StringWriter;
 import java.io.Writer;
 import java.util.*;
 
@@ -86,7 +87,7 @@ public class Isabelle2011ExportProvider extends SDExportProvider {
      * The actual exporter class. This class does the actual translation from
      * spider diagrams to Isabelle's formulas.
      */
-    private static class Exporter extends SDExporter {
+    static class Exporter extends SDExporter {
 
         // TODO: Maybe I should write a generic pretty
         // printer, which takes into account precedence order of operators in
@@ -95,6 +96,19 @@ public class Isabelle2011ExportProvider extends SDExportProvider {
         public static final String ISA_XSYM_EXISTS = "∃";
         private boolean useXSymbols;
         private boolean useML;
+        /**
+         * Renderings of the diagrams exported so far during a bulk export.
+         * Diagrams are hash-consed, so the same sub-diagrams recur in many of
+         * the exported diagrams (e.g.: in consecutive goals of a proof).
+         * <p>This field is {@code null} outside of bulk exports.</p>
+         */
+        private HashMap<SpiderDiagram, String> renderings;
+        /**
+         * The names of diagrams that have been given a definition elsewhere
+         * (e.g.: in an exported Isabelle theory). These diagrams are exported
+         * as references to their definitions.
+         */
+        private Map<SpiderDiagram, String> definitionNames = Collections.emptyMap();
 
         public Exporter() {
             this(false, false);
@@ -107,6 +121,22 @@ public class Isabelle2011ExportProvider extends SDExportProvider {
 
         @Override
         public void exportTo(SpiderDiagram sd, Writer output) throws IOException, ExportException {
+            exportNextTo(sd, output);
+            output.flush();
+        }
+
+        @Override
+        public void exportAllTo(Iterable<? extends SpiderDiagram> spiderDiagrams, Writer output) throws ExportException, IOException {
+            renderings = new HashMap<>();
+            try {
+                super.exportAllTo(spiderDiagrams, output);
+            } finally {
+                renderings = null;
+            }
+        }
+
+        @Override
+        protected void exportNextTo(SpiderDiagram sd, Writer output) throws ExportException, IOException {
             if (output == null) {
                 throw new IllegalArgumentException(i18n("GERR_NULL_ARGUMENT", "output"));
             }
@@ -115,7 +145,6 @@ public class Isabelle2011ExportProvider extends SDExportProvider {
             } else {
                 exportDiagram(sd, output);
             }
-            output.flush();
         }
 
         private Writer printAnd(Writer output) throws IOException {
@@ -230,7 +259,7 @@ public class Isabelle2011ExportProvider extends SDExportProvider {
             return output.append("; ");
         }
 
-        private Writer printMLImplication(Writer output) throws IOException {
+        Writer printMLImplication(Writer output) throws IOException {
             if (useXSymbols) {
                 return output.append(" ").append("\\<Longrightarrow>").append(' ');
             } else {
@@ -351,6 +380,61 @@ public class Isabelle2011ExportProvider extends SDExportProvider {
         }
 
         private void exportDiagram(SpiderDiagram sd, Writer output) throws IOException {
+            String definitionName = definitionNames.get(sd);
+            if (definitionName != null) {
+                output.append(definitionName);
+            } else if (renderings == null || sd instanceof NullSpiderDiagram) {
+                renderDiagram(sd, output);
+            } else {
+                String rendering = renderings.get(sd);
+                if (rendering == null) {
+                    StringWriter renderingOutput = new StringWriter();
+                    renderDiagram(sd, renderingOutput);
+                    rendering = renderingOutput.toString();
+                    renderings.put(sd, rendering);
+                }
+                output.append(rendering);
+            }
+        }
+
+        /**
+         * Diagrams with the given names will be exported as references to
+         * their definitions rather than in full.
+         * @param definitionNames the names of defined diagrams.
+         */
+        void setDefinitionNames(Map<SpiderDiagram, String> definitionNames) {
+            this.definitionNames = definitionNames == null ? Collections.<SpiderDiagram, String>emptyMap() : definitionNames;
+        }
+
+        /**
+         * Exports the full formula of the given diagram (used as the body of
+         * the diagram's definition). Only the sub-diagrams are exported as
+         * references to their definitions.
+         */
+        void exportDefinitionBody(SpiderDiagram sd, Writer output) throws IOException {
+            renderDiagram(sd, output);
+        }
+
+        /**
+         * Exports the conjunction of the given diagrams (e.g.: all the goals
+         * of a proof step). Every conjunct is put in parentheses. An empty
+         * conjunction is exported as {@code True}.
+         */
+        void exportConjunction(List<SpiderDiagram> conjuncts, Writer output) throws IOException {
+            if (conjuncts == null || conjuncts.isEmpty()) {
+                printTrue(output);
+            } else {
+                Iterator<SpiderDiagram> itr = conjuncts.iterator();
+                exportDiagram(itr.next(), output.append('('));
+                output.append(')');
+                while (itr.hasNext()) {
+                    exportDiagram(itr.next(), printAnd(output).append('('));
+                    output.append(')');
+                }
+            }
+        }
+
+        private void renderDiagram(SpiderDiagram sd, Writer output) throws IOException {
             if (sd instanceof NullSpiderDiagram) {
                 exportNullDiagram(output);
             } else if (sd instanceof CompoundSpiderDiagram) {
@@ -0,0 +1,252 @@
+package speedith.core.lang.export;
+
+import speedith.core.lang.*;
+import speedith.core.reasoning.Goals;
+import speedith.core.reasoning.InferenceApplication;
+import speedith.core.reasoning.Proof;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.*;
+
+import static speedith.core.i18n.Translations.i18n;
+
+/**
+ * Exports whole {@link Proof proofs} as Isabelle theory scripts.
+ * <p>Every inference step {@code i} of the proof becomes a lemma {@code
+ * step_i}, which states that the goals after the step imply the goals
+ * before it. The lemma {@code proof_goal} then proves the initial goals by
+ * applying the step lemmas one after the other. The script ends with
+ * {@code oops} if the proof is not finished.</p>
+ * <p>Sub-diagrams that occur more than once in the proof (e.g.: the
+ * premises that are carried unchanged from one step to the next) are given a
+ * single definition and are referred to by name everywhere else. The
+ * contours are fixed in a locale so that the definitions may refer to
+ * them.</p>
+ * <p>Formulae are exported in the same form as by the {@link
+ * Isabelle2011ExportProvider}.</p>
+ */
+public class IsabelleTheoryExporter {
+
+    // <editor-fold defaultstate="collapsed" desc="Constants">
+    /**
+     * The proof method used in step lemmas by default.
+     */
+    public static final String DefaultStepMethod = "auto";
+    private static final String DefinitionPrefix = "sd_";
+    private static final String DefinitionsLemma = "sd_defs";
+    private static final String StepLemmaPrefix = "step_";
+    private static final String GoalLemma = "proof_goal";
+    // </editor-fold>
+
+    // <editor-fold defaultstate="collapsed" desc="Fields">
+    private final String theoryName;
+    private final boolean useXSymbols;
+    private final String stepMethod;
+    // </editor-fold>
+
+    // <editor-fold defaultstate="collapsed" desc="Constructors">
+    /**
+     * Creates an exporter that produces theories with the given name, uses
+     * ASCII symbols and proves the steps with the {@link
+     * IsabelleTheoryExporter#DefaultStepMethod default method}.
+     * @param theoryName the name of the exported theory.
+     */
+    public IsabelleTheoryExporter(String theoryName) {
+        this(theoryName, false, DefaultStepMethod);
+    }
+
+    /**
+     * Creates an exporter that produces theories with the given name.
+     * @param theoryName the name of the exported theory.
+     * @param useXSymbols indicates whether to use Isabelle's X-symbols.
+     * @param stepMethod the Isabelle proof method with which to prove each
+     * step lemma (e.g.: {@code auto}).
+     */
+    public IsabelleTheoryExporter(String theoryName, boolean useXSymbols, String stepMethod) {
+        if (theoryName == null || theoryName.isEmpty()) {
+            throw new IllegalArgumentException(i18n("GERR_EMPTY_ARGUMENT", "theoryName"));
+        }
+        if (stepMethod == null || stepMethod.isEmpty()) {
+            throw new IllegalArgumentException(i18n("GERR_EMPTY_ARGUMENT", "stepMethod"));
+        }
+        this.theoryName = theoryName;
+        this.useXSymbols = useXSymbols;
+        this.stepMethod = stepMethod;
+    }
+    // </editor-fold>
+
+    // <editor-fold defaultstate="collapsed" desc="Public Methods">
+    /**
+     * Exports the given proof to an Isabelle theory and returns it as a Java
+     * string.
+     * @param proof the proof to export.
+     * @return the text of the Isabelle theory.
+     */
+    public String export(Proof proof) {
+        StringWriter sw = new StringWriter();
+        try {
+            exportTo(proof, sw);
+        } catch (IOException ex) {
+            // A StringWriter does not throw I/O exceptions.
+            throw new RuntimeException(i18n("GERR_ILLEGAL_STATE"), ex);
+        }
+        return sw.toString();
+    }
+
+    /**
+     * Exports the given proof to an Isabelle theory and writes it to the
+     * given output.
+     * @param proof the proof to export.
+     * @param output the object to which to write the theory.
+     * @throws IOException this exception is thrown if an error occurred during
+     * writing to the output.
+     */
+    public void exportTo(Proof proof, Writer output) throws IOException {
+        if (proof == null) {
+            throw new IllegalArgumentException(i18n("GERR_NULL_ARGUMENT", "proof"));
+        }
+        if (output == null) {
+            throw new IllegalArgumentException(i18n("GERR_NULL_ARGUMENT", "output"));
+        }
+        List<Goals> goals = proof.getGoals();
+        LinkedHashMap<SpiderDiagram, String> definitions = findSharedDiagrams(goals);
+        Isabelle2011ExportProvider.Exporter exporter = new Isabelle2011ExportProvider.Exporter(useXSymbols, false);
+
+        output.append("theory ").append(theoryName).append('\n')
+                .append("imports Main\n")
+                .append("begin\n\n");
+        SortedSet<String> contours = collectContours(goals);
+        if (!contours.isEmpty()) {
+            output.append("locale ").append(theoryName).append("_contours =\n  fixes");
+            for (String contour : contours) {
+                output.append(' ').append(contour);
+            }
+            output.append(" :: \"'a set\"\nbegin\n\n");
+        }
+        exportDefinitions(definitions, exporter, output);
+        exporter.setDefinitionNames(definitions);
+        exportStepLemmas(proof, !definitions.isEmpty(), exporter, output);
+        exportGoalLemma(proof, exporter, output);
+        if (!contours.isEmpty()) {
+            output.append("end\n\n");
+        }
+        output.append("end\n");
+        output.flush();
+    }
+    // </editor-fold>
+
+    // <editor-fold defaultstate="collapsed" desc="Private Helper Methods">
+    private void exportDefinitions(LinkedHashMap<SpiderDiagram, String> definitions, Isabelle2011ExportProvider.Exporter exporter, Writer output) throws IOException {
+        if (definitions.isEmpty()) {
+            return;
+        }
+        // Definitions are in post-order: a definition may refer only to the
+        // ones before it.
+        HashMap<SpiderDiagram, String> definedSoFar = new HashMap<>();
+        for (Map.Entry<SpiderDiagram, String> definition : definitions.entrySet()) {
+            exporter.setDefinitionNames(definedSoFar);
+            output.append("definition ").append(definition.getValue()).append(" :: bool where\n  \"")
+                    .append(definition.getValue()).append(" == ");
+            exporter.exportDefinitionBody(definition.getKey(), output);
+            output.append("\"\n\n");
+            definedSoFar.put(definition.getKey(), definition.getValue());
+        }
+        output.append("lemmas ").append(DefinitionsLemma).append(" =");
+        for (String name : definitions.values()) {
+            output.append(' ').append(name).append("_def");
+        }
+        output.append("\n\n");
+    }
+
+    private void exportStepLemmas(Proof proof, boolean unfoldDefinitions, Isabelle2011ExportProvider.Exporter exporter, Writer output) throws IOException {
+        for (int i = 0; i < proof.getInferenceApplicationCount(); i++) {
+            InferenceApplication application = proof.getInferenceApplicationAt(i);
+            output.append("(* ").append(application.getInference().getProvider().getPrettyName()).append(" *)\n");
+            output.append("lemma ").append(StepLemmaPrefix).append(Integer.toString(i)).append(": \"(");
+            exporter.exportConjunction(proof.getGoalsAt(i + 1).getGoals(), output);
+            output.append(')');
+            exporter.printMLImplication(output).append('(');
+            exporter.exportConjunction(proof.getGoalsAt(i).getGoals(), output);
+            output.append(")\"\n  ");
+            if (unfoldDefinitions) {
+                output.append("unfolding ").append(DefinitionsLemma).append(' ');
+            }
+            output.append("by ").append(stepMethod).append("\n\n");
+        }
+    }
+
+    private void exportGoalLemma(Proof proof, Isabelle2011ExportProvider.Exporter exporter, Writer output) throws IOException {
+        output.append("lemma ").append(GoalLemma).append(": \"");
+        exporter.exportConjunction(proof.getInitialGoals().getGoals(), output);
+        output.append("\"\n");
+        for (int i = 0; i < proof.getInferenceApplicationCount(); i++) {
+            output.append("  apply (rule ").append(StepLemmaPrefix).append(Integer.toString(i)).append(")\n");
+        }
+        if (proof.isFinished()) {
+            output.append("  apply (rule TrueI)\n  done\n\n");
+        } else {
+            output.append("  oops\n\n");
+        }
+    }
+
+    /**
+     * Returns all non-null (sub-)diagrams that occur at least twice in the
+     * goals, each mapped to the name of its definition. The diagrams are in
+     * post-order (sub-diagrams come before their parents).
+     * <p>The children of a repeated diagram are not counted again, so a
+     * sub-diagram gets its own definition only if it also occurs outside of
+     * a repeated parent.</p>
+     */
+    private static LinkedHashMap<SpiderDiagram, String> findSharedDiagrams(List<Goals> goals) {
+        HashMap<SpiderDiagram, Integer> occurrences = new HashMap<>();
+        ArrayList<SpiderDiagram> postOrder = new ArrayList<>();
+        for (Goals goalsAtStep : goals) {
+            if (goalsAtStep != null && !goalsAtStep.isEmpty()) {
+                for (SpiderDiagram goal : goalsAtStep.getGoals()) {
+                    countOccurrences(goal, occurrences, postOrder);
+                }
+            }
+        }
+        LinkedHashMap<SpiderDiagram, String> definitions = new LinkedHashMap<>();
+        for (SpiderDiagram sd : postOrder) {
+            if (occurrences.get(sd) > 1 && !(sd instanceof NullSpiderDiagram)) {
+                definitions.put(sd, DefinitionPrefix + (definitions.size() + 1));
+            }
+        }
+        return definitions;
+    }
+
+    private static void countOccurrences(SpiderDiagram sd, HashMap<SpiderDiagram, Integer> occurrences, ArrayList<SpiderDiagram> postOrder) {
+        Integer count = occurrences.get(sd);
+        if (count != null) {
+            occurrences.put(sd, count + 1);
+            return;
+        }
+        if (sd instanceof CompoundSpiderDiagram) {
+            for (SpiderDiagram operand : ((CompoundSpiderDiagram) sd).getOperands()) {
+                countOccurrences(operand, occurrences, postOrder);
+            }
+        }
+        occurrences.put(sd, 1);
+        postOrder.add(sd);
+    }
+
+    private static SortedSet<String> collectContours(List<Goals> goals) {
+        TreeSet<String> contours = new TreeSet<>();
+        for (Goals goalsAtStep : goals) {
+            if (goalsAtStep != null && !goalsAtStep.isEmpty()) {
+                for (SpiderDiagram goal : goalsAtStep.getGoals()) {
+                    for (SpiderDiagram sd : goal) {
+                        if (sd instanceof PrimarySpiderDiagram) {
+                            contours.addAll(((PrimarySpiderDiagram) sd).getAllContours());
+                        }
+                    }
+                }
+            }
+        }
+        return contours;
+    }
+    // </editor-fold>
+}
@@ -152,11 +152,16 @@ public class OpenproofExportProvider extends SDExportProvider {
         // <editor-fold defaultstate="collapsed" desc="Export Methods">
         @Override
         public void exportTo(SpiderDiagram sd, Writer output) throws IOException, ExportException {
+            exportNextTo(sd, output);
+            output.flush();
+        }
+
+        @Override
+        protected void exportNextTo(SpiderDiagram sd, Writer output) throws ExportException, IOException {
             if (output == null) {
                 throw new IllegalArgumentException(i18n("GERR_NULL_ARGUMENT", "output"));
             }
             exportDiagram(sd, output);
-            output.flush();
         }
 
         private void exportNullDiagram(Writer output) throws IOException {
@@ -143,5 +143,78 @@ public abstract class SDExporter {
      * writing to the output.
      */
     public abstract void exportTo(SpiderDiagram spiderDiagram, Writer output) throws ExportException, IOException;
+
+    /**
+     * Converts all the given {@link SpiderDiagram spider diagrams} to their
+     * textual forms and writes them, one per line, to the given {@link
+     * OutputStream output}.
+     * @param spiderDiagrams the spider diagrams to export.
+     * @param output the object to which to write the textual forms of the
+     * spider diagrams to.
+     * @param encoding the character encoding to use when outputting.
+     * @throws ExportException thrown by the exporter if the exporting of any
+     * of the spider diagrams failed for some reason.
+     * @throws IOException this exception is thrown if an error occurred during
+     * writing to the output.
+     */
+    public void exportAllTo(Iterable<? extends SpiderDiagram> spiderDiagrams, OutputStream output, Charset encoding) throws ExportException, IOException {
+        exportAllTo(spiderDiagrams, new OutputStreamWriter(output, encoding));
+    }
+
+    /**
+     * Converts all the given {@link SpiderDiagram spider diagrams} to their
+     * textual forms and writes them, one per line, to the given {@link Writer
+     * output}.
+     * <p>The output is buffered and flushed only once, after the last
+     * diagram has been written. Use this method instead of repeatedly calling
+     * {@link SDExporter#exportTo(speedith.core.lang.SpiderDiagram, java.io.Writer)}
+     * when exporting many diagrams.</p>
+     * <p>Exporters may keep scratch state (e.g.: renderings of already
+     * exported sub-diagrams) for the duration of this call. The default
+     * implementation exports every diagram through {@link
+     * SDExporter#exportNextTo(speedith.core.lang.SpiderDiagram, java.io.Writer)}.</p>
+     * @param spiderDiagrams the spider diagrams to export.
+     * @param output the object to which to write the textual forms of the
+     * spider diagrams to.
+     * @throws ExportException thrown by the exporter if the exporting of any
+     * of the spider diagrams failed for some reason.
+     * @throws IOException this exception is thrown if an error occurred during
+     * writing to the output.
+     */
+    public void exportAllTo(Iterable<? extends SpiderDiagram> spiderDiagrams, Writer output) throws ExportException, IOException {
+        if (spiderDiagrams == null) {
+            throw new IllegalArgumentException(i18n("GERR_NULL_ARGUMENT", "spiderDiagrams"));
+        }
+        if (output == null) {
+            throw new IllegalArgumentException(i18n("GERR_NULL_ARGUMENT", "output"));
+        }
+        Writer bufferedOutput = output instanceof BufferedWriter || output instanceof StringWriter ? output : new BufferedWriter(output);
+        for (SpiderDiagram spiderDiagram : spiderDiagrams) {
+            exportNextTo(spiderDiagram, bufferedOutput);
+            bufferedOutput.write('\n');
+        }
+        bufferedOutput.flush();
+    }
+    // </editor-fold>
+
+    // <editor-fold defaultstate="collapsed" desc="Bulk Export Hooks">
+    /**
+     * Exports a single diagram during a {@link
+     * SDExporter#exportAllTo(java.lang.Iterable, java.io.Writer) bulk export}.
+     * <p>Unlike {@link SDExporter#exportTo(speedith.core.lang.SpiderDiagram, java.io.Writer)},
+     * implementations of this method should not flush the output. The
+     * default implementation simply calls {@link
+     * SDExporter#exportTo(speedith.core.lang.SpiderDiagram, java.io.Writer)}.</p>
+     * @param spiderDiagram the spider diagram to export to a textual form.
+     * @param output the (buffered) object to which to write the textual form
+     * of the spider diagram to.
+     * @throws ExportException thrown by the exporter if the exporting of the
+     * spider diagram failed for some reason.
+     * @throws IOException this exception is thrown if an error occurred during
+     * writing to the output.
+     */
+    protected void exportNextTo(SpiderDiagram spiderDiagram, Writer output) throws ExportException, IOException {
+        exportTo(spiderDiagram, output);
+    }
     // </editor-fold>
 }
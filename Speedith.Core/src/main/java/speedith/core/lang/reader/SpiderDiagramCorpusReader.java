@@ -0,0 +1,171 @@
+package speedith.core.lang.reader;
+
+import speedith.core.lang.SpiderDiagram;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+import static speedith.core.i18n.Translations.i18n;
+
+/**
+ * Provides random access to the spider diagrams stored in a single corpus
+ * file (see {@link SpiderDiagramCorpusWriter} for the format).
+ * <p>The corpus file is memory-mapped when the reader is opened. Opening only
+ * hops over the record headers to build the offset index; the diagrams
+ * themselves are parsed lazily, one at a time, in {@link
+ * SpiderDiagramCorpusReader#readSpiderDiagram(int)}.</p>
+ * <p>Instances of this class are not thread-safe.</p>
+ */
+public class SpiderDiagramCorpusReader implements Closeable {
+
+    // <editor-fold defaultstate="collapsed" desc="Fields">
+    private final File corpusFile;
+    private RandomAccessFile file;
+    private MappedByteBuffer buffer;
+    /**
+     * The offsets of the records' payloads (the text of the diagrams).
+     */
+    private long[] offsets;
+    private int[] lengths;
+    private int size;
+    // </editor-fold>
+
+    // <editor-fold defaultstate="collapsed" desc="Constructors">
+    /**
+     * Opens and memory-maps the given corpus file and builds its offset index.
+     * @param corpusFile the corpus file to open.
+     * @throws ReadingException thrown if the file is not a valid corpus file.
+     * @throws IOException thrown if the file could not be opened or mapped.
+     */
+    public SpiderDiagramCorpusReader(File corpusFile) throws ReadingException, IOException {
+        if (corpusFile == null) {
+            throw new IllegalArgumentException(i18n("GERR_NULL_ARGUMENT", "corpusFile"));
+        }
+        this.corpusFile = corpusFile;
+        file = new RandomAccessFile(corpusFile, "r");
+        try {
+            FileChannel channel = file.getChannel();
+            long fileSize = channel.size();
+            if (fileSize > Integer.MAX_VALUE) {
+                throw new ReadingException(i18n("ERR_CORPUS_TOO_LARGE", corpusFile.getPath()));
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            buildIndex();
+        } catch (ReadingException | IOException | RuntimeException ex) {
+            close();
+            throw ex;
+        }
+    }
+    // </editor-fold>
+
+    // <editor-fold defaultstate="collapsed" desc="Public Methods">
+    /**
+     * Returns the file from which this reader reads the diagrams.
+     * @return the file from which this reader reads the diagrams.
+     */
+    public File getCorpusFile() {
+        return corpusFile;
+    }
+
+    /**
+     * Returns the number of diagrams stored in the corpus.
+     * @return the number of diagrams stored in the corpus.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the textual representation of the diagram at the given index
+     * (without parsing it).
+     * @param index the index of the diagram in the corpus.
+     * @return the textual representation of the diagram at the given index.
+     */
+    public String readSpiderDiagramText(int index) {
+        assertOpen();
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(i18n("GERR_INDEX_OUT_OF_RANGE", index, 0, size - 1));
+        }
+        byte[] text = new byte[lengths[index]];
+        ByteBuffer record = buffer.duplicate();
+        record.position((int) offsets[index]);
+        record.get(text);
+        return new String(text, SpiderDiagramCorpusWriter.Encoding);
+    }
+
+    /**
+     * Parses and returns the diagram at the given index.
+     * @param index the index of the diagram in the corpus.
+     * @return the diagram at the given index.
+     * @throws ReadingException thrown if the stored text is not a valid
+     * spider diagram.
+     */
+    public SpiderDiagram readSpiderDiagram(int index) throws ReadingException {
+        return SpiderDiagramsReader.readSpiderDiagram(readSpiderDiagramText(index));
+    }
+
+    /**
+     * Releases the file handle. The mapped region itself is freed once it is
+     * garbage-collected.
+     * @throws IOException thrown if the underlying file could not be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        buffer = null;
+        if (file != null) {
+            try {
+                file.close();
+            } finally {
+                file = null;
+            }
+        }
+    }
+    // </editor-fold>
+
+    // <editor-fold defaultstate="collapsed" desc="Private Helper Methods">
+    private void buildIndex() throws ReadingException {
+        ByteBuffer in = buffer.duplicate();
+        byte[] magic = SpiderDiagramCorpusWriter.Magic;
+        if (in.remaining() < magic.length) {
+            throw new ReadingException(i18n("ERR_CORPUS_INVALID_HEADER", corpusFile.getPath()));
+        }
+        byte[] header = new byte[magic.length];
+        in.get(header);
+        if (!Arrays.equals(header, magic)) {
+            throw new ReadingException(i18n("ERR_CORPUS_INVALID_HEADER", corpusFile.getPath()));
+        }
+        offsets = new long[64];
+        lengths = new int[64];
+        size = 0;
+        while (in.hasRemaining()) {
+            if (in.remaining() < 4) {
+                throw new ReadingException(i18n("ERR_CORPUS_TRUNCATED", corpusFile.getPath(), size));
+            }
+            int length = in.getInt();
+            if (length < 0 || length > in.remaining()) {
+                throw new ReadingException(i18n("ERR_CORPUS_TRUNCATED", corpusFile.getPath(), size));
+            }
+            if (size == offsets.length) {
+                offsets = Arrays.copyOf(offsets, size * 2);
+                lengths = Arrays.copyOf(lengths, size * 2);
+            }
+            offsets[size] = in.position();
+            lengths[size] = length;
+            ++size;
+            in.position(in.position() + length);
+        }
+    }
+
+    private void assertOpen() {
+        if (buffer == null) {
+            throw new IllegalStateException(i18n("ERR_CORPUS_CLOSED"));
+        }
+    }
+    // </editor-fold>
+}
@@ -0,0 +1,130 @@
+package speedith.core.lang.reader;
+
+import speedith.core.lang.SpiderDiagram;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+import static speedith.core.i18n.Translations.i18n;
+
+/**
+ * Appends spider diagrams to a corpus file.
+ * <p>A corpus file stores many spider diagrams in their native textual form
+ * (the one produced by {@link SpiderDiagram#toString()} and understood by
+ * {@link SpiderDiagramsReader}). The file starts with the {@link
+ * SpiderDiagramCorpusWriter#Magic magic header}, which is followed by one
+ * record per diagram. Each record consists of the length of the diagram's
+ * text (a big-endian 4-byte integer) and the UTF-8 encoded text itself.</p>
+ * <p>The length prefixes form the offset index of the corpus: {@link
+ * SpiderDiagramCorpusReader} can locate any diagram without parsing the
+ * ones before it.</p>
+ * <p>Opening a writer on an existing corpus file appends new diagrams to
+ * it. Existing files that do not start with the magic header are not
+ * touched.</p>
+ */
+public class SpiderDiagramCorpusWriter implements Closeable, Flushable {
+
+    // <editor-fold defaultstate="collapsed" desc="Constants">
+    /**
+     * The header with which every corpus file starts.
+     */
+    static final byte[] Magic = {'S', 'D', 'C', 'O', 'R', 'P', 'U', 'S', '1', '\n'};
+    /**
+     * The encoding of diagrams' texts in corpus files.
+     */
+    static final Charset Encoding = Charset.forName("UTF-8");
+    // </editor-fold>
+
+    // <editor-fold defaultstate="collapsed" desc="Fields">
+    private final DataOutputStream output;
+    private int written;
+    // </editor-fold>
+
+    // <editor-fold defaultstate="collapsed" desc="Constructors">
+    /**
+     * Opens the given corpus file for appending. The file is created if it
+     * does not exist yet.
+     * @param corpusFile the corpus file to which to append diagrams.
+     * @throws ReadingException thrown if the file exists but is not a corpus
+     * file.
+     * @throws IOException thrown if the file could not be opened.
+     */
+    public SpiderDiagramCorpusWriter(File corpusFile) throws ReadingException, IOException {
+        if (corpusFile == null) {
+            throw new IllegalArgumentException(i18n("GERR_NULL_ARGUMENT", "corpusFile"));
+        }
+        boolean isNew = !corpusFile.exists() || corpusFile.length() == 0;
+        if (!isNew) {
+            assertCorpusHeader(corpusFile);
+        }
+        output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(corpusFile, true)));
+        if (isNew) {
+            output.write(Magic);
+        }
+    }
+    // </editor-fold>
+
+    // <editor-fold defaultstate="collapsed" desc="Public Methods">
+    /**
+     * Appends the given diagram to the end of the corpus.
+     * @param spiderDiagram the diagram to append.
+     * @throws IOException thrown if the diagram could not be written.
+     */
+    public void append(SpiderDiagram spiderDiagram) throws IOException {
+        if (spiderDiagram == null) {
+            throw new IllegalArgumentException(i18n("GERR_NULL_ARGUMENT", "spiderDiagram"));
+        }
+        byte[] text = spiderDiagram.toString().getBytes(Encoding);
+        output.writeInt(text.length);
+        output.write(text);
+        ++written;
+    }
+
+    /**
+     * Appends all the given diagrams to the end of the corpus.
+     * @param spiderDiagrams the diagrams to append.
+     * @throws IOException thrown if the diagrams could not be written.
+     */
+    public void appendAll(Iterable<? extends SpiderDiagram> spiderDiagrams) throws IOException {
+        if (spiderDiagrams == null) {
+            throw new IllegalArgumentException(i18n("GERR_NULL_ARGUMENT", "spiderDiagrams"));
+        }
+        for (SpiderDiagram spiderDiagram : spiderDiagrams) {
+            append(spiderDiagram);
+        }
+    }
+
+    /**
+     * Returns the number of diagrams appended through this writer.
+     * @return the number of diagrams appended through this writer.
+     */
+    public int getWrittenCount() {
+        return written;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        output.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        output.close();
+    }
+    // </editor-fold>
+
+    // <editor-fold defaultstate="collapsed" desc="Private Helper Methods">
+    private static void assertCorpusHeader(File corpusFile) throws ReadingException, IOException {
+        byte[] header = new byte[Magic.length];
+        try (DataInputStream input = new DataInputStream(new FileInputStream(corpusFile))) {
+            input.readFully(header);
+        } catch (EOFException e) {
+            throw new ReadingException(i18n("ERR_CORPUS_INVALID_HEADER", corpusFile.getPath()), e);
+        }
+        if (!Arrays.equals(header, Magic)) {
+            throw new ReadingException(i18n("ERR_CORPUS_INVALID_HEADER", corpusFile.getPath()));
+        }
+    }
+    // </editor-fold>
+}
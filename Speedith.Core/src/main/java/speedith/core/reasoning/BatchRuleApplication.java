@@ -0,0 +1,78 @@
+package speedith.core.reasoning;
+
+import speedith.core.lang.CompositeTransformer;
+import speedith.core.lang.SpiderDiagram;
+import speedith.core.lang.Transformer;
+import speedith.core.reasoning.args.SubDiagramIndexArg;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static speedith.core.i18n.Translations.i18n;
+
+/**
+ * Applies several {@link TransformerRule transformer rules} to different
+ * sub-diagrams of the same subgoal in a single traversal of the subgoal.
+ * <p>The result is the same as if the rules were applied one after another:
+ * the targets of all rules are sub-diagram indices in the original subgoal,
+ * and these rules do not change the number of sub-diagrams of their
+ * targets. Instead of one new subgoal per inference (each of which has to be
+ * traversed and pooled from the root), only a single new subgoal is
+ * constructed.</p>
+ * <p>This is not a method of {@link InferenceRule} or {@link Proof}: a batch
+ * consists of applications of several rules (not all inference rules are
+ * {@link TransformerRule transformer rules}), and a proof records one goal
+ * per inference application. The tactics that apply batches record each
+ * application in the batch with the goal that results from the whole
+ * batch.</p>
+ */
+public final class BatchRuleApplication {
+
+    private BatchRuleApplication() {
+    }
+
+    /**
+     * Applies all the given inference applications to the given goals in a
+     * single traversal of the target subgoal.
+     * @param applications the inference applications to apply. The inferences
+     * of all of them must be {@link TransformerRule transformer rules}, they
+     * must target the same subgoal and each of them a different sub-diagram.
+     * @param goals the goals to which to apply the inferences.
+     * @return the goals after applying all the inferences.
+     * @throws RuleApplicationException thrown if the applications cannot be
+     * applied in a batch or if any of them is not applicable.
+     */
+    public static RuleApplicationResult applyAll(List<InferenceApplication> applications, Goals goals) throws RuleApplicationException {
+        if (applications == null || applications.isEmpty()) {
+            throw new RuleApplicationException(i18n("RULE_INVALID_ARGS"));
+        }
+        if (goals == null || goals.isEmpty()) {
+            throw new RuleApplicationException(i18n("RULE_NO_SUBGOALS"));
+        }
+        ArrayList<Transformer> transformers = new ArrayList<>(applications.size());
+        HashSet<Integer> targetIndices = new HashSet<>();
+        int subgoalIndex = -1;
+        for (InferenceApplication application : applications) {
+            if (!(application.getInference() instanceof TransformerRule)) {
+                throw new RuleApplicationException(i18n("RULE_BATCH_NOT_BATCHABLE", application.getInference().getProvider().getInferenceName()));
+            }
+            TransformerRule<?> rule = (TransformerRule<?>) application.getInference();
+            SubDiagramIndexArg target = rule.getTarget(application.getRuleArguments());
+            if (subgoalIndex >= 0 && subgoalIndex != target.getSubgoalIndex()) {
+                throw new RuleApplicationException(i18n("RULE_BATCH_DIFFERENT_SUBGOALS"));
+            }
+            subgoalIndex = target.getSubgoalIndex();
+            if (!targetIndices.add(target.getSubDiagramIndex())) {
+                throw new RuleApplicationException(i18n("RULE_BATCH_SAME_TARGET", target.getSubDiagramIndex()));
+            }
+            transformers.add(rule.getTransformer(application.getRuleArguments()));
+        }
+        if (subgoalIndex >= goals.getGoalsCount()) {
+            throw new RuleApplicationException(i18n("RULE_SUBGOAL_INDEX_OUT_OF_RANGE", subgoalIndex));
+        }
+        SpiderDiagram[] newSubgoals = goals.getGoals().toArray(new SpiderDiagram[goals.getGoalsCount()]);
+        newSubgoals[subgoalIndex] = newSubgoals[subgoalIndex].transform(new CompositeTransformer(transformers));
+        return new RuleApplicationResult(Goals.createGoalsFrom(newSubgoals));
+    }
+}
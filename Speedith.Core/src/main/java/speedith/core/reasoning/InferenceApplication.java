@@ -111,7 +111,7 @@ public class InferenceApplication implements Serializable {
      * for any reason.
      */
     public InferenceApplicationResult applyTo(Goals goals) throws RuleApplicationException {
-        return inferenceRule.apply(ruleArguments, goals);
+        return InferenceStatistics.getDefault().apply(inferenceRule, ruleArguments, goals);
     }
     // </editor-fold>
 }
@@ -101,6 +101,34 @@ public interface InferenceRule<TArgs extends RuleArg>  extends Inference<TArgs,
     @Override
     RuleApplicationResult apply(RuleArg args, Goals goals) throws RuleApplicationException;
 
+    /**
+     * Indicates whether this inference rule can be {@link
+     * InferenceRule#apply(speedith.core.reasoning.args.RuleArg, speedith.core.reasoning.Goals)
+     * applied} with the given arguments on the given goals.
+     *
+     * <p>Unlike the {@code apply} method, this method does not throw an
+     * exception if the rule is not applicable. This makes it suitable for the
+     * automatic provers and tactics, which try to apply rules that are not
+     * applicable most of the time.</p>
+     *
+     * @param args the arguments to this inference rule.
+     * @param goals the goals on which to apply the inference rule.
+     * @return {@code true} iff the rule can be applied.
+     */
+    boolean isApplicable(RuleArg args, Goals goals);
+
+    /**
+     * Applies this inference rule if it {@link
+     * InferenceRule#isApplicable(speedith.core.reasoning.args.RuleArg, speedith.core.reasoning.Goals)
+     * is applicable}.
+     *
+     * @param args the arguments to this inference rule.
+     * @param goals the goals on which to apply the inference rule.
+     * @return results of the application of the inference rule, or {@code
+     * null} if the rule is not applicable.
+     */
+    RuleApplicationResult tryApply(RuleArg args, Goals goals);
+
     /**
      * Returns the provider of this rule. This provider gives all the
      * meta-information about this rule (human-readable description, formal
@@ -0,0 +1,471 @@
+package speedith.core.reasoning;
+
+import speedith.core.reasoning.args.RuleArg;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static speedith.core.i18n.Translations.i18n;
+
+/**
+ * Collects per-inference statistics: the number of applications, the number
+ * of failed applications, their latency and (where the JVM supports it) the
+ * number of bytes allocated by the applications.
+ * <p>Statistics are collected only while they are {@link
+ * InferenceStatistics#setEnabled(boolean) enabled}. Otherwise {@link
+ * InferenceStatistics#apply(Inference, RuleArg, Goals)} simply applies the
+ * inference. The {@link InferenceStatistics#getDefault() default instance}
+ * measures every inference applied through {@link ProofTrace}, {@link
+ * InferenceApplication#applyTo(Goals)} and the rule tactics. The time and
+ * allocations of a tactic include those of the rules it applies. Every
+ * application in a {@link BatchRuleApplication batch} counts as an
+ * application of its rule (see {@link
+ * InferenceStatistics#applyAll(List, Goals)}).</p>
+ * <p>The collected statistics can be written out as JSON or CSV at the end of
+ * a run (see {@link InferenceStatistics#writeJson(Writer)} and {@link
+ * InferenceStatistics#writeCsv(Writer)}).</p>
+ * <p>This class is thread-safe.</p>
+ */
+public class InferenceStatistics {
+
+    // <editor-fold defaultstate="collapsed" desc="Fields">
+    /**
+     * The number of buckets in the latency histograms. Bucket {@code 0}
+     * counts applications that took less than a microsecond, bucket {@code i}
+     * those that took at least {@code 2^(i-1)} and less than {@code 2^i}
+     * microseconds. The last bucket also counts all slower applications.
+     */
+    public static final int HistogramBucketCount = 32;
+
+    private static final InferenceStatistics Default = new InferenceStatistics();
+
+    private final ConcurrentHashMap<String, Counters> counters = new ConcurrentHashMap<>();
+    private volatile boolean enabled;
+    // </editor-fold>
+
+    // <editor-fold defaultstate="collapsed" desc="Public Properties">
+    /**
+     * Returns the instance through which all inferences are applied.
+     * <p>It is disabled by default.</p>
+     * @return the instance through which all inferences are applied.
+     */
+    public static InferenceStatistics getDefault() {
+        return Default;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables or disables the collection of statistics. Disabling it does not
+     * discard the statistics collected so far (see {@link
+     * InferenceStatistics#reset()}).
+     * @param enabled whether to collect statistics.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Indicates whether the JVM reports the number of bytes allocated by a
+     * thread. If it does not, the allocated bytes are reported as {@code -1}.
+     * @return {@code true} iff allocations are measured.
+     */
+    public static boolean isAllocationMeasured() {
+        return Allocations.Bean != null;
+    }
+
+    /**
+     * Returns a snapshot of the statistics collected so far, sorted by the
+     * names of the inferences.
+     * @return a snapshot of the statistics collected so far.
+     */
+    public List<Entry> getEntries() {
+        TreeMap<String, Counters> sorted = new TreeMap<>(counters);
+        ArrayList<Entry> entries = new ArrayList<>(sorted.size());
+        for (Map.Entry<String, Counters> entry : sorted.entrySet()) {
+            entries.add(entry.getValue().snapshot(entry.getKey()));
+        }
+        return Collections.unmodifiableList(entries);
+    }
+
+    /**
+     * Returns the statistics of the inference with the given name.
+     * @param inferenceName the {@link InferenceProvider#getInferenceName()
+     * name} of the inference.
+     * @return the statistics of the inference, or {@code null} if it has not
+     * been applied while statistics were collected.
+     */
+    public Entry getEntry(String inferenceName) {
+        Counters entry = counters.get(inferenceName);
+        return entry == null ? null : entry.snapshot(inferenceName);
+    }
+    // </editor-fold>
+
+    // <editor-fold defaultstate="collapsed" desc="Public Methods">
+    /**
+     * Applies the given inference and records the application, if statistics
+     * are enabled. An application that throws any exception is counted as a
+     * failure (the exception is rethrown).
+     * @param inference the inference to apply.
+     * @param args the arguments of the application.
+     * @param goals the goals to which to apply the inference.
+     * @param <TResult> the type of the result of the inference.
+     * @return the result of the inference.
+     * @throws RuleApplicationException thrown by the inference.
+     */
+    public <TResult extends InferenceApplicationResult> TResult apply(Inference<?, ? extends TResult> inference, RuleArg args, Goals goals) throws RuleApplicationException {
+        if (!enabled) {
+            return inference.apply(args, goals);
+        }
+        boolean succeeded = false;
+        long allocatedBefore = Allocations.current();
+        long start = System.nanoTime();
+        try {
+            TResult result = inference.apply(args, goals);
+            succeeded = true;
+            return result;
+        } finally {
+            long nanos = System.nanoTime() - start;
+            long allocatedAfter = Allocations.current();
+            record(inference.getProvider().getInferenceName(), nanos, allocatedBefore < 0 || allocatedAfter < 0 ? -1 : allocatedAfter - allocatedBefore, !succeeded);
+        }
+    }
+
+    /**
+     * Applies the given inference applications in a {@link
+     * BatchRuleApplication batch} and records them, if statistics are
+     * enabled. Every application counts as an application of its rule. The
+     * duration and allocations of the batch are divided among its rules by
+     * the number of their applications, and each application is counted in
+     * the latency histogram with the mean duration of the applications in the
+     * batch. If the batch throws any exception, all its applications are
+     * counted as failures (the exception is rethrown).
+     * @param applications the inference applications to apply (see {@link
+     * BatchRuleApplication#applyAll(List, Goals)}).
+     * @param goals the goals to which to apply the inferences.
+     * @return the goals after applying all the inferences.
+     * @throws RuleApplicationException thrown by the batch.
+     */
+    public RuleApplicationResult applyAll(List<InferenceApplication> applications, Goals goals) throws RuleApplicationException {
+        if (!enabled) {
+            return BatchRuleApplication.applyAll(applications, goals);
+        }
+        boolean succeeded = false;
+        long allocatedBefore = Allocations.current();
+        long start = System.nanoTime();
+        try {
+            RuleApplicationResult result = BatchRuleApplication.applyAll(applications, goals);
+            succeeded = true;
+            return result;
+        } finally {
+            long nanos = System.nanoTime() - start;
+            long allocatedAfter = Allocations.current();
+            long allocatedBytes = allocatedBefore < 0 || allocatedAfter < 0 ? -1 : allocatedAfter - allocatedBefore;
+            if (applications != null && !applications.isEmpty()) {
+                LinkedHashMap<String, Integer> applicationsPerRule = new LinkedHashMap<>();
+                for (InferenceApplication application : applications) {
+                    String inferenceName = application.getInference().getProvider().getInferenceName();
+                    Integer count = applicationsPerRule.get(inferenceName);
+                    applicationsPerRule.put(inferenceName, count == null ? 1 : count + 1);
+                }
+                for (Map.Entry<String, Integer> rule : applicationsPerRule.entrySet()) {
+                    int count = rule.getValue();
+                    record(rule.getKey(), count, nanos * count / applications.size(), allocatedBytes < 0 ? -1 : allocatedBytes * count / applications.size(), !succeeded);
+                }
+            }
+        }
+    }
+
+    /**
+     * Records a single application of the inference with the given name.
+     * @param inferenceName the name of the applied inference.
+     * @param nanos the duration of the application in nanoseconds.
+     * @param allocatedBytes the number of bytes allocated by the application,
+     * or a negative number if they were not measured.
+     * @param failed whether the application failed.
+     */
+    public void record(String inferenceName, long nanos, long allocatedBytes, boolean failed) {
+        record(inferenceName, 1, nanos, allocatedBytes, failed);
+    }
+
+    /**
+     * Records several applications of the inference with the given name that
+     * were measured together (e.g., in a {@link BatchRuleApplication batch}).
+     * @param inferenceName the name of the applied inference.
+     * @param applications the number of applications.
+     * @param nanos the duration of all the applications in nanoseconds.
+     * @param allocatedBytes the number of bytes allocated by all the
+     * applications, or a negative number if they were not measured.
+     * @param failed whether the applications failed.
+     */
+    public void record(String inferenceName, int applications, long nanos, long allocatedBytes, boolean failed) {
+        if (inferenceName == null) {
+            throw new IllegalArgumentException(i18n("GERR_NULL_ARGUMENT", "inferenceName"));
+        }
+        if (applications < 1) {
+            throw new IllegalArgumentException(i18n("GERR_ILLEGAL_ARGUMENT", "applications"));
+        }
+        Counters entry = counters.get(inferenceName);
+        if (entry == null) {
+            Counters newEntry = new Counters();
+            entry = counters.putIfAbsent(inferenceName, newEntry);
+            if (entry == null) {
+                entry = newEntry;
+            }
+        }
+        entry.record(applications, nanos, allocatedBytes, failed);
+    }
+
+    /**
+     * Discards all statistics collected so far.
+     */
+    public void reset() {
+        counters.clear();
+    }
+
+    /**
+     * Writes the {@link InferenceStatistics#getEntries() statistics} as a JSON
+     * array with one object per inference.
+     * @param output the writer to which to write the statistics.
+     * @throws IOException thrown if the writer fails.
+     */
+    public void writeJson(Writer output) throws IOException {
+        output.write('[');
+        boolean first = true;
+        for (Entry entry : getEntries()) {
+            output.write(first ? "\n  " : ",\n  ");
+            first = false;
+            output.write("{\"inference\": ");
+            writeJsonString(output, entry.getInferenceName());
+            output.write(", \"invocations\": " + entry.getInvocations());
+            output.write(", \"failures\": " + entry.getFailures());
+            output.write(", \"totalNanos\": " + entry.getTotalNanos());
+            output.write(", \"maxNanos\": " + entry.getMaxNanos());
+            output.write(", \"allocatedBytes\": " + entry.getAllocatedBytes());
+            output.write(", \"latencyHistogram\": [");
+            for (int i = 0; i < HistogramBucketCount; i++) {
+                if (i > 0) {
+                    output.write(", ");
+                }
+                output.write(Long.toString(entry.getLatencyHistogram()[i]));
+            }
+            output.write("]}");
+        }
+        output.write(first ? "]\n" : "\n]\n");
+        output.flush();
+    }
+
+    /**
+     * Writes the {@link InferenceStatistics#getEntries() statistics} as CSV
+     * (with a header line and one line per inference). The latency histogram
+     * is written as one column per bucket.
+     * @param output the writer to which to write the statistics.
+     * @throws IOException thrown if the writer fails.
+     */
+    public void writeCsv(Writer output) throws IOException {
+        output.write("inference,invocations,failures,totalNanos,maxNanos,allocatedBytes");
+        for (int i = 0; i < HistogramBucketCount; i++) {
+            output.write(",latencyBucket" + i);
+        }
+        output.write('\n');
+        for (Entry entry : getEntries()) {
+            writeCsvString(output, entry.getInferenceName());
+            output.write("," + entry.getInvocations() + "," + entry.getFailures() + "," + entry.getTotalNanos() + "," + entry.getMaxNanos() + "," + entry.getAllocatedBytes());
+            for (long count : entry.getLatencyHistogram()) {
+                output.write("," + count);
+            }
+            output.write('\n');
+        }
+        output.flush();
+    }
+    // </editor-fold>
+
+    // <editor-fold defaultstate="collapsed" desc="Private Helper Methods">
+    private static int histogramBucket(long nanos) {
+        long micros = nanos / 1000;
+        int bucket = 64 - Long.numberOfLeadingZeros(micros);
+        return Math.min(bucket, HistogramBucketCount - 1);
+    }
+
+    private static void writeJsonString(Writer output, String str) throws IOException {
+        output.write('"');
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            if (c == '"' || c == '\\') {
+                output.write('\\');
+                output.write(c);
+            } else if (c < 0x20) {
+                output.write(String.format("\\u%04x", (int) c));
+            } else {
+                output.write(c);
+            }
+        }
+        output.write('"');
+    }
+
+    private static void writeCsvString(Writer output, String str) throws IOException {
+        if (str.indexOf(',') < 0 && str.indexOf('"') < 0 && str.indexOf('\n') < 0) {
+            output.write(str);
+        } else {
+            output.write('"');
+            output.write(str.replace("\"", "\"\""));
+            output.write('"');
+        }
+    }
+    // </editor-fold>
+
+    /**
+     * The statistics of a single inference at the time they were {@link
+     * InferenceStatistics#getEntries() taken}.
+     */
+    public static final class Entry {
+
+        private final String inferenceName;
+        private final long invocations;
+        private final long failures;
+        private final long totalNanos;
+        private final long maxNanos;
+        private final long allocatedBytes;
+        private final long[] latencyHistogram;
+
+        Entry(String inferenceName, long invocations, long failures, long totalNanos, long maxNanos, long allocatedBytes, long[] latencyHistogram) {
+            this.inferenceName = inferenceName;
+            this.invocations = invocations;
+            this.failures = failures;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+            this.allocatedBytes = allocatedBytes;
+            this.latencyHistogram = latencyHistogram;
+        }
+
+        public String getInferenceName() {
+            return inferenceName;
+        }
+
+        /**
+         * Returns the number of applications (including the failed ones).
+         * @return the number of applications.
+         */
+        public long getInvocations() {
+            return invocations;
+        }
+
+        public long getFailures() {
+            return failures;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        /**
+         * Returns the mean duration of an application in nanoseconds.
+         * @return the mean duration of an application in nanoseconds.
+         */
+        public double getMeanNanos() {
+            return invocations == 0 ? 0 : (double) totalNanos / invocations;
+        }
+
+        /**
+         * Returns the total number of bytes allocated by the applications, or
+         * {@code -1} if the allocations were not measured.
+         * @return the total number of bytes allocated by the applications.
+         */
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+
+        /**
+         * Returns the latency histogram (see {@link
+         * InferenceStatistics#HistogramBucketCount}).
+         * @return a copy of the latency histogram.
+         */
+        public long[] getLatencyHistogram() {
+            return latencyHistogram.clone();
+        }
+    }
+
+    private static final class Counters {
+
+        private final AtomicLong invocations = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final AtomicLong allocatedBytes = new AtomicLong();
+        private volatile boolean allocationsMeasured = true;
+        private final AtomicLongArray latencyHistogram = new AtomicLongArray(HistogramBucketCount);
+
+        void record(int applications, long nanos, long allocated, boolean failed) {
+            invocations.addAndGet(applications);
+            if (failed) {
+                failures.addAndGet(applications);
+            }
+            totalNanos.addAndGet(nanos);
+            // the applications measured together are assumed to take equally long
+            long meanNanos = nanos / applications;
+            long max = maxNanos.get();
+            while (meanNanos > max && !maxNanos.compareAndSet(max, meanNanos)) {
+                max = maxNanos.get();
+            }
+            if (allocated < 0) {
+                allocationsMeasured = false;
+            } else {
+                allocatedBytes.addAndGet(allocated);
+            }
+            latencyHistogram.addAndGet(histogramBucket(meanNanos), applications);
+        }
+
+        Entry snapshot(String inferenceName) {
+            long[] histogram = new long[HistogramBucketCount];
+            for (int i = 0; i < HistogramBucketCount; i++) {
+                histogram[i] = latencyHistogram.get(i);
+            }
+            return new Entry(inferenceName, invocations.get(), failures.get(), totalNanos.get(), maxNanos.get(), allocationsMeasured ? allocatedBytes.get() : -1, histogram);
+        }
+    }
+
+    /**
+     * Reads the number of bytes allocated by the current thread, if the JVM
+     * supports it (this is an extension of the HotSpot and OpenJDK JVMs).
+     */
+    private static final class Allocations {
+
+        static final com.sun.management.ThreadMXBean Bean = findBean();
+
+        static long current() {
+            return Bean == null ? -1 : Bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+
+        private static com.sun.management.ThreadMXBean findBean() {
+            try {
+                ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+                if (bean instanceof com.sun.management.ThreadMXBean) {
+                    com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+                    if (sunBean.isThreadAllocatedMemorySupported() && sunBean.isThreadAllocatedMemoryEnabled()) {
+                        return sunBean;
+                    }
+                }
+            } catch (LinkageError | SecurityException | UnsupportedOperationException e) {
+                // Allocations are simply not measured.
+            }
+            return null;
+        }
+    }
+}
@@ -139,7 +139,7 @@ public class ProofTrace implements Proof {
         if (isFinished()) {
             throw new RuleApplicationException(i18n("PROOF_TRACE_FINISHED"));
         }
-        InferenceApplicationResult appResult = rule.apply(args, getLastGoals());
+        InferenceApplicationResult appResult = InferenceStatistics.getDefault().apply(rule, args, getLastGoals());
         if (appResult == null) {
             throw new IllegalStateException(i18n("SRK_RULE_MUST_RETURN_NONNULL_RESULT", rule.getProvider().getInferenceName()));
         }
@@ -0,0 +1,185 @@
+package speedith.core.reasoning;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The result of {@link ProofVerifier verifying} a {@link Proof proof}. It
+ * contains one {@link StepVerification entry} per inference step of the
+ * proof.
+ */
+public class ProofVerificationReport {
+
+    /**
+     * The outcome of checking a single inference step.
+     */
+    public enum StepStatus {
+        /**
+         * The inference, applied to the stored goals before the step,
+         * produced exactly the stored goals after the step.
+         */
+        Valid,
+        /**
+         * The inference produced goals that differ from the stored goals after
+         * the step.
+         */
+        Mismatch,
+        /**
+         * The inference could not be applied to the stored goals before the
+         * step.
+         */
+        Failed
+    }
+
+    /**
+     * Describes the outcome of checking a single inference step.
+     */
+    public static class StepVerification {
+
+        private final int stepIndex;
+        private final InferenceApplication application;
+        private final StepStatus status;
+        private final Goals expectedGoals;
+        private final Goals actualGoals;
+        private final Exception failure;
+
+        StepVerification(int stepIndex, InferenceApplication application, StepStatus status, Goals expectedGoals, Goals actualGoals, Exception failure) {
+            this.stepIndex = stepIndex;
+            this.application = application;
+            this.status = status;
+            this.expectedGoals = expectedGoals;
+            this.actualGoals = actualGoals;
+            this.failure = failure;
+        }
+
+        /**
+         * Returns the index of the checked inference step in the proof.
+         * @return the index of the checked inference step in the proof.
+         */
+        public int getStepIndex() {
+            return stepIndex;
+        }
+
+        /**
+         * Returns the checked inference application.
+         * @return the checked inference application.
+         */
+        public InferenceApplication getApplication() {
+            return application;
+        }
+
+        /**
+         * Returns the outcome of the check.
+         * @return the outcome of the check.
+         */
+        public StepStatus getStatus() {
+            return status;
+        }
+
+        /**
+         * Returns the goals stored in the proof after this step.
+         * @return the goals stored in the proof after this step.
+         */
+        public Goals getExpectedGoals() {
+            return expectedGoals;
+        }
+
+        /**
+         * Returns the goals produced by re-applying the inference.
+         * <p>Returns {@code null} if the inference could not be applied.</p>
+         * @return the goals produced by re-applying the inference.
+         */
+        public Goals getActualGoals() {
+            return actualGoals;
+        }
+
+        /**
+         * Returns the exception thrown by the inference.
+         * <p>Returns {@code null} unless the status is {@link
+         * StepStatus#Failed}.</p>
+         * @return the exception thrown by the inference.
+         */
+        public Exception getFailure() {
+            return failure;
+        }
+
+        public boolean isValid() {
+            return status == StepStatus.Valid;
+        }
+
+        @Override
+        public String toString() {
+            return "step " + stepIndex + " (" + application.getInference().getProvider().getInferenceName() + "): " + status
+                    + (failure == null ? "" : " - " + failure.getMessage());
+        }
+    }
+
+    // <editor-fold defaultstate="collapsed" desc="Fields">
+    private final Proof proof;
+    private final List<StepVerification> steps;
+    // </editor-fold>
+
+    // <editor-fold defaultstate="collapsed" desc="Constructors">
+    ProofVerificationReport(Proof proof, List<StepVerification> steps) {
+        this.proof = proof;
+        this.steps = Collections.unmodifiableList(new ArrayList<>(steps));
+    }
+    // </editor-fold>
+
+    // <editor-fold defaultstate="collapsed" desc="Public Properties">
+    /**
+     * Returns the verified proof.
+     * @return the verified proof.
+     */
+    public Proof getProof() {
+        return proof;
+    }
+
+    /**
+     * Returns the outcomes of the checks of all inference steps (in the order
+     * of the steps in the proof).
+     * @return the outcomes of the checks of all inference steps.
+     */
+    public List<StepVerification> getSteps() {
+        return steps;
+    }
+
+    /**
+     * Returns the outcomes of the checks of the steps that are not {@link
+     * StepStatus#Valid valid}.
+     * @return the outcomes of the checks of the invalid steps.
+     */
+    public List<StepVerification> getInvalidSteps() {
+        ArrayList<StepVerification> invalidSteps = new ArrayList<>();
+        for (StepVerification step : steps) {
+            if (!step.isValid()) {
+                invalidSteps.add(step);
+            }
+        }
+        return invalidSteps;
+    }
+
+    /**
+     * Indicates whether all inference steps of the proof are valid.
+     * @return {@code true} iff all inference steps of the proof are valid.
+     */
+    public boolean isValid() {
+        for (StepVerification step : steps) {
+            if (!step.isValid()) {
+                return false;
+            }
+        }
+        return true;
+    }
+    // </editor-fold>
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(isValid() ? "valid proof" : "invalid proof");
+        for (StepVerification step : steps) {
+            sb.append('\n').append(step);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,195 @@
+package speedith.core.reasoning;
+
+import speedith.core.lang.NullSpiderDiagram;
+import speedith.core.lang.SpiderDiagram;
+import speedith.core.reasoning.ProofVerificationReport.StepStatus;
+import speedith.core.reasoning.ProofVerificationReport.StepVerification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static speedith.core.i18n.Translations.i18n;
+
+/**
+ * Checks stored {@link Proof proofs} without replaying them.
+ * <p>Every inference step {@code i} is checked on its own: the inference is
+ * applied to the stored goals {@code i} and the result is compared with the
+ * stored goals {@code i + 1}. The steps therefore do not depend on each other
+ * and are checked in parallel (across steps as well as across proofs).</p>
+ * <p>Null spider diagrams are removed from the goals produced by an inference
+ * before the comparison (the same way as {@link ProofTrace} does when a rule
+ * is applied).</p>
+ */
+public class ProofVerifier {
+
+    // <editor-fold defaultstate="collapsed" desc="Fields">
+    private final ExecutorService executor;
+    // </editor-fold>
+
+    // <editor-fold defaultstate="collapsed" desc="Constructors">
+    /**
+     * Creates a verifier that checks the steps on the given executor. The
+     * verifier does not shut the executor down.
+     * @param executor the executor on which to check the steps.
+     */
+    public ProofVerifier(ExecutorService executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException(i18n("GERR_NULL_ARGUMENT", "executor"));
+        }
+        this.executor = executor;
+    }
+    // </editor-fold>
+
+    // <editor-fold defaultstate="collapsed" desc="Public Methods">
+    /**
+     * Checks all inference steps of the given proof in parallel, using as many
+     * threads as there are available processors.
+     * @param proof the proof to check.
+     * @return the report of the verification.
+     * @throws InterruptedException thrown if the current thread was
+     * interrupted while waiting for the checks to finish.
+     */
+    public static ProofVerificationReport verifyInParallel(Proof proof) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            return new ProofVerifier(executor).verify(proof);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Checks all inference steps of the given proof.
+     * @param proof the proof to check.
+     * @return the report of the verification.
+     * @throws InterruptedException thrown if the current thread was
+     * interrupted while waiting for the checks to finish.
+     */
+    public ProofVerificationReport verify(Proof proof) throws InterruptedException {
+        ArrayList<Proof> proofs = new ArrayList<>();
+        proofs.add(proof);
+        return verifyAll(proofs).get(0);
+    }
+
+    /**
+     * Checks all inference steps of all the given proofs. The steps of all
+     * proofs are submitted for checking at once.
+     * @param proofs the proofs to check.
+     * @return the reports of the verification (one for each proof, in the
+     * order of the given proofs).
+     * @throws InterruptedException thrown if the current thread was
+     * interrupted while waiting for the checks to finish.
+     */
+    public List<ProofVerificationReport> verifyAll(List<? extends Proof> proofs) throws InterruptedException {
+        if (proofs == null) {
+            throw new IllegalArgumentException(i18n("GERR_NULL_ARGUMENT", "proofs"));
+        }
+        ArrayList<ArrayList<Future<StepVerification>>> pendingChecks = new ArrayList<>(proofs.size());
+        try {
+            for (Proof proof : proofs) {
+                if (proof == null) {
+                    throw new IllegalArgumentException(i18n("GERR_NULL_ARGUMENT", "proof"));
+                }
+                ArrayList<Future<StepVerification>> stepChecks = new ArrayList<>(proof.getInferenceApplicationCount());
+                for (int i = 0; i < proof.getInferenceApplicationCount(); i++) {
+                    stepChecks.add(executor.submit(new StepCheck(proof, i)));
+                }
+                pendingChecks.add(stepChecks);
+            }
+            ArrayList<ProofVerificationReport> reports = new ArrayList<>(proofs.size());
+            for (int i = 0; i < proofs.size(); i++) {
+                ArrayList<StepVerification> steps = new ArrayList<>(pendingChecks.get(i).size());
+                for (Future<StepVerification> stepCheck : pendingChecks.get(i)) {
+                    steps.add(getStepVerification(stepCheck));
+                }
+                reports.add(new ProofVerificationReport(proofs.get(i), steps));
+            }
+            return reports;
+        } finally {
+            for (ArrayList<Future<StepVerification>> stepChecks : pendingChecks) {
+                for (Future<StepVerification> stepCheck : stepChecks) {
+                    stepCheck.cancel(true);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks the inference step at the given index in the current thread.
+     * @param proof the proof that contains the step.
+     * @param stepIndex the index of the inference step to check.
+     * @return the outcome of the check.
+     */
+    public static StepVerification verifyStep(Proof proof, int stepIndex) {
+        if (proof == null) {
+            throw new IllegalArgumentException(i18n("GERR_NULL_ARGUMENT", "proof"));
+        }
+        if (stepIndex < 0 || stepIndex >= proof.getInferenceApplicationCount()) {
+            throw new IndexOutOfBoundsException(i18n("GERR_INDEX_OUT_OF_RANGE", stepIndex, 0, proof.getInferenceApplicationCount() - 1));
+        }
+        InferenceApplication application = proof.getInferenceApplicationAt(stepIndex);
+        Goals expectedGoals = proof.getGoalsAt(stepIndex + 1);
+        try {
+            InferenceApplicationResult result = application.applyTo(proof.getGoalsAt(stepIndex));
+            if (result == null) {
+                throw new IllegalStateException(i18n("SRK_RULE_MUST_RETURN_NONNULL_RESULT", application.getInference().getProvider().getInferenceName()));
+            }
+            Goals actualGoals = dischargeNullGoals(result.getGoals());
+            StepStatus status = sameGoals(expectedGoals, actualGoals) ? StepStatus.Valid : StepStatus.Mismatch;
+            return new StepVerification(stepIndex, application, status, expectedGoals, actualGoals, null);
+        } catch (Exception ex) {
+            // Tactics written in Scala may also throw TacticApplicationException.
+            return new StepVerification(stepIndex, application, StepStatus.Failed, expectedGoals, null, ex);
+        }
+    }
+    // </editor-fold>
+
+    // <editor-fold defaultstate="collapsed" desc="Private Helper Methods">
+    private static StepVerification getStepVerification(Future<StepVerification> stepCheck) throws InterruptedException {
+        try {
+            return stepCheck.get();
+        } catch (ExecutionException ex) {
+            // StepCheck catches all exceptions of the inference itself.
+            throw new IllegalStateException(i18n("GERR_ILLEGAL_STATE"), ex.getCause());
+        }
+    }
+
+    private static Goals dischargeNullGoals(Goals goals) {
+        if (goals == null || goals.isEmpty()) {
+            return Goals.createGoalsFrom(new ArrayList<SpiderDiagram>());
+        }
+        ArrayList<SpiderDiagram> remainingGoals = new ArrayList<>();
+        NullSpiderDiagram nsd = NullSpiderDiagram.getInstance();
+        for (SpiderDiagram goal : goals.getGoals()) {
+            if (!nsd.isSEquivalentTo(goal)) {
+                remainingGoals.add(goal);
+            }
+        }
+        return Goals.createGoalsFrom(remainingGoals);
+    }
+
+    private static boolean sameGoals(Goals expected, Goals actual) {
+        if (expected == null || expected.isEmpty()) {
+            return actual.isEmpty();
+        }
+        return expected.getGoals().equals(actual.getGoals());
+    }
+    // </editor-fold>
+
+    private static class StepCheck implements Callable<StepVerification> {
+
+        private final Proof proof;
+        private final int stepIndex;
+
+        StepCheck(Proof proof, int stepIndex) {
+            this.proof = proof;
+            this.stepIndex = stepIndex;
+        }
+
+        @Override
+        public StepVerification call() {
+            return verifyStep(proof, stepIndex);
+        }
+    }
+}
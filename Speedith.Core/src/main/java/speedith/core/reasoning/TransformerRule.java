@@ -0,0 +1,38 @@
+package speedith.core.reasoning;
+
+import speedith.core.lang.Transformer;
+import speedith.core.reasoning.args.RuleArg;
+import speedith.core.reasoning.args.SubDiagramIndexArg;
+
+/**
+ * {@link InferenceRule Inference rules} implementing this interface change a
+ * single sub-diagram of a single subgoal and do so by applying a single
+ * {@link Transformer transformer} to the subgoal.
+ * <p>Such rules may be applied together with other rules of this kind in a
+ * single traversal of the subgoal (see {@link
+ * BatchRuleApplication}).</p>
+ *
+ * @param <TArgs> the type of arguments the provided inference rule expects.
+ */
+public interface TransformerRule<TArgs extends RuleArg> extends InferenceRule<TArgs> {
+
+    /**
+     * Returns the subgoal and the sub-diagram that are changed by this rule
+     * when it is applied with the given arguments.
+     * @param args the arguments to the inference rule.
+     * @return the target of the inference rule.
+     * @throws RuleApplicationException thrown if the arguments are invalid.
+     */
+    SubDiagramIndexArg getTarget(RuleArg args) throws RuleApplicationException;
+
+    /**
+     * Returns the transformer that changes the {@link
+     * TransformerRule#getTarget(RuleArg) target} of this rule. Applying this
+     * transformer to the target subgoal has the same effect as {@link
+     * InferenceRule#apply(RuleArg, Goals) applying} the rule.
+     * @param args the arguments to the inference rule.
+     * @return the transformer that performs the inference.
+     * @throws RuleApplicationException thrown if the arguments are invalid.
+     */
+    Transformer getTransformer(RuleArg args) throws RuleApplicationException;
+}
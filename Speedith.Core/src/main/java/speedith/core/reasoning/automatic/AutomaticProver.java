@@ -1,23 +1,61 @@
 package speedith.core.reasoning.automatic;
 
-import speedith.core.lang.TransformationException;
+import speedith.core.lang.CompoundSpiderDiagram;
+import speedith.core.lang.Operator;
+import speedith.core.lang.SpiderDiagram;
 import speedith.core.reasoning.*;
+import speedith.core.reasoning.ProofVerificationReport.StepStatus;
 import speedith.core.reasoning.args.SubDiagramIndexArg;
 import speedith.core.reasoning.automatic.strategies.Strategy;
 import speedith.core.reasoning.automatic.wrappers.CompoundSpiderDiagramOccurrence;
+import speedith.core.reasoning.automatic.wrappers.OccurrenceIndex;
 import speedith.core.reasoning.automatic.wrappers.PrimarySpiderDiagramOccurrence;
 import speedith.core.reasoning.automatic.wrappers.SpiderDiagramOccurrence;
+import speedith.core.reasoning.rules.SplitConjunction;
 import speedith.core.reasoning.rules.TrivialImplicationTautology;
 import speedith.core.reasoning.rules.util.ReasoningUtils;
 import speedith.core.reasoning.tactical.TacticApplicationException;
+import speedith.core.reasoning.tactical.TacticResultCache;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static speedith.core.i18n.Translations.i18n;
 
 /**
+ * <p>The independent subgoals of a goal are proved concurrently by the same
+ * prover (see {@link #generateProof(Goals)}). Implementations of {@link
+ * #prove(Proof, int)} must therefore keep the state of a search in local
+ * variables rather than in fields of the prover. Every search gets an {@link
+ * OccurrenceIndex} and a {@link TacticResultCache} of its own. The shared
+ * structures used during the search (the pool of {@link
+ * speedith.core.lang.SpiderDiagrams spider diagrams} and the {@link
+ * InferenceStatistics statistics}) are thread-safe.</p>
+ *
  * @author Sven Linker [s.linker@brighton.ac.uk]
  */
 public abstract class AutomaticProver  implements  AutomaticProof, AutomaticProverProvider {
 
     private Strategy strategy;
 
+    private ProofCache proofCache;
+
+    private CounterModelFinder counterModelFinder = new CounterModelFinder();
+
+    private DuplicateDetection duplicateDetection = DuplicateDetection.None;
+
+    private PremiseFilter premiseFilter = new PremiseFilter();
+
+    private ExecutorService subgoalExecutor;
+
+    private int tacticCacheCapacity = TacticResultCache.DefaultCapacity;
+
     public AutomaticProver(Strategy strategy) {
         this.strategy = strategy;
     }
@@ -30,8 +68,117 @@ public abstract class AutomaticProver  implements  AutomaticProof, AutomaticProv
         this.strategy = strategy;
     }
 
+    public ProofCache getProofCache() {
+        return proofCache;
+    }
+
+    /**
+     * Sets the persistent cache which {@link #generateProof(Goals)} consults
+     * before searching for a proof and to which it adds the found proofs.
+     *
+     * @param proofCache the cache to use, or {@code null} to disable caching.
+     */
+    public void setProofCache(ProofCache proofCache) {
+        this.proofCache = proofCache;
+    }
+
+    public CounterModelFinder getCounterModelFinder() {
+        return counterModelFinder;
+    }
+
+    /**
+     * Sets the finder which {@link #generateProof(Goals)} uses to reject
+     * goals that have a counter-model before searching for a proof. Goals
+     * whose proof is in the {@link #setProofCache(ProofCache) proof cache}
+     * are not checked.
+     *
+     * @param counterModelFinder the finder to use, or {@code null} to always
+     * search for a proof.
+     */
+    public void setCounterModelFinder(CounterModelFinder counterModelFinder) {
+        this.counterModelFinder = counterModelFinder;
+    }
+
+    public PremiseFilter getPremiseFilter() {
+        return premiseFilter;
+    }
+
+    /**
+     * Sets the filter which {@link #generateProof(Goals)} uses to remove the
+     * premises that cannot contribute to the proof before it searches for a
+     * proof (of each subgoal).
+     *
+     * @param premiseFilter the filter to use, or {@code null} to keep all
+     * premises.
+     */
+    public void setPremiseFilter(PremiseFilter premiseFilter) {
+        this.premiseFilter = premiseFilter;
+    }
+
+    public DuplicateDetection getDuplicateDetection() {
+        return duplicateDetection;
+    }
+
+    /**
+     * Sets which proof attempts this prover does not expand because it has
+     * expanded an equivalent attempt already.
+     *
+     * @param duplicateDetection the kind of duplicates to skip.
+     */
+    public void setDuplicateDetection(DuplicateDetection duplicateDetection) {
+        if (duplicateDetection == null) {
+            throw new IllegalArgumentException(i18n("GERR_NULL_ARGUMENT", "duplicateDetection"));
+        }
+        this.duplicateDetection = duplicateDetection;
+    }
+
+    public ExecutorService getSubgoalExecutor() {
+        return subgoalExecutor;
+    }
+
+    /**
+     * Sets the executor on which {@link #generateProof(Goals)} proves the
+     * independent subgoals of a goal. The prover does not shut the executor
+     * down.
+     * <p>The calling thread proves every subgoal that no thread of the
+     * executor has started proving yet. The executor may therefore be
+     * bounded and {@link #generateProof(Goals)} may be called from one of its
+     * threads.</p>
+     *
+     * @param subgoalExecutor the executor to use, or {@code null} to use a
+     * thread pool (with as many daemon threads as there are available
+     * processors) that is shared by all provers.
+     */
+    public void setSubgoalExecutor(ExecutorService subgoalExecutor) {
+        this.subgoalExecutor = subgoalExecutor;
+    }
+
+    public int getTacticCacheCapacity() {
+        return tacticCacheCapacity;
+    }
+
+    /**
+     * Sets the number of tactic applications memoised during a single proof
+     * search (see {@link TacticResultCache}).
+     *
+     * @param tacticCacheCapacity the number of memoised applications, or
+     * {@code 0} to not memoise tactic applications.
+     */
+    public void setTacticCacheCapacity(int tacticCacheCapacity) {
+        if (tacticCacheCapacity < 0) {
+            throw new IllegalArgumentException(i18n("GERR_ILLEGAL_ARGUMENT", "tacticCacheCapacity"));
+        }
+        this.tacticCacheCapacity = tacticCacheCapacity;
+    }
+
     /**
      * Creates a {@link Proof} object for the given set of initial goals using the {@link Strategy}.
+     * <p>If the conclusion of the goal is a conjunction, the goal is first split
+     * into one subgoal per conjunct (see {@link SplitConjunction}). The subgoals
+     * are proved independently of each other and in parallel (see {@link
+     * #setSubgoalExecutor(ExecutorService)}). Their proofs are then appended to
+     * the splitting steps, one after another, so that the result is a single
+     * proof of the goal.</p>
      *
      * @param initialGoals The set of SpiderDiagrams for which a proof will be constructed
      * @return the constructed Proof object
@@ -51,18 +198,47 @@ public abstract class AutomaticProver  implements  AutomaticProof, AutomaticProv
         // introduce all zones that are only implicit in the
         // data structure. I.e. present_zones returns the zone set in
         // the usual sense of spider diagrams
-        Proof init = new ProofTrace(ReasoningUtils.normalize(initialGoals));
+        Goals normalised = ReasoningUtils.normalize(initialGoals);
+        if (proofCache != null) {
+            Proof cached = proofCache.lookup(normalised);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        // a goal with a counter-model cannot be proved, so there is no need
+        // to exhaust the search space
+        if (counterModelFinder != null) {
+            CounterModel counterModel = counterModelFinder.findCounterModel(initialGoals.getGoalAt(subGoalToProve));
+            if (counterModel != null) {
+                throw new AutomaticProofException("The current goal is not valid. Counter-model: " + counterModel);
+            }
+        }
+        Proof init = new ProofTrace(normalised);
         //AppliedRules appliedRules = new AppliedRules();
 
         Proof result;
         try {
-            result = prove(init, subGoalToProve);
+            if (normalised.getGoalsCount() == 1 && splitConclusion(init, subGoalToProve) > 1) {
+                result = proveSubgoals(init);
+            } else {
+                result = proveWithRelevantPremises(init, subGoalToProve);
+            }
         } catch (RuleApplicationException|TacticApplicationException e) {
             throw new AutomaticProofException("Unable to prove current goal because of an illegal rule application",e);
         }
         if (result == null || !result.isFinished()) {
             throw  new AutomaticProofException("Unable to prove current goal");
         }
+        if (proofCache != null) {
+            try {
+                proofCache.store(result);
+            } catch (IOException e) {
+                // the cache is only an optimisation: the proof is valid
+                // even if it could not be stored
+                Logger.getLogger(AutomaticProver.class.getName()).log(Level.WARNING, i18n("ERR_PROOF_CACHE_STORE_FAILED", proofCache.getDirectory()), e);
+            }
+        }
         return result;
     }
 
@@ -88,7 +264,7 @@ public abstract class AutomaticProver  implements  AutomaticProof, AutomaticProv
 
         Proof result;
         try {
-            result = prove(initial, subGoalToProve);
+            result = proveInSearchScope(initial, subGoalToProve);
         } catch (RuleApplicationException|TacticApplicationException e) {
             throw new AutomaticProofException("Unable to prove current goal because of an illegal rule application",e);
         }
@@ -101,6 +277,181 @@ public abstract class AutomaticProver  implements  AutomaticProof, AutomaticProv
 
     protected abstract Proof prove (Proof p, int subgoalindex) throws RuleApplicationException, TacticApplicationException, AutomaticProofException;
 
+    private Proof proveWithRelevantPremises(Proof p, int subGoalIndex) throws RuleApplicationException, TacticApplicationException, AutomaticProofException {
+        if (premiseFilter != null) {
+            premiseFilter.removeIrrelevantPremises(p, subGoalIndex, getPrettyName());
+        }
+        return proveInSearchScope(p, subGoalIndex);
+    }
+
+    /**
+     * Searches for the proof with a new {@link OccurrenceIndex} and a new
+     * {@link TacticResultCache} bound to the current thread. The goals of the
+     * search thus share their occurrences and tactic results, which are
+     * discarded after the search.
+     */
+    private Proof proveInSearchScope(Proof p, int subGoalIndex) throws RuleApplicationException, TacticApplicationException, AutomaticProofException {
+        OccurrenceIndex previousIndex = OccurrenceIndex.setCurrent(new OccurrenceIndex());
+        TacticResultCache previousCache = TacticResultCache.setCurrent(tacticCacheCapacity > 0 ? new TacticResultCache(tacticCacheCapacity) : null);
+        try {
+            return prove(p, subGoalIndex);
+        } finally {
+            TacticResultCache.setCurrent(previousCache);
+            OccurrenceIndex.setCurrent(previousIndex);
+        }
+    }
+
+    /**
+     * Splits the conclusion of the given subgoal of the proof into its conjuncts
+     * until none of the resulting subgoals has a conjunction as its conclusion.
+     * @param p the proof whose last goals contain the subgoal to split
+     * @param subGoalIndex the index of the subgoal to split
+     * @return the number of subgoals the given subgoal has been split into
+     * (the split subgoals are placed at the indices starting at subGoalIndex).
+     */
+    private int splitConclusion(Proof p, int subGoalIndex) throws RuleApplicationException, TacticApplicationException {
+        SpiderDiagram goal = p.getLastGoals().getGoalAt(subGoalIndex);
+        if (!(goal instanceof CompoundSpiderDiagram)) {
+            return 1;
+        }
+        CompoundSpiderDiagram implication = (CompoundSpiderDiagram) goal;
+        SpiderDiagram conclusion = implication.getOperand(1);
+        if (!(conclusion instanceof CompoundSpiderDiagram) || ((CompoundSpiderDiagram) conclusion).getOperator() != Operator.Conjunction) {
+            return 1;
+        }
+        // the conclusion follows the implication and all sub-diagrams of the premise
+        int conclusionIndex = 1 + implication.getOperand(0).getSubDiagramCount();
+        p.applyRule(new SplitConjunction(), new SubDiagramIndexArg(subGoalIndex, conclusionIndex), RuleApplicationType.AUTOMATIC, getPrettyName());
+        int firstCount = splitConclusion(p, subGoalIndex);
+        return firstCount + splitConclusion(p, subGoalIndex + firstCount);
+    }
+
+    /**
+     * Proves all the last goals of the given proof independently of each other
+     * and appends their proofs to the steps of p.
+     * <p>The proof of every subgoal starts from the subgoal alone. Its steps
+     * therefore refer to the subgoal at index 0. Once the proofs of the
+     * preceding subgoals are appended, the subgoal is the first of the
+     * remaining goals, so the steps apply to the combined goals unchanged
+     * (provided that they keep the goals after the subgoal intact). Every
+     * appended step is checked against the combined goals.</p>
+     * <p>Before it waits for the proof of a subgoal, the calling thread proves
+     * the subgoal itself unless a thread of the executor has already started.
+     * The subgoals are thus proved even if all the threads of the executor
+     * wait for the proofs of their own subgoals.</p>
+     * @param p the proof whose last goals are to be proved
+     * @return a new proof that consists of the steps of p and the proofs of
+     * its last goals, or {@code null} if any of the goals could not be proved.
+     * @throws AutomaticProofException thrown if the steps of a subgoal's proof
+     * do not apply to the combined goals.
+     */
+    private Proof proveSubgoals(Proof p) throws RuleApplicationException, TacticApplicationException, AutomaticProofException {
+        ExecutorService executor = subgoalExecutor == null ? SharedSubgoalExecutor.Instance : subgoalExecutor;
+        List<SpiderDiagram> subgoals = p.getLastGoals().getGoals();
+        ArrayList<FutureTask<Proof>> subproofs = new ArrayList<>();
+        try {
+            for (final SpiderDiagram subgoal : subgoals) {
+                FutureTask<Proof> subproof = new FutureTask<>(new Callable<Proof>() {
+                    @Override
+                    public Proof call() throws Exception {
+                        return proveWithRelevantPremises(new ProofTrace(subgoal), 0);
+                    }
+                });
+                subproofs.add(subproof);
+                executor.execute(subproof);
+            }
+            ArrayList<Goals> goals = new ArrayList<>(p.getGoals());
+            ArrayList<InferenceApplication> applications = new ArrayList<>(p.getInferenceApplications());
+            for (int i = 0; i < subproofs.size(); i++) {
+                // does nothing if a thread of the executor has started the task
+                subproofs.get(i).run();
+                Proof subproof = getSubproof(subproofs.get(i));
+                // only a fully discharged subgoal leaves the next subgoal at
+                // index 0 of the remaining goals
+                if (subproof == null || !subproof.isFinished()) {
+                    return null;
+                }
+                appendSubproof(goals, applications, subproof, subgoals.subList(i + 1, subgoals.size()));
+            }
+            Proof combined = new ProofTrace(goals, applications);
+            for (int step = p.getInferenceApplicationCount(); step < combined.getInferenceApplicationCount(); step++) {
+                if (ProofVerifier.verifyStep(combined, step).getStatus() != StepStatus.Valid) {
+                    throw new AutomaticProofException("The proof of a subgoal does not apply to the current goal (step " + step + ")");
+                }
+            }
+            return combined;
+        } finally {
+            for (Future<Proof> subproof : subproofs) {
+                subproof.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Appends the steps of the given proof of a subgoal to the given steps of
+     * the combined proof. The goals after every step are the goals of the
+     * subgoal's proof followed by the given later goals.
+     */
+    private static void appendSubproof(List<Goals> goals, List<InferenceApplication> applications, Proof subproof, List<SpiderDiagram> laterGoals) {
+        for (int i = 0; i < subproof.getInferenceApplicationCount(); i++) {
+            List<SpiderDiagram> subgoalGoals = subproof.getGoalsAt(i + 1).getGoals();
+            ArrayList<SpiderDiagram> stepGoals = new ArrayList<>(subgoalGoals == null ? Collections.<SpiderDiagram>emptyList() : subgoalGoals);
+            stepGoals.addAll(laterGoals);
+            goals.add(Goals.createGoalsFrom(stepGoals));
+            applications.add(subproof.getInferenceApplicationAt(i));
+        }
+    }
+
+    private static Proof getSubproof(Future<Proof> subproof) throws RuleApplicationException, TacticApplicationException, AutomaticProofException {
+        try {
+            return subproof.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AutomaticProofException("The proof search has been interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuleApplicationException) {
+                throw (RuleApplicationException) cause;
+            } else if (cause instanceof TacticApplicationException) {
+                throw (TacticApplicationException) cause;
+            } else if (cause instanceof AutomaticProofException) {
+                throw (AutomaticProofException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new AutomaticProofException("Unable to prove current goal", cause);
+        }
+    }
+
+
+    /**
+     * Holds the executor on which the subgoals are proved unless a {@link
+     * #setSubgoalExecutor(ExecutorService) subgoal executor} is set. It is
+     * created on first use. Its threads are daemons, so it never has to be
+     * shut down.
+     */
+    private static final class SharedSubgoalExecutor {
+        static final ExecutorService Instance = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "subgoal-prover");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Records the last goals of the given proof as expanded.
+     * @param expandedGoals the keys of the goals expanded so far in the current search.
+     * @param p the proof that is about to be expanded
+     * @return {@code false} iff the goals are a duplicate (see {@link #getDuplicateDetection()})
+     * of goals that have been expanded already, in which case p should not be expanded.
+     */
+    protected boolean markExpanded(Set<Object> expandedGoals, Proof p) {
+        Object key = duplicateDetection.keyOf(p.getLastGoals());
+        return key == null || expandedGoals.add(key);
+    }
 
     /**
      * Tries to finish up the given Proof p by applying ImplicationTautology to
@@ -114,14 +465,11 @@ public abstract class AutomaticProver  implements  AutomaticProof, AutomaticProv
         if (p.isFinished()) return p;
         TrivialImplicationTautology tautology = new TrivialImplicationTautology();
         SubDiagramIndexArg index = new SubDiagramIndexArg(subGoalIndex,0);
-        try {
+        // check the syntactic equivalence first, so that no exception has to
+        // be thrown (and swallowed) for the majority of proofs, which cannot
+        // be finished yet.
+        if (tautology.isApplicable(index, p.getLastGoals())) {
             p.applyRule(tautology, index, RuleApplicationType.AUTOMATIC, getPrettyName());
-        } catch (TransformationException e) {
-            // TrivialImplicationTautology throws a TransformationException, if the rule
-            // could not be applied (i.e., if the syntactic equivalence could not
-            // be established). I abuse this behaviour by silently swallowing
-            // the exception, Hence, if such an exception is thrown, the old proof
-            // will be returned.
         }
         return p;
     }
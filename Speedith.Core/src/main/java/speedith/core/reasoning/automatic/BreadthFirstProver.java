@@ -41,6 +41,7 @@ public class BreadthFirstProver extends  AutomaticProver {
         List<Proof> currentProofs = new LinkedList<>();
         // we keep the set of closed proofs for statistics
         Set<Proof> closed = new HashSet<>();
+        Set<Object> expandedGoals = new HashSet<>();
         currentProofs.add( p);
 
          Goals currentGoals = p.getLastGoals();
@@ -60,7 +61,7 @@ public class BreadthFirstProver extends  AutomaticProver {
             if (current.isFinished()) {
                 // we found a finished proof
                 finishedProof = current;
-            } else {
+            } else if (markExpanded(expandedGoals, current)) {
                 // create all possible proof rules for this unfinished proof
                 SpiderDiagramOccurrence target = SpiderDiagramOccurrence.wrapDiagram(current.getLastGoals().getGoalAt(subgoalindex), 0);
                 Set<? extends PossibleRuleApplication<? extends RuleArg>> applications = AutomaticUtils.createAllPossibleRuleApplications(subgoalindex,target, contours);
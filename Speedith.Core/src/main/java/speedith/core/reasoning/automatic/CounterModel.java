@@ -0,0 +1,37 @@
+package speedith.core.reasoning.automatic;
+
+import speedith.core.lang.Zone;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A finite model that satisfies all premises of a goal but falsifies at least
+ * one of its conclusions (see {@link CounterModelFinder}).
+ * <p>The model is described by its elements. Each element is given by the
+ * zone (over all contours of the goal) in which it lies.</p>
+ */
+public final class CounterModel {
+
+    private final List<Zone> elements;
+
+    CounterModel(List<Zone> elements) {
+        this.elements = Collections.unmodifiableList(new ArrayList<>(elements));
+    }
+
+    /**
+     * Returns the zones of the elements of this model. A zone appears in the
+     * list as many times as there are elements in it.
+     *
+     * @return the zones of the elements of this model.
+     */
+    public List<Zone> getElements() {
+        return elements;
+    }
+
+    @Override
+    public String toString() {
+        return elements.toString();
+    }
+}
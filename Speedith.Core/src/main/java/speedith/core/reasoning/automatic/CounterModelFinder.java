@@ -0,0 +1,499 @@
+package speedith.core.reasoning.automatic;
+
+import speedith.core.lang.*;
+
+import java.util.*;
+
+import static speedith.core.i18n.Translations.i18n;
+
+/**
+ * Searches for counter-models of goals that are implications of conjunctions
+ * of primary spider diagrams (the goals {@link AutomaticProver automatic
+ * provers} work on).
+ * <p>A model assigns each of its elements to a zone over all contours of the
+ * goal. A primary diagram holds in a model iff its spiders can be mapped to
+ * distinct elements within their habitats such that every element in a shaded
+ * zone is the image of a spider. A counter-model satisfies all premises and
+ * falsifies at least one conclusion. A goal with a counter-model is not
+ * provable, so provers can reject it without searching for a proof.</p>
+ * <p>For goals without spiders (i.e.: Euler diagrams with shading) the search
+ * is complete: a single element in a zone that is shaded in a conclusion, but
+ * in none of the premises, is a counter-model, and there is a counter-model
+ * only if there is such a zone. The search assigns the contours of that zone
+ * one at a time and backtracks as soon as the zone falls into a shaded zone of
+ * a premise, which also works for goals with many contours.</p>
+ * <p>For goals with spiders the finder enumerates small models. Zones that no
+ * diagram of the goal can tell apart are interchangeable, so only one of them
+ * is considered. This search is incomplete.</p>
+ * <p>Both searches give up after visiting a configurable number of nodes. The
+ * finder returns a counter-model only if it has found one, which means that
+ * {@code null} does not imply that the goal is valid.</p>
+ */
+public class CounterModelFinder {
+
+    /**
+     * The default number of nodes the search visits before it gives up.
+     */
+    public static final int DefaultMaxSearchNodes = 100000;
+    /**
+     * Contours are represented as bits in a {@code long}.
+     */
+    private static final int MaxContours = Long.SIZE - 1;
+    /**
+     * Goals with spiders are searched only if they do not have more contours
+     * than this (all their zones are enumerated to find the interchangeable
+     * ones).
+     */
+    private static final int MaxContoursWithSpiders = 12;
+    /**
+     * The largest model (number of elements) the search for goals with spiders
+     * considers.
+     */
+    private static final int MaxElements = 8;
+    private static final long NotFound = -1;
+
+    private final int maxSearchNodes;
+
+    /**
+     * Creates a counter-model finder that gives up after visiting {@link
+     * CounterModelFinder#DefaultMaxSearchNodes} nodes.
+     */
+    public CounterModelFinder() {
+        this(DefaultMaxSearchNodes);
+    }
+
+    /**
+     * Creates a counter-model finder that gives up after visiting the given
+     * number of nodes.
+     *
+     * @param maxSearchNodes the number of nodes the search visits before it
+     * gives up.
+     */
+    public CounterModelFinder(int maxSearchNodes) {
+        if (maxSearchNodes < 0) {
+            throw new IllegalArgumentException(i18n("GERR_ILLEGAL_ARGUMENT", "maxSearchNodes"));
+        }
+        this.maxSearchNodes = maxSearchNodes;
+    }
+
+    public int getMaxSearchNodes() {
+        return maxSearchNodes;
+    }
+
+    /**
+     * Searches for a counter-model of the given goal.
+     *
+     * @param goal an implication of conjunctions of primary spider diagrams.
+     * @return a counter-model of the goal, or {@code null} if none was found
+     * (either because the goal is valid, because the search gave up, or
+     * because the goal is not an implication of conjunctions).
+     */
+    public CounterModel findCounterModel(SpiderDiagram goal) {
+        if (!(goal instanceof CompoundSpiderDiagram)) {
+            return null;
+        }
+        CompoundSpiderDiagram implication = (CompoundSpiderDiagram) goal;
+        if (!implication.getOperator().equals(Operator.Implication)) {
+            return null;
+        }
+        ArrayList<PrimarySpiderDiagram> premises = new ArrayList<>();
+        ArrayList<PrimarySpiderDiagram> conclusions = new ArrayList<>();
+        if (!collectConjuncts(implication.getOperand(0), premises) || !collectConjuncts(implication.getOperand(1), conclusions)) {
+            return null;
+        }
+
+        TreeSet<String> contours = new TreeSet<>();
+        for (PrimarySpiderDiagram premise : premises) {
+            contours.addAll(premise.getAllContours());
+        }
+        for (PrimarySpiderDiagram conclusion : conclusions) {
+            contours.addAll(conclusion.getAllContours());
+        }
+        if (contours.size() > MaxContours) {
+            return null;
+        }
+        String[] allContours = contours.toArray(new String[contours.size()]);
+
+        ArrayList<DiagramConstraint> premiseConstraints = compile(premises, allContours);
+        ArrayList<DiagramConstraint> conclusionConstraints = compile(conclusions, allContours);
+        if (premiseConstraints == null || conclusionConstraints == null) {
+            return null;
+        }
+        return new Search(allContours, premiseConstraints, conclusionConstraints).find();
+    }
+
+    /**
+     * Searches for a zone (over all contours of the given diagrams) that is not
+     * shaded in any of them. The spiders of the diagrams are not taken into
+     * account.
+     *
+     * @param diagrams the diagrams in which the zone must not be shaded.
+     * @return a zone that is not shaded in any of the diagrams, or {@code null}
+     * if none was found (either because there is no such zone, because the
+     * search gave up, or because some diagram is not supported).
+     */
+    Zone findUnshadedZone(List<PrimarySpiderDiagram> diagrams) {
+        TreeSet<String> contours = new TreeSet<>();
+        for (PrimarySpiderDiagram diagram : diagrams) {
+            if (!diagram.isWellFormed()) {
+                return null;
+            }
+            contours.addAll(diagram.getAllContours());
+        }
+        if (contours.size() > MaxContours) {
+            return null;
+        }
+        String[] allContours = contours.toArray(new String[contours.size()]);
+        ArrayList<DiagramConstraint> constraints = compile(diagrams, allContours);
+        if (constraints == null) {
+            return null;
+        }
+        long type = new Search(allContours, constraints, new ArrayList<DiagramConstraint>()).findUnshadedType(0, 0);
+        return type == NotFound ? null : zoneOf(type, allContours);
+    }
+
+    // <editor-fold defaultstate="collapsed" desc="Private Helper Methods">
+    /**
+     * Returns {@code false} iff the given diagram is not a conjunction of well-formed
+     * primary diagrams.
+     */
+    private static boolean collectConjuncts(SpiderDiagram sd, List<PrimarySpiderDiagram> conjuncts) {
+        if (sd instanceof PrimarySpiderDiagram) {
+            if (!((PrimarySpiderDiagram) sd).isWellFormed()) {
+                return false;
+            }
+            conjuncts.add((PrimarySpiderDiagram) sd);
+            return true;
+        } else if (sd instanceof NullSpiderDiagram) {
+            return true;
+        } else if (sd instanceof CompoundSpiderDiagram && ((CompoundSpiderDiagram) sd).getOperator().equals(Operator.Conjunction)) {
+            for (SpiderDiagram operand : ((CompoundSpiderDiagram) sd).getOperands()) {
+                if (!collectConjuncts(operand, conjuncts)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns {@code null} if any of the diagrams is not supported.
+     */
+    private static ArrayList<DiagramConstraint> compile(List<PrimarySpiderDiagram> diagrams, String[] allContours) {
+        ArrayList<DiagramConstraint> constraints = new ArrayList<>();
+        for (PrimarySpiderDiagram diagram : diagrams) {
+            DiagramConstraint constraint = DiagramConstraint.compile(diagram, allContours);
+            if (constraint == null) {
+                return null;
+            }
+            constraints.add(constraint);
+        }
+        return constraints;
+    }
+
+    private static long maskOf(Collection<String> contours, String[] allContours) {
+        long mask = 0;
+        for (String contour : contours) {
+            mask |= 1L << Arrays.binarySearch(allContours, contour);
+        }
+        return mask;
+    }
+
+    private static Zone zoneOf(long type, String[] allContours) {
+        ArrayList<String> inContours = new ArrayList<>();
+        ArrayList<String> outContours = new ArrayList<>();
+        for (int i = 0; i < allContours.length; i++) {
+            if ((type & (1L << i)) != 0) {
+                inContours.add(allContours[i]);
+            } else {
+                outContours.add(allContours[i]);
+            }
+        }
+        return new Zone(inContours, outContours);
+    }
+    // </editor-fold>
+
+    /**
+     * A primary diagram compiled to masks over all contours of the goal. An
+     * element of the model is represented by the mask of the contours it lies
+     * in (its type), and it lies in a zone of the diagram iff the type agrees
+     * with the zone's in-contours on the contours of the diagram.
+     */
+    private static class DiagramConstraint {
+
+        private final long contours;
+        private final HashSet<Long> shadedZones;
+        private final ArrayList<HashSet<Long>> habitats;
+
+        private DiagramConstraint(long contours, HashSet<Long> shadedZones, ArrayList<HashSet<Long>> habitats) {
+            this.contours = contours;
+            this.shadedZones = shadedZones;
+            this.habitats = habitats;
+        }
+
+        /**
+         * Returns {@code null} if the diagram has zones that do not mention all
+         * of its contours or spiders with empty habitats.
+         */
+        static DiagramConstraint compile(PrimarySpiderDiagram diagram, String[] allContours) {
+            SortedSet<String> diagramContours = diagram.getAllContours();
+            HashSet<Long> shadedZones = new HashSet<>();
+            for (Zone zone : diagram.getShadedZones()) {
+                if (zone.getInContoursCount() + zone.getOutContoursCount() != diagramContours.size()) {
+                    return null;
+                }
+                shadedZones.add(maskOf(zone.getInContours(), allContours));
+            }
+            ArrayList<HashSet<Long>> habitats = new ArrayList<>();
+            for (Region habitat : diagram.getHabitats().values()) {
+                if (habitat.getZonesCount() == 0) {
+                    return null;
+                }
+                HashSet<Long> zones = new HashSet<>();
+                for (Zone zone : habitat.sortedZones()) {
+                    if (zone.getInContoursCount() + zone.getOutContoursCount() != diagramContours.size()) {
+                        return null;
+                    }
+                    zones.add(maskOf(zone.getInContours(), allContours));
+                }
+                habitats.add(zones);
+            }
+            return new DiagramConstraint(maskOf(diagramContours, allContours), shadedZones, habitats);
+        }
+
+        boolean hasSpiders() {
+            return !habitats.isEmpty();
+        }
+
+        int getSpidersCount() {
+            return habitats.size();
+        }
+
+        boolean isShaded(long type) {
+            return shadedZones.contains(type & contours);
+        }
+
+        boolean isInHabitat(int spider, long type) {
+            return habitats.get(spider).contains(type & contours);
+        }
+
+        /**
+         * Indicates whether the given partial assignment of contours (the bits
+         * in {@code assigned}) already places all completions of the type into
+         * a shaded zone of this diagram.
+         */
+        boolean isShaded(long assigned, long type) {
+            return (contours & ~assigned) == 0 && isShaded(type);
+        }
+
+        int countShaded(long[] elements, int size) {
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                if (isShaded(elements[i])) {
+                    ++count;
+                }
+            }
+            return count;
+        }
+
+        boolean holds(long[] elements, int size) {
+            int shadedCount = countShaded(elements, size);
+            if (shadedCount > habitats.size()) {
+                return false;
+            }
+            return placeSpiders(0, elements, size, new boolean[size], shadedCount);
+        }
+
+        /**
+         * Maps the spiders (from the given one onwards) to distinct unused
+         * elements such that all elements in shaded zones are used.
+         */
+        private boolean placeSpiders(int spider, long[] elements, int size, boolean[] used, int uncoveredShadedCount) {
+            if (uncoveredShadedCount > habitats.size() - spider) {
+                return false;
+            }
+            if (spider == habitats.size()) {
+                return true;
+            }
+            for (int i = 0; i < size; i++) {
+                if (!used[i] && isInHabitat(spider, elements[i])) {
+                    used[i] = true;
+                    boolean placed = placeSpiders(spider + 1, elements, size, used, isShaded(elements[i]) ? uncoveredShadedCount - 1 : uncoveredShadedCount);
+                    used[i] = false;
+                    if (placed) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+
+    private class Search {
+
+        private final String[] allContours;
+        private final long allContoursMask;
+        private final ArrayList<DiagramConstraint> premises;
+        private final ArrayList<DiagramConstraint> conclusions;
+        private int remainingNodes = maxSearchNodes;
+
+        Search(String[] allContours, ArrayList<DiagramConstraint> premises, ArrayList<DiagramConstraint> conclusions) {
+            this.allContours = allContours;
+            this.allContoursMask = (1L << allContours.length) - 1;
+            this.premises = premises;
+            this.conclusions = conclusions;
+        }
+
+        CounterModel find() {
+            for (DiagramConstraint constraint : premises) {
+                if (constraint.hasSpiders()) {
+                    return findWithSpiders();
+                }
+            }
+            for (DiagramConstraint constraint : conclusions) {
+                if (constraint.hasSpiders()) {
+                    return findWithSpiders();
+                }
+            }
+            return findWithoutSpiders();
+        }
+
+        // <editor-fold defaultstate="collapsed" desc="Goals without Spiders">
+        private CounterModel findWithoutSpiders() {
+            for (DiagramConstraint conclusion : conclusions) {
+                for (long shadedZone : conclusion.shadedZones) {
+                    long type = findUnshadedType(conclusion.contours, shadedZone);
+                    if (type != NotFound) {
+                        return new CounterModel(Arrays.asList(zoneOf(type, allContours)));
+                    }
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Completes the given partial type to a type that is not shaded in
+         * any of the premises.
+         */
+        private long findUnshadedType(long assigned, long type) {
+            if (--remainingNodes < 0) {
+                return NotFound;
+            }
+            for (DiagramConstraint premise : premises) {
+                if (premise.isShaded(assigned, type)) {
+                    return NotFound;
+                }
+            }
+            if (assigned == allContoursMask) {
+                return type;
+            }
+            long contour = Long.lowestOneBit(~assigned);
+            long found = findUnshadedType(assigned | contour, type | contour);
+            return found != NotFound ? found : findUnshadedType(assigned | contour, type);
+        }
+        // </editor-fold>
+
+        // <editor-fold defaultstate="collapsed" desc="Goals with Spiders">
+        private CounterModel findWithSpiders() {
+            if (allContours.length > MaxContoursWithSpiders) {
+                return null;
+            }
+            long[] types = interchangeableTypeRepresentatives();
+            int spidersCount = 0;
+            for (DiagramConstraint constraint : premises) {
+                spidersCount += constraint.getSpidersCount();
+            }
+            for (DiagramConstraint constraint : conclusions) {
+                spidersCount += constraint.getSpidersCount();
+            }
+            // Look for the smallest counter-model first:
+            int maxModelSize = Math.min(MaxElements, spidersCount + 1);
+            for (int modelSize = 1; modelSize <= maxModelSize && remainingNodes >= 0; modelSize++) {
+                long[] elements = new long[modelSize];
+                if (findModel(types, elements, 0, 0)) {
+                    ArrayList<Zone> zones = new ArrayList<>();
+                    for (long element : elements) {
+                        zones.add(zoneOf(element, allContours));
+                    }
+                    return new CounterModel(zones);
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Returns one type for each class of types that lie in the same shaded
+         * zones and the same habitats in all diagrams.
+         */
+        private long[] interchangeableTypeRepresentatives() {
+            LinkedHashMap<BitSet, Long> representatives = new LinkedHashMap<>();
+            for (long type = 0; type <= allContoursMask; type++) {
+                BitSet signature = new BitSet();
+                int bit = signature(premises, type, signature, 0);
+                signature(conclusions, type, signature, bit);
+                if (!representatives.containsKey(signature)) {
+                    representatives.put(signature, type);
+                }
+            }
+            long[] types = new long[representatives.size()];
+            int i = 0;
+            for (long type : representatives.values()) {
+                types[i++] = type;
+            }
+            return types;
+        }
+
+        private int signature(List<DiagramConstraint> constraints, long type, BitSet signature, int bit) {
+            for (DiagramConstraint constraint : constraints) {
+                signature.set(bit++, constraint.isShaded(type));
+                for (int spider = 0; spider < constraint.getSpidersCount(); spider++) {
+                    signature.set(bit++, constraint.isInHabitat(spider, type));
+                }
+            }
+            return bit;
+        }
+
+        /**
+         * Fills the given elements (from the given size onwards) with types
+         * (from the given index onwards, so that every multiset of types is
+         * visited once) until they form a counter-model.
+         */
+        private boolean findModel(long[] types, long[] elements, int size, int firstType) {
+            if (--remainingNodes < 0) {
+                return false;
+            }
+            for (DiagramConstraint premise : premises) {
+                // Adding elements never unshades a zone:
+                if (premise.countShaded(elements, size) > premise.getSpidersCount()) {
+                    return false;
+                }
+            }
+            if (size == elements.length) {
+                return isCounterModel(elements, size);
+            }
+            for (int i = firstType; i < types.length; i++) {
+                elements[size] = types[i];
+                if (findModel(types, elements, size + 1, i)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean isCounterModel(long[] elements, int size) {
+            for (DiagramConstraint premise : premises) {
+                if (!premise.holds(elements, size)) {
+                    return false;
+                }
+            }
+            for (DiagramConstraint conclusion : conclusions) {
+                if (!conclusion.holds(elements, size)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        // </editor-fold>
+    }
+}
@@ -41,9 +41,9 @@ public class DepthFirstProver extends AutomaticProver {
      * state of the given Proof p. The rules already applied to subdiagrams within
      * the current set of goals are saved in appliedRules
      */
-    private Proof proveRecursively(Proof p, int subgoalindex, AppliedRules appliedRules) throws RuleApplicationException, TacticApplicationException {
+    private Proof proveRecursively(Proof p, int subgoalindex, AppliedRules appliedRules, Set<Object> expandedGoals) throws RuleApplicationException, TacticApplicationException {
         p = tryToFinish(p, subgoalindex);
-        if (p.isFinished()) {
+        if (p.isFinished() || !markExpanded(expandedGoals, p)) {
             return p;
         }
         Goals currentGoals = p.getLastGoals();
@@ -63,7 +63,7 @@ public class DepthFirstProver extends AutomaticProver {
             boolean hasBeenApplied = !superfl && nextRule.apply(p, getPrettyName());
             if (hasBeenApplied) {
                 appliedRules.add(nextRule, nextRule.getTarget());
-                p = proveRecursively(p, subgoalindex, appliedRules);
+                p = proveRecursively(p, subgoalindex, appliedRules, expandedGoals);
                 if (p.isFinished() || Thread.currentThread().isInterrupted()) {
                     return p;
                 }
@@ -77,7 +77,7 @@ public class DepthFirstProver extends AutomaticProver {
 
     @Override
     protected Proof prove(Proof p, int subgoalindex) throws RuleApplicationException, TacticApplicationException, AutomaticProofException {
-        return proveRecursively(p, subgoalindex, new AppliedRules());
+        return proveRecursively(p, subgoalindex, new AppliedRules(), new HashSet<Object>());
     }
 
     @Override
@@ -0,0 +1,78 @@
+package speedith.core.reasoning.automatic;
+
+import speedith.core.lang.CompoundSpiderDiagram;
+import speedith.core.lang.PrimarySpiderDiagram;
+import speedith.core.lang.SpiderDiagram;
+import speedith.core.reasoning.Goals;
+
+import java.util.ArrayList;
+
+/**
+ * Determines which proof attempts an {@link AutomaticProver automatic prover}
+ * treats as duplicates of attempts it has already expanded (see {@link
+ * AutomaticProver#setDuplicateDetection(DuplicateDetection)}).
+ * <p>A duplicate is still checked for whether it finishes the proof, but the
+ * prover does not apply any further rules to it.</p>
+ */
+public enum DuplicateDetection {
+
+    /**
+     * Every proof attempt is expanded.
+     */
+    None {
+        @Override
+        Object keyOf(Goals goals) {
+            return null;
+        }
+    },
+    /**
+     * An attempt is a duplicate if its goals are equal to the goals of an
+     * expanded attempt. Attempts with equal goals can be extended by the same
+     * rule applications.
+     */
+    Syntactic {
+        @Override
+        Object keyOf(Goals goals) {
+            return goals;
+        }
+    },
+    /**
+     * An attempt is a duplicate if its goals have the same {@link
+     * PrimarySpiderDiagram#getSemanticNormalForm() semantic normal forms} as
+     * the goals of an expanded attempt. This collapses attempts that differ
+     * only in the presentation of their diagrams. The inference rules are
+     * syntactic, however, so the successors of the discarded attempts may be
+     * needed to finish a proof.
+     */
+    Semantic {
+        @Override
+        Object keyOf(Goals goals) {
+            ArrayList<Object> key = new ArrayList<>();
+            for (SpiderDiagram goal : goals.getGoals()) {
+                key.add(semanticKeyOf(goal));
+            }
+            return key;
+        }
+    };
+
+    /**
+     * Returns the key by which the prover recognises duplicates of the given
+     * goals, or {@code null} if it should not look for duplicates.
+     */
+    abstract Object keyOf(Goals goals);
+
+    private static Object semanticKeyOf(SpiderDiagram sd) {
+        if (sd instanceof PrimarySpiderDiagram) {
+            return ((PrimarySpiderDiagram) sd).getSemanticNormalForm();
+        } else if (sd instanceof CompoundSpiderDiagram) {
+            CompoundSpiderDiagram csd = (CompoundSpiderDiagram) sd;
+            ArrayList<Object> key = new ArrayList<>();
+            key.add(csd.getOperator());
+            for (SpiderDiagram operand : csd.getOperands()) {
+                key.add(semanticKeyOf(operand));
+            }
+            return key;
+        }
+        return sd;
+    }
+}
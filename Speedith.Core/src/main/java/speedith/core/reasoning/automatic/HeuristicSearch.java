@@ -68,6 +68,7 @@ public class HeuristicSearch extends AutomaticProver {
         for (SpiderDiagram sd : p.getLastGoals().getGoals()) {
             contours.addAll( AutomaticUtils.collectContours(sd));
         }
+        Set<Object> expandedGoals = new HashSet<>();
         long numOfSuperFl = 0;
         long startTime= System.nanoTime();
         while(!attempts.isEmpty() && !Thread.currentThread().isInterrupted()) {
@@ -78,6 +79,9 @@ public class HeuristicSearch extends AutomaticProver {
                 printStatistics(closed, attempts,startTime, numOfSuperFl);
                 return currentProof;
             }
+            if (!markExpanded(expandedGoals, currentProof)) {
+                continue;
+            }
             SpiderDiagramOccurrence target = SpiderDiagramOccurrence.wrapDiagram(currentProof.getLastGoals().getGoalAt(subgoalindex), 0);
             Set<? extends PossibleRuleApplication<? extends RuleArg>> applications = AutomaticUtils.createAllPossibleRuleApplications(subgoalindex, target, contours);
             // apply all possible rules to the current proof, creating a new proof for each application
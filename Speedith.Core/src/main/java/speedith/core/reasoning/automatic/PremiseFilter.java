@@ -0,0 +1,233 @@
+package speedith.core.reasoning.automatic;
+
+import speedith.core.lang.*;
+import speedith.core.reasoning.Proof;
+import speedith.core.reasoning.RuleApplicationException;
+import speedith.core.reasoning.RuleApplicationType;
+import speedith.core.reasoning.args.MultipleRuleArgs;
+import speedith.core.reasoning.args.SubDiagramIndexArg;
+import speedith.core.reasoning.rules.ConjunctionElimination;
+import speedith.core.reasoning.tactical.TacticApplicationException;
+
+import java.util.*;
+
+import static speedith.core.i18n.Translations.i18n;
+
+/**
+ * Removes the premises of a goal that cannot contribute to its proof, so that
+ * {@link AutomaticProver automatic provers} do not consider rule applications
+ * on them.
+ * <p>The goal must be an implication whose premise is a conjunction of
+ * primary diagrams. Two conjuncts of the premise depend on each other if they
+ * share a contour (directly or through other conjuncts). A group of dependent
+ * conjuncts is irrelevant if it shares no contour with the conclusion, has no
+ * spiders and does not shade all zones (i.e.: some zone is unshaded in all of
+ * its conjuncts). Such a group does not constrain the contours of the rest of
+ * the goal: all elements of a model can be placed into the unshaded zone. The
+ * goal without the group is therefore valid iff the goal is valid.</p>
+ * <p>The irrelevant conjuncts are removed by applying {@link
+ * ConjunctionElimination} to the proof, so the removal is part of the proof.
+ * Nothing is removed if all conjuncts are irrelevant.</p>
+ */
+public class PremiseFilter {
+
+    private final CounterModelFinder modelFinder;
+
+    /**
+     * Creates a filter that looks for unshaded zones with a {@link
+     * CounterModelFinder#CounterModelFinder() default} search limit.
+     */
+    public PremiseFilter() {
+        this(new CounterModelFinder());
+    }
+
+    /**
+     * Creates a filter that looks for unshaded zones with the given finder.
+     *
+     * @param modelFinder the finder that looks for the unshaded zones of
+     * groups of conjuncts. A group is kept if the finder gives up.
+     */
+    public PremiseFilter(CounterModelFinder modelFinder) {
+        if (modelFinder == null) {
+            throw new IllegalArgumentException(i18n("GERR_NULL_ARGUMENT", "modelFinder"));
+        }
+        this.modelFinder = modelFinder;
+    }
+
+    /**
+     * Removes the irrelevant conjuncts from the premise of the given subgoal
+     * in the last goals of the proof.
+     *
+     * @param proof the proof to which the conjunction eliminations are applied.
+     * @param subGoalIndex the index of the subgoal whose premise is filtered.
+     * @param typeSpecifier the name under which the eliminations are recorded
+     * in the proof.
+     * @return the number of applied conjunction eliminations.
+     * @throws RuleApplicationException thrown if a conjunction elimination
+     * could not be applied.
+     * @throws TacticApplicationException never thrown by conjunction
+     * eliminations (declared by {@link Proof#applyRule}).
+     */
+    public int removeIrrelevantPremises(Proof proof, int subGoalIndex, String typeSpecifier) throws RuleApplicationException, TacticApplicationException {
+        if (proof == null) {
+            throw new IllegalArgumentException(i18n("GERR_NULL_ARGUMENT", "proof"));
+        }
+        SpiderDiagram goal = proof.getLastGoals().getGoalAt(subGoalIndex);
+        if (!(goal instanceof CompoundSpiderDiagram) || !((CompoundSpiderDiagram) goal).getOperator().equals(Operator.Implication)) {
+            return 0;
+        }
+        ArrayList<PrimarySpiderDiagram> conjuncts = new ArrayList<>();
+        if (!collectConjuncts(((CompoundSpiderDiagram) goal).getOperand(0), conjuncts) || conjuncts.size() < 2) {
+            return 0;
+        }
+        HashSet<String> conclusionContours = contoursOf(((CompoundSpiderDiagram) goal).getOperand(1));
+        if (conclusionContours == null) {
+            return 0;
+        }
+        Set<PrimarySpiderDiagram> irrelevant = findIrrelevant(conjuncts, conclusionContours);
+        if (irrelevant.isEmpty() || irrelevant.containsAll(conjuncts)) {
+            return 0;
+        }
+
+        int eliminations = 0;
+        MultipleRuleArgs elimination;
+        while ((elimination = findElimination(subGoalIndex, ((CompoundSpiderDiagram) proof.getLastGoals().getGoalAt(subGoalIndex)).getOperand(0), 1, irrelevant)) != null) {
+            proof.applyRule(new ConjunctionElimination(), elimination, RuleApplicationType.AUTOMATIC, typeSpecifier);
+            ++eliminations;
+        }
+        return eliminations;
+    }
+
+    // <editor-fold defaultstate="collapsed" desc="Private Helper Methods">
+    /**
+     * Returns {@code false} iff the given diagram is not a conjunction of
+     * well-formed primary diagrams.
+     */
+    private static boolean collectConjuncts(SpiderDiagram sd, List<PrimarySpiderDiagram> conjuncts) {
+        if (sd instanceof PrimarySpiderDiagram) {
+            if (!((PrimarySpiderDiagram) sd).isWellFormed()) {
+                return false;
+            }
+            conjuncts.add((PrimarySpiderDiagram) sd);
+            return true;
+        } else if (sd instanceof CompoundSpiderDiagram && ((CompoundSpiderDiagram) sd).getOperator().equals(Operator.Conjunction)) {
+            for (SpiderDiagram operand : ((CompoundSpiderDiagram) sd).getOperands()) {
+                if (!collectConjuncts(operand, conjuncts)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns {@code null} if the given diagram contains a primary diagram that
+     * is not well-formed.
+     */
+    private static HashSet<String> contoursOf(SpiderDiagram sd) {
+        HashSet<String> contours = new HashSet<>();
+        for (int i = 0; i < sd.getSubDiagramCount(); i++) {
+            SpiderDiagram subDiagram = sd.getSubDiagramAt(i);
+            if (subDiagram instanceof PrimarySpiderDiagram) {
+                if (!((PrimarySpiderDiagram) subDiagram).isWellFormed()) {
+                    return null;
+                }
+                contours.addAll(((PrimarySpiderDiagram) subDiagram).getAllContours());
+            }
+        }
+        return contours;
+    }
+
+    /**
+     * Groups the conjuncts that (transitively) share contours and returns the
+     * conjuncts of the irrelevant groups.
+     */
+    private Set<PrimarySpiderDiagram> findIrrelevant(List<PrimarySpiderDiagram> conjuncts, Set<String> conclusionContours) {
+        int[] groups = new int[conjuncts.size()];
+        HashMap<String, Integer> contourOwners = new HashMap<>();
+        for (int i = 0; i < conjuncts.size(); i++) {
+            groups[i] = i;
+            for (String contour : conjuncts.get(i).getAllContours()) {
+                Integer owner = contourOwners.get(contour);
+                if (owner == null) {
+                    contourOwners.put(contour, i);
+                } else {
+                    groups[findGroup(groups, i)] = findGroup(groups, owner);
+                }
+            }
+        }
+
+        LinkedHashMap<Integer, ArrayList<PrimarySpiderDiagram>> members = new LinkedHashMap<>();
+        for (int i = 0; i < conjuncts.size(); i++) {
+            int group = findGroup(groups, i);
+            ArrayList<PrimarySpiderDiagram> groupMembers = members.get(group);
+            if (groupMembers == null) {
+                groupMembers = new ArrayList<>();
+                members.put(group, groupMembers);
+            }
+            groupMembers.add(conjuncts.get(i));
+        }
+
+        HashSet<PrimarySpiderDiagram> irrelevant = new HashSet<>();
+        for (ArrayList<PrimarySpiderDiagram> group : members.values()) {
+            if (isIrrelevant(group, conclusionContours)) {
+                irrelevant.addAll(group);
+            }
+        }
+        return irrelevant;
+    }
+
+    private static int findGroup(int[] groups, int conjunct) {
+        while (groups[conjunct] != conjunct) {
+            groups[conjunct] = groups[groups[conjunct]];
+            conjunct = groups[conjunct];
+        }
+        return conjunct;
+    }
+
+    private boolean isIrrelevant(List<PrimarySpiderDiagram> group, Set<String> conclusionContours) {
+        for (PrimarySpiderDiagram conjunct : group) {
+            if (conjunct.getSpidersCount() > 0 || !Collections.disjoint(conjunct.getAllContours(), conclusionContours)) {
+                return false;
+            }
+        }
+        return modelFinder.findUnshadedZone(group) != null;
+    }
+
+    /**
+     * Finds a conjunction (within the given conjunction of primary diagrams)
+     * with an operand that consists of irrelevant conjuncts only.
+     *
+     * @return the arguments of the conjunction elimination that keeps the
+     * other operand, or {@code null} if there is no such conjunction.
+     */
+    private static MultipleRuleArgs findElimination(int subGoalIndex, SpiderDiagram sd, int index, Set<PrimarySpiderDiagram> irrelevant) {
+        if (!(sd instanceof CompoundSpiderDiagram)) {
+            return null;
+        }
+        CompoundSpiderDiagram conjunction = (CompoundSpiderDiagram) sd;
+        int leftIndex = index + 1;
+        int rightIndex = leftIndex + conjunction.getOperand(0).getSubDiagramCount();
+        if (isIrrelevant(conjunction.getOperand(0), irrelevant)) {
+            return new MultipleRuleArgs(new SubDiagramIndexArg(subGoalIndex, index), new SubDiagramIndexArg(subGoalIndex, rightIndex));
+        } else if (isIrrelevant(conjunction.getOperand(1), irrelevant)) {
+            return new MultipleRuleArgs(new SubDiagramIndexArg(subGoalIndex, index), new SubDiagramIndexArg(subGoalIndex, leftIndex));
+        }
+        MultipleRuleArgs elimination = findElimination(subGoalIndex, conjunction.getOperand(0), leftIndex, irrelevant);
+        return elimination != null ? elimination : findElimination(subGoalIndex, conjunction.getOperand(1), rightIndex, irrelevant);
+    }
+
+    private static boolean isIrrelevant(SpiderDiagram sd, Set<PrimarySpiderDiagram> irrelevant) {
+        if (sd instanceof PrimarySpiderDiagram) {
+            return irrelevant.contains(sd);
+        }
+        for (SpiderDiagram operand : ((CompoundSpiderDiagram) sd).getOperands()) {
+            if (!isIrrelevant(operand, irrelevant)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    // </editor-fold>
+}
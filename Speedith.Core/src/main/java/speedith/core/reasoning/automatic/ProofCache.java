@@ -0,0 +1,463 @@
+package speedith.core.reasoning.automatic;
+
+import speedith.core.lang.Region;
+import speedith.core.lang.SpiderDiagram;
+import speedith.core.lang.Zone;
+import speedith.core.reasoning.*;
+import speedith.core.reasoning.args.*;
+import speedith.core.reasoning.tactical.InferenceTactic;
+import speedith.core.reasoning.tactical.TacticApplicationException;
+import speedith.core.reasoning.tactical.TacticProvider;
+import speedith.core.reasoning.tactical.Tactics;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+
+import static speedith.core.i18n.Translations.i18n;
+
+/**
+ * A persistent, content-addressed store of automatically found proofs.
+ * <p>Each proof is stored in its own file in the cache directory. The name of
+ * the file is the SHA-256 hash of the textual form of the proof's initial
+ * (normalised) goals, which is stable across runs because the textual form of
+ * spider diagrams is canonical (all collections are sorted).</p>
+ * <p>Only the initial goals and the inference applications of a proof are
+ * stored. They are stored in a textual form that does not depend on the
+ * serial forms of the classes involved:</p>
+ * <pre>
+ * SPEEDITH_PROOF_CACHE 1
+ * goals "BinarySD {operator = \"op --&gt;\", ...}\n"
+ * step AUTOMATIC null rule "Introduce Contour" multiple [ contour 0 1 "C" ]
+ * ...
+ * end
+ * </pre>
+ * <p>Inferences are referred to by the names under which they are registered
+ * in {@link InferenceRules} or {@link Tactics}, and strings are quoted as in
+ * Java. A cached proof is replayed when it is read, which is much cheaper
+ * than searching for it and also checks that the cached proof is still valid.
+ * Entries that cannot be read or replayed are treated as misses.</p>
+ */
+public class ProofCache {
+
+    private static final String EntryExtension = ".proof";
+    private static final String EntryHeader = "SPEEDITH_PROOF_CACHE";
+    private static final int EntryVersion = 1;
+    private static final Charset Encoding = Charset.forName("UTF-8");
+
+    private final File directory;
+
+    /**
+     * Creates a proof cache that stores its entries in the given directory.
+     * The directory is created if it does not exist.
+     * @param directory the directory of the cache.
+     * @throws IOException if the directory could not be created.
+     */
+    public ProofCache(File directory) throws IOException {
+        if (directory == null) {
+            throw new IllegalArgumentException(i18n("GERR_NULL_ARGUMENT", "directory"));
+        }
+        Files.createDirectories(directory.toPath());
+        this.directory = directory;
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Returns a proof of the given goals from the cache, or {@code null} if
+     * there is none.
+     * @param goals the (normalised) goals to prove.
+     * @return a proof of the given goals or {@code null}.
+     */
+    public Proof lookup(Goals goals) {
+        String goalsText = goalsToText(goals);
+        File entry = entryFile(goalsText);
+        if (!entry.isFile()) {
+            return null;
+        }
+        try (Reader input = new BufferedReader(new InputStreamReader(new FileInputStream(entry), Encoding))) {
+            EntryReader reader = new EntryReader(input, entry);
+            if (!goalsText.equals(reader.readGoals())) {
+                // A hash collision.
+                return null;
+            }
+            Proof proof = new ProofTrace(goals);
+            while (reader.replayNextStep(proof)) {
+            }
+            return proof.isFinished() ? proof : null;
+        } catch (IOException | RuleApplicationException | TacticApplicationException | RuntimeException e) {
+            // Unreadable, outdated (e.g.: referring to renamed inferences) or
+            // invalid entries are simply misses. They are overwritten by the
+            // next call to store.
+            return null;
+        }
+    }
+
+    /**
+     * Stores the given finished proof in the cache. The proof is keyed by its
+     * initial goals.
+     * @param proof the proof to store.
+     * @throws IOException if the proof could not be written or if it contains
+     * an inference that is not registered or arguments of an unknown type.
+     */
+    public void store(Proof proof) throws IOException {
+        if (proof == null) {
+            throw new IllegalArgumentException(i18n("GERR_NULL_ARGUMENT", "proof"));
+        }
+        String goalsText = goalsToText(proof.getInitialGoals());
+        File entry = entryFile(goalsText);
+        File tempEntry = File.createTempFile("entry", ".tmp", directory);
+        try {
+            try (Writer output = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(tempEntry), Encoding))) {
+                writeEntry(output, goalsText, proof.getInferenceApplications());
+            }
+            // Concurrent provers may store the same entry: the last one wins.
+            Files.move(tempEntry.toPath(), entry.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempEntry.toPath());
+        }
+    }
+
+    /**
+     * Returns the stable key of the given goals (a hexadecimal SHA-256 hash
+     * of their textual form).
+     * @param goals the goals for which to compute the key.
+     * @return the stable key of the given goals.
+     */
+    public static String keyOf(Goals goals) {
+        return keyOf(goalsToText(goals));
+    }
+
+    private File entryFile(String goalsText) {
+        return new File(directory, keyOf(goalsText) + EntryExtension);
+    }
+
+    private static String keyOf(String goalsText) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(goalsText.getBytes(Encoding));
+            StringBuilder key = new StringBuilder(hash.length * 2);
+            for (byte b : hash) {
+                key.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return key.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform has to support SHA-256.
+            throw new IllegalStateException(i18n("GERR_ILLEGAL_STATE"), e);
+        }
+    }
+
+    private static String goalsToText(Goals goals) {
+        StringBuilder text = new StringBuilder();
+        if (goals != null && !goals.isEmpty()) {
+            for (SpiderDiagram goal : goals.getGoals()) {
+                text.append(goal).append('\n');
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Applies the given inference to the proof. The arguments are checked
+     * against the argument type of the inference.
+     */
+    private static <TArgs extends RuleArg> void replayStep(Proof proof, Inference<TArgs, ?> inference, RuleArg args, RuleApplicationType type, String typeSpecifier) throws RuleApplicationException, TacticApplicationException {
+        Class<TArgs> argumentType = inference.getProvider().getArgumentType();
+        proof.applyRule(inference, argumentType == null ? null : argumentType.cast(args), type, typeSpecifier);
+    }
+
+    // <editor-fold defaultstate="collapsed" desc="Writing Entries">
+    private static void writeEntry(Writer output, String goalsText, Collection<InferenceApplication> applications) throws IOException {
+        output.append(EntryHeader).append(' ').append(Integer.toString(EntryVersion)).append('\n');
+        writeString(output.append("goals "), goalsText).append('\n');
+        for (InferenceApplication application : applications) {
+            output.append("step ").append(application.getType() == null ? "null" : application.getType().name()).append(' ');
+            writeString(output, application.getTypeSpecifier()).append(' ');
+            writeInference(output, application.getInference()).append(' ');
+            writeArg(output, application.getRuleArguments()).append('\n');
+        }
+        output.append("end\n");
+    }
+
+    private static Writer writeInference(Writer output, Inference<?, ?> inference) throws IOException {
+        String name = inference.getProvider().getInferenceName();
+        if (inference instanceof InferenceRule && InferenceRules.getProvider(name) != null) {
+            output.append("rule ");
+        } else if (inference instanceof InferenceTactic && Tactics.getProvider(name) != null) {
+            output.append("tactic ");
+        } else {
+            throw new IOException(i18n("ERR_PROOF_CACHE_UNKNOWN_INFERENCE", name));
+        }
+        return writeString(output, name);
+    }
+
+    private static Writer writeArg(Writer output, RuleArg arg) throws IOException {
+        if (arg == null) {
+            return output.append("none");
+        }
+        Class<?> argType = arg.getClass();
+        if (argType == MultipleRuleArgs.class) {
+            output.append("multiple [");
+            for (RuleArg ruleArg : (MultipleRuleArgs) arg) {
+                writeArg(output.append(' '), ruleArg);
+            }
+            return output.append(" ]");
+        } else if (argType == SubgoalIndexArg.class) {
+            return output.append("subgoal ").append(Integer.toString(((SubgoalIndexArg) arg).getSubgoalIndex()));
+        } else if (argType == SubDiagramIndexArg.class) {
+            return writeIndices(output, "subdiagram", (SubDiagramIndexArg) arg);
+        } else if (argType == ContourArg.class) {
+            return writeString(writeIndices(output, "contour", (ContourArg) arg).append(' '), ((ContourArg) arg).getContour());
+        } else if (argType == ZoneArg.class) {
+            return writeZone(writeIndices(output, "zone", (ZoneArg) arg).append(' '), ((ZoneArg) arg).getZone());
+        } else if (argType == SpiderArg.class) {
+            return writeString(writeIndices(output, "spider", (SpiderArg) arg).append(' '), ((SpiderArg) arg).getSpider());
+        } else if (argType == SpiderZoneArg.class) {
+            SpiderZoneArg spiderZoneArg = (SpiderZoneArg) arg;
+            writeString(writeIndices(output, "spiderZone", spiderZoneArg).append(' '), spiderZoneArg.getSpider());
+            return writeZone(output.append(' '), spiderZoneArg.getZone());
+        } else if (argType == SpiderRegionArg.class) {
+            SpiderRegionArg spiderRegionArg = (SpiderRegionArg) arg;
+            writeString(writeIndices(output, "spiderRegion", spiderRegionArg).append(' '), spiderRegionArg.getSpider());
+            output.append(" [");
+            for (Zone zone : spiderRegionArg.getRegion().sortedZones()) {
+                writeZone(output.append(' '), zone);
+            }
+            return output.append(" ]");
+        } else {
+            throw new IOException(i18n("ERR_PROOF_CACHE_UNKNOWN_ARGUMENT", argType.getName()));
+        }
+    }
+
+    private static Writer writeIndices(Writer output, String kind, SubDiagramIndexArg arg) throws IOException {
+        return output.append(kind).append(' ').append(Integer.toString(arg.getSubgoalIndex())).append(' ').append(Integer.toString(arg.getSubDiagramIndex()));
+    }
+
+    private static Writer writeZone(Writer output, Zone zone) throws IOException {
+        return writeStrings(writeStrings(output, zone.getInContours()).append(' '), zone.getOutContours());
+    }
+
+    private static Writer writeStrings(Writer output, Collection<String> strings) throws IOException {
+        output.append('[');
+        for (String string : strings) {
+            writeString(output.append(' '), string);
+        }
+        return output.append(" ]");
+    }
+
+    /**
+     * Writes the given string as a Java string literal (as understood by
+     * {@link StreamTokenizer}), or {@code null} if the string is {@code null}.
+     */
+    private static Writer writeString(Writer output, String string) throws IOException {
+        if (string == null) {
+            return output.append("null");
+        }
+        output.append('"');
+        for (int i = 0; i < string.length(); i++) {
+            char c = string.charAt(i);
+            switch (c) {
+                case '"':
+                case '\\':
+                    output.append('\\').append(c);
+                    break;
+                case '\n':
+                    output.append("\\n");
+                    break;
+                case '\r':
+                    output.append("\\r");
+                    break;
+                case '\t':
+                    output.append("\\t");
+                    break;
+                default:
+                    if (c < ' ') {
+                        output.append('\\').append(Integer.toOctalString(01000 | c).substring(1));
+                    } else {
+                        output.append(c);
+                    }
+            }
+        }
+        return output.append('"');
+    }
+    // </editor-fold>
+
+    // <editor-fold defaultstate="collapsed" desc="Reading Entries">
+    private static class EntryReader {
+
+        private final StreamTokenizer tokens;
+        private final File entry;
+
+        EntryReader(Reader input, File entry) {
+            this.entry = entry;
+            tokens = new StreamTokenizer(input);
+            tokens.resetSyntax();
+            tokens.whitespaceChars(0, ' ');
+            tokens.wordChars('a', 'z');
+            tokens.wordChars('A', 'Z');
+            tokens.wordChars('0', '9');
+            tokens.wordChars('_', '_');
+            tokens.wordChars('-', '-');
+            tokens.quoteChar('"');
+        }
+
+        /**
+         * Reads the header of the entry and returns the textual form of the
+         * goals the stored proof proves.
+         */
+        String readGoals() throws IOException {
+            if (!EntryHeader.equals(readWord()) || readInt() != EntryVersion || !"goals".equals(readWord())) {
+                throw invalidEntry();
+            }
+            return readString();
+        }
+
+        /**
+         * Reads the next inference application and applies it to the given
+         * proof.
+         * @return {@code false} if there are no more applications in the
+         * entry.
+         */
+        boolean replayNextStep(Proof proof) throws IOException, RuleApplicationException, TacticApplicationException {
+            String keyword = readWord();
+            if ("end".equals(keyword)) {
+                return false;
+            } else if (!"step".equals(keyword)) {
+                throw invalidEntry();
+            }
+            String type = readWord();
+            String typeSpecifier = readString();
+            Inference<?, ?> inference = readInference();
+            RuleArg args = readArg();
+            replayStep(proof, inference, args, "null".equals(type) ? null : RuleApplicationType.valueOf(type), typeSpecifier);
+            return true;
+        }
+
+        private Inference<?, ?> readInference() throws IOException {
+            String kind = readWord();
+            String name = readString();
+            if (name != null && "rule".equals(kind)) {
+                InferenceRuleProvider<?> provider = InferenceRules.getProvider(name);
+                if (provider != null) {
+                    return provider.getInferenceRule();
+                }
+            } else if (name != null && "tactic".equals(kind)) {
+                TacticProvider provider = Tactics.getProvider(name);
+                if (provider != null) {
+                    return provider.getTactic();
+                }
+            } else {
+                throw invalidEntry();
+            }
+            throw new IOException(i18n("ERR_PROOF_CACHE_UNKNOWN_INFERENCE", name));
+        }
+
+        private RuleArg readArg() throws IOException {
+            String kind = readWord();
+            switch (kind) {
+                case "none":
+                    return null;
+                case "multiple":
+                    ArrayList<RuleArg> ruleArgs = new ArrayList<>();
+                    readOpeningBracket();
+                    while (!isAtClosingBracket()) {
+                        ruleArgs.add(readArg());
+                    }
+                    return new MultipleRuleArgs(ruleArgs);
+                case "subgoal":
+                    return new SubgoalIndexArg(readInt());
+                case "subdiagram":
+                    return new SubDiagramIndexArg(readInt(), readInt());
+                case "contour":
+                    return new ContourArg(readInt(), readInt(), readString());
+                case "zone":
+                    return new ZoneArg(readInt(), readInt(), readZone());
+                case "spider":
+                    return new SpiderArg(readInt(), readInt(), readString());
+                case "spiderZone":
+                    return new SpiderZoneArg(readInt(), readInt(), readString(), readZone());
+                case "spiderRegion":
+                    int subgoalIndex = readInt();
+                    int subDiagramIndex = readInt();
+                    String spider = readString();
+                    ArrayList<Zone> zones = new ArrayList<>();
+                    readOpeningBracket();
+                    while (!isAtClosingBracket()) {
+                        zones.add(readZone());
+                    }
+                    return new SpiderRegionArg(subgoalIndex, subDiagramIndex, spider, new Region(zones));
+                default:
+                    throw invalidEntry();
+            }
+        }
+
+        private Zone readZone() throws IOException {
+            return new Zone(readStrings(), readStrings());
+        }
+
+        private ArrayList<String> readStrings() throws IOException {
+            ArrayList<String> strings = new ArrayList<>();
+            readOpeningBracket();
+            while (!isAtClosingBracket()) {
+                strings.add(readString());
+            }
+            return strings;
+        }
+
+        private void readOpeningBracket() throws IOException {
+            if (tokens.nextToken() != '[') {
+                throw invalidEntry();
+            }
+        }
+
+        /**
+         * Consumes the next token if it is a closing bracket.
+         */
+        private boolean isAtClosingBracket() throws IOException {
+            if (tokens.nextToken() == ']') {
+                return true;
+            }
+            tokens.pushBack();
+            return false;
+        }
+
+        private String readWord() throws IOException {
+            if (tokens.nextToken() != StreamTokenizer.TT_WORD) {
+                throw invalidEntry();
+            }
+            return tokens.sval;
+        }
+
+        private int readInt() throws IOException {
+            try {
+                return Integer.parseInt(readWord());
+            } catch (NumberFormatException e) {
+                throw invalidEntry();
+            }
+        }
+
+        /**
+         * Reads a string literal or {@code null}.
+         */
+        private String readString() throws IOException {
+            int token = tokens.nextToken();
+            if (token == '"') {
+                return tokens.sval;
+            } else if (token == StreamTokenizer.TT_WORD && "null".equals(tokens.sval)) {
+                return null;
+            }
+            throw invalidEntry();
+        }
+
+        private IOException invalidEntry() {
+            return new IOException(i18n("ERR_PROOF_CACHE_INVALID_ENTRY", entry.getPath(), tokens.lineno()));
+        }
+    }
+    // </editor-fold>
+}
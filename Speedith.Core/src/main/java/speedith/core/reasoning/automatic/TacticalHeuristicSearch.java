@@ -57,6 +57,7 @@ public class TacticalHeuristicSearch extends AutomaticProver {
         for (SpiderDiagram sd : p.getLastGoals().getGoals()) {
             contours.addAll( AutomaticUtils.collectContours(sd));
         }
+        Set<Object> expandedGoals = new HashSet<>();
         long numOfSuperFl = 0;
         long startTime= System.nanoTime();
         while(!attempts.isEmpty() && !Thread.currentThread().isInterrupted()) {
@@ -67,6 +68,9 @@ public class TacticalHeuristicSearch extends AutomaticProver {
                 printStatistics(closed, attempts,startTime, numOfSuperFl);
                 return currentProof;
             }
+            if (!markExpanded(expandedGoals, currentProof)) {
+                continue;
+            }
             // create tactic applications
             Set<PossibleTacticApplication> tacticApplications = AutomaticUtils.createAllPossibleTacticApplications(subgoalindex);
             for (PossibleTacticApplication app : tacticApplications) {
@@ -0,0 +1,129 @@
+package speedith.core.reasoning.automatic.wrappers;
+
+import speedith.core.lang.CompoundSpiderDiagram;
+import speedith.core.lang.PrimarySpiderDiagram;
+import speedith.core.lang.SpiderDiagram;
+
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static speedith.core.i18n.Translations.i18n;
+
+/**
+ * An index of {@link SpiderDiagramOccurrence occurrences} that is kept for the
+ * duration of a single proof search. It returns the same occurrence tree for
+ * equal diagrams at the same occurrence index instead of wrapping the diagram
+ * anew (as {@link SpiderDiagramOccurrence#wrapDiagram(SpiderDiagram, int)}
+ * does).
+ * <p>Occurrence trees are built from the occurrences of their operands, which
+ * are looked up in the index as well. When a rule changes a single sub-diagram
+ * of a goal, only the occurrences on the path from the root to the changed
+ * sub-diagram (and those operands whose occurrence index has shifted) are
+ * created for the new goal. All other occurrences, together with the predicate
+ * results cached on them, are reused.</p>
+ * <p>A search {@link OccurrenceIndex#setCurrent(OccurrenceIndex) binds} its
+ * index to the thread it runs on, so that the tactics it applies find the
+ * index through {@link OccurrenceIndex#getCurrent()}. The entries are
+ * discarded together with the index once the search is over. Searches that
+ * run in parallel use indices of their own. An index itself may nevertheless
+ * be shared between threads.</p>
+ */
+public final class OccurrenceIndex {
+
+    private static final ThreadLocal<OccurrenceIndex> current = new ThreadLocal<>();
+
+    private final ConcurrentHashMap<SpiderDiagram, ConcurrentMap<Integer, SpiderDiagramOccurrence>> occurrences = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the index bound to the current thread.
+     * @return the index bound to the current thread, or {@code null} if no
+     * index is bound to it.
+     */
+    public static OccurrenceIndex getCurrent() {
+        return current.get();
+    }
+
+    /**
+     * Binds the given index to the current thread.
+     * <p>The caller should restore the previous index when it is done:</p>
+     * <pre>
+     * OccurrenceIndex previous = OccurrenceIndex.setCurrent(new OccurrenceIndex());
+     * try {
+     *     ...
+     * } finally {
+     *     OccurrenceIndex.setCurrent(previous);
+     * }
+     * </pre>
+     * @param index the index to bind, or {@code null} to unbind the current
+     * index.
+     * @return the index that was bound to the current thread before (may be
+     * {@code null}).
+     */
+    public static OccurrenceIndex setCurrent(OccurrenceIndex index) {
+        OccurrenceIndex previous = current.get();
+        if (index == null) {
+            current.remove();
+        } else {
+            current.set(index);
+        }
+        return previous;
+    }
+
+    /**
+     * Returns the occurrence of the given diagram at the given occurrence
+     * index. The returned occurrence is equal to the one returned by {@link
+     * SpiderDiagramOccurrence#wrapDiagram(SpiderDiagram, int)}.
+     * @param sd the diagram to wrap.
+     * @param occurrenceIndex the occurrence index of the diagram.
+     * @return the occurrence of the given diagram, or {@code null} if the
+     * diagram is neither a primary nor a compound spider diagram.
+     */
+    public SpiderDiagramOccurrence occurrenceOf(SpiderDiagram sd, int occurrenceIndex) {
+        if (sd == null) {
+            throw new IllegalArgumentException(i18n("GERR_NULL_ARGUMENT", "sd"));
+        }
+        ConcurrentMap<Integer, SpiderDiagramOccurrence> byIndex = occurrences.get(sd);
+        SpiderDiagramOccurrence occurrence = byIndex == null ? null : byIndex.get(occurrenceIndex);
+        if (occurrence == null) {
+            occurrence = createOccurrence(sd, occurrenceIndex);
+            if (occurrence != null) {
+                occurrence = store(sd, occurrence);
+            }
+        }
+        return occurrence;
+    }
+
+    private SpiderDiagramOccurrence createOccurrence(SpiderDiagram sd, int occurrenceIndex) {
+        if (sd instanceof PrimarySpiderDiagram) {
+            return new PrimarySpiderDiagramOccurrence(sd, occurrenceIndex);
+        }
+        if (sd instanceof CompoundSpiderDiagram) {
+            int newIndex = occurrenceIndex + 1;
+            ArrayList<SpiderDiagramOccurrence> operands = new ArrayList<>();
+            for (SpiderDiagram op : ((CompoundSpiderDiagram) sd).getOperands()) {
+                operands.add(occurrenceOf(op, newIndex));
+                newIndex += op.getSubDiagramCount();
+            }
+            return new CompoundSpiderDiagramOccurrence(sd, occurrenceIndex, operands);
+        }
+        return null;
+    }
+
+    /**
+     * Stores the given occurrence, unless another thread has stored an equal
+     * one in the meantime, and returns the stored occurrence.
+     */
+    private SpiderDiagramOccurrence store(SpiderDiagram sd, SpiderDiagramOccurrence occurrence) {
+        ConcurrentMap<Integer, SpiderDiagramOccurrence> byIndex = occurrences.get(sd);
+        if (byIndex == null) {
+            ConcurrentMap<Integer, SpiderDiagramOccurrence> newByIndex = new ConcurrentHashMap<>(2);
+            byIndex = occurrences.putIfAbsent(sd, newByIndex);
+            if (byIndex == null) {
+                byIndex = newByIndex;
+            }
+        }
+        SpiderDiagramOccurrence existing = byIndex.putIfAbsent(occurrence.getOccurrenceIndex(), occurrence);
+        return existing == null ? occurrence : existing;
+    }
+}
@@ -5,6 +5,7 @@ import speedith.core.lang.PrimarySpiderDiagram;
 import speedith.core.lang.SpiderDiagram;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 
 /**
  * Wrapper class for SpiderDiagram classes. Adds an index
@@ -27,6 +28,20 @@ public abstract class SpiderDiagramOccurrence {
      */
     private int occurrenceIndex;
 
+    /**
+     * The results of predicates that were evaluated on this occurrence (see
+     * {@link SpiderDiagramOccurrence#getCachedPredicateResult(Object)}). It
+     * is created when the first result is stored.
+     */
+    private HashMap<Object, Boolean> predicateResults;
+
+    /**
+     * Other values derived from this occurrence (see {@link
+     * SpiderDiagramOccurrence#getCachedValue(Object)}). It is created when the
+     * first value is stored.
+     */
+    private HashMap<Object, Object> cachedValues;
+
     public SpiderDiagramOccurrence(SpiderDiagram diagram, int occurrenceIndex) {
         this.diagram = diagram;
         this.occurrenceIndex = occurrenceIndex;
@@ -62,6 +77,57 @@ public abstract class SpiderDiagramOccurrence {
         return occurrenceIndex;
     }
 
+    /**
+     * Returns the result of the predicate with the given key, if it has been
+     * {@link SpiderDiagramOccurrence#cachePredicateResult(Object, boolean)
+     * stored} for this occurrence before.
+     * <p>Only predicates whose result depends on this occurrence alone may
+     * be cached (occurrences are shared through the {@link OccurrenceIndex}).</p>
+     * @param predicateKey the key that identifies the predicate.
+     * @return the stored result or {@code null} if there is none.
+     */
+    public synchronized Boolean getCachedPredicateResult(Object predicateKey) {
+        return predicateResults == null ? null : predicateResults.get(predicateKey);
+    }
+
+    /**
+     * Stores the result of the predicate with the given key for this
+     * occurrence.
+     * @param predicateKey the key that identifies the predicate.
+     * @param result the result of the predicate on this occurrence.
+     */
+    public synchronized void cachePredicateResult(Object predicateKey, boolean result) {
+        if (predicateResults == null) {
+            predicateResults = new HashMap<>(4);
+        }
+        predicateResults.put(predicateKey, result);
+    }
+
+    /**
+     * Returns the value with the given key, if it has been {@link
+     * SpiderDiagramOccurrence#cacheValue(Object, Object) stored} for this
+     * occurrence before.
+     * <p>As with predicate results, only values that depend on this occurrence
+     * alone may be cached.</p>
+     * @param key the key that identifies the value.
+     * @return the stored value or {@code null} if there is none.
+     */
+    public synchronized Object getCachedValue(Object key) {
+        return cachedValues == null ? null : cachedValues.get(key);
+    }
+
+    /**
+     * Stores a value derived from this occurrence under the given key.
+     * @param key the key that identifies the value.
+     * @param value the value to store.
+     */
+    public synchronized void cacheValue(Object key, Object value) {
+        if (cachedValues == null) {
+            cachedValues = new HashMap<>(2);
+        }
+        cachedValues.put(key, value);
+    }
+
     @Override
     public abstract boolean equals(Object other);
 
@@ -128,7 +128,7 @@ public class AddFeet extends SimpleInferenceRule<SpiderRegionArg> implements Bas
     //</editor-fold>
 
     //<editor-fold defaultstate="collapsed" desc="Helper Classes">
-    private class AddFeetTransformer extends IdTransformer {
+    private class AddFeetTransformer extends IdTransformer implements TargetedTransformer {
 
         private final SpiderRegionArg arg;
         private final boolean applyForward;
@@ -138,6 +138,11 @@ public class AddFeet extends SimpleInferenceRule<SpiderRegionArg> implements Bas
             this.applyForward = applyForward;
         }
 
+        @Override
+        public int getTargetSubDiagramIndex() {
+            return arg.getSubDiagramIndex();
+        }
+
         @Override
         public SpiderDiagram transform(PrimarySpiderDiagram psd, int diagramIndex, ArrayList<CompoundSpiderDiagram> parents, ArrayList<Integer> childIndices) {
             // Transform only the target diagram
@@ -27,7 +27,9 @@
 package speedith.core.reasoning.rules;
 
 import speedith.core.i18n.Translations;
+import speedith.core.lang.CompoundSpiderDiagram;
 import speedith.core.lang.DiagramType;
+import speedith.core.lang.Operator;
 import speedith.core.lang.SpiderDiagram;
 import speedith.core.reasoning.*;
 import speedith.core.reasoning.args.MultipleRuleArgs;
@@ -60,6 +62,28 @@ public class ConjunctionElimination extends SimpleInferenceRule<MultipleRuleArgs
         return apply(args, goals, ApplyStyle.GoalBased);
     }
 
+    /**
+     * Checks whether the target is a conjunction at a negative position
+     * (without applying the rule).
+     */
+    @Override
+    public boolean isApplicable(RuleArg args, Goals goals) {
+        if (!(args instanceof MultipleRuleArgs) || ((MultipleRuleArgs) args).size() < 2) {
+            return false;
+        }
+        MultipleRuleArgs mult = (MultipleRuleArgs) args;
+        SpiderDiagram target = findSubDiagram(mult.get(0), goals);
+        return target instanceof CompoundSpiderDiagram
+                && Operator.Conjunction.equals(((CompoundSpiderDiagram) target).getOperator())
+                && mult.get(1) instanceof SubDiagramIndexArg
+                && isAtFittingPosition((SubDiagramIndexArg) mult.get(0), goals, ApplyStyle.GoalBased, true);
+    }
+
+    @Override
+    public RuleApplicationResult tryApply(RuleArg args, Goals goals) {
+        return applyIfApplicable(args, goals);
+    }
+
     private RuleApplicationResult apply(RuleArg args, Goals goals, ApplyStyle applyStyle) throws RuleApplicationException {
         MultipleRuleArgs mult = getTypedRuleArgs(args);
         SubDiagramIndexArg operatorDiagram = (SubDiagramIndexArg) mult.get(0);
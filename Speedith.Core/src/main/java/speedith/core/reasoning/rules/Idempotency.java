@@ -122,7 +122,7 @@ public class Idempotency extends SimpleInferenceRule<SubDiagramIndexArg> impleme
         private static final SelectSingleOperatorInstruction Instruction = new SelectSingleOperatorInstruction(Operator.Conjunction, Operator.Disjunction);
     }
     
-    private class IdempotencyTransformer extends IdTransformer {
+    private class IdempotencyTransformer extends IdTransformer implements TargetedTransformer {
 
         private final SubDiagramIndexArg arg;
 
@@ -130,6 +130,11 @@ public class Idempotency extends SimpleInferenceRule<SubDiagramIndexArg> impleme
             this.arg = arg;
         }
 
+        @Override
+        public int getTargetSubDiagramIndex() {
+            return arg.getSubDiagramIndex();
+        }
+
         @Override
         public SpiderDiagram transform(CompoundSpiderDiagram csd, int diagramIndex, ArrayList<CompoundSpiderDiagram> parents, ArrayList<Integer> childIndices) {
             // Transform only the target diagram
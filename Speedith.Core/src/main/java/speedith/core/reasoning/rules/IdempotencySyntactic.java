@@ -94,7 +94,7 @@ public class IdempotencySyntactic extends SimpleInferenceRule<SubDiagramIndexArg
         private static final SelectSingleOperatorInstruction Instruction = new SelectSingleOperatorInstruction(Operator.Conjunction, Operator.Disjunction);
     }
 
-    private class IdempotencyTransformer extends IdTransformer {
+    private class IdempotencyTransformer extends IdTransformer implements TargetedTransformer {
 
         private final SubDiagramIndexArg arg;
 
@@ -102,6 +102,11 @@ public class IdempotencySyntactic extends SimpleInferenceRule<SubDiagramIndexArg
             this.arg = arg;
         }
 
+        @Override
+        public int getTargetSubDiagramIndex() {
+            return arg.getSubDiagramIndex();
+        }
+
         @Override
         public SpiderDiagram transform(CompoundSpiderDiagram csd, int diagramIndex, ArrayList<CompoundSpiderDiagram> parents, ArrayList<Integer> childIndices) {
             // Transform only the target diagram
@@ -122,7 +122,7 @@ public class ImplicationTautology extends SimpleInferenceRule<SubDiagramIndexArg
         private static final SelectSingleOperatorInstruction Instruction = new SelectSingleOperatorInstruction(Operator.Implication, Operator.Equivalence);
     }
 
-    private class IdempotencyTransformer extends IdTransformer {
+    private class IdempotencyTransformer extends IdTransformer implements TargetedTransformer {
 
         private final SubDiagramIndexArg arg;
 
@@ -130,6 +130,11 @@ public class ImplicationTautology extends SimpleInferenceRule<SubDiagramIndexArg
             this.arg = arg;
         }
 
+        @Override
+        public int getTargetSubDiagramIndex() {
+            return arg.getSubDiagramIndex();
+        }
+
         @Override
         public SpiderDiagram transform(CompoundSpiderDiagram csd, int diagramIndex, ArrayList<CompoundSpiderDiagram> parents, ArrayList<Integer> childIndices) {
             // Transform only the target sub-diagram
@@ -28,7 +28,8 @@ package speedith.core.reasoning.rules;
 
 import speedith.core.i18n.Translations;
 import speedith.core.lang.DiagramType;
-import speedith.core.lang.SpiderDiagram;
+import speedith.core.lang.PrimarySpiderDiagram;
+import speedith.core.lang.Transformer;
 import speedith.core.reasoning.*;
 import speedith.core.reasoning.args.ContourArg;
 import speedith.core.reasoning.args.MultipleRuleArgs;
@@ -50,7 +51,7 @@ import java.util.Set;
  * @author Sven Linker [s.linker@brighton.ac.uk]
  */
 public class IntroContour extends SimpleInferenceRule<MultipleRuleArgs>
-        implements BasicInferenceRule<MultipleRuleArgs>, ForwardRule<MultipleRuleArgs>, Serializable {
+        implements BasicInferenceRule<MultipleRuleArgs>, ForwardRule<MultipleRuleArgs>, TransformerRule<MultipleRuleArgs>, Serializable {
 
     public static final String InferenceRuleName = "Introduce Contour";
 
@@ -66,23 +67,41 @@ public class IntroContour extends SimpleInferenceRule<MultipleRuleArgs>
 
     @Override
     public RuleApplicationResult apply(RuleArg args, Goals goals) throws RuleApplicationException {
-        MultipleRuleArgs ruleArgs = getTypedRuleArgs(args);
-        MultipleRuleArgs.assertArgumentsNotEmpty(ruleArgs);
-        SubDiagramIndexArg target = getTargetDiagramArg(ruleArgs);
-        ArrayList<ContourArg> contours = getContourArgsFrom(ruleArgs);
-        return apply(target, contours, goals);
+        return transformSubgoal(getTarget(args), getTransformer(args), goals);
     }
 
-    private SubDiagramIndexArg getTargetDiagramArg(MultipleRuleArgs args) throws RuleApplicationException {
-        return (SubDiagramIndexArg) args.get(0);
+    /**
+     * Checks whether the target is a primary diagram that contains none of the
+     * contours (without applying the rule).
+     */
+    @Override
+    public boolean isApplicable(RuleArg args, Goals goals) {
+        try {
+            MultipleRuleArgs ruleArgs = getTypedRuleArgs(args);
+            MultipleRuleArgs.assertArgumentsNotEmpty(ruleArgs);
+            PrimarySpiderDiagram target = findPrimaryDiagram(ruleArgs.get(0), goals);
+            if (target == null || !target.isWellFormed()) {
+                return false;
+            }
+            for (ContourArg contour : getContourArgsFrom(ruleArgs)) {
+                if (target.getAllContours().contains(contour.getContour())) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (RuleApplicationException e) {
+            // The arguments are malformed.
+            return false;
+        }
     }
 
+    @Override
+    public RuleApplicationResult tryApply(RuleArg args, Goals goals) {
+        return applyIfApplicable(args, goals);
+    }
 
-    private RuleApplicationResult apply(SubDiagramIndexArg target, ArrayList<ContourArg> targetContours, Goals goals) throws RuleApplicationException {
-        SpiderDiagram[] newSubgoals = goals.getGoals().toArray(new SpiderDiagram[goals.getGoalsCount()]);
-        SpiderDiagram targetSubgoal = getSubgoal(target, goals);
-        newSubgoals[target.getSubgoalIndex()] = targetSubgoal.transform(new IntroduceContoursTransformer(target, targetContours));
-        return createRuleApplicationResult(newSubgoals);
+    private SubDiagramIndexArg getTargetDiagramArg(MultipleRuleArgs args) throws RuleApplicationException {
+        return (SubDiagramIndexArg) args.get(0);
     }
 
     public ArrayList<ContourArg> getContourArgsFrom(MultipleRuleArgs args) throws RuleApplicationException {
@@ -104,6 +123,20 @@ public class IntroContour extends SimpleInferenceRule<MultipleRuleArgs>
         return contourArgs;
     }
 
+    @Override
+    public SubDiagramIndexArg getTarget(RuleArg args) throws RuleApplicationException {
+        MultipleRuleArgs ruleArgs = getTypedRuleArgs(args);
+        MultipleRuleArgs.assertArgumentsNotEmpty(ruleArgs);
+        return getTargetDiagramArg(ruleArgs);
+    }
+
+    @Override
+    public Transformer getTransformer(RuleArg args) throws RuleApplicationException {
+        MultipleRuleArgs ruleArgs = getTypedRuleArgs(args);
+        MultipleRuleArgs.assertArgumentsNotEmpty(ruleArgs);
+        return new IntroduceContoursTransformer(getTargetDiagramArg(ruleArgs), getContourArgsFrom(ruleArgs));
+    }
+
     @Override
     public InferenceRule<MultipleRuleArgs> getInferenceRule() {
         return this;
@@ -27,7 +27,8 @@
 package speedith.core.reasoning.rules;
 
 import speedith.core.lang.DiagramType;
-import speedith.core.lang.SpiderDiagram;
+import speedith.core.lang.PrimarySpiderDiagram;
+import speedith.core.lang.Transformer;
 import speedith.core.reasoning.*;
 import speedith.core.reasoning.args.MultipleRuleArgs;
 import speedith.core.reasoning.args.RuleArg;
@@ -42,7 +43,7 @@ import java.util.*;
  * @author Matej Urbas [matej.urbas@gmail.com]
  */
 public class IntroShadedZone extends SimpleInferenceRule<MultipleRuleArgs>
-        implements BasicInferenceRule<MultipleRuleArgs>, ForwardRule<MultipleRuleArgs>, Serializable {
+        implements BasicInferenceRule<MultipleRuleArgs>, ForwardRule<MultipleRuleArgs>, TransformerRule<MultipleRuleArgs>, Serializable {
 
     public static final String InferenceRuleName = "Introduce Shaded Zone";
 
@@ -56,18 +57,37 @@ public class IntroShadedZone extends SimpleInferenceRule<MultipleRuleArgs>
 
     @Override
     public RuleApplicationResult apply(RuleArg args, Goals goals) throws RuleApplicationException {
-        MultipleRuleArgs ruleArgs = getTypedRuleArgs(args);
-        MultipleRuleArgs.assertArgumentsNotEmpty(ruleArgs);
-        ArrayList<ZoneArg> zones = ZoneArg.getZoneArgsFrom(ruleArgs);
-        SubDiagramIndexArg target = getTargetDiagramArg(ruleArgs);
-        return apply(target, zones, goals );
+        return transformSubgoal(getTarget(args), getTransformer(args), goals);
+    }
+
+    /**
+     * Checks whether the target is a primary diagram in which all the zones
+     * are missing (without applying the rule).
+     */
+    @Override
+    public boolean isApplicable(RuleArg args, Goals goals) {
+        try {
+            MultipleRuleArgs ruleArgs = getTypedRuleArgs(args);
+            MultipleRuleArgs.assertArgumentsNotEmpty(ruleArgs);
+            PrimarySpiderDiagram target = findPrimaryDiagram(ruleArgs.get(0), goals);
+            if (target == null) {
+                return false;
+            }
+            for (ZoneArg zone : ZoneArg.getZoneArgsFrom(ruleArgs)) {
+                if (!target.getShadedZones().contains(zone.getZone()) || target.getPresentZones().contains(zone.getZone())) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (RuleApplicationException e) {
+            // The arguments are malformed.
+            return false;
+        }
     }
 
-    private RuleApplicationResult apply(SubDiagramIndexArg target, ArrayList<ZoneArg> targetContours, Goals goals) throws RuleApplicationException {
-        SpiderDiagram[] newSubgoals = goals.getGoals().toArray(new SpiderDiagram[goals.getGoalsCount()]);
-        SpiderDiagram targetSubgoal = getSubgoal(target, goals);
-        newSubgoals[target.getSubgoalIndex()] = targetSubgoal.transform(new IntroShadedZoneTransformer(target, targetContours));
-        return createRuleApplicationResult(newSubgoals);
+    @Override
+    public RuleApplicationResult tryApply(RuleArg args, Goals goals) {
+        return applyIfApplicable(args, goals);
     }
 
     private SubDiagramIndexArg getTargetDiagramArg(MultipleRuleArgs args) throws RuleApplicationException {
@@ -75,6 +95,20 @@ public class IntroShadedZone extends SimpleInferenceRule<MultipleRuleArgs>
     }
 
 
+    @Override
+    public SubDiagramIndexArg getTarget(RuleArg args) throws RuleApplicationException {
+        MultipleRuleArgs ruleArgs = getTypedRuleArgs(args);
+        MultipleRuleArgs.assertArgumentsNotEmpty(ruleArgs);
+        return getTargetDiagramArg(ruleArgs);
+    }
+
+    @Override
+    public Transformer getTransformer(RuleArg args) throws RuleApplicationException {
+        MultipleRuleArgs ruleArgs = getTypedRuleArgs(args);
+        MultipleRuleArgs.assertArgumentsNotEmpty(ruleArgs);
+        return new IntroShadedZoneTransformer(getTargetDiagramArg(ruleArgs), ZoneArg.getZoneArgsFrom(ruleArgs));
+    }
+
     @Override
     public InferenceRule<MultipleRuleArgs> getInferenceRule() {
         return this;
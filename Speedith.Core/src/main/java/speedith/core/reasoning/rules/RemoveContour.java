@@ -28,7 +28,8 @@ package speedith.core.reasoning.rules;
 
 import speedith.core.i18n.Translations;
 import speedith.core.lang.DiagramType;
-import speedith.core.lang.SpiderDiagram;
+import speedith.core.lang.PrimarySpiderDiagram;
+import speedith.core.lang.Transformer;
 import speedith.core.reasoning.*;
 import speedith.core.reasoning.args.ContourArg;
 import speedith.core.reasoning.args.MultipleRuleArgs;
@@ -47,7 +48,7 @@ import java.util.Set;
  * @author Matej Urbas [matej.urbas@gmail.com]
  * @author Sven Linker [s.linker@brighton.ac.uk]
  */
-public class RemoveContour extends SimpleInferenceRule<MultipleRuleArgs> implements Serializable, ForwardRule<MultipleRuleArgs> {
+public class RemoveContour extends SimpleInferenceRule<MultipleRuleArgs> implements Serializable, ForwardRule<MultipleRuleArgs>, TransformerRule<MultipleRuleArgs> {
 
     // <editor-fold defaultstate="collapsed" desc="Fields">
     /**
@@ -65,6 +66,49 @@ public class RemoveContour extends SimpleInferenceRule<MultipleRuleArgs> impleme
         return apply(args, goals, ApplyStyle.GoalBased);
     }
 
+    /**
+     * Checks whether the target is a primary diagram at a negative position
+     * that contains all the contours (without applying the rule).
+     */
+    @Override
+    public boolean isApplicable(RuleArg args, Goals goals) {
+        try {
+            MultipleRuleArgs ruleArgs = getTypedRuleArgs(args);
+            MultipleRuleArgs.assertArgumentsNotEmpty(ruleArgs);
+            ArrayList<ContourArg> contourArgs = ContourArg.getContourArgsFrom(ruleArgs);
+            PrimarySpiderDiagram target = findPrimaryDiagram(contourArgs.get(0), goals);
+            if (target == null || !target.isWellFormed() || !isAtFittingPosition(contourArgs.get(0), goals, ApplyStyle.GoalBased, true)) {
+                return false;
+            }
+            for (ContourArg contour : contourArgs) {
+                if (!target.getAllContours().contains(contour.getContour())) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (RuleApplicationException e) {
+            // The arguments are malformed.
+            return false;
+        }
+    }
+
+    @Override
+    public RuleApplicationResult tryApply(RuleArg args, Goals goals) {
+        return applyIfApplicable(args, goals);
+    }
+
+    @Override
+    public SubDiagramIndexArg getTarget(RuleArg args) throws RuleApplicationException {
+        MultipleRuleArgs ruleArgs = getTypedRuleArgs(args);
+        MultipleRuleArgs.assertArgumentsNotEmpty(ruleArgs);
+        return ContourArg.getContourArgsFrom(ruleArgs).get(0);
+    }
+
+    @Override
+    public Transformer getTransformer(RuleArg args) throws RuleApplicationException {
+        return getTransformer(args, ApplyStyle.GoalBased);
+    }
+
     @Override
     public InferenceRule<MultipleRuleArgs> getInferenceRule() {
         return this;
@@ -113,10 +157,13 @@ public class RemoveContour extends SimpleInferenceRule<MultipleRuleArgs> impleme
     }
 
     protected RuleApplicationResult apply(final RuleArg args, Goals goals, ApplyStyle applyStyle) throws RuleApplicationException {
-        ArrayList<ContourArg> contourArgs = ContourArg.getContourArgsFrom(getTypedRuleArgs(args));
-        SpiderDiagram[] newSubgoals = goals.getGoals().toArray(new SpiderDiagram[goals.getGoalsCount()]);
-        newSubgoals[contourArgs.get(0).getSubgoalIndex()] = getSubgoal(contourArgs.get(0), goals).transform(new RemoveContoursTransformer(contourArgs, applyStyle));
-        return createRuleApplicationResult(newSubgoals);
+        return transformSubgoal(getTarget(args), getTransformer(args, applyStyle), goals);
+    }
+
+    private Transformer getTransformer(RuleArg args, ApplyStyle applyStyle) throws RuleApplicationException {
+        MultipleRuleArgs ruleArgs = getTypedRuleArgs(args);
+        MultipleRuleArgs.assertArgumentsNotEmpty(ruleArgs);
+        return new RemoveContoursTransformer(ContourArg.getContourArgsFrom(ruleArgs), applyStyle);
     }
 
 }
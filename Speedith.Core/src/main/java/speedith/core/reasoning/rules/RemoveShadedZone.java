@@ -1,8 +1,9 @@
 package speedith.core.reasoning.rules;
 
-import com.sun.org.apache.xpath.internal.operations.Mult;
 import speedith.core.lang.DiagramType;
-import speedith.core.lang.SpiderDiagram;
+import speedith.core.lang.PrimarySpiderDiagram;
+import speedith.core.lang.Region;
+import speedith.core.lang.Transformer;
 import speedith.core.reasoning.*;
 import speedith.core.reasoning.args.MultipleRuleArgs;
 import speedith.core.reasoning.args.RuleArg;
@@ -21,7 +22,7 @@ import java.util.Set;
  * @author Sven Linker [s.linker@brighton.ac.uk]
  */
 public class RemoveShadedZone extends SimpleInferenceRule<MultipleRuleArgs>
-implements BasicInferenceRule<MultipleRuleArgs>, ForwardRule<MultipleRuleArgs>, Serializable {
+implements BasicInferenceRule<MultipleRuleArgs>, ForwardRule<MultipleRuleArgs>, TransformerRule<MultipleRuleArgs>, Serializable {
 
     public static final String InferenceRuleName = "Remove Shaded Zone";
 
@@ -36,18 +37,43 @@ implements BasicInferenceRule<MultipleRuleArgs>, ForwardRule<MultipleRuleArgs>,
 
     @Override
     public RuleApplicationResult apply(RuleArg args, Goals goals) throws RuleApplicationException {
-        MultipleRuleArgs ruleArgs = getTypedRuleArgs(args);
-        MultipleRuleArgs.assertArgumentsNotEmpty(ruleArgs);
-        ArrayList<ZoneArg> zones = getZoneArgsFrom(ruleArgs);
-        SubDiagramIndexArg target = getTargetDiagramArg(ruleArgs);
-        return apply(target, zones, goals );
+        return transformSubgoal(getTarget(args), getTransformer(args), goals);
+    }
+
+    /**
+     * Checks whether the target is a primary diagram in which all the zones
+     * are shaded, present, not the outer zone and not inhabited by any spider
+     * (without applying the rule).
+     */
+    @Override
+    public boolean isApplicable(RuleArg args, Goals goals) {
+        try {
+            MultipleRuleArgs ruleArgs = getTypedRuleArgs(args);
+            MultipleRuleArgs.assertArgumentsNotEmpty(ruleArgs);
+            PrimarySpiderDiagram target = findPrimaryDiagram(ruleArgs.get(0), goals);
+            if (target == null) {
+                return false;
+            }
+            for (ZoneArg zone : getZoneArgsFrom(ruleArgs)) {
+                if (!target.getVisibleShadedZones().contains(zone.getZone()) || zone.getZone().getInContoursCount() == 0) {
+                    return false;
+                }
+                for (Region habitat : target.getHabitats().values()) {
+                    if (habitat.contains(zone.getZone())) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        } catch (RuleApplicationException e) {
+            // The arguments are malformed.
+            return false;
+        }
     }
 
-    private RuleApplicationResult apply(SubDiagramIndexArg target, ArrayList<ZoneArg> targetContours, Goals goals) throws RuleApplicationException {
-        SpiderDiagram[] newSubgoals = goals.getGoals().toArray(new SpiderDiagram[goals.getGoalsCount()]);
-        SpiderDiagram targetSubgoal = getSubgoal(target, goals);
-        newSubgoals[target.getSubgoalIndex()] = targetSubgoal.transform(new RemoveShadedZoneTransformer(target, targetContours));
-        return createRuleApplicationResult(newSubgoals);
+    @Override
+    public RuleApplicationResult tryApply(RuleArg args, Goals goals) {
+        return applyIfApplicable(args, goals);
     }
 
     public ArrayList<ZoneArg> getZoneArgsFrom(MultipleRuleArgs args) throws RuleApplicationException {
@@ -74,6 +100,20 @@ implements BasicInferenceRule<MultipleRuleArgs>, ForwardRule<MultipleRuleArgs>,
     }
 
 
+    @Override
+    public SubDiagramIndexArg getTarget(RuleArg args) throws RuleApplicationException {
+        MultipleRuleArgs ruleArgs = getTypedRuleArgs(args);
+        MultipleRuleArgs.assertArgumentsNotEmpty(ruleArgs);
+        return getTargetDiagramArg(ruleArgs);
+    }
+
+    @Override
+    public Transformer getTransformer(RuleArg args) throws RuleApplicationException {
+        MultipleRuleArgs ruleArgs = getTypedRuleArgs(args);
+        MultipleRuleArgs.assertArgumentsNotEmpty(ruleArgs);
+        return new RemoveShadedZoneTransformer(getTargetDiagramArg(ruleArgs), getZoneArgsFrom(ruleArgs));
+    }
+
     @Override
     public InferenceRule<MultipleRuleArgs> getInferenceRule() {
         return this;
@@ -28,7 +28,8 @@ package speedith.core.reasoning.rules;
 
 import speedith.core.i18n.Translations;
 import speedith.core.lang.DiagramType;
-import speedith.core.lang.SpiderDiagram;
+import speedith.core.lang.PrimarySpiderDiagram;
+import speedith.core.lang.Transformer;
 import speedith.core.reasoning.*;
 import speedith.core.reasoning.args.MultipleRuleArgs;
 import speedith.core.reasoning.args.RuleArg;
@@ -52,7 +53,7 @@ import java.util.Set;
  *
  */
 public class RemoveShading extends SimpleInferenceRule<MultipleRuleArgs>
-        implements BasicInferenceRule<MultipleRuleArgs>, ForwardRule<MultipleRuleArgs>, Serializable {
+        implements BasicInferenceRule<MultipleRuleArgs>, ForwardRule<MultipleRuleArgs>, TransformerRule<MultipleRuleArgs>, Serializable {
 
     public static final String InferenceRuleName = "Erase Shading";
 
@@ -81,29 +82,42 @@ public class RemoveShading extends SimpleInferenceRule<MultipleRuleArgs>
 
     @Override
     public RuleApplicationResult applyForwards(RuleArg args, Goals goals) throws RuleApplicationException {
-        MultipleRuleArgs ruleArgs = getTypedRuleArgs(args);
-        MultipleRuleArgs.assertArgumentsNotEmpty(ruleArgs);
-        ArrayList<ZoneArg> zones = getZoneArgsFrom(ruleArgs);
-        SubDiagramIndexArg target = getTargetDiagramArg(ruleArgs);
-        return apply(target, zones, goals, ApplyStyle.Forward);
+        return transformSubgoal(getTarget(args), getTransformer(args, ApplyStyle.Forward), goals);
     }
 
     @Override
     public RuleApplicationResult apply(RuleArg args, Goals goals) throws RuleApplicationException {
-        MultipleRuleArgs ruleArgs = getTypedRuleArgs(args);
-        MultipleRuleArgs.assertArgumentsNotEmpty(ruleArgs);
-        ArrayList<ZoneArg> zones = getZoneArgsFrom(ruleArgs);
-        SubDiagramIndexArg target = getTargetDiagramArg(ruleArgs);
-        return apply(target, zones, goals, ApplyStyle.GoalBased );
+        return transformSubgoal(getTarget(args), getTransformer(args), goals);
     }
 
+    /**
+     * Checks whether the target is a primary diagram at a negative position in
+     * which all the zones are shaded and present (without applying the rule).
+     */
+    @Override
+    public boolean isApplicable(RuleArg args, Goals goals) {
+        try {
+            MultipleRuleArgs ruleArgs = getTypedRuleArgs(args);
+            MultipleRuleArgs.assertArgumentsNotEmpty(ruleArgs);
+            PrimarySpiderDiagram target = findPrimaryDiagram(ruleArgs.get(0), goals);
+            if (target == null || !isAtFittingPosition(getTargetDiagramArg(ruleArgs), goals, ApplyStyle.GoalBased, true)) {
+                return false;
+            }
+            for (ZoneArg zone : getZoneArgsFrom(ruleArgs)) {
+                if (!target.getVisibleShadedZones().contains(zone.getZone())) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (RuleApplicationException e) {
+            // The arguments are malformed.
+            return false;
+        }
+    }
 
-
-    protected RuleApplicationResult apply(SubDiagramIndexArg target, ArrayList<ZoneArg> targetContours, Goals goals, ApplyStyle applyStyle) throws RuleApplicationException {
-        SpiderDiagram[] newSubgoals = goals.getGoals().toArray(new SpiderDiagram[goals.getGoalsCount()]);
-        SpiderDiagram targetSubgoal = getSubgoal(target, goals);
-        newSubgoals[target.getSubgoalIndex()] = targetSubgoal.transform(new RemoveShadingTransformer(target, targetContours, applyStyle));
-        return createRuleApplicationResult(newSubgoals);
+    @Override
+    public RuleApplicationResult tryApply(RuleArg args, Goals goals) {
+        return applyIfApplicable(args, goals);
     }
 
     public ArrayList<ZoneArg> getZoneArgsFrom(MultipleRuleArgs args) throws RuleApplicationException {
@@ -129,6 +143,24 @@ public class RemoveShading extends SimpleInferenceRule<MultipleRuleArgs>
         return (SubDiagramIndexArg) args.get(0);
     }
 
+    @Override
+    public SubDiagramIndexArg getTarget(RuleArg args) throws RuleApplicationException {
+        MultipleRuleArgs ruleArgs = getTypedRuleArgs(args);
+        MultipleRuleArgs.assertArgumentsNotEmpty(ruleArgs);
+        return getTargetDiagramArg(ruleArgs);
+    }
+
+    @Override
+    public Transformer getTransformer(RuleArg args) throws RuleApplicationException {
+        return getTransformer(args, ApplyStyle.GoalBased);
+    }
+
+    private Transformer getTransformer(RuleArg args, ApplyStyle applyStyle) throws RuleApplicationException {
+        MultipleRuleArgs ruleArgs = getTypedRuleArgs(args);
+        MultipleRuleArgs.assertArgumentsNotEmpty(ruleArgs);
+        return new RemoveShadingTransformer(getTargetDiagramArg(ruleArgs), getZoneArgsFrom(ruleArgs), applyStyle);
+    }
+
     @Override
     public InferenceRule<MultipleRuleArgs> getInferenceRule() {
         return this;
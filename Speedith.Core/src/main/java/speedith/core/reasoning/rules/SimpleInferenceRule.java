@@ -27,9 +27,13 @@
 package speedith.core.reasoning.rules;
 
 import speedith.core.lang.CompoundSpiderDiagram;
+import speedith.core.lang.PrimarySpiderDiagram;
 import speedith.core.lang.SpiderDiagram;
+import speedith.core.lang.TransformationException;
+import speedith.core.lang.Transformer;
 import speedith.core.reasoning.*;
 import speedith.core.reasoning.args.RuleArg;
+import speedith.core.reasoning.args.SubDiagramIndexArg;
 import speedith.core.reasoning.args.SubgoalIndexArg;
 
 import java.util.ArrayList;
@@ -94,6 +98,29 @@ public abstract class SimpleInferenceRule<TArgs extends RuleArg> implements Infe
         return this;
     }
 
+    /**
+     * Checks whether the rule is applicable by {@link
+     * SimpleInferenceRule#tryApply(speedith.core.reasoning.args.RuleArg, speedith.core.reasoning.Goals)
+     * trying to apply it}.
+     * <p>Rules that can check their applicability without applying the rule
+     * (and without the exceptions thrown by a failed application) should
+     * override this method and implement {@code tryApply} with {@link
+     * SimpleInferenceRule#applyIfApplicable(speedith.core.reasoning.args.RuleArg, speedith.core.reasoning.Goals)}.</p>
+     */
+    @Override
+    public boolean isApplicable(RuleArg args, Goals goals) {
+        return tryApply(args, goals) != null;
+    }
+
+    @Override
+    public RuleApplicationResult tryApply(RuleArg args, Goals goals) {
+        try {
+            return apply(args, goals);
+        } catch (RuleApplicationException | TransformationException e) {
+            return null;
+        }
+    }
+
     public static RuleApplicationResult createRuleApplicationResult(SpiderDiagram[] newSubgoals) {
         return new RuleApplicationResult(Goals.createGoalsFrom(newSubgoals));
     }
@@ -163,6 +190,123 @@ public abstract class SimpleInferenceRule<TArgs extends RuleArg> implements Infe
             return sd;
         }
     }
+
+    /**
+     * Transforms the subgoal at the given index with the given transformer.
+     * {@link TransformerRule Transformer rules} implement their {@code apply}
+     * methods with this method, so that the arguments are parsed in one place
+     * only (in {@link TransformerRule#getTarget(speedith.core.reasoning.args.RuleArg)}
+     * and {@link TransformerRule#getTransformer(speedith.core.reasoning.args.RuleArg)}).
+     *
+     * @param target the index of the subgoal to transform.
+     * @param transformer the transformer to apply to the subgoal.
+     * @param goals the goals that contain the subgoal.
+     * @return the goals in which the subgoal has been transformed.
+     * @throws RuleApplicationException thrown if the subgoal does not exist
+     * (see {@link SimpleInferenceRule#getSubgoal(speedith.core.reasoning.args.SubgoalIndexArg, speedith.core.reasoning.Goals)}).
+     */
+    protected static RuleApplicationResult transformSubgoal(SubgoalIndexArg target, Transformer transformer, Goals goals) throws RuleApplicationException {
+        SpiderDiagram targetSubgoal = getSubgoal(target, goals);
+        SpiderDiagram[] newSubgoals = goals.getGoals().toArray(new SpiderDiagram[goals.getGoalsCount()]);
+        newSubgoals[target.getSubgoalIndex()] = targetSubgoal.transform(transformer);
+        return createRuleApplicationResult(newSubgoals);
+    }
+
+    /**
+     * Applies this rule if it is {@link
+     * SimpleInferenceRule#isApplicable(speedith.core.reasoning.args.RuleArg, speedith.core.reasoning.Goals)
+     * applicable}. Rules that override {@code isApplicable} use this method to
+     * implement {@link
+     * SimpleInferenceRule#tryApply(speedith.core.reasoning.args.RuleArg, speedith.core.reasoning.Goals)}.
+     *
+     * @param args the arguments to this inference rule.
+     * @param goals the goals on which to apply the inference rule.
+     * @return results of the application of the inference rule, or {@code
+     * null} if the rule is not applicable.
+     */
+    protected RuleApplicationResult applyIfApplicable(RuleArg args, Goals goals) {
+        if (!isApplicable(args, goals)) {
+            return null;
+        }
+        try {
+            return apply(args, goals);
+        } catch (RuleApplicationException | TransformationException e) {
+            // Should not happen: the applicability has been checked above.
+            return null;
+        }
+    }
+
+    /**
+     * Returns the sub-diagram at the given index (without throwing any
+     * exceptions). Rules use this method to check their applicability.
+     *
+     * @param arg the index of the sub-diagram.
+     * @param goals the goals that contain the sub-diagram.
+     * @return the sub-diagram, or {@code null} if the argument is not a {@link
+     * SubDiagramIndexArg} or if there is no sub-diagram at the given index.
+     */
+    protected static SpiderDiagram findSubDiagram(RuleArg arg, Goals goals) {
+        if (!(arg instanceof SubDiagramIndexArg) || goals == null) {
+            return null;
+        }
+        SubDiagramIndexArg index = (SubDiagramIndexArg) arg;
+        if (index.getSubgoalIndex() < 0 || index.getSubgoalIndex() >= goals.getGoalsCount()) {
+            return null;
+        }
+        SpiderDiagram subgoal = goals.getGoalAt(index.getSubgoalIndex());
+        if (subgoal == null || index.getSubDiagramIndex() < 0 || index.getSubDiagramIndex() >= subgoal.getSubDiagramCount()) {
+            return null;
+        }
+        return subgoal.getSubDiagramAt(index.getSubDiagramIndex());
+    }
+
+    /**
+     * Returns the primary diagram at the given index (without throwing any
+     * exceptions).
+     *
+     * @param arg the index of the primary diagram.
+     * @param goals the goals that contain the primary diagram.
+     * @return the primary diagram, or {@code null} if there is no primary
+     * diagram at the given index.
+     */
+    protected static PrimarySpiderDiagram findPrimaryDiagram(RuleArg arg, Goals goals) {
+        SpiderDiagram sd = findSubDiagram(arg, goals);
+        return sd instanceof PrimarySpiderDiagram ? (PrimarySpiderDiagram) sd : null;
+    }
+
+    /**
+     * Indicates whether the sub-diagram at the given index appears at the right
+     * position to be a target of an inference rule application. This method
+     * collects the parents of the sub-diagram in the same way as {@link
+     * SpiderDiagram#transform(speedith.core.lang.Transformer) transformations}
+     * do and then calls {@link SimpleInferenceRule#isAtFittingPosition(java.util.ArrayList, java.util.ArrayList, speedith.core.reasoning.ApplyStyle, boolean)}.
+     *
+     * @param arg the index of the sub-diagram. There must be a sub-diagram at
+     * this index (see {@link SimpleInferenceRule#findSubDiagram(speedith.core.reasoning.args.RuleArg, speedith.core.reasoning.Goals)}).
+     * @param goals the goals that contain the sub-diagram.
+     * @return a flag that indicates whether the sub-diagram appears at the
+     * right position to be a target of an inference rule application.
+     */
+    protected static boolean isAtFittingPosition(SubDiagramIndexArg arg, Goals goals, ApplyStyle applyStyle, boolean isForwardRule) {
+        ArrayList<CompoundSpiderDiagram> parents = new ArrayList<>();
+        ArrayList<Integer> childIndices = new ArrayList<>();
+        SpiderDiagram current = goals.getGoalAt(arg.getSubgoalIndex());
+        int currentIndex = 0;
+        while (currentIndex != arg.getSubDiagramIndex()) {
+            CompoundSpiderDiagram parent = (CompoundSpiderDiagram) current;
+            int operand = 0;
+            int operandIndex = currentIndex + 1;
+            while (operandIndex + parent.getOperand(operand).getSubDiagramCount() <= arg.getSubDiagramIndex()) {
+                operandIndex += parent.getOperand(operand).getSubDiagramCount();
+                ++operand;
+            }
+            parents.add(parent);
+            childIndices.add(operand);
+            current = parent.getOperand(operand);
+            currentIndex = operandIndex;
+        }
+        return isAtFittingPosition(parents, childIndices, applyStyle, isForwardRule);
+    }
     // </editor-fold>
 
     // <editor-fold defaultstate="collapsed" desc="Helper Methods (public static)">
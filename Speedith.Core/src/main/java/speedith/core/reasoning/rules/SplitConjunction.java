@@ -101,4 +101,21 @@ public class SplitConjunction extends UnaryForwardRule implements Serializable {
         return createRuleApplicationResult(newSubgoals.toArray(new SpiderDiagram[goals.getGoalsCount()+1]));
     }
 
+    /**
+     * Checks whether the target is a conjunction at a positive position
+     * (without applying the rule).
+     */
+    @Override
+    public boolean isApplicable(RuleArg args, Goals goals) {
+        SpiderDiagram target = findSubDiagram(args, goals);
+        return target instanceof CompoundSpiderDiagram
+                && Operator.Conjunction.equals(((CompoundSpiderDiagram) target).getOperator())
+                && isAtFittingPosition((SubDiagramIndexArg) args, goals, ApplyStyle.GoalBased, false);
+    }
+
+    @Override
+    public RuleApplicationResult tryApply(RuleArg args, Goals goals) {
+        return applyIfApplicable(args, goals);
+    }
+
 }
@@ -119,7 +119,7 @@ public class SplitSpiders extends SimpleInferenceRule<SpiderRegionArg> implement
     // </editor-fold>
 
     //<editor-fold defaultstate="collapsed" desc="Helper Classes">
-    private class SplitSpiderTransformer extends IdTransformer {
+    private class SplitSpiderTransformer extends IdTransformer implements TargetedTransformer {
 
         private final SpiderRegionArg arg;
 
@@ -127,6 +127,11 @@ public class SplitSpiders extends SimpleInferenceRule<SpiderRegionArg> implement
             this.arg = arg;
         }
 
+        @Override
+        public int getTargetSubDiagramIndex() {
+            return arg.getSubDiagramIndex();
+        }
+
         @Override
         public SpiderDiagram transform(PrimarySpiderDiagram psd, int diagramIndex, ArrayList<CompoundSpiderDiagram> parents, ArrayList<Integer> childIndices) {
             // Transform only the target diagram
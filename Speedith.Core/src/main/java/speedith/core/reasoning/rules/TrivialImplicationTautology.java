@@ -45,6 +45,25 @@ public class TrivialImplicationTautology extends SimpleInferenceRule<SubDiagramI
         return createRuleApplicationResult(newSubgoals);
     }
 
+    /**
+     * Checks whether the target of the rule is an implication with equal
+     * operands (without throwing any exceptions).
+     */
+    @Override
+    public boolean isApplicable(RuleArg args, Goals goals) {
+        SpiderDiagram target = findSubDiagram(args, goals);
+        if (target instanceof CompoundSpiderDiagram) {
+            CompoundSpiderDiagram csd = (CompoundSpiderDiagram) target;
+            return Operator.Implication.equals(csd.getOperator()) && haveEqualOperands(csd);
+        }
+        return false;
+    }
+
+    @Override
+    public RuleApplicationResult tryApply(RuleArg args, Goals goals) {
+        return applyIfApplicable(args, goals);
+    }
+
     @Override
     public RuleApplicationResult applyForwards(RuleArg args, Goals goals) throws RuleApplicationException {
         return apply(args, goals);
@@ -90,11 +109,22 @@ public class TrivialImplicationTautology extends SimpleInferenceRule<SubDiagramI
         return SingletonContainer.Instruction;
     }
 
+    /**
+     * Compares the fingerprints of the operands first, which rejects most
+     * implications without comparing the operands.
+     */
+    private static boolean haveEqualOperands(CompoundSpiderDiagram csd) {
+        SpiderDiagram premise = csd.getOperand(0);
+        SpiderDiagram conclusion = csd.getOperand(1);
+        return premise == conclusion
+                || (premise.getFingerprint() == conclusion.getFingerprint() && premise.equals(conclusion));
+    }
+
     private static final class SingletonContainer {
         private static final SelectSingleOperatorInstruction Instruction = new SelectSingleOperatorInstruction(Operator.Implication, Operator.Equivalence);
     }
 
-    private class IdempotencyTransformer extends IdTransformer {
+    private class IdempotencyTransformer extends IdTransformer implements TargetedTransformer {
 
         private final SubDiagramIndexArg arg;
 
@@ -102,13 +132,18 @@ public class TrivialImplicationTautology extends SimpleInferenceRule<SubDiagramI
             this.arg = arg;
         }
 
+        @Override
+        public int getTargetSubDiagramIndex() {
+            return arg.getSubDiagramIndex();
+        }
+
         @Override
         public SpiderDiagram transform(CompoundSpiderDiagram csd, int diagramIndex, ArrayList<CompoundSpiderDiagram> parents, ArrayList<Integer> childIndices) {
             // Transform only the target sub-diagram
             if (diagramIndex == arg.getSubDiagramIndex()) {
                 // The compound diagram must be an implication:
                 if (Operator.Implication.equals(csd.getOperator())) {
-                    if (csd.getOperand(0).equals(csd.getOperand(1))) {
+                    if (haveEqualOperands(csd)) {
                         return SpiderDiagrams.createNullSD();
                     } else {
                         throw new TransformationException(i18n("RULE_IMPLICATION_TAUTOLOGY_NOT_APPLICABLE_SEM"));
@@ -81,7 +81,7 @@ public abstract class UnaryForwardRule
 
   protected abstract Transformer getSententialTransformer(SubDiagramIndexArg arg, ApplyStyle applyStyle);
 
-  public static abstract class UnaryForwardTransformer extends IdTransformer {
+  public static abstract class UnaryForwardTransformer extends IdTransformer implements TargetedTransformer {
 
     private final SubDiagramIndexArg arg;
     private final ApplyStyle applyStyle;
@@ -91,6 +91,11 @@ public abstract class UnaryForwardRule
       this.applyStyle = applyStyle;
     }
 
+    @Override
+    public int getTargetSubDiagramIndex() {
+      return arg.getSubDiagramIndex();
+    }
+
     @Override
     public SpiderDiagram transform(CompoundSpiderDiagram csd, int diagramIndex, ArrayList<CompoundSpiderDiagram> parents, ArrayList<Integer> childIndices) {
       // Transform only the target diagram.
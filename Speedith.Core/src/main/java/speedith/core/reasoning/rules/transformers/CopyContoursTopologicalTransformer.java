@@ -14,7 +14,7 @@ import java.util.List;
  *
  * @author Sven Linker [s.linker@brighton.ac.uk]
  */
-public class CopyContoursTopologicalTransformer extends IdTransformer {
+public class CopyContoursTopologicalTransformer extends IdTransformer implements TargetedTransformer {
 
     private final int indexOfParent;
     private final List<ContourArg> targetContours;
@@ -27,6 +27,11 @@ public class CopyContoursTopologicalTransformer extends IdTransformer {
         this.targetContours = targetContours;
     }
 
+    @Override
+    public int getTargetSubDiagramIndex() {
+        return indexOfParent;
+    }
+
     @Override
     public SpiderDiagram transform(CompoundSpiderDiagram currentDiagram,
                                    int diagramIndex,
@@ -9,7 +9,7 @@ import speedith.core.reasoning.util.unitary.ZoneTransfer;
 import java.util.ArrayList;
 import java.util.List;
 
-public class CopyContoursTransformer extends IdTransformer {
+public class CopyContoursTransformer extends IdTransformer implements TargetedTransformer {
 
     private final int indexOfParent;
     private final List<ContourArg> targetContours;
@@ -22,6 +22,11 @@ public class CopyContoursTransformer extends IdTransformer {
         this.targetContours = targetContours;
     }
 
+    @Override
+    public int getTargetSubDiagramIndex() {
+        return indexOfParent;
+    }
+
     @Override
     public SpiderDiagram transform(CompoundSpiderDiagram currentDiagram,
                                    int diagramIndex,
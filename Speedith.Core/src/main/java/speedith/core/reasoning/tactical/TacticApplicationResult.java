@@ -2,19 +2,51 @@ package speedith.core.reasoning.tactical;
 
 import speedith.core.reasoning.*;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
- * TODO: Description
+ * The result of applying a tactic: the list of inference applications
+ * performed by the tactic so far and the goals they produced.
+ * <p>Instances of this class are immutable. The application list is a
+ * persistent list that shares its prefix with the results from which it was
+ * {@link TacticApplicationResult#withApplication(InferenceApplication, Goals)
+ * extended}, so tactics can record each rule application in constant
+ * time.</p>
  *
  * @author Sven Linker [s.linker@brighton.ac.uk]
  */
 public class TacticApplicationResult implements InferenceApplicationResult, Serializable {
 
     // <editor-fold defaultstate="collapsed" desc="Fields">
-    private List<InferenceApplication> applications;
+    private static final long serialVersionUID = 1719126990381973L;
+
+    /**
+     * The serial form of the former implementation, which kept the
+     * applications in a list. Results saved by it can thus still be read.
+     */
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("applications", List.class),
+            new ObjectStreamField("goals", Goals.class)
+    };
+
+    /**
+     * The last application in the list (each node points to the one before
+     * it). This is {@code null} if the list is empty.
+     */
+    private transient ApplicationNode lastApplication;
+
+    /**
+     * The application list in order. It is created lazily, when the list is
+     * first read.
+     */
+    private transient volatile InferenceApplication[] applications;
 
     private Goals goals;
 
@@ -23,37 +55,131 @@ public class TacticApplicationResult implements InferenceApplicationResult, Seri
     //<editor-fold defaultstate="collapsed" desc="Constructors">
 
     public TacticApplicationResult() {
-        this.applications = new ArrayList<>();
     }
 
     public  TacticApplicationResult(List<InferenceApplication> applications, Goals goals) {
-        this.applications= applications;
+        this.lastApplication = toNodes(applications);
+        this.goals = goals;
+    }
+
+    private TacticApplicationResult(ApplicationNode lastApplication, Goals goals) {
+        this.lastApplication = lastApplication;
         this.goals = goals;
     }
     //</editor-fold>
 
     //<editor-fold defaultstate="collapsed" desc="Public Properties">
     /**
-     * Returns the goals that have been the result of an {@link InferenceRule#apply(speedith.core.reasoning.args.RuleArg, speedith.core.reasoning.Goals)
-     * inference rule application}.
-     * <p>May return {@code null}, which indicates that the application of the
-     * inference rule yielded no subgoals. The same hold for an empty {@link Goals}
-     * instance.</p>
-     * @return the goals that have been the result of an {@link InferenceRule#apply(speedith.core.reasoning.args.RuleArg, speedith.core.reasoning.Goals)
-     * inference rule application}.
-     * <p>May return {@code null}, which indicates that the application of the
-     * inference rule yielded no subgoals. The same hold for an empty {@link Goals}
-     * instance.</p>
+     * Returns the inference applications performed by the tactic, in the
+     * order in which they were applied.
+     * <p>The returned list is an unmodifiable view. Its size is known in
+     * constant time; the elements are gathered when the list is first
+     * accessed.</p>
+     * @return the inference applications performed by the tactic.
      */
     public List<InferenceApplication> getApplicationList() {
-        return applications;
+        return new ApplicationList();
     }
 
-
+    /**
+     * Returns the number of inference applications performed by the tactic.
+     * @return the number of inference applications performed by the tactic.
+     */
+    public int getApplicationCount() {
+        return lastApplication == null ? 0 : lastApplication.count;
+    }
 
     public Goals getGoals() {
         return goals;
     }
     //</editor-fold>
 
+    //<editor-fold defaultstate="collapsed" desc="Public Methods">
+    /**
+     * Returns a new result with the given application appended to the
+     * application list of this result. This takes constant time.
+     * @param application the application to append.
+     * @param goals the goals after the application.
+     * @return a new result with the given application appended.
+     */
+    public TacticApplicationResult withApplication(InferenceApplication application, Goals goals) {
+        return new TacticApplicationResult(new ApplicationNode(application, lastApplication), goals);
+    }
+
+    /**
+     * Returns a new result with the application list of this result and the
+     * given goals. This takes constant time.
+     * @param goals the goals of the new result.
+     * @return a new result with the same applications and the given goals.
+     */
+    public TacticApplicationResult withGoals(Goals goals) {
+        return new TacticApplicationResult(lastApplication, goals);
+    }
+    //</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="Private Helper Methods">
+    private InferenceApplication[] getApplications() {
+        InferenceApplication[] result = applications;
+        if (result == null) {
+            result = new InferenceApplication[getApplicationCount()];
+            for (ApplicationNode node = lastApplication; node != null; node = node.previous) {
+                result[node.count - 1] = node.application;
+            }
+            applications = result;
+        }
+        return result;
+    }
+
+    private static ApplicationNode toNodes(List<InferenceApplication> applications) {
+        ApplicationNode last = null;
+        if (applications != null) {
+            for (InferenceApplication application : applications) {
+                last = new ApplicationNode(application, last);
+            }
+        }
+        return last;
+    }
+
+    // The node chain is serialised as a flat list (the default serialisation
+    // of a long chain would recurse once per node).
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("applications", new ArrayList<>(getApplicationList()));
+        fields.put("goals", goals);
+        out.writeFields();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        lastApplication = toNodes((List<InferenceApplication>) fields.get("applications", null));
+        goals = (Goals) fields.get("goals", null);
+    }
+    //</editor-fold>
+
+    private static final class ApplicationNode {
+
+        final InferenceApplication application;
+        final ApplicationNode previous;
+        final int count;
+
+        ApplicationNode(InferenceApplication application, ApplicationNode previous) {
+            this.application = application;
+            this.previous = previous;
+            this.count = previous == null ? 1 : previous.count + 1;
+        }
+    }
+
+    private final class ApplicationList extends AbstractList<InferenceApplication> {
+
+        @Override
+        public InferenceApplication get(int index) {
+            return getApplications()[index];
+        }
+
+        @Override
+        public int size() {
+            return getApplicationCount();
+        }
+    }
 }
@@ -0,0 +1,210 @@
+package speedith.core.reasoning.tactical;
+
+import speedith.core.reasoning.Goals;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static speedith.core.i18n.Translations.i18n;
+
+/**
+ * A bounded memo table of tactic applications.
+ * <p>Tactics are deterministic and goals are immutable, so the outcome of
+ * applying a tactic depends only on the tactic, the index of the target
+ * subgoal and the goals. The table maps these to the {@link
+ * TacticApplicationResult result} of the tactic or to the message of the
+ * {@link TacticApplicationException failure} it raised. When the table is
+ * full, the least recently used entry is dropped.</p>
+ * <p>Tactics are memoised only while a table is {@link
+ * TacticResultCache#setCurrent(TacticResultCache) bound} to the thread that
+ * applies them. Automatic provers bind a new table for every proof search,
+ * so that the entries are discarded once the search is over.</p>
+ * <p>Instances of this class are thread-safe.</p>
+ */
+public class TacticResultCache {
+
+    /**
+     * The number of entries kept by the tables of automatic proof searches.
+     */
+    public static final int DefaultCapacity = 1024;
+
+    private static final ThreadLocal<TacticResultCache> current = new ThreadLocal<>();
+
+    private final LinkedHashMap<Key, Object> entries = new LinkedHashMap<Key, Object>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Object> eldest) {
+            return size() > capacity;
+        }
+    };
+
+    private int capacity;
+
+    /**
+     * Creates a memo table that keeps at most the given number of entries.
+     * @param capacity the maximum number of entries.
+     */
+    public TacticResultCache(int capacity) {
+        setCapacity(capacity);
+    }
+
+    /**
+     * Returns the memo table bound to the current thread.
+     * @return the memo table bound to the current thread, or {@code null} if
+     * tactics applied by the current thread are not memoised.
+     */
+    public static TacticResultCache getCurrent() {
+        return current.get();
+    }
+
+    /**
+     * Binds the given memo table to the current thread. The caller should
+     * restore the previous table when it is done.
+     * @param cache the table to bind, or {@code null} to stop memoising the
+     * tactics applied by the current thread.
+     * @return the table that was bound to the current thread before (may be
+     * {@code null}).
+     */
+    public static TacticResultCache setCurrent(TacticResultCache cache) {
+        TacticResultCache previous = current.get();
+        if (cache == null) {
+            current.remove();
+        } else {
+            current.set(cache);
+        }
+        return previous;
+    }
+
+    public synchronized int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Sets the maximum number of entries. Entries are dropped (least recently
+     * used first) the next time an entry is stored.
+     * @param capacity the maximum number of entries.
+     */
+    public synchronized void setCapacity(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException(i18n("GERR_ILLEGAL_ARGUMENT", "capacity"));
+        }
+        this.capacity = capacity;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Returns the memoised result of applying the given tactic to the given
+     * subgoal.
+     * @param tacticName the {@link speedith.core.reasoning.InferenceProvider#getInferenceName()
+     * name} of the tactic.
+     * @param subgoalIndex the index of the subgoal to which the tactic was
+     * applied.
+     * @param goals the goals to which the tactic was applied.
+     * @return the memoised result or {@code null} if there is none.
+     * @throws TacticApplicationException a new exception with the message of
+     * the memoised failure of the tactic.
+     */
+    public TacticApplicationResult lookup(String tacticName, int subgoalIndex, Goals goals) throws TacticApplicationException {
+        Object outcome;
+        synchronized (this) {
+            outcome = entries.get(new Key(tacticName, subgoalIndex, goals));
+        }
+        if (outcome instanceof Failure) {
+            throw new TacticApplicationException(((Failure) outcome).message);
+        }
+        return (TacticApplicationResult) outcome;
+    }
+
+    /**
+     * Memoises the result of applying the given tactic to the given subgoal.
+     * @param tacticName the name of the tactic.
+     * @param subgoalIndex the index of the subgoal to which the tactic was
+     * applied.
+     * @param goals the goals to which the tactic was applied.
+     * @param result the result of the tactic.
+     */
+    public void storeResult(String tacticName, int subgoalIndex, Goals goals, TacticApplicationResult result) {
+        if (result == null) {
+            throw new IllegalArgumentException(i18n("GERR_NULL_ARGUMENT", "result"));
+        }
+        store(new Key(tacticName, subgoalIndex, goals), result);
+    }
+
+    /**
+     * Memoises the failure of applying the given tactic to the given subgoal.
+     * @param tacticName the name of the tactic.
+     * @param subgoalIndex the index of the subgoal to which the tactic was
+     * applied.
+     * @param goals the goals to which the tactic was applied.
+     * @param failure the exception raised by the tactic.
+     */
+    public void storeFailure(String tacticName, int subgoalIndex, Goals goals, TacticApplicationException failure) {
+        if (failure == null) {
+            throw new IllegalArgumentException(i18n("GERR_NULL_ARGUMENT", "failure"));
+        }
+        store(new Key(tacticName, subgoalIndex, goals), new Failure(failure.getMessage()));
+    }
+
+    private synchronized void store(Key key, Object outcome) {
+        if (capacity > 0) {
+            entries.put(key, outcome);
+        }
+    }
+
+    /**
+     * A memoised failure. Only the message is kept, so that every lookup
+     * throws a new exception (with a stack trace of its own).
+     */
+    private static final class Failure {
+
+        private final String message;
+
+        Failure(String message) {
+            this.message = message;
+        }
+    }
+
+    private static final class Key {
+
+        private final String tacticName;
+        private final int subgoalIndex;
+        private final Goals goals;
+        private final int hash;
+
+        Key(String tacticName, int subgoalIndex, Goals goals) {
+            if (tacticName == null) {
+                throw new IllegalArgumentException(i18n("GERR_NULL_ARGUMENT", "tacticName"));
+            }
+            this.tacticName = tacticName;
+            this.subgoalIndex = subgoalIndex;
+            this.goals = goals;
+            this.hash = 31 * (31 * tacticName.hashCode() + subgoalIndex) + (goals == null ? 0 : goals.hashCode());
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return hash == other.hash
+                    && subgoalIndex == other.subgoalIndex
+                    && tacticName.equals(other.tacticName)
+                    && (goals == null ? other.goals == null : goals.equals(other.goals));
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -1,70 +1,92 @@
 package speedith.core.lang
 
+import java.io.ObjectInputStream
 import java.lang.StringBuilder
-import java.util.Collections
 
 import propity.util.Sets
 
-import scala.collection.JavaConversions.{asJavaCollection, asScalaSet, iterableAsScalaIterable, setAsJavaSet}
+import scala.collection.JavaConversions.{asJavaCollection, setAsJavaSet}
 
-case class Region(zones: Set[Zone]) extends Comparable[Region] {
+/**
+  * A set of zones (e.g.: the habitat of a spider). The zones are stored in a sorted [[ZoneSet]], which caches its
+  * hash code. The regions are thus compared, merged (see [[Region#union]]) and subtracted (see [[Region#subtract]])
+  * with linear merges of sorted arrays, without building any tree or hash sets.
+  *
+  * Regions are serialized as the array of their zones (see [[Region.SerialForm]]), so that the serial form does not
+  * depend on how the zones are stored. The serial version UID is the one the compiler derived for the former case class
+  * `Region(zones: Set[Zone])`, so that regions saved by earlier versions are still read (see `readObject`).
+  *
+  * @param zoneSet the zones of this region.
+  */
+@SerialVersionUID(-7841166294585939607L)
+final class Region(@transient private[this] var zoneSet: ZoneSet) extends Comparable[Region] with Serializable {
 
-  val sortedZones: java.util.SortedSet[Zone] = {
-    Collections.unmodifiableSortedSet(
-      new java.util.TreeSet[Zone](setAsJavaSet(zones))
-    )
+  /**
+    * The zones of this region.
+    */
+  def sortedZones: ZoneSet = zoneSet
+
+  /**
+    * An immutable Scala view of the zones of this region (the zones are not copied).
+    */
+  @transient lazy val zones: Set[Zone] = SetViews.immutableView(sortedZones)
+
+  def this(zones: Set[Zone]) = {
+    this(if (zones == null) ZoneSet.empty() else ZoneSet.of(setAsJavaSet(zones)))
   }
 
   def this(zones: java.util.Set[Zone]) = {
-    this(if (zones == null) Set.empty[Zone] else asScalaSet(zones).toSet)
+    this(ZoneSet.of(zones))
   }
 
   def this(zones: java.util.Collection[Zone]) = {
-    this(if (zones == null) Set.empty[Zone] else iterableAsScalaIterable(zones).toSet)
+    this(ZoneSet.of(zones))
   }
 
   def this() = {
-    this(Set.empty)
+    this(ZoneSet.empty())
   }
 
   def this(zone1: Zone) = {
-    this(Set(zone1))
+    this(ZoneSet.of(zone1))
   }
 
   def this(zone1: Zone, zone2: Zone) = {
-    this(Set(zone1, zone2))
+    this(ZoneSet.of(zone1, zone2))
   }
 
   def this(zone1: Zone, zone2: Zone, zone3: Zone) = {
-    this(Set(zone1, zone2, zone3))
+    this(ZoneSet.of(zone1, zone2, zone3))
   }
 
   def this(zone1: Zone, zone2: Zone, zone3: Zone, zone4: Zone) = {
-    this(Set(zone1, zone2, zone3, zone4))
+    this(ZoneSet.of(zone1, zone2, zone3, zone4))
   }
 
   def this(zone1: Zone, zone2: Zone, zone3: Zone, zone4: Zone, otherZones: Zone*) = {
-    this(Set(zone1, zone2, zone3, zone4) ++ otherZones)
+    this(ZoneSet.of(asJavaCollection(Seq(zone1, zone2, zone3, zone4) ++ otherZones)))
   }
 
   def isSubregionOf(otherRegion: Region): Boolean = {
-    zones.subsetOf(otherRegion.zones)
+    otherRegion.sortedZones.containsAll(sortedZones)
   }
 
   def contains(zone: Zone): Boolean = {
-    zones.contains(zone)
+    sortedZones.contains(zone)
   }
 
   def getZonesCount: Int = {
-    zones.size
+    sortedZones.size
   }
 
   def union(otherRegion: Region): Region = {
-    Region(zones ++ otherRegion.zones)
+    val zones = sortedZones.plus(otherRegion.sortedZones)
+    if (zones eq sortedZones) this else new Region(zones)
   }
 
   def subtract(otherRegion: Region): Region = {
-    Region(zones -- otherRegion.zones)
+    val zones = sortedZones.minus(otherRegion.sortedZones)
+    if (zones eq sortedZones) this else new Region(zones)
   }
 
   def compareTo(otherRegion: Region): Int = {
@@ -76,7 +98,38 @@ case class Region(zones: Set[Zone]) extends Comparable[Region] {
     stringBuilder
   }
 
+  override def equals(other: Any): Boolean = other match {
+    case region: Region => (region eq this) || sortedZones.equals(region.sortedZones)
+    case _ => false
+  }
+
+  override def hashCode: Int = sortedZones.hashCode
+
   override def toString: String = {
     toString(new StringBuilder()).toString
   }
+
+  private def writeReplace(): AnyRef = new Region.SerialForm(sortedZones.toArray(new Array[Zone](sortedZones.size)))
+
+  /**
+    * Reads a region in the serial form of the former case class, which stored the zones both in the field `zones` (a
+    * Scala set) and in the field `sortedZones` (a sorted Java set).
+    */
+  private def readObject(in: ObjectInputStream): Unit = {
+    zoneSet = ZoneSet.of(in.readFields().get("sortedZones", null).asInstanceOf[java.util.Collection[Zone]])
+  }
+}
+
+object Region {
+
+  def apply(zones: Set[Zone]): Region = new Region(zones)
+
+  /**
+    * The serial form of a region: its zones in ascending order.
+    */
+  @SerialVersionUID(1L)
+  private[lang] final class SerialForm(private val zones: Array[Zone]) extends Serializable {
+
+    private def readResolve(): AnyRef = new Region(ZoneSet.of(zones: _*))
+  }
 }
@@ -0,0 +1,59 @@
+package speedith.core.lang
+
+import scala.collection.JavaConversions.asScalaIterator
+import scala.collection.immutable
+
+/**
+  * Immutable Scala views of the sets of the core model. The views do not copy the elements of the underlying
+  * Java sets, which is safe because the sets of spider diagrams are never modified once the diagram has been
+  * created. Adding or removing elements creates a new (hash) set.
+  *
+  * Unlike `JavaConversions`, which wraps Java sets into mutable Scala sets, the views can be used wherever an
+  * immutable `Set` is expected (e.g. `.toSet` returns the view itself).
+  */
+object SetViews {
+
+  /**
+    * Returns an immutable view of the given set. The given set must not be modified afterwards.
+    *
+    * @param set the set to view
+    */
+  def immutableView[A](set: java.util.Set[A]): immutable.Set[A] = {
+    if (set == null || set.isEmpty) immutable.Set.empty[A] else new ImmutableSetView(set)
+  }
+
+  /**
+    * Immutable views of the contours and (derived) zone sets of a primary diagram.
+    */
+  implicit class PrimaryDiagramSets(val sd: PrimarySpiderDiagram) extends AnyVal {
+
+    def contourSet: immutable.Set[String] = immutableView(sd.getAllContours)
+
+    def shadedZoneSet: immutable.Set[Zone] = immutableView(sd.getShadedZones)
+
+    def presentZoneSet: immutable.Set[Zone] = immutableView(sd.getPresentZones)
+
+    def visibleShadedZoneSet: immutable.Set[Zone] = immutableView(sd.getVisibleShadedZones)
+
+    def unshadedZoneSet: immutable.Set[Zone] = immutableView(sd.getUnshadedZones)
+
+    def missingZoneSet: immutable.Set[Zone] = immutableView(sd.getMissingZones)
+  }
+
+  private final class ImmutableSetView[A](underlying: java.util.Set[A]) extends scala.collection.AbstractSet[A] with immutable.Set[A] {
+
+    override def contains(elem: A): Boolean = underlying.contains(elem)
+
+    override def iterator: Iterator[A] = asScalaIterator(underlying.iterator)
+
+    override def size: Int = underlying.size
+
+    override def isEmpty: Boolean = underlying.isEmpty
+
+    override def +(elem: A): immutable.Set[A] = if (contains(elem)) this else copy + elem
+
+    override def -(elem: A): immutable.Set[A] = if (contains(elem)) copy - elem else this
+
+    private def copy: immutable.Set[A] = immutable.HashSet.empty[A] ++ this
+  }
+}
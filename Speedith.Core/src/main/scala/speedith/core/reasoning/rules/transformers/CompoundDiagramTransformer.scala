@@ -2,12 +2,14 @@ package speedith.core.reasoning.rules.transformers
 
 import speedith.core.lang._
 
-abstract class CompoundDiagramTransformer(compoundDiagramIndex: Int) extends IdTransformer {
+abstract class CompoundDiagramTransformer(compoundDiagramIndex: Int) extends IdTransformer with TargetedTransformer {
 
   if (compoundDiagramIndex < 0) {
     throw new TransformationException("The target sub-diagram is not in a conjunction.")
   }
 
+  override def getTargetSubDiagramIndex: Int = compoundDiagramIndex
+
   def transform(csd: CompoundSpiderDiagram, parents: java.util.ArrayList[CompoundSpiderDiagram], childIndices: java.util.ArrayList[java.lang.Integer]): SpiderDiagram
 
   override def transform(csd: CompoundSpiderDiagram, diagramIndex: Int, parents: java.util.ArrayList[CompoundSpiderDiagram], childIndices: java.util.ArrayList[java.lang.Integer]): SpiderDiagram = {
@@ -4,7 +4,9 @@ import speedith.core.lang._
 
 import scala.collection.mutable
 
-class DoubleNegationEliminationTransformer(targetSubDiagramIndex: Int) extends SimpleTransformer {
+class DoubleNegationEliminationTransformer(targetSubDiagramIndex: Int) extends SimpleTransformer with TargetedTransformer {
+
+  override def getTargetSubDiagramIndex: Int = targetSubDiagramIndex
 
   protected def transform(spiderDiagram: SpiderDiagram, currentDiagramIndex: Int, parents: mutable.Buffer[CompoundSpiderDiagram], childIndices: mutable.Buffer[Int]): SpiderDiagram = {
     if (currentDiagramIndex == targetSubDiagramIndex) {
@@ -11,9 +11,11 @@ import scala.collection.JavaConversions._
  * @author Sven Linker [s.linker@brighton.ac.uk]
  *
  */
-class IntroShadedZoneTransformer (target:  SubDiagramIndexArg, zones : java.util.List[ZoneArg]) extends IdTransformer {
+class IntroShadedZoneTransformer (target:  SubDiagramIndexArg, zones : java.util.List[ZoneArg]) extends IdTransformer with TargetedTransformer {
   val subDiagramIndex = target.getSubDiagramIndex
 
+  override def getTargetSubDiagramIndex: Int = subDiagramIndex
+
   override def transform(psd: PrimarySpiderDiagram,
                          diagramIndex: Int,
                          parents: java.util.ArrayList[CompoundSpiderDiagram],
@@ -22,7 +24,7 @@ class IntroShadedZoneTransformer (target:  SubDiagramIndexArg, zones : java.util
         if ( (zones.map(_.getZone) -- (psd.getShadedZones -- psd.getPresentZones)).nonEmpty) {
           throw new TransformationException("One of the selected zones is not missing.")
         }
-        SpiderDiagrams.createPrimarySD(psd.getHabitats,psd.getShadedZones, psd.getPresentZones ++  zones.map(_.getZone))
+        SpiderDiagrams.createPrimarySD(psd.getHabitats, psd.getShadedZones, psd.getPresentZones.plus(asJavaCollection(zones.map(_.getZone))))
     } else {
       null
     }
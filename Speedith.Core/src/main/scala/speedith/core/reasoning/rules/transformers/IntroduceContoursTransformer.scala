@@ -13,10 +13,12 @@ import scala.collection.SortedMap
   *         Only works for Euler Diagrams!
  * Created by sl542 on 10/11/15.
  */
-case class IntroduceContoursTransformer(target : SubDiagramIndexArg, contours : java.util.List[ContourArg]) extends IdTransformer {
+case class IntroduceContoursTransformer(target : SubDiagramIndexArg, contours : java.util.List[ContourArg]) extends IdTransformer with TargetedTransformer {
   val subDiagramIndex = target.getSubDiagramIndex
   val contoursToAdd = contours.map(_.getContour).toSet
 
+  override def getTargetSubDiagramIndex: Int = subDiagramIndex
+
   private def regionWithNewContours(region: Iterable[Zone]): Set[Zone] = {
     region.map(zone => new Zone(zone.getInContours ++ contoursToAdd, zone.getOutContours )).toSet ++ region.map(zone => new Zone(zone.getInContours , zone.getOutContours ++ contoursToAdd )).toSet
   }
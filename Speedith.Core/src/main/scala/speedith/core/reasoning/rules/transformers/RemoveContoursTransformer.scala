@@ -8,11 +8,13 @@ import speedith.core.reasoning.rules.SimpleInferenceRule
 
 import scala.collection.JavaConversions._
 
-case class RemoveContoursTransformer(contourArgs: java.util.List[ContourArg], applyStyle: ApplyStyle) extends IdTransformer {
+case class RemoveContoursTransformer(contourArgs: java.util.List[ContourArg], applyStyle: ApplyStyle) extends IdTransformer with TargetedTransformer {
 
   val subDiagramIndex = contourArgs(0).getSubDiagramIndex
   val contoursToRemove = contourArgs.map(_.getContour).toSet
 
+  override def getTargetSubDiagramIndex: Int = subDiagramIndex
+
   private def regionWithoutContours(region: Set[Zone]): Set[Zone] = {
     val result = region.map(zone => new Zone(zone.getInContours -- contoursToRemove, zone.getOutContours -- contoursToRemove)).filter(zone => zone.getAllContours.nonEmpty)
     if (result.nonEmpty) {
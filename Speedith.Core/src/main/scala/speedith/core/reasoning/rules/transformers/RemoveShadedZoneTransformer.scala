@@ -13,9 +13,11 @@ import scala.collection.JavaConversions._
  * @author Sven Linker [s.linker@brighton.ac.uk]
  *
  */
-class RemoveShadedZoneTransformer (target:  SubDiagramIndexArg, zones : java.util.List[ZoneArg]) extends IdTransformer{
+class RemoveShadedZoneTransformer (target:  SubDiagramIndexArg, zones : java.util.List[ZoneArg]) extends IdTransformer with TargetedTransformer {
   val subDiagramIndex = target.getSubDiagramIndex
 
+  override def getTargetSubDiagramIndex: Int = subDiagramIndex
+
   override def transform(psd: PrimarySpiderDiagram,
                          diagramIndex: Int,
                          parents: java.util.ArrayList[CompoundSpiderDiagram],
@@ -30,7 +32,7 @@ class RemoveShadedZoneTransformer (target:  SubDiagramIndexArg, zones : java.uti
         if (psd.getHabitats.values exists (r => (r.zones & (zones map (arg => arg.getZone)).toSet).nonEmpty)) {
           throw new RuleApplicationException("Cannot remove zone that contains a spider")
         }
-        SpiderDiagrams.createPrimarySD(psd.getHabitats, psd.getShadedZones , psd.getPresentZones-- zones.map(_.getZone))
+        SpiderDiagrams.createPrimarySD(psd.getHabitats, psd.getShadedZones, psd.getPresentZones.minus(asJavaCollection(zones.map(_.getZone))))
     } else {
       null
     }
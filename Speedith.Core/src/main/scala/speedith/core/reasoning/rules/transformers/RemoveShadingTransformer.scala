@@ -16,9 +16,11 @@ import scala.collection.JavaConversions._
   *
  * @author Sven Linker [s.linker@brighton.ac.uk]
  */
-class RemoveShadingTransformer (target : SubDiagramIndexArg, zones :  java.util.List[ZoneArg], applyStyle: ApplyStyle) extends IdTransformer{
+class RemoveShadingTransformer (target : SubDiagramIndexArg, zones :  java.util.List[ZoneArg], applyStyle: ApplyStyle) extends IdTransformer with TargetedTransformer {
   val subDiagramIndex = target.getSubDiagramIndex
 
+  override def getTargetSubDiagramIndex: Int = subDiagramIndex
+
   override def transform(psd: PrimarySpiderDiagram,
                          diagramIndex: Int,
                          parents: java.util.ArrayList[CompoundSpiderDiagram],
@@ -34,7 +36,7 @@ class RemoveShadingTransformer (target : SubDiagramIndexArg, zones :  java.util.
       if ((zones.map(zarg => zarg.getZone) -- (psd.getShadedZones & psd.getPresentZones)).nonEmpty) {
         throw new RuleApplicationException("One of the selected zones is not shaded.")
       }
-      SpiderDiagrams.createPrimarySD(psd.getHabitats, psd.getShadedZones -- zones.map(zarg => zarg.getZone), psd.getPresentZones)
+      SpiderDiagrams.createPrimarySD(psd.getHabitats, psd.getShadedZones.minus(asJavaCollection(zones.map(zarg => zarg.getZone))), psd.getPresentZones)
 //      EulerDiagrams.createPrimaryEulerDiagram(psd.getShadedZones -- zones.map(zarg => zarg.getZone), psd.getPresentZones)
     }
     else {
@@ -2,6 +2,7 @@ package speedith.core.reasoning.rules.util
 
 import java.util
 
+import speedith.core.lang.SetViews._
 import speedith.core.lang.{CompoundSpiderDiagram, Operator, PrimarySpiderDiagram, Region, SpiderDiagram, Zone}
 import speedith.core.reasoning.tactical._
 import speedith.core.reasoning.{Goals, InferenceRule}
@@ -83,9 +84,8 @@ object AutomaticUtils {
 
   private def createCopyContourApplications(subGoalIndex: Int, target: CompoundSpiderDiagramOccurrence) : Set[PossibleCopyContour] = {
     if (target.getOperands.forall(o => o.isInstanceOf[PrimarySpiderDiagramOccurrence])) {
-      val leftContours= target.getOperand(0).asInstanceOf[PrimarySpiderDiagramOccurrence].getAllContours
-      val rightContours = target.getOperand(1).asInstanceOf[PrimarySpiderDiagramOccurrence].getAllContours
-      val difference =  leftContours -- rightContours
+      val leftContours= target.getOperand(0).asInstanceOf[PrimarySpiderDiagramOccurrence].getPrimaryDiagram.contourSet
+      val rightContours = target.getOperand(1).asInstanceOf[PrimarySpiderDiagramOccurrence].getPrimaryDiagram.contourSet
       (( leftContours -- rightContours)
           .map(c => new PossibleCopyContour(subGoalIndex,target.getOperand(0), new CopyContoursTopological(), c)) ++
         (rightContours -- leftContours)
@@ -99,24 +99,24 @@ object AutomaticUtils {
     if (target.getOperands.forall(o => o.isInstanceOf[PrimarySpiderDiagramOccurrence])) {
       val leftDiagram = target.getOperand(0).getDiagram.asInstanceOf[PrimarySpiderDiagram]
       val rightDiagram = target.getOperand(1).getDiagram.asInstanceOf[PrimarySpiderDiagram]
-      val leftContours= leftDiagram.getAllContours.toSet
-      val rightContours = rightDiagram.getAllContours.toSet
+      val leftContours= leftDiagram.contourSet
+      val rightContours = rightDiagram.contourSet
 //      if (leftContours.subsetOf(rightContours) || rightContours.subsetOf(leftContours)) {
 //        val contoursOnlyInLeft = leftContours -- rightContours
 //        val contoursOnlyInRight = rightContours -- leftContours
 //      val leftVisibleShadedZones = leftDiagram.getShadedZones & leftDiagram.getPresentZones
-      val shadedZonesLeft = (leftDiagram.getShadedZones & leftDiagram.getPresentZones).toSet
+      val shadedZonesLeft = leftDiagram.visibleShadedZoneSet
       val shadedRegionsPerContourLeft = leftContours map (c => shadedZonesLeft filter (z => z.getInContours.contains(c) ||z.getInContours.isEmpty)) filter (_.nonEmpty)
       val regionsLeft = shadedRegionsPerContourLeft map (region => Tuple2(region, CorrespondingRegions(leftDiagram, rightDiagram).correspondingRegion(new Region(region)).zones)) filter (m => m._2.nonEmpty)
-      val unShadedTargetsLeft = regionsLeft filter (_._2.exists((rightDiagram.getPresentZones -- rightDiagram.getShadedZones).contains ))
+      val unShadedTargetsLeft = regionsLeft filter (_._2.exists(rightDiagram.unshadedZoneSet))
       val leftResult = unShadedTargetsLeft.
         map(r => new PossibleCopyShading(subGoalIndex,target.getOperand(0), new CopyShading(), r._1))
 
 //      val rightVisibleShadedZones = rightDiagram.getShadedZones & rightDiagram.getPresentZones
-      val shadedZonesRight = (rightDiagram.getShadedZones & leftDiagram.getPresentZones).toSet
+      val shadedZonesRight = rightDiagram.shadedZoneSet & leftDiagram.presentZoneSet
       val shadedRegionsPerContourRight = rightContours map (c => shadedZonesRight filter (z => z.getInContours.contains(c) ||z.getInContours.isEmpty)) filter (_.nonEmpty)
       val regionsRight = shadedRegionsPerContourRight map (region => Tuple2(region, CorrespondingRegions(rightDiagram, leftDiagram).correspondingRegion(new Region(region)).zones)) filter (m => m._2.nonEmpty)
-      val unShadedTargetsRight = regionsRight filter (_._2.exists((leftDiagram.getPresentZones -- leftDiagram.getShadedZones).contains ))
+      val unShadedTargetsRight = regionsRight filter (_._2.exists(leftDiagram.unshadedZoneSet))
       val rightResult = unShadedTargetsRight.
         map(r => new PossibleCopyShading(subGoalIndex,target.getOperand(1), new CopyShading(), r._1))
 
@@ -154,9 +154,9 @@ object AutomaticUtils {
   }
 
   private def createRemoveContourApplications(subGoalIndex : Int,target: PrimarySpiderDiagramOccurrence): Set[PossibleRemoveContour] = {
-    val targetShadedZones = (target.getPresentZones & target.getShadedZones).toSet
-    val targetUnshadedZones = target.getPresentZones.toSet -- target.getShadedZones.toSet
-    val safeContours = target.getAllContours.toSet filterNot (
+    val targetShadedZones = target.getPrimaryDiagram.visibleShadedZoneSet
+    val targetUnshadedZones = target.getPrimaryDiagram.unshadedZoneSet
+    val safeContours = target.getPrimaryDiagram.contourSet filterNot (
       c => targetShadedZones.exists (
           z1 => z1.getInContours.contains(c) &&
             targetUnshadedZones.exists (z2 => z2.getOutContours.contains(c) &&
@@ -174,23 +174,23 @@ object AutomaticUtils {
 
 
   private def createRemoveShadedZoneApplications(subGoalIndex : Int,target: PrimarySpiderDiagramOccurrence) : Set[PossibleRemoveShadedZone] = {
-    (target.getShadedZones & target.getPresentZones) .filter(z => z.getInContours.nonEmpty).
-      map(z => new PossibleRemoveShadedZone(subGoalIndex, target, new RemoveShadedZone(), z)).toSet
+    target.getPrimaryDiagram.visibleShadedZoneSet.filter(z => z.getInContours.nonEmpty).
+      map(z => new PossibleRemoveShadedZone(subGoalIndex, target, new RemoveShadedZone(), z))
   }
 
   private def createIntroducedShadedZoneApplications(subGoalIndex :Int,target: PrimarySpiderDiagramOccurrence) :Set[PossibleIntroShadedZone] = {
-    (target.getShadedZones -- target.getPresentZones).
-    map(z => new PossibleIntroShadedZone(subGoalIndex,target, new IntroShadedZone(), z)).toSet
+    target.getPrimaryDiagram.missingZoneSet.
+    map(z => new PossibleIntroShadedZone(subGoalIndex,target, new IntroShadedZone(), z))
   }
 
   private def createRemoveShadingApplications(subGoalIndex : Int,target: PrimarySpiderDiagramOccurrence): Set[PossibleRemoveShading] = {
-    (target.getShadedZones & target.getPresentZones).
-      map(z => new PossibleRemoveShading(subGoalIndex,target, new RemoveShading(), z)).toSet
+    target.getPrimaryDiagram.visibleShadedZoneSet.
+      map(z => new PossibleRemoveShading(subGoalIndex,target, new RemoveShading(), z))
   }
 
   private def createIntroduceContoursApplication(subGoalIndex : Int,target: PrimarySpiderDiagramOccurrence,
                                                  contours: java.util.Collection[String]): Set[PossibleIntroduceContour] = {
-    (contours.toSet  -- target.getAllContours).
+    (contours.toSet  -- target.getPrimaryDiagram.contourSet).
       map(c => new PossibleIntroduceContour(subGoalIndex,target, new IntroContour(), c))
   }
 
@@ -2,6 +2,7 @@ package speedith.core.reasoning.rules.util
 
 import java.util
 
+import speedith.core.lang.SetViews._
 import speedith.core.lang._
 
 import scala.collection.JavaConversions._
@@ -59,7 +60,7 @@ object HeuristicUtils {
   }
 
   private def  contourM1 (d: SpiderDiagram) : Set[String]  = d match {
-    case d : PrimarySpiderDiagram => d.getAllContours.toSet
+    case d : PrimarySpiderDiagram => d.contourSet
     case d : CompoundSpiderDiagram => d.getOperator match {
       case Operator.Conjunction => contourM1(d.getOperand(0)) ++ contourM1(d.getOperand(1))
       case Operator.Disjunction => contourM1(d.getOperand(0)) & contourM1(d.getOperand(1))
@@ -69,7 +70,7 @@ object HeuristicUtils {
   }
 
   private def  contourM2 (d: SpiderDiagram) : Set[String]  = d match {
-    case d : PrimarySpiderDiagram => d.getAllContours.toSet
+    case d : PrimarySpiderDiagram => d.contourSet
     case d : CompoundSpiderDiagram => d.getOperator match {
       case Operator.Conjunction => contourM2(d.getOperand(0)) & contourM2(d.getOperand(1))
       case Operator.Disjunction => contourM2(d.getOperand(0)) ++ contourM2(d.getOperand(1))
@@ -118,7 +119,7 @@ object HeuristicUtils {
     case d1 : PrimarySpiderDiagram  =>
       val newContours = contours -- d1.getAllContours
       EulerDiagrams.createPrimaryEulerDiagram(
-        ReasoningUtils.shadedRegionWithNewContours(d1.getShadedZones.toSet, newContours),
+        ReasoningUtils.shadedRegionWithNewContours(d1.shadedZoneSet, newContours),
         ReasoningUtils.regionWithNewContours(d1.getPresentZones, newContours))
     case d1: CompoundSpiderDiagram =>
       SpiderDiagrams.createCompoundSD(d1.getOperator.getName, d1.getOperands.map(d => computeCForm(d, contours)).toSeq)
@@ -132,7 +133,7 @@ object HeuristicUtils {
 */
 
   private def zoneM1(d: SpiderDiagram) : Set[Zone] = d match {
-    case d: PrimarySpiderDiagram => d.getPresentZones.toSet
+    case d: PrimarySpiderDiagram => d.presentZoneSet
     case d: CompoundSpiderDiagram => d.getOperator match {
       case Operator.Conjunction => zoneM1(d.getOperand(0)) & zoneM1(d.getOperand(1))
       case Operator.Disjunction => zoneM1(d.getOperand(0)) ++ zoneM1(d.getOperand(1))
@@ -142,7 +143,7 @@ object HeuristicUtils {
   }
 
   private def zoneM2(d: SpiderDiagram) : Set[Zone] = d match {
-    case d : PrimarySpiderDiagram => d.getPresentZones.toSet
+    case d : PrimarySpiderDiagram => d.presentZoneSet
     case d : CompoundSpiderDiagram => d.getOperator match {
       case Operator.Conjunction => zoneM2(d.getOperand(0)) & zoneM2(d.getOperand(1))
       case Operator.Disjunction => zoneM2(d.getOperand(0)) ++ zoneM2(d.getOperand(1))
@@ -190,12 +191,12 @@ object HeuristicUtils {
   }
 
   def computeVennForm(d : SpiderDiagram) : SpiderDiagram = d match {
-    case d: PrimarySpiderDiagram => EulerDiagrams.createPrimaryEulerDiagram(d.getShadedZones, d.getPresentZones.toSet ++d.getShadedZones).asInstanceOf[SpiderDiagram]
+    case d: PrimarySpiderDiagram => EulerDiagrams.createPrimaryEulerDiagram(d.getShadedZones, d.presentZoneSet ++d.getShadedZones).asInstanceOf[SpiderDiagram]
     case d: CompoundSpiderDiagram => SpiderDiagrams.createCompoundSD(d.getOperator.getName, d.getOperands.map(computeVennForm).toSeq)
   }
 
   private def shadingM1(d: SpiderDiagram) : Set[Zone] = d match {
-    case d: PrimarySpiderDiagram => (d.getPresentZones & d.getShadedZones).toSet
+    case d: PrimarySpiderDiagram => d.visibleShadedZoneSet
     case d: CompoundSpiderDiagram => d.getOperator match {
       case Operator.Conjunction => shadingM1(d.getOperand(0)) & shadingM1(d.getOperand(1))
       case Operator.Disjunction => shadingM1(d.getOperand(0)) ++ shadingM1(d.getOperand(1))
@@ -205,7 +206,7 @@ object HeuristicUtils {
   }
 
   private def shadingM2(d: SpiderDiagram) : Set[Zone] = d match {
-    case d: PrimarySpiderDiagram => (d.getPresentZones & d.getShadedZones).toSet
+    case d: PrimarySpiderDiagram => d.visibleShadedZoneSet
     case d: CompoundSpiderDiagram => d.getOperator match {
       case Operator.Conjunction => shadingM2(d.getOperand(0)) & shadingM2(d.getOperand(1))
       case Operator.Disjunction => shadingM2(d.getOperand(0)) ++ shadingM2(d.getOperand(1))
@@ -35,8 +35,9 @@ object ReasoningUtils {
   def normalize (sd : SpiderDiagram): SpiderDiagram= sd match {
     case psd: PrimarySpiderDiagram =>
       val allContours = psd.getAllContours.toSeq.asJava
-      val possibleZones: Set[Zone] = Zones.allZonesForContours(allContours: _*).toSet
-      SpiderDiagrams.createPrimarySD(psd.getSpiders, psd.getHabitats, psd.getShadedZones, possibleZones -- (psd.getShadedZones -- psd.getPresentZones))
+      val missingZones = psd.getShadedZones.minus(psd.getPresentZones)
+      val presentZones: Set[Zone] = Zones.allZonesOf(allContours: _*).filterNot(missingZones.contains).toSet
+      SpiderDiagrams.createPrimarySD(psd.getSpiders, psd.getHabitats, psd.getShadedZones, presentZones)
     case csd : CompoundSpiderDiagram =>
       SpiderDiagrams.createCompoundSD(csd.getOperator, new java.util.ArrayList[SpiderDiagram](csd.getOperands.map(o=>  normalize(o))), true)
   }
@@ -4,8 +4,8 @@ import java.util
 import java.util.Locale
 
 import speedith.core.lang.DiagramType
-import speedith.core.reasoning.{RuleApplicationException, Goals}
-import speedith.core.reasoning.args.{SubgoalIndexArg, RuleArg}
+import speedith.core.reasoning.Goals
+import speedith.core.reasoning.args.RuleArg
 import speedith.core.reasoning.tactical.euler.BasicTactics
 
 import scala.collection.JavaConversions._
@@ -16,18 +16,8 @@ import scala.collection.JavaConversions._
   *
   */
 class AutoCopy extends SimpleInferenceTactic with Serializable{
-  override def apply(args: RuleArg, goals: Goals): TacticApplicationResult = args match {
-    case arg: SubgoalIndexArg =>
-      BasicTactics.autoCopy(getPrettyName())(goals)(arg.getSubgoalIndex)(new TacticApplicationResult()) match {
-        case Some(result) => result.getApplicationList.isEmpty match {
-          case false => result
-          case true => throw new TacticApplicationException("Could not apply tactic "+getPrettyName())
-        }
-        case None => throw new TacticApplicationException("Could not apply tactic "+getPrettyName())
-      }
-    case _ =>
-      throw new RuleApplicationException("Wrong argument type")
-  }
+  override def apply(args: RuleArg, goals: Goals): TacticApplicationResult =
+    applyTactic(this, BasicTactics.autoCopy, args, goals)
 
   override def getDescription(locale: Locale): String = "Reduce subgoals as much as possible using copy rules"
 
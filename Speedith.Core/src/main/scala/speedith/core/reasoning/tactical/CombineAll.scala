@@ -4,31 +4,21 @@ import java.util
 import java.util.Locale
 
 import speedith.core.lang.DiagramType
-import speedith.core.reasoning.{RuleApplicationException, Goals}
-import speedith.core.reasoning.args.{SubgoalIndexArg, RuleArg}
+import speedith.core.reasoning.Goals
+import speedith.core.reasoning.args.RuleArg
 import speedith.core.reasoning.tactical.euler.BasicTactics
 
 import scala.collection.JavaConversions._
 
-  /**
+/**
   * TODO: Description
   *
   * @author Sven Linker [s.linker@brighton.ac.uk]
   *
   */
 class CombineAll extends SimpleInferenceTactic with Serializable{
-  override def apply(args: RuleArg, goals: Goals): TacticApplicationResult = args match {
-  case arg: SubgoalIndexArg =>
-  BasicTactics.combineAll(getPrettyName())(goals)(arg.getSubgoalIndex)(new TacticApplicationResult()) match {
-  case Some(result) => result.getApplicationList.isEmpty match {
-  case false => result
-  case true => throw new TacticApplicationException("Could not apply tactic "+getPrettyName())
-}
-  case None => throw new TacticApplicationException("Could not apply tactic "+getPrettyName())
-}
-  case _ =>
-  throw new RuleApplicationException("Wrong argument type")
-}
+  override def apply(args: RuleArg, goals: Goals): TacticApplicationResult =
+    applyTactic(this, BasicTactics.combineAll, args, goals)
 
   override def getDescription(locale: Locale): String = "Combines all diagrams in premises"
 
@@ -38,5 +28,5 @@ class CombineAll extends SimpleInferenceTactic with Serializable{
 
   override def getInferenceName: String = "combineAll"
 
-    override def isHighLevel: Boolean = false
-  }
+  override def isHighLevel: Boolean = false
+}
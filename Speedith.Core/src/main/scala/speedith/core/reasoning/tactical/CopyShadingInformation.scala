@@ -4,8 +4,8 @@ import java.util
 import java.util.Locale
 
 import speedith.core.lang.DiagramType
-import speedith.core.reasoning.{RuleApplicationException, Goals}
-import speedith.core.reasoning.args.{SubgoalIndexArg, RuleArg}
+import speedith.core.reasoning.Goals
+import speedith.core.reasoning.args.RuleArg
 import speedith.core.reasoning.tactical.euler.BasicTactics
 import scala.collection.JavaConversions._
 /**
@@ -24,18 +24,8 @@ class CopyShadingInformation extends SimpleInferenceTactic with Serializable {
 
   override def getInferenceName: String = "copy_shadings"
 
-  override def apply(args: RuleArg, goals: Goals): TacticApplicationResult = args match {
-    case arg: SubgoalIndexArg =>
-      BasicTactics.copyShadings(getPrettyName())(goals)(arg.getSubgoalIndex)(new TacticApplicationResult()) match {
-        case Some(result) => result.getApplicationList.isEmpty match {
-          case false => result
-          case true => throw new TacticApplicationException("Could not apply tactic "+getPrettyName())
-        }
-        case None => throw new TacticApplicationException("Could not apply tactic "+getPrettyName())
-      }
-    case _ =>
-      throw new RuleApplicationException("Wrong argument type")
-  }
+  override def apply(args: RuleArg, goals: Goals): TacticApplicationResult =
+    applyTactic(this, BasicTactics.copyShadings, args, goals)
 
   override def isHighLevel: Boolean = true
 }
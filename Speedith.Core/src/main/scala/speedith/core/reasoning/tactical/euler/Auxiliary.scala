@@ -1,8 +1,9 @@
 package speedith.core.reasoning.tactical.euler
 
+import speedith.core.lang.SetViews._
 import speedith.core.lang._
 import speedith.core.reasoning.Goals
-import speedith.core.reasoning.automatic.wrappers.{CompoundSpiderDiagramOccurrence, PrimarySpiderDiagramOccurrence, SpiderDiagramOccurrence}
+import speedith.core.reasoning.automatic.wrappers.{CompoundSpiderDiagramOccurrence, OccurrenceIndex, PrimarySpiderDiagramOccurrence, SpiderDiagramOccurrence}
 import speedith.core.reasoning.rules.util.{AutomaticUtils, ReasoningUtils}
 import speedith.core.reasoning.tactical.{GoalPredicate, Chooser, DiagramPredicate, TacticApplicationException}
 import speedith.core.reasoning.util.unitary.CorrespondingRegions
@@ -28,8 +29,9 @@ object Auxiliary {
     case sd: PrimarySpiderDiagramOccurrence => Set()
     case sd: CompoundSpiderDiagramOccurrence => (sd.getOperator, sd.getOperand(0), sd.getOperand(1)) match {
       case (Operator.Conjunction, op0: PrimarySpiderDiagramOccurrence, op1: PrimarySpiderDiagramOccurrence) =>
-        (op0.getAllContours.subsetOf(op1.getAllContours) && (op0.getShadedZones -- op0.getPresentZones).nonEmpty,
-          op1.getAllContours.subsetOf(op0.getAllContours) && (op1.getShadedZones -- op1.getPresentZones).nonEmpty) match {
+        val (facts0, facts1) = (DiagramFacts.of(op0), DiagramFacts.of(op1))
+        (facts0.contours.subsetOf(facts1.contours) && facts0.missingZones.nonEmpty,
+          facts1.contours.subsetOf(facts0.contours) && facts1.missingZones.nonEmpty) match {
           case (false, false) => Set()
           case (true, false) => Set(op0)
           case (false, true) => Set(op1)
@@ -46,9 +48,9 @@ object Auxiliary {
     // to maximise the effect of copying and to somewhat counter the explosion of possible regions
     // we bundle the shaded zones according to their in-sets (the sets they are contained in).
     // The outer zone is element of all those regions so that it can be copied as well
-    val shadedRight = (d2.getShadedZones & d2.getPresentZones).toSet
-    val contoursLeft = d1.getAllContours
-    val shadedZones = (d1.getShadedZones & d1.getPresentZones).toSet
+    val shadedRight = DiagramFacts.of(d2).visibleShadedZones
+    val contoursLeft = DiagramFacts.of(d1).contours.toSet
+    val shadedZones = DiagramFacts.of(d1).visibleShadedZones.toSet
     val shadedRegionsPerContour = contoursLeft.map(c => shadedZones.filter(z => z.getInContours.contains(c) || z.getInContours.isEmpty)).filter(_.nonEmpty)
     val regionsRight = shadedRegionsPerContour map (r => CorrespondingRegions(d1.getPrimaryDiagram, d2.getPrimaryDiagram).correspondingRegion(new Region(r)).zones)
     val nonShadedRight = regionsRight filterNot (r => r.subsetOf(shadedRight))
@@ -59,9 +61,8 @@ object Auxiliary {
     // to maximise the effect of copying and to somewhat counter the explosion of possible regions
     // we bundle the shaded zones according to their in-sets (the sets they are contained in).
     // The outer zone is element of all those regions so that it can be copied as well
-    val shadedRegionRight = (d2.getShadedZones & d2.getPresentZones).toSet
-    val contoursLeft = d1.getAllContours
-    val missingZones = (d1.getShadedZones -- d1.getPresentZones).toSet
+    val contoursLeft = DiagramFacts.of(d1).contours.toSet
+    val missingZones = DiagramFacts.of(d1).missingZones.toSet
     val missingRegionsPerContour = contoursLeft map (c => missingZones filter(_.getInContours.contains(c))) filter (_.nonEmpty)
     missingRegionsPerContour exists (r => CorrespondingRegions(d1.getPrimaryDiagram, d2.getPrimaryDiagram).correspondingRegion(new Region(r)).zones.nonEmpty)
   }
@@ -70,11 +71,11 @@ object Auxiliary {
     // to maximise the effect of copying and to somewhat counter the explosion of possible regions
     // we bundle the shaded zones according to their in-sets (the sets they are contained in).
     // The outer zone is element of all those regions so that it can be copied as well
-    val contoursLeft = d1.getAllContours
-    val shadedZones = (d1.getShadedZones & d1.getPresentZones).toSet
+    val contoursLeft = DiagramFacts.of(d1).contours.toSet
+    val shadedZones = DiagramFacts.of(d1).visibleShadedZones.toSet
     val shadedRegionsPerContour = contoursLeft map (c => shadedZones filter (z => z.getInContours.contains(c) ||z.getInContours.isEmpty)) filter (_.nonEmpty)
     val regions = shadedRegionsPerContour map (region => Tuple2(region, CorrespondingRegions(d1.getPrimaryDiagram, d2.getPrimaryDiagram).correspondingRegion(new Region(region)).zones)) filter (m => m._2.nonEmpty)
-    val unShadedTargets = regions filter (_._2.exists((d2.getPresentZones -- d2.getShadedZones).contains ))
+    val unShadedTargets = regions filter (_._2.exists(DiagramFacts.of(d2).unshadedZones))
     maxCorrespondingRegion(unShadedTargets.to[collection.immutable.List])
   }
 
@@ -98,12 +99,12 @@ object Auxiliary {
   }
 
   def collectContours(diagram : SpiderDiagramOccurrence) : Set[String] = diagram match {
-    case diagram:PrimarySpiderDiagramOccurrence => diagram.getAllContours.toSet
+    case diagram:PrimarySpiderDiagramOccurrence => DiagramFacts.of(diagram).contours
     case diagram : CompoundSpiderDiagramOccurrence => (diagram.getOperands flatMap collectContours).toSet
   }
 
   def collectShadedZones(diagram: SpiderDiagram): Set[Zone] = diagram match {
-    case diagram : PrimarySpiderDiagram => (diagram.getPresentZones & diagram.getShadedZones).toSet
+    case diagram : PrimarySpiderDiagram => diagram.visibleShadedZoneSet
     case diagram : CompoundSpiderDiagram => (diagram.getOperands flatMap collectShadedZones).toSet
   }
 
@@ -121,7 +122,7 @@ object Auxiliary {
   }
 
   def collectUnShadedZones(diagram: SpiderDiagram): Set[Zone] =  diagram match {
-    case diagram : PrimarySpiderDiagram => (diagram.getPresentZones -- diagram.getShadedZones).toSet
+    case diagram : PrimarySpiderDiagram => diagram.unshadedZoneSet
     case diagram : CompoundSpiderDiagram => (diagram.getOperands flatMap collectUnShadedZones).toSet
   }
 
@@ -139,7 +140,7 @@ object Auxiliary {
   }
 
   def collectVisibleZones(diagram: SpiderDiagram): Set[Zone] = diagram match {
-    case diagram : PrimarySpiderDiagram => diagram.getPresentZones.toSet
+    case diagram : PrimarySpiderDiagram => diagram.presentZoneSet
     case diagram : CompoundSpiderDiagram => (diagram.getOperands flatMap collectVisibleZones).toSet
   }
 
@@ -191,7 +192,9 @@ object Auxiliary {
   }
 
   /**
-    * implements some general checks
+    * implements some general checks. The occurrence tree of the subgoal is taken from
+    * the [[OccurrenceIndex]] of the current search (if any), so that unchanged parts of
+    * the goal are not wrapped again after each rule application.
     *
     * @param subgoalIndex the index of subgoal which shall be returned
     * @param goals the set of goals in which the subgoal will be searched
@@ -201,10 +204,29 @@ object Auxiliary {
     if (subgoalIndex >= goals.getGoalsCount) throw new TacticApplicationException("No subgoal with this index")
     val goal = goals.getGoalAt(subgoalIndex)
     if (ReasoningUtils.isImplication(goal)) {
-      SpiderDiagramOccurrence.wrapDiagram(goal, 0)
+      val index = OccurrenceIndex.getCurrent
+      if (index == null) SpiderDiagramOccurrence.wrapDiagram(goal, 0) else index.occurrenceOf(goal, 0)
     } else throw new TacticApplicationException("Could not apply tactic:\nGoal is not an implication.")
   }
 
+  /**
+    * Caches the results of the given predicate on the occurrences it is applied to. The predicate
+    * must only depend on the occurrence it is applied to (and not on its occurrence index), since
+    * occurrences are shared between goals.
+    *
+    * @param predicate the predicate whose results shall be cached
+    */
+  def cachedPredicate(predicate: DiagramPredicate): DiagramPredicate = (sd: SpiderDiagramOccurrence) => {
+    val cached = sd.getCachedPredicateResult(predicate)
+    if (cached != null) {
+      cached.booleanValue
+    } else {
+      val result = predicate(sd)
+      sd.cachePredicateResult(predicate, result)
+      result
+    }
+  }
+
   def firstMatchingDiagram(sd: SpiderDiagramOccurrence, predicate: DiagramPredicate): Option[SpiderDiagramOccurrence] = {
     if (predicate(sd)) {
       Some(sd)
@@ -225,22 +247,49 @@ object Auxiliary {
     }
   }
 
-  def firstMatchingDiagramAndContour(sd: SpiderDiagramOccurrence,
-                                     predicate: DiagramPredicate,
-                                     contourChooser: Chooser[Set[String]])
-  : Option[(SpiderDiagramOccurrence, Option[Set[String]])] = {
+  /**
+    * Collects the diagrams that match the given predicate, in the order in which [[firstMatchingDiagram]]
+    * would find them one after another. The operands of a matching diagram are not searched.
+    *
+    * @param sd the diagram to search
+    * @param predicate the predicate the diagrams have to match
+    */
+  def allMatchingDiagrams(sd: SpiderDiagramOccurrence, predicate: DiagramPredicate): List[SpiderDiagramOccurrence] = {
+    if (predicate(sd)) {
+      List(sd)
+    } else {
+      sd match {
+        case sd: CompoundSpiderDiagramOccurrence => sd.getOperands.toList flatMap (allMatchingDiagrams(_, predicate))
+        case sd: PrimarySpiderDiagramOccurrence => Nil
+      }
+    }
+  }
+
+  /**
+    * Finds the first diagram matching the predicate (in the same order as [[firstMatchingDiagram]]) and applies
+    * the chooser to it, in a single traversal. The predicate and the chooser share the [[DiagramFacts]] of the
+    * diagram.
+    *
+    * @param sd the diagram to search
+    * @param predicate the predicate the diagram has to match
+    * @param chooser chooses the elements within the matching diagram
+    */
+  def firstMatchingDiagramAndChoice[A](sd: SpiderDiagramOccurrence,
+                                       predicate: DiagramPredicate,
+                                       chooser: Chooser[A])
+  : Option[(SpiderDiagramOccurrence, Option[A])] = {
     if (predicate(sd)) {
-      Some(Tuple2(sd, contourChooser(sd)))
+      Some(Tuple2(sd, chooser(sd)))
     } else {
       sd match {
         case sd: CompoundSpiderDiagramOccurrence =>
           sd.getOperator match {
             case Operator.Negation =>
-              firstMatchingDiagramAndContour(sd.getOperand(0), predicate, contourChooser)
+              firstMatchingDiagramAndChoice(sd.getOperand(0), predicate, chooser)
             case _ =>
-              val matching = firstMatchingDiagramAndContour(sd.getOperand(0), predicate, contourChooser)
+              val matching = firstMatchingDiagramAndChoice(sd.getOperand(0), predicate, chooser)
               matching match {
-                case None => firstMatchingDiagramAndContour(sd.getOperand(1), predicate, contourChooser)
+                case None => firstMatchingDiagramAndChoice(sd.getOperand(1), predicate, chooser)
                 case _ => matching
               }
           }
@@ -248,4 +297,11 @@ object Auxiliary {
       }
     }
   }
+
+  def firstMatchingDiagramAndContour(sd: SpiderDiagramOccurrence,
+                                     predicate: DiagramPredicate,
+                                     contourChooser: Chooser[Set[String]])
+  : Option[(SpiderDiagramOccurrence, Option[Set[String]])] = {
+    firstMatchingDiagramAndChoice(sd, predicate, contourChooser)
+  }
 }
@@ -30,7 +30,7 @@ object BasicTactics {
 
   def vennifyFast : Tactic = {
     REPEAT(ORELSE(trivialTautology)(
-      introduceShadedZone(isPrimaryAndContainsMissingZones,allMissingZones))
+      introduceShadedZoneInAll(isPrimaryAndContainsMissingZones,allMissingZones))
     )
   }
 
@@ -39,7 +39,7 @@ object BasicTactics {
   }
 
   def deVennifyFast : Tactic = {
-    REPEAT(ORELSE(trivialTautology)(removeShadedZone(isPrimaryAndContainsShadedZones,allShadedZones)))
+    REPEAT(ORELSE(trivialTautology)(removeShadedZoneInAll(isPrimaryAndContainsShadedZones,allShadedZones)))
   }
 
 
@@ -135,15 +135,15 @@ object BasicTactics {
         THEN(
           THEN(
             REPEAT(ORELSE(trivialTautology)(
-              introduceContour(containsLessContours(concContours), someGivenContoursButNotInDiagram(concContours)))))(
+              introduceContourInAll(containsLessContours(concContours), allInGivenContoursButNotInDiagram(concContours)))))(
             REPEAT(ORELSE(trivialTautology)(
-              eraseContour(containsOtherContours(concContours), allInDiagramButNotInGivenContours(concContours))))))(
+              eraseContourInAll(containsOtherContours(concContours), allInDiagramButNotInGivenContours(concContours))))))(
           REPEAT(ORELSE(trivialTautology)(
-            introduceShadedZone(isPrimaryAndContainsMissingZones, allMissingZonesInGivenZones(concVisibleZones))))))(
+            introduceShadedZoneInAll(isPrimaryAndContainsMissingZones, allMissingZonesInGivenZones(concVisibleZones))))))(
         REPEAT(ORELSE(trivialTautology)(
-          eraseShading(isPrimaryAndContainsShadedZones, allVisibleShadedZonesInGivenZones(concUnshadedZones))))))(
+          eraseShadingInAll(isPrimaryAndContainsShadedZones, allVisibleShadedZonesInGivenZones(concUnshadedZones))))))(
       REPEAT(ORELSE(trivialTautology)(
-        removeShadedZone(isPrimaryAndContainsShadedZones,allVisibleShadedZoneNotInGivenZones(concShadedZones)))))(name)(state)(subGoalIndex)(result)
+        removeShadedZoneInAll(isPrimaryAndContainsShadedZones,allVisibleShadedZoneNotInGivenZones(concShadedZones)))))(name)(state)(subGoalIndex)(result)
   }
 
   def matchConclusion: Tactic =
@@ -273,7 +273,7 @@ object BasicTactics {
           val op0 = d.getOperand(0).asInstanceOf[PrimarySpiderDiagramOccurrence]
           val op1 = d.getOperand(1).asInstanceOf[PrimarySpiderDiagramOccurrence]
           val moreMissing =
-            if ((op0.getShadedZones -- op0.getPresentZones).subsetOf(op1.getShadedZones -- op1.getPresentZones)) {
+            if (DiagramFacts.of(op0).missingZones.subsetOf(DiagramFacts.of(op1).missingZones)) {
               op1
             } else {
               op0
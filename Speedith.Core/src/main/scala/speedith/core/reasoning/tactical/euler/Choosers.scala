@@ -8,6 +8,8 @@ import scala.collection.JavaConversions._
   * Chooser functions to select arguments for single rule tactics within a diagram
   * selected by a Predicate function (see [[RuleTactics]])
   *
+  * The choosers work on the [[DiagramFacts]] of the diagrams, which they share with the [[Predicates]].
+  *
   * @author Sven Linker [s.linker@brighton.ac.uk]
   *
   */
@@ -21,7 +23,7 @@ object Choosers {
   def someInDiagramAndInGivenContours : Set[String] => Chooser[Set[String]] = (contours : Set[String]) => {
     case sd : CompoundSpiderDiagramOccurrence => None
     case sd : PrimarySpiderDiagramOccurrence =>
-      (sd.getAllContours & contours).headOption match {
+      DiagramFacts.of(sd).contours.find(contours) match {
         case None => None
         case Some(c) => Some(Set(c))
       }
@@ -30,7 +32,7 @@ object Choosers {
   def allInDiagramAndInGivenContours : Set[String] => Chooser[Set[String]] = (contours : Set[String]) => {
     case sd : CompoundSpiderDiagramOccurrence => None
     case sd : PrimarySpiderDiagramOccurrence =>
-      val result = (sd.getAllContours & contours).toSet
+      val result = DiagramFacts.of(sd).contours & contours
       result.isEmpty match {
         case true => None
         case _ => Some(result)
@@ -40,7 +42,7 @@ object Choosers {
   def someInDiagramButNotInGivenContours : Set[String] => Chooser[Set[String]] = (contours : Set[String]) => {
     case sd: CompoundSpiderDiagramOccurrence => None
     case sd: PrimarySpiderDiagramOccurrence =>
-        (sd.getAllContours -- contours).headOption match {
+        DiagramFacts.of(sd).contours.find(!contours.contains(_)) match {
           case None => None
           case Some(c) => Some(Set(c))
         }
@@ -49,7 +51,7 @@ object Choosers {
   def allInDiagramButNotInGivenContours : Set[String] => Chooser[Set[String]] = (contours : Set[String]) => {
     case sd: CompoundSpiderDiagramOccurrence => None
     case sd: PrimarySpiderDiagramOccurrence =>
-      val result = (sd.getAllContours -- contours).toSet
+      val result = DiagramFacts.of(sd).contours -- contours
       result.isEmpty match {
         case true => None
         case _ => Some(result)
@@ -59,7 +61,7 @@ object Choosers {
   def someGivenContoursButNotInDiagram : Set[String] => Chooser[Set[String]] = (contours : Set[String]) => {
     case sd: CompoundSpiderDiagramOccurrence => None
     case sd: PrimarySpiderDiagramOccurrence =>
-      (contours -- sd.getAllContours  ).headOption match {
+      (contours -- DiagramFacts.of(sd).contours).headOption match {
         case None => None
         case Some(c) => Some(Set(c))
       }
@@ -68,7 +70,7 @@ object Choosers {
   def allInGivenContoursButNotInDiagram : Set[String] => Chooser[Set[String]] = (contours : Set[String]) => {
     case sd: CompoundSpiderDiagramOccurrence => None
     case sd: PrimarySpiderDiagramOccurrence =>
-      val result = contours -- sd.getAllContours
+      val result = contours -- DiagramFacts.of(sd).contours
       result.isEmpty match {
         case true => None
         case _ => Some(result)
@@ -78,7 +80,7 @@ object Choosers {
   def anyContour : Chooser[Set[String]] = {
     case sd: CompoundSpiderDiagramOccurrence => None
     case sd: PrimarySpiderDiagramOccurrence =>
-      sd.getAllContours.headOption match {
+      DiagramFacts.of(sd).contours.headOption match {
         case None => None
         case Some(c) => Some(Set(c))
       }
@@ -91,7 +93,8 @@ object Choosers {
   def someVisibleShadedZoneNotInGivenZones : Set[Zone] => Chooser[Set[Zone]] = (zones : Set[Zone]) => {
     case sd: CompoundSpiderDiagramOccurrence => None
     case sd:PrimarySpiderDiagramOccurrence =>
-       ((sd.getPresentZones & sd.getShadedZones) -- zones).headOption match{
+       // the outer zone comes first in the sorted zones, but cannot be removed
+       DiagramFacts.of(sd).visibleShadedZones.find(z => z.getInContoursCount > 0 && !zones.contains(z)) match{
          case None => None
          case Some(z) => Some(Set(z))
        }
@@ -100,17 +103,17 @@ object Choosers {
   def allVisibleShadedZoneNotInGivenZones : Set[Zone] => Chooser[Set[Zone]] = (zones : Set[Zone]) => {
     case sd: CompoundSpiderDiagramOccurrence => None
     case sd:PrimarySpiderDiagramOccurrence =>
-      val result = (sd.getPresentZones & sd.getShadedZones) -- zones
+      val result = DiagramFacts.of(sd).visibleShadedZones -- zones
       result.isEmpty match{
         case true => None
-        case _ => Some(result.toSet)
+        case _ => Some(result)
       }
   }
 
   def someVisibleShadedZonesInGivenZones : Set[Zone] => Chooser[Set[Zone]] = (zones:Set[Zone]) => {
     case sd: CompoundSpiderDiagramOccurrence => None
     case sd:PrimarySpiderDiagramOccurrence =>
-      ((sd.getPresentZones & sd.getShadedZones) & zones).headOption match {
+      DiagramFacts.of(sd).visibleShadedZones.find(zones) match {
         case None => None
         case Some(z) => Some(Set(z))
       }
@@ -119,39 +122,37 @@ object Choosers {
   def allVisibleShadedZonesInGivenZones : Set[Zone] => Chooser[Set[Zone]] = (zones:Set[Zone]) => {
     case sd: CompoundSpiderDiagramOccurrence => None
     case sd:PrimarySpiderDiagramOccurrence =>
-      val result = (sd.getPresentZones & sd.getShadedZones) & zones
+      val result = DiagramFacts.of(sd).visibleShadedZones & zones
       result.isEmpty match {
         case true => None
-        case _ => Some(result.toSet)
+        case _ => Some(result)
       }
   }
 
   def someShadedZone : Chooser[Set[Zone]] = {
     case sd: CompoundSpiderDiagramOccurrence => None
     case sd: PrimarySpiderDiagramOccurrence =>
-      (sd.getPresentZones & sd.getShadedZones).headOption match {
+      // the outer zone comes first in the sorted zones, but cannot be removed
+      DiagramFacts.of(sd).visibleShadedZones.find(_.getInContoursCount > 0) match {
         case None => None
-        case Some(z) => z.getInContoursCount match {
-          case 0 => None
-          case _ => Some (Set (z) )
-        }
+        case Some(z) => Some(Set(z))
       }
   }
 
   def allShadedZones : Chooser[Set[Zone]] = {
     case sd: CompoundSpiderDiagramOccurrence => None
     case sd: PrimarySpiderDiagramOccurrence =>
-      val result = sd.getPresentZones & sd.getShadedZones
+      val result = DiagramFacts.of(sd).visibleShadedZones
       result.isEmpty match {
         case true => None
-        case _ => Some(result.toSet)
+        case _ => Some(result)
       }
   }
 
   def someMissingZoneInGivenZones: Set[Zone] => Chooser[Set[Zone]] = (zones : Set[Zone]) =>  {
     case sd: CompoundSpiderDiagramOccurrence => None
     case sd:PrimarySpiderDiagramOccurrence =>
-      (( sd.getShadedZones -- sd.getPresentZones) & zones).headOption match {
+      DiagramFacts.of(sd).missingZones.find(zones) match {
         case None => None
         case Some(z) => Some(Set(z))
       }
@@ -161,10 +162,10 @@ object Choosers {
   def allMissingZonesInGivenZones: Set[Zone] => Chooser[Set[Zone]] = (zones : Set[Zone]) =>  {
     case sd: CompoundSpiderDiagramOccurrence => None
     case sd:PrimarySpiderDiagramOccurrence =>
-      val result = (sd.getShadedZones -- sd.getPresentZones) & zones
+      val result = DiagramFacts.of(sd).missingZones & zones
       result.isEmpty match {
         case true => None
-        case _ => Some(result.toSet)
+        case _ => Some(result)
       }
 
   }
@@ -172,7 +173,7 @@ object Choosers {
   def someMissingZone : Chooser[Set[Zone]] = {
     case sd: CompoundSpiderDiagramOccurrence => None
     case sd: PrimarySpiderDiagramOccurrence =>
-      (sd.getShadedZones -- sd.getPresentZones).headOption match {
+      DiagramFacts.of(sd).missingZones.headOption match {
         case None => None
         case Some(z) => Some(Set(z))
       }
@@ -181,10 +182,9 @@ object Choosers {
   def allMissingZonesContainingOneContour : Chooser[Set[Zone]] = {
     case sd: CompoundSpiderDiagramOccurrence => None
     case sd: PrimarySpiderDiagramOccurrence =>
-      val missing = (sd.getShadedZones -- sd.getPresentZones).toSet
-      val contours = sd.getAllContours
-      val contoursWithMissingZones= contours.filter(c => missing.exists(z => z.getInContours.contains(c)))
-      contoursWithMissingZones.headOption match {
+      val facts = DiagramFacts.of(sd)
+      val missing = facts.missingZones
+      facts.contours.find(c => missing.exists(z => z.getInContours.contains(c))) match {
         case None => None
         case Some(c) => Some(missing.filter(_.getInContours.contains(c)))
       }
@@ -193,11 +193,10 @@ object Choosers {
   def allShadedZonesContainingOneContour: Chooser[Set[Zone]] = {
     case sd: CompoundSpiderDiagramOccurrence => None
     case sd: PrimarySpiderDiagramOccurrence =>
-      val shaded = (sd.getShadedZones & sd.getPresentZones).toSet
+      val facts = DiagramFacts.of(sd)
+      val shaded = facts.visibleShadedZones
       val habitats = sd.getHabitats flatMap ( entry => entry._2.zones )
-      val contours = sd.getAllContours
-      val contoursWithshadedZones= contours filter (c => shaded.exists(_.getInContours.contains(c)))
-      contoursWithshadedZones.headOption match {
+      facts.contours find (c => shaded.exists(_.getInContours.contains(c))) match {
         case None => None
         case Some(c) => Some((shaded filter (_.getInContours.contains(c))) -- habitats)
       }
@@ -206,10 +205,10 @@ object Choosers {
   def allMissingZones : Chooser[Set[Zone]] = {
     case sd: CompoundSpiderDiagramOccurrence => None
     case sd: PrimarySpiderDiagramOccurrence =>
-      val result = sd.getShadedZones -- sd.getPresentZones
+      val result = DiagramFacts.of(sd).missingZones
       result.isEmpty match {
         case true => None
-        case _ => Some(result.toSet)
+        case _ => Some(result)
       }
   }
 
@@ -0,0 +1,58 @@
+package speedith.core.reasoning.tactical.euler
+
+import speedith.core.lang.SetViews._
+import speedith.core.lang.Zone
+import speedith.core.reasoning.automatic.wrappers.PrimarySpiderDiagramOccurrence
+
+/**
+  * The contour and zone sets of a primary diagram that the [[Predicates]] and [[Choosers]] of the Euler tactics
+  * work on. The sets are immutable views (see [[speedith.core.lang.SetViews]]) of the sets the diagram itself
+  * caches, so they are neither copied nor recomputed. The facts are looked up once per occurrence (see
+  * [[DiagramFacts.of]]), thus a predicate that selects a diagram and the chooser that selects the elements within
+  * it share the same sets.
+  *
+  * The sets iterate in ascending order, so that choosers picking "some" element pick the least one.
+  */
+class DiagramFacts private(sd: PrimarySpiderDiagramOccurrence) {
+
+  val contours: Set[String] = sd.getPrimaryDiagram.contourSet
+
+  val presentZones: Set[Zone] = sd.getPrimaryDiagram.presentZoneSet
+
+  val shadedZones: Set[Zone] = sd.getPrimaryDiagram.shadedZoneSet
+
+  /**
+    * The shaded zones that are not present in the diagram.
+    */
+  val missingZones: Set[Zone] = sd.getPrimaryDiagram.missingZoneSet
+
+  /**
+    * The shaded zones that are present in the diagram.
+    */
+  val visibleShadedZones: Set[Zone] = sd.getPrimaryDiagram.visibleShadedZoneSet
+
+  /**
+    * The present zones that are not shaded.
+    */
+  val unshadedZones: Set[Zone] = sd.getPrimaryDiagram.unshadedZoneSet
+
+}
+
+object DiagramFacts {
+
+  private val Key = classOf[DiagramFacts]
+
+  /**
+    * Returns the facts of the given occurrence. They are computed when first requested and cached on the
+    * occurrence.
+    *
+    * @param sd the occurrence of a primary diagram
+    */
+  def of(sd: PrimarySpiderDiagramOccurrence): DiagramFacts = sd.getCachedValue(Key) match {
+    case facts: DiagramFacts => facts
+    case _ =>
+      val facts = new DiagramFacts(sd)
+      sd.cacheValue(Key, facts)
+      facts
+  }
+}
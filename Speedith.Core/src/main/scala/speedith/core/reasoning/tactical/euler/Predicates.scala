@@ -11,12 +11,16 @@ import speedith.core.reasoning.tactical.euler.Auxiliary._
 /**
   * Predicate functions to select possible target diagrams for the application of single rule tactics (see [[RuleTactics]])
   *
+  * The results of the predicates that only depend on the given occurrence are cached on the occurrences
+  * (see [[Auxiliary.cachedPredicate]]). The predicates on primary diagrams work on their [[DiagramFacts]], which
+  * they share with the [[Choosers]].
+  *
   * @author Sven Linker [s.linker@brighton.ac.uk]
   *
   */
 object Predicates {
 
-  def containsContours : DiagramPredicate = {
+  val containsContours : DiagramPredicate = cachedPredicate {
     case d : PrimarySpiderDiagramOccurrence => d.getAllContours.nonEmpty
     case _ => false
   }
@@ -91,7 +95,7 @@ object Predicates {
   }
 
 
-  def isIdempotent : DiagramPredicate = {
+  val isIdempotent : DiagramPredicate = cachedPredicate {
     case sd:CompoundSpiderDiagramOccurrence => sd.getOperator match {
       case Operator.Conjunction | Operator.Disjunction | Operator.Equivalence | Operator.Implication =>
         sd.getOperand(0).getDiagram.equals(sd.getOperand(1).getDiagram)
@@ -111,26 +115,26 @@ object Predicates {
   }
 
   def isPrimaryAndContainsMoreContours :  Set[String] => DiagramPredicate = (contours : Set[String]) =>  {
-    case sd:PrimarySpiderDiagramOccurrence => (contours -- sd.getAllContours).nonEmpty
+    case sd:PrimarySpiderDiagramOccurrence => !contours.subsetOf(DiagramFacts.of(sd).contours)
     case _ => false
   }
 
-  def isPrimaryAndContainsMissingZones: DiagramPredicate =  {
-    case sd:PrimarySpiderDiagramOccurrence => (sd.getShadedZones--sd.getPresentZones).nonEmpty
+  val isPrimaryAndContainsMissingZones : DiagramPredicate = cachedPredicate {
+    case sd:PrimarySpiderDiagramOccurrence => DiagramFacts.of(sd).missingZones.nonEmpty
     case _ => false
   }
 
-  def isPrimaryAndContainsShadedZones : DiagramPredicate = {
-    case sd:PrimarySpiderDiagramOccurrence => (sd.getShadedZones & sd.getPresentZones).nonEmpty
+  val isPrimaryAndContainsShadedZones : DiagramPredicate = cachedPredicate {
+    case sd:PrimarySpiderDiagramOccurrence => DiagramFacts.of(sd).visibleShadedZones.nonEmpty
     case _ => false
   }
 
-  def isPrimaryAndContainsContours : DiagramPredicate = {
+  val isPrimaryAndContainsContours : DiagramPredicate = cachedPredicate {
     case sd:PrimarySpiderDiagramOccurrence => sd.getAllContours.nonEmpty
     case _ => false
   }
 
-  def isConjunctionOfPrimaryDiagramsWithEqualZoneSets : DiagramPredicate = {
+  val isConjunctionOfPrimaryDiagramsWithEqualZoneSets : DiagramPredicate = cachedPredicate {
     case sd: PrimarySpiderDiagramOccurrence => false
     case sd: CompoundSpiderDiagramOccurrence => sd.getOperator match {
       case Operator.Conjunction => (sd.getOperand(0), sd.getOperand(1)) match {
@@ -142,11 +146,11 @@ object Predicates {
     }
   }
 
-  def isConjunctionWithContoursToCopy : DiagramPredicate = {
+  val isConjunctionWithContoursToCopy : DiagramPredicate = cachedPredicate {
     case sd: CompoundSpiderDiagramOccurrence => sd.getOperator match  {
       case Operator.Conjunction => (sd.getOperand(0), sd.getOperand(1)) match {
         case (op0: PrimarySpiderDiagramOccurrence, op1: PrimarySpiderDiagramOccurrence) =>
-          (op0.getAllContours -- op1.getAllContours).nonEmpty || (op1.getAllContours -- op0.getAllContours).nonEmpty
+          DiagramFacts.of(op0).contours != DiagramFacts.of(op1).contours
         case _ => false
       }
       case _ => false
@@ -154,7 +158,7 @@ object Predicates {
     case _ => false
   }
 
-  def isConjunctionWithShadingToCopy : DiagramPredicate = {
+  val isConjunctionWithShadingToCopy : DiagramPredicate = cachedPredicate {
     case sd: CompoundSpiderDiagramOccurrence => sd.getOperator match {
       case Operator.Conjunction => (sd.getOperand(0), sd.getOperand(1)) match {
         case (op0: PrimarySpiderDiagramOccurrence, op1: PrimarySpiderDiagramOccurrence) =>
@@ -170,7 +174,7 @@ object Predicates {
     case _ => false
   }
 
-  def isConjunctionContainingMissingZonesToCopy : DiagramPredicate = {
+  val isConjunctionContainingMissingZonesToCopy : DiagramPredicate = cachedPredicate {
     case sd:CompoundSpiderDiagramOccurrence => sd.getOperator match {
       case Operator.Conjunction => (sd.getOperand(0), sd.getOperand(1)) match {
         case (op0:PrimarySpiderDiagramOccurrence, op1:PrimarySpiderDiagramOccurrence) =>
@@ -187,17 +191,17 @@ object Predicates {
   }
 
   def containsGivenContours : Set[String] => DiagramPredicate  = (contours : Set[String]) => {
-    case d: PrimarySpiderDiagramOccurrence => (d.getAllContours & contours).nonEmpty
+    case d: PrimarySpiderDiagramOccurrence => DiagramFacts.of(d).contours exists contours
     case d: CompoundSpiderDiagramOccurrence => false
   }
 
   def containsOtherContours :  Set[String] => DiagramPredicate  = (contours : Set[String]) => {
-    case d: PrimarySpiderDiagramOccurrence => (d.getAllContours -- contours).nonEmpty
+    case d: PrimarySpiderDiagramOccurrence => !DiagramFacts.of(d).contours.subsetOf(contours)
     case d: CompoundSpiderDiagramOccurrence => false
   }
 
   def containsLessContours: Set[String] => DiagramPredicate  = (contours : Set[String]) => {
-    case d: PrimarySpiderDiagramOccurrence => ( contours -- d.getAllContours ).nonEmpty
+    case d: PrimarySpiderDiagramOccurrence => !contours.subsetOf(DiagramFacts.of(d).contours)
     case d: CompoundSpiderDiagramOccurrence => false
   }
 
@@ -22,11 +22,32 @@ import scala.collection.JavaConversions._
 object RuleTactics {
 
   private def createResults(goals: Goals, rule: InferenceRule[RuleArg], args: RuleArg, name : String, oldResult : TacticApplicationResult): Option[TacticApplicationResult] =  {
-      val result = rule.apply(args, goals)
+      val result = InferenceStatistics.getDefault.apply[RuleApplicationResult](rule, args, goals)
       val app = new InferenceApplication(rule, args, RuleApplicationType.TACTIC, name)
       val newGoals = result.getGoals.getGoals.filterNot(d => NullSpiderDiagram.getInstance().isSEquivalentTo(d))
       val newGoal = Goals.createGoalsFrom(newGoals)
-       Some(new TacticApplicationResult(oldResult.getApplicationList :+ app, newGoal))
+       Some(oldResult.withApplication(app, newGoal))
+  }
+
+  /**
+    * Applies all the given applications (of [[TransformerRule]]s on different diagrams of the same subgoal)
+    * in a single traversal of the subgoal (see [[BatchRuleApplication]]).
+    */
+  private def createBatchResults(goals: Goals, applications: List[InferenceApplication], oldResult : TacticApplicationResult): Option[TacticApplicationResult] = {
+    val result = InferenceStatistics.getDefault.applyAll(applications, goals)
+    val newGoals = result.getGoals.getGoals.filterNot(d => NullSpiderDiagram.getInstance().isSEquivalentTo(d))
+    val newGoal = Goals.createGoalsFrom(newGoals)
+    Some(applications.foldLeft(oldResult)((res, app) => res.withApplication(app, newGoal)))
+  }
+
+  /**
+    * Chooses the elements of all diagrams matching the predicate, until the chooser does not find any
+    * elements in a diagram. This gives the same targets as repeating a single rule tactic on the first
+    * matching diagram, as long as a diagram no longer matches the predicate once the rule has been applied to it.
+    */
+  private def chooseInAllMatchingDiagrams[A](subgoal: SpiderDiagramOccurrence, predicate: DiagramPredicate, chooser: Chooser[A]): List[(SpiderDiagramOccurrence, A)] = {
+    val targets = allMatchingDiagrams(subgoal.asInstanceOf[CompoundSpiderDiagramOccurrence].getOperand(0), predicate)
+    (targets map (diagram => (diagram, chooser(diagram))) takeWhile (_._2.isDefined)) map (t => (t._1, t._2.get))
   }
 
   def introduceContour(predicate : DiagramPredicate, contourChooser: Chooser[Set[String]]):Tactic = (name:String) => (state: Goals) => (subGoalIndex:Int) => (result : TacticApplicationResult) =>{
@@ -50,15 +71,37 @@ object RuleTactics {
     }
   }
 
+  /**
+    * Introduces the chosen contours in all diagrams that match the predicate, in a single rewrite of the subgoal.
+    */
+  def introduceContourInAll(predicate : DiagramPredicate, contourChooser: Chooser[Set[String]]): Tactic =
+    (name:String) => (state: Goals) => (subGoalIndex:Int) => (result : TacticApplicationResult) => {
+    try {
+      val subgoal = getSubGoal(subGoalIndex, state)
+      val applications = chooseInAllMatchingDiagrams(subgoal, predicate, contourChooser) map {
+        case (diagram, contours) =>
+          new InferenceApplication(new IntroContour(),
+            new MultipleRuleArgs(contours.map(new ContourArg(subGoalIndex, diagram.getOccurrenceIndex, _)).toSeq: _*),
+            RuleApplicationType.TACTIC, name)
+      }
+      applications match {
+        case Nil => None
+        case _ => createBatchResults(state, applications, result)
+      }
+    } catch {
+      case e: TacticApplicationException => None
+    }
+  }
+
   def introduceShadedZone(predicate: DiagramPredicate, zoneChooser : Chooser[Set[Zone]]): Tactic =
     (name:String) =>(state: Goals) => (subGoalIndex : Int) => (result : TacticApplicationResult) => {
     try {
       val subgoal = getSubGoal(subGoalIndex, state)
-      val target = firstMatchingDiagram(subgoal.asInstanceOf[CompoundSpiderDiagramOccurrence].getOperand(0), predicate)
+      val target = firstMatchingDiagramAndChoice(subgoal.asInstanceOf[CompoundSpiderDiagramOccurrence].getOperand(0),
+        predicate, zoneChooser)
       target match {
         case None => None
-        case Some(diagram) =>
-          val targetZones = zoneChooser(diagram)
+        case Some((diagram, targetZones)) =>
           targetZones match {
             case Some(zones) =>
               createResults(state, new IntroShadedZone().asInstanceOf[InferenceRule[RuleArg]],
@@ -72,15 +115,36 @@ object RuleTactics {
     }
   }
 
+  /**
+    * Introduces the chosen missing zones in all diagrams that match the predicate, in a single rewrite of the subgoal.
+    */
+  def introduceShadedZoneInAll(predicate: DiagramPredicate, zoneChooser : Chooser[Set[Zone]]): Tactic =
+    (name:String) =>(state: Goals) => (subGoalIndex : Int) => (result : TacticApplicationResult) => {
+    try {
+      val subgoal = getSubGoal(subGoalIndex, state)
+      val applications = chooseInAllMatchingDiagrams(subgoal, predicate, zoneChooser) map {
+        case (diagram, zones) =>
+          new InferenceApplication(new IntroShadedZone(),
+            new MultipleRuleArgs(zones.map( zone =>new ZoneArg(subGoalIndex, diagram.getOccurrenceIndex, zone)).toSeq:_*),
+            RuleApplicationType.TACTIC, name)
+      }
+      applications match {
+        case Nil => None
+        case _ => createBatchResults(state, applications, result)
+      }
+    } catch {
+      case e: TacticApplicationException => None
+    }
+  }
+
   def removeShadedZone(predicate : DiagramPredicate, zoneChooser:Chooser[Set[Zone]]): Tactic = (name:String) => (state: Goals) => (subGoalIndex:Int) => (result:TacticApplicationResult) => {
     try {
       val subgoal = getSubGoal(subGoalIndex, state)
-      val target = firstMatchingDiagram(subgoal.asInstanceOf[CompoundSpiderDiagramOccurrence].getOperand(0),
-        predicate)
+      val target = firstMatchingDiagramAndChoice(subgoal.asInstanceOf[CompoundSpiderDiagramOccurrence].getOperand(0),
+        predicate, zoneChooser)
       target match {
         case None => None
-        case Some(diagram) =>
-          val targetZone = zoneChooser(diagram)
+        case Some((diagram, targetZone)) =>
           targetZone match {
             case Some(zones) =>
               if (zones.exists(_.getInContoursCount == 0)) {
@@ -99,6 +163,31 @@ object RuleTactics {
     }
   }
 
+  /**
+    * Removes the chosen shaded zones from all diagrams that match the predicate, in a single rewrite of the subgoal.
+    * Stops at the first diagram for which the outer zone is chosen.
+    */
+  def removeShadedZoneInAll(predicate : DiagramPredicate, zoneChooser:Chooser[Set[Zone]]): Tactic =
+    (name:String) => (state: Goals) => (subGoalIndex:Int) => (result:TacticApplicationResult) => {
+    try {
+      val subgoal = getSubGoal(subGoalIndex, state)
+      val targets = chooseInAllMatchingDiagrams(subgoal, predicate, zoneChooser) takeWhile (!_._2.exists(_.getInContoursCount == 0))
+      val applications = targets map {
+        case (diagram, zones) =>
+          new InferenceApplication(new RemoveShadedZone(),
+            new MultipleRuleArgs(zones.map( z => new ZoneArg(subGoalIndex, diagram.getOccurrenceIndex, z)).toSeq:_*),
+            RuleApplicationType.TACTIC, name)
+      }
+      applications match {
+        case Nil => None
+        case _ => createBatchResults(state, applications, result)
+      }
+    } catch {
+      case e: TacticApplicationException => None
+      case e: RuleApplicationException => None
+    }
+  }
+
   def eraseContour(predicate: DiagramPredicate, contourChooser: Chooser[Set[String]]): Tactic =
     (name:String) =>(state: Goals) => (subGoalIndex : Int) => (result:TacticApplicationResult) => {
     try {
@@ -121,14 +210,36 @@ object RuleTactics {
     }
   }
 
+  /**
+    * Erases the chosen contours from all diagrams that match the predicate, in a single rewrite of the subgoal.
+    */
+  def eraseContourInAll(predicate: DiagramPredicate, contourChooser: Chooser[Set[String]]): Tactic =
+    (name:String) =>(state: Goals) => (subGoalIndex : Int) => (result:TacticApplicationResult) => {
+    try {
+      val subgoal = getSubGoal(subGoalIndex, state)
+      val applications = chooseInAllMatchingDiagrams(subgoal, predicate, contourChooser) map {
+        case (diagram, contours) =>
+          new InferenceApplication(new RemoveContour(),
+            new MultipleRuleArgs(contours.map( new ContourArg(subGoalIndex, diagram.getOccurrenceIndex, _)).toSeq:_*),
+            RuleApplicationType.TACTIC, name)
+      }
+      applications match {
+        case Nil => None
+        case _ => createBatchResults(state, applications, result)
+      }
+    } catch {
+      case e: TacticApplicationException => None
+    }
+  }
+
   def eraseShading(predicate: DiagramPredicate, zoneChooser : Chooser[Set[Zone]]) :  Tactic  =
     (name:String) =>(state : Goals) => (subGoalIndex : Int) => (result:TacticApplicationResult) =>  {
     try {
       val subgoal = getSubGoal(subGoalIndex, state)
-      val target = firstMatchingDiagram(subgoal.asInstanceOf[CompoundSpiderDiagramOccurrence].getOperand(0), predicate)
+      val target = firstMatchingDiagramAndChoice(subgoal.asInstanceOf[CompoundSpiderDiagramOccurrence].getOperand(0),
+        predicate, zoneChooser)
       target match {
-        case Some(diagram) =>
-          val targetZone = zoneChooser(diagram)
+        case Some((diagram, targetZone)) =>
           targetZone match {
             case Some(zones) =>
               createResults(state, new RemoveShading().asInstanceOf[InferenceRule[RuleArg]],
@@ -143,6 +254,29 @@ object RuleTactics {
     }
   }
 
+  /**
+    * Erases the shading of the chosen zones in all diagrams that match the predicate, in a single rewrite of the
+    * subgoal.
+    */
+  def eraseShadingInAll(predicate: DiagramPredicate, zoneChooser : Chooser[Set[Zone]]) :  Tactic  =
+    (name:String) =>(state : Goals) => (subGoalIndex : Int) => (result:TacticApplicationResult) =>  {
+    try {
+      val subgoal = getSubGoal(subGoalIndex, state)
+      val applications = chooseInAllMatchingDiagrams(subgoal, predicate, zoneChooser) map {
+        case (diagram, zones) =>
+          new InferenceApplication(new RemoveShading(),
+            new MultipleRuleArgs(zones.map(zone => new ZoneArg(subGoalIndex, diagram.getOccurrenceIndex, zone)).toSeq:_*),
+            RuleApplicationType.TACTIC, name)
+      }
+      applications match {
+        case Nil => None
+        case _ => createBatchResults(state, applications, result)
+      }
+    } catch {
+      case e : TacticApplicationException => None
+    }
+  }
+
   def combine: Tactic = (name:String) => (state: Goals) => (subGoalIndex:Int) => (result:TacticApplicationResult) => {
     try {
       val subgoal = getSubGoal(subGoalIndex, state)
@@ -169,12 +303,15 @@ object RuleTactics {
         case Some(diagram) =>
           val op0 = diagram.asInstanceOf[CompoundSpiderDiagramOccurrence].getOperand(0).asInstanceOf[PrimarySpiderDiagramOccurrence]
           val op1 = diagram.asInstanceOf[CompoundSpiderDiagramOccurrence].getOperand(1).asInstanceOf[PrimarySpiderDiagramOccurrence]
-          if ((op0.getAllContours -- op1.getAllContours).nonEmpty) {
-            createResults(state, new CopyContoursTopological().asInstanceOf[InferenceRule[RuleArg]],
-              new MultipleRuleArgs(new ContourArg(subGoalIndex, op0.getOccurrenceIndex, (op0.getAllContours -- op1.getAllContours).head)),name, result)
-          } else {
-            createResults(state, new CopyContoursTopological().asInstanceOf[InferenceRule[RuleArg]],
-              new MultipleRuleArgs(new ContourArg(subGoalIndex, op1.getOccurrenceIndex, (op1.getAllContours -- op0.getAllContours).head)),name,result)
+          val contours0 = DiagramFacts.of(op0).contours
+          val contours1 = DiagramFacts.of(op1).contours
+          contours0 find (!contours1.contains(_)) match {
+            case Some(contour) =>
+              createResults(state, new CopyContoursTopological().asInstanceOf[InferenceRule[RuleArg]],
+                new MultipleRuleArgs(new ContourArg(subGoalIndex, op0.getOccurrenceIndex, contour)),name, result)
+            case None =>
+              createResults(state, new CopyContoursTopological().asInstanceOf[InferenceRule[RuleArg]],
+                new MultipleRuleArgs(new ContourArg(subGoalIndex, op1.getOccurrenceIndex, (contours1 -- contours0).head)),name,result)
           }
       }
     } catch {
@@ -240,8 +377,14 @@ object RuleTactics {
       target match {
         case None => None
         case Some(diagram) =>
-          createResults(state, new TrivialImplicationTautology().asInstanceOf[InferenceRule[RuleArg]],
-            new SubDiagramIndexArg(subGoalIndex, diagram.getOccurrenceIndex),name, result)
+          val rule = new TrivialImplicationTautology()
+          val args = new SubDiagramIndexArg(subGoalIndex, diagram.getOccurrenceIndex)
+          // most implications are not trivial: check them without throwing
+          if (rule.isApplicable(args, state)) {
+            createResults(state, rule.asInstanceOf[InferenceRule[RuleArg]], args, name, result)
+          } else {
+            None
+          }
       }
     }
     catch {
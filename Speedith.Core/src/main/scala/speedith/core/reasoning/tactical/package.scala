@@ -1,7 +1,10 @@
 package speedith.core.reasoning
 
+import speedith.core.reasoning.args.{RuleArg, SubgoalIndexArg}
 import speedith.core.reasoning.automatic.wrappers.SpiderDiagramOccurrence
 
+import scala.annotation.tailrec
+
 /**
  * Type definitions for tactic/tactical support. Tactical combinators
   * for tactics.
@@ -40,6 +43,51 @@ package object tactical {
   type GoalPredicate    = Goals => Int => Boolean
 
 
+  /**
+    * Applies the given tactic on behalf of the given inference to the subgoal selected by the
+    * given argument. This is the implementation of [[SimpleInferenceTactic#apply]] shared by all
+    * tactics. The tactic fails if it yields no rule applications.
+    *
+    * If a [[TacticResultCache]] is [[TacticResultCache#setCurrent bound]] to the current thread
+    * (e.g., during an automatic proof search), the outcome of the application is looked up there
+    * first and memoised afterwards.
+    *
+    * @param inference the inference that applies the tactic
+    * @param tactic the applied tactic
+    * @param args the argument of the inference (a [[SubgoalIndexArg]])
+    * @param goals the goals the tactic is applied to
+    */
+  def applyTactic(inference: SimpleInferenceTactic, tactic: Tactic, args: RuleArg, goals: Goals): TacticApplicationResult = args match {
+    case arg: SubgoalIndexArg =>
+      val cache = TacticResultCache.getCurrent
+      if (cache == null) {
+        evaluate(inference, tactic, arg.getSubgoalIndex, goals)
+      } else {
+        val cached = cache.lookup(inference.getInferenceName, arg.getSubgoalIndex, goals)
+        if (cached != null) {
+          cached
+        } else {
+          try {
+            val result = evaluate(inference, tactic, arg.getSubgoalIndex, goals)
+            cache.storeResult(inference.getInferenceName, arg.getSubgoalIndex, goals, result)
+            result
+          } catch {
+            case e: TacticApplicationException =>
+              cache.storeFailure(inference.getInferenceName, arg.getSubgoalIndex, goals, e)
+              throw e
+          }
+        }
+      }
+    case _ =>
+      throw new RuleApplicationException("Wrong argument type")
+  }
+
+  private def evaluate(inference: SimpleInferenceTactic, tactic: Tactic, subgoalIndex: Int, goals: Goals): TacticApplicationResult =
+    tactic(inference.getPrettyName())(goals)(subgoalIndex)(new TacticApplicationResult()) match {
+      case Some(result) if !result.getApplicationList.isEmpty => result
+      case _ => throw new TacticApplicationException("Could not apply tactic " + inference.getPrettyName())
+    }
+
   /*
     Tacticals used to combine tactics.
    */
@@ -78,7 +126,7 @@ package object tactical {
     * @return
     */
   def id: Tactic = (name: String) => (state: Goals) => (subGoalIndex: Int) => (result: TacticApplicationResult) => {
-    Some(new TacticApplicationResult(result.getApplicationList, state))
+    Some(result.withGoals(state))
   }
 
   /**
@@ -100,29 +148,59 @@ package object tactical {
     ORELSE(tac)(id)
   }
 
+  /*
+    The iterating tacticals below are equivalent to their recursive definitions (given in
+    their comments), but run in a loop: the recursive versions need several stack frames
+    per application of the tactic, which overflows the stack on large diagrams (e.g., vennify
+    on diagrams with hundreds of missing zones).
+   */
+
   /**
     * Applies the given tactic repeatedly to the given state until it fails.
     * This combinator never fails.
     *
+    * Equivalent to ORELSE(THEN(tac)(REPEAT(tac)))(id).
+    *
     * @return
     */
   def REPEAT: Tactic => Tactic =
     (tac: Tactic) => (name: String) => (state: Goals) => (subGoalIndex: Int) => (result: TacticApplicationResult) => {
-      ORELSE(THEN(tac)(REPEAT(tac)))(id)(name)(state)(subGoalIndex)(result)
+      @tailrec
+      def loop(state: Goals, result: TacticApplicationResult): Option[TacticApplicationResult] =
+        tac(name)(state)(subGoalIndex)(result) match {
+          case Some(res) => loop(res.getGoals, res)
+          case None => id(name)(state)(subGoalIndex)(result)
+        }
+      loop(state, result)
     }
 
   /**
     * Applies the given tactic as often as the integer parameter defines, or until it fails.
-    * This combinator only fails if the number of executions exceeds the integer parameter.
+    * This combinator only fails if the integer parameter is not positive. Note that the
+    * tactic is applied at most i-1 times.
+    *
+    * Equivalent to ORELSE(THEN(tac)(REPEAT_TIMES(i-1)(tac)))(id) for positive i.
     *
     * @return
     */
   def REPEAT_TIMES: Int => Tactic => Tactic = (i : Int) => (tac: Tactic) => (name: String) => (state: Goals) => (subGoalIndex: Int) => (result: TacticApplicationResult) =>
   {
+    // the i-th application of the recursive definition is always discarded
+    // (REPEAT_TIMES(0) fails), so it is not even attempted here
+    @tailrec
+    def loop(remaining: Int, state: Goals, result: TacticApplicationResult): Option[TacticApplicationResult] =
+      if (remaining <= 1) {
+        id(name)(state)(subGoalIndex)(result)
+      } else {
+        tac(name)(state)(subGoalIndex)(result) match {
+          case Some(res) => loop(remaining - 1, res.getGoals, res)
+          case None => id(name)(state)(subGoalIndex)(result)
+        }
+      }
     if (i<=0) {
       fail(name)(state)(subGoalIndex)(result)
     } else {
-      ORELSE(THEN(tac)(REPEAT_TIMES(i-1)(tac)))(id)(name)(state)(subGoalIndex)(result)
+      loop(i, state, result)
     }
   }
 
@@ -130,28 +208,45 @@ package object tactical {
     * Applies the given tactic until the predicate is true. This combinator fails if the tactic
     * cannot be applied anymore, but the predicate is still false on the given subgoal.
     *
+    * Equivalent to COND(predicate)(id)(THEN(tac)(DEPTH_FIRST(predicate)(tac))).
+    *
     * @return
     */
   def DEPTH_FIRST: GoalPredicate => Tactic => Tactic =
     (predicate: GoalPredicate) => (tac: Tactic) => (name: String) => (state: Goals) => (subGoalIndex: Int) => (result: TacticApplicationResult) => {
-      if (predicate(state)(subGoalIndex)) {
-        id(name)(state)(subGoalIndex)(result)
-      } else {
-        THEN(tac)(DEPTH_FIRST(predicate)(tac))(name)(state)(subGoalIndex)(result)
-      }
+      @tailrec
+      def loop(state: Goals, result: TacticApplicationResult): Option[TacticApplicationResult] =
+        if (predicate(state)(subGoalIndex)) {
+          id(name)(state)(subGoalIndex)(result)
+        } else {
+          tac(name)(state)(subGoalIndex)(result) match {
+            case Some(res) => loop(res.getGoals, res)
+            case None => None
+          }
+        }
+      loop(state, result)
     }
 
+  /**
+    * Like [[DEPTH_FIRST]], but fails if the predicate is still false after i applications of the tactic.
+    *
+    * @return
+    */
   def DEPTH_FIRST_TIMES: Int => GoalPredicate => Tactic => Tactic =
     (i:Int) => (predicate: GoalPredicate) => (tac: Tactic) => (name: String) => (state: Goals) => (subGoalIndex: Int) => (result: TacticApplicationResult) => {
-      if (predicate(state)(subGoalIndex)) {
-        id(name)(state)(subGoalIndex)(result)
-      } else {
-        if (i <=0) {
+      @tailrec
+      def loop(remaining: Int, state: Goals, result: TacticApplicationResult): Option[TacticApplicationResult] =
+        if (predicate(state)(subGoalIndex)) {
+          id(name)(state)(subGoalIndex)(result)
+        } else if (remaining <= 0) {
           fail(name)(state)(subGoalIndex)(result)
         } else {
-          THEN(tac)(DEPTH_FIRST_TIMES(i-1)(predicate)(tac))(name)(state)(subGoalIndex)(result)
+          tac(name)(state)(subGoalIndex)(result) match {
+            case Some(res) => loop(remaining - 1, res.getGoals, res)
+            case None => None
+          }
         }
-      }
+      loop(i, state, result)
     }
 
 
@@ -22,8 +22,7 @@ class ContourRelations(diagram: PrimarySpiderDiagram) {
     val numberOfShadedZonesOutsideContainer = diagram.getShadedZones.count(shadedZone =>
       isZoneInAButNotB(shadedZone, contourA, contourB)
     )
-    val numberOfAllPossibleShadedZonesOutsideContainer = 1 << (diagram.getAllContours.size() - 2)
-    numberOfShadedZonesOutsideContainer == numberOfAllPossibleShadedZonesOutsideContainer
+    Zones.isAllZonesCount(numberOfShadedZonesOutsideContainer, diagram.getAllContours.size() - 2)
   }
 
   private def spiderExistsInAButOutsideB(contourA: String, contourB: String): Boolean = {
@@ -50,12 +49,10 @@ class ContourRelations(diagram: PrimarySpiderDiagram) {
 
   private def allSharedContoursAreShaded(contourA: String, contourB: String): Boolean = {
     val sharedShadedZones = Zones.getZonesInsideAllContours(diagram.getShadedZones, contourA, contourB)
-    sharedShadedZones.size() == numberOfAllSharedZones(2)
+    Zones.isAllZonesCount(sharedShadedZones.size(), numberOfRemainingContours(2))
   }
 
-  private def numberOfAllSharedZones(numberOfTargetContours: Int): Int = {
-    val numberOfAllContours = diagram.getAllContours.size()
-    val numberOfRemainingContours = numberOfAllContours - numberOfTargetContours
-    1 << numberOfRemainingContours
+  private def numberOfRemainingContours(numberOfTargetContours: Int): Int = {
+    diagram.getAllContours.size() - numberOfTargetContours
   }
 }
@@ -1,6 +1,6 @@
 package speedith.core.reasoning.util.unitary
 
-import speedith.core.lang.Zones.allZonesForContours
+import speedith.core.lang.Zones.allZonesOf
 import speedith.core.lang.{PrimarySpiderDiagram, Region, Zone}
 import speedith.core.reasoning.rules.util.ReasoningUtils
 
@@ -9,7 +9,7 @@ import scala.collection.mutable
 
 case class CorrespondingRegions(sourceDiagram: PrimarySpiderDiagram, destinationDiagram: PrimarySpiderDiagram) {
 
-  val allPossibleZonesInDestination = allZonesForContours(destinationDiagram.getAllContours.toIterable.toSeq: _*)
+  def allPossibleZonesInDestination: Iterable[Zone] = allZonesOf(destinationDiagram.getAllContours.toIterable.toSeq: _*)
 
   def areRegionsCorresponding(regionInSourceDiagram: Region, regionInDestinationDiagram: Region): Boolean = {
     assertContoursOfRegionMatchContoursInDiagram(regionInSourceDiagram, sourceDiagram)
@@ -43,7 +43,7 @@ case class CorrespondingRegions(sourceDiagram: PrimarySpiderDiagram, destination
               sourceZone.getOutContours.subsetOf(ex.getOutContours)
         }
         )
-    }
+    }.toBuffer
   }
 
 
@@ -68,7 +68,7 @@ case class CorrespondingRegions(sourceDiagram: PrimarySpiderDiagram, destination
                 ex.getOutContours.subsetOf(sourceZone.getOutContours)
           })
 
-    }
+    }.toBuffer
   }
 
   private def getRegionGeneral(regionInSourceDiagram: Region) : mutable.Buffer[Zone] = {
@@ -85,7 +85,7 @@ case class CorrespondingRegions(sourceDiagram: PrimarySpiderDiagram, destination
               ex.equals(sourceZone)
           }
         )
-    })
+    }).toBuffer
   }
 
   private def assertContoursOfRegionMatchContoursInDiagram(regionInSourceDiagram: Region, diagram: PrimarySpiderDiagram) {
@@ -11,7 +11,7 @@ class ZoneTransfer(sourceDiagram: PrimarySpiderDiagram, destinationDiagram: Prim
   private val sourceContourRelations = new ContourRelations(sourceDiagram)
   private val contoursInSourceDiagram: Set[String] = sourceDiagram.getAllContours.toSet
   private val allVisibleZonesInDestinationDiagram: Set[Zone] = (destinationDiagram.getPresentZones ++ destinationDiagram.getHabitats.values().flatMap(_.zones)).toSet
-  private val allPossibleZonesInDestinationDiagram: Set[Zone] = Zones.allZonesForContours(destinationDiagram.getAllContours.toSeq:_*).toSet
+  private def allPossibleZonesInDestinationDiagram: Iterable[Zone] = Zones.allZonesOf(destinationDiagram.getAllContours.toSeq:_*)
 
   def transferContour(contourFromSource: String): PrimarySpiderDiagram = {
     assertContourOnlyInSource(contourFromSource)
@@ -45,7 +45,7 @@ class ZoneTransfer(sourceDiagram: PrimarySpiderDiagram, destinationDiagram: Prim
       contoursInSourceDiagram.exists(commonContour =>
         (destinationZone.getInContours.contains(commonContour) && sourceContourRelations.areContoursDisjoint(sourceContour, commonContour)) ||
           (destinationZone.getOutContours.contains(commonContour) && sourceContourRelations.contourContainsAnother(commonContour, sourceContour))
-      ))
+      )).toSet[Zone]
   }
 
   def zonesInDestinationInsideContour(sourceContour: String): java.util.Set[Zone] = {
@@ -55,7 +55,7 @@ class ZoneTransfer(sourceDiagram: PrimarySpiderDiagram, destinationDiagram: Prim
       contoursInSourceDiagram.exists(contour =>
         destinationZone.getInContours.contains(contour) && sourceContourRelations.contourContainsAnother(sourceContour, contour)
       )
-    )
+    ).toSet[Zone]
   }
 
   private def addInContourToZone(zone: Zone, contourFromSource: String): Zone = {
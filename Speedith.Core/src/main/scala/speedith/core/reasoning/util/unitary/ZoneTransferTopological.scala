@@ -21,18 +21,62 @@ class ZoneTransferTopological(sourceDiagram: PrimarySpiderDiagram, destinationDi
 
   val contoursOnlyInSource: java.util.Set[String] = sourceDiagram.getAllContours.diff(destinationDiagram.getAllContours)
   val contoursOnlyInDestination: java.util.Set[String] = destinationDiagram.getAllContours.diff(sourceDiagram.getAllContours)
-  private val sourceContourRelations = new ContourRelations(sourceDiagram)
-  private val contoursInSourceDiagram: Set[String] = sourceDiagram.getAllContours.toSet
+  private val sharedContours: Set[String] = sourceDiagram.getAllContours.toSet & destinationDiagram.getAllContours.toSet
   private val allVisibleZonesInDestinationDiagram: Set[Zone] = destinationDiagram.getPresentZones.toSet
-  private val allPossibleZonesInDestinationDiagram: Set[Zone] = Zones.allZonesForContours(destinationDiagram.getAllContours.toSeq:_*).toSet
-
 
+  /**
+    * Copies the given contour from the source into the destination diagram.
+    *
+    * The destination zones are sorted into the sets Z_i (inside the contour), Z_o (outside the contour) and Z_s
+    * (split by the contour) without expanding any zones. A destination zone z corresponds to the source zones that
+    * agree with z on the shared contours (the projection of z), i.e., to a "cylinder" of 2^n source zones, where n is
+    * the number of contours only in the source. The source zones are grouped by their projections once, after which
+    * each destination zone is classified by comparing the counts of present and missing source zones in its
+    * cylinder with the size of the cylinder.
+    *
+    * @param contourFromSource a contour that is only in the source diagram
+    * @return the destination diagram with the copied contour
+    */
+  def transferContour(contourFromSource: String): PrimarySpiderDiagram = {
+    assertContourOnlyInSource(contourFromSource)
+    val cylinders = sourceCylinders(contourFromSource)
+    val cylinderSize = powerOfTwo(contoursOnlyInSource.size)
+    // half of the zones in each cylinder are inside the contour
+    val halfCylinderSize = powerOfTwo(contoursOnlyInSource.size - 1)
+    val visibleShadedZones = destinationDiagram.getVisibleShadedZones
+
+    val zonesIn = Set.newBuilder[Zone]
+    val zonesOut = Set.newBuilder[Zone]
+    val zonesSplit = Set.newBuilder[Zone]
+    for (zone <- destinationDiagram.getPresentZones) {
+      val cylinder = cylinders.getOrElse(projection(zone), EmptyCylinder)
+      // free zones are either shaded or correspond to missing zones only
+      if (visibleShadedZones.contains(zone) || cylinder.missing == cylinderSize) {
+        if (cylinder.missingInside == halfCylinderSize) {
+          zonesOut += zone
+        } else if (cylinder.missingOutside == halfCylinderSize) {
+          zonesIn += zone
+        } else {
+          zonesSplit += zone
+        }
+      } else if (cylinder.missing + cylinder.presentInside == cylinderSize) {
+        zonesIn += zone
+      } else if (cylinder.missing + cylinder.presentOutside == cylinderSize) {
+        zonesOut += zone
+      } else {
+        zonesSplit += zone
+      }
+    }
+    createTransferredDiagram(contourFromSource, zonesIn.result(), zonesOut.result(), zonesSplit.result())
+  }
 
-  def transferContour (contourFromSource : String) : PrimarySpiderDiagram ={
+  /**
+    * The straightforward implementation of [[transferContour]], which follows the written procedure by expanding
+    * the zones of both diagrams to all contours (possibly exponentially many zones). It is kept as the reference
+    * the efficient implementation is tested against.
+    */
+  private[unitary] def transferContourByExpansion (contourFromSource : String) : PrimarySpiderDiagram ={
    assertContourOnlyInSource(contourFromSource)
-    // this implementation is horribly inefficient (several possibly exponential expandings)
-    // but works straightforwardly like the written procedure
-
     // compute the expansions of the missing zones in source and target
     val sourceDiagramMZExpansion = ReasoningUtils.expand(sourceDiagram.getShadedZones.toSet -- sourceDiagram.getPresentZones, contoursOnlyInDestination )
     val destinationDiagramMZExpansion = ReasoningUtils.expand(destinationDiagram.getShadedZones.toSet -- destinationDiagram.getPresentZones, contoursOnlyInSource )
@@ -68,6 +112,10 @@ class ZoneTransferTopological(sourceDiagram: PrimarySpiderDiagram, destinationDi
     val zonesOut = outZones ++ freeOutZones
     val zonesSplit = splitZones ++ freeSplitZones
 
+    createTransferredDiagram(contourFromSource, zonesIn.toSet, zonesOut.toSet, zonesSplit)
+  }
+
+  private def createTransferredDiagram(contourFromSource: String, zonesIn: Set[Zone], zonesOut: Set[Zone], zonesSplit: Set[Zone]): PrimarySpiderDiagram = {
     val spiderHabitats = destinationDiagram.getHabitats.map {
       case (spider, habitat) => (spider, new Region(
         (zonesOut ++ zonesSplit).intersect(habitat.zones).map(addOutContourToZone(_, contourFromSource)) ++
@@ -86,6 +134,56 @@ class ZoneTransferTopological(sourceDiagram: PrimarySpiderDiagram, destinationDi
     SpiderDiagrams.createPrimarySD(spiderHabitats, shadedZones, presentZones)
   }
 
+  /**
+    * Groups the present and the missing zones of the source diagram by their projections onto the shared contours
+    * and counts them by whether they are inside or outside the given contour.
+    */
+  private def sourceCylinders(contourFromSource: String): Map[(Set[String], Set[String]), Cylinder] = {
+    val cylinders = scala.collection.mutable.HashMap[(Set[String], Set[String]), Cylinder]()
+    for (zone <- sourceDiagram.getPresentZones) {
+      val cylinder = cylinders.getOrElseUpdate(projection(zone), new Cylinder)
+      if (zone.getInContours.contains(contourFromSource)) {
+        cylinder.presentInside += 1
+      } else if (zone.getOutContours.contains(contourFromSource)) {
+        cylinder.presentOutside += 1
+      }
+    }
+    for (zone <- sourceDiagram.getMissingZones) {
+      val cylinder = cylinders.getOrElseUpdate(projection(zone), new Cylinder)
+      if (zone.getInContours.contains(contourFromSource)) {
+        cylinder.missingInside += 1
+      } else if (zone.getOutContours.contains(contourFromSource)) {
+        cylinder.missingOutside += 1
+      }
+    }
+    cylinders.toMap
+  }
+
+  private def projection(zone: Zone): (Set[String], Set[String]) = {
+    (zone.getInContours.filter(sharedContours).toSet, zone.getOutContours.filter(sharedContours).toSet)
+  }
+
+  /**
+    * The number of zones over the given number of contours (saturated for large numbers, which no set of zones
+    * can reach).
+    */
+  private def powerOfTwo(exponent: Int): Long = if (exponent < 63) 1L << exponent else Long.MaxValue
+
+  /**
+    * The number of present and missing source zones in a cylinder (the zones with the same projection), inside
+    * and outside of the contour to transfer.
+    */
+  private class Cylinder {
+    var presentInside = 0
+    var presentOutside = 0
+    var missingInside = 0
+    var missingOutside = 0
+
+    def missing: Int = missingInside + missingOutside
+  }
+
+  private val EmptyCylinder = new Cylinder
+
   private def addInContourToZone(zone: Zone, contourFromSource: String): Zone = {
     zone.withInContours((zone.getInContours + contourFromSource).toSeq: _*)
   }
@@ -516,7 +516,73 @@ public class CompoundSpiderDiagramTest {
         checkSDIterator(SpiderDiagramsReader.readSpiderDiagram(SpiderDiagramsReaderTest.SD_EXAMPLE_17));
     }
 
+    /**
+     * Test of transform method with a {@link TargetedTransformer}, of class
+     * CompoundSpiderDiagram.
+     */
+    @Test
+    public void testTransformTargeted() throws ReadingException {
+        CompoundSpiderDiagram sd1 = (CompoundSpiderDiagram) SpiderDiagramsReader.readSpiderDiagram(SpiderDiagramsReaderTest.SD_EXAMPLE_1);
+        PrimarySpiderDiagram psd = (PrimarySpiderDiagram) sd1.getOperand(0);
+        CompoundSpiderDiagram sd = SpiderDiagrams.createCompoundSD(Operator.Conjunction,
+                SpiderDiagrams.createCompoundSD(Operator.Conjunction, sd1, psd),
+                SpiderDiagrams.createCompoundSD(Operator.Negation, SpiderDiagrams.createCompoundSD(Operator.Disjunction, psd, sd1)));
+        for (int target = 0; target <= sd.getSubDiagramCount(); target++) {
+            NegatingTransformer fullTraversal = new NegatingTransformer(target);
+            NegatingTransformer targeted = new TargetedNegatingTransformer(target);
+            assertEquals(sd.transform(fullTraversal), sd.transform(targeted));
+            assertEquals(target < sd.getSubDiagramCount() ? 1 : 0, targeted.visitedCount);
+        }
+        assertSame(sd, sd.transform(new TargetedNegatingTransformer(-1)));
+    }
+
     //<editor-fold defaultstate="collapsed" desc="Private Helper Methods">
+
+    /**
+     * Negates the sub-diagram at the given index.
+     */
+    private static class NegatingTransformer extends IdTransformer {
+
+        protected final int target;
+        int visitedCount;
+
+        NegatingTransformer(int target) {
+            this.target = target;
+        }
+
+        @Override
+        public SpiderDiagram transform(PrimarySpiderDiagram psd, int diagramIndex, ArrayList<CompoundSpiderDiagram> parents, ArrayList<Integer> childIndices) {
+            return negate(psd, diagramIndex, parents, childIndices);
+        }
+
+        @Override
+        public SpiderDiagram transform(NullSpiderDiagram nsd, int diagramIndex, ArrayList<CompoundSpiderDiagram> parents, ArrayList<Integer> childIndices) {
+            return negate(nsd, diagramIndex, parents, childIndices);
+        }
+
+        @Override
+        public SpiderDiagram transform(CompoundSpiderDiagram csd, int diagramIndex, ArrayList<CompoundSpiderDiagram> parents, ArrayList<Integer> childIndices) {
+            return negate(csd, diagramIndex, parents, childIndices);
+        }
+
+        private SpiderDiagram negate(SpiderDiagram sd, int diagramIndex, ArrayList<CompoundSpiderDiagram> parents, ArrayList<Integer> childIndices) {
+            ++visitedCount;
+            checkChildIndices(parents, childIndices, sd);
+            return diagramIndex == target ? SpiderDiagrams.createCompoundSD(Operator.Negation, sd) : null;
+        }
+    }
+
+    private static class TargetedNegatingTransformer extends NegatingTransformer implements TargetedTransformer {
+
+        TargetedNegatingTransformer(int target) {
+            super(target);
+        }
+
+        @Override
+        public int getTargetSubDiagramIndex() {
+            return target;
+        }
+    }
     private void checkVisitSD(CompoundSpiderDiagram sd) {
         for (int i = 0; i < sd.getSubDiagramCount(); i++) {
             final int targetSD = i;
@@ -0,0 +1,62 @@
+package speedith.core.lang;
+
+import org.junit.Test;
+
+import java.util.TreeMap;
+
+import static org.junit.Assert.*;
+import static speedith.core.lang.SpiderDiagrams.createCompoundSD;
+import static speedith.core.lang.SpiderDiagrams.createPrimarySD;
+import static speedith.core.reasoning.util.unitary.TestSpiderDiagrams.*;
+
+public class FingerprintsTest {
+
+    @Test
+    public void equal_diagrams_should_have_equal_fingerprints() {
+        SpiderDiagram sd = createCompoundSD(Operator.Implication, DIAGRAM_SPEEDITH_PAPER_FIG7_2, DIAGRAM_SPEEDITH_PAPER_FIG7_3);
+        SpiderDiagram copy = createCompoundSD(Operator.Implication, DIAGRAM_SPEEDITH_PAPER_FIG7_2, DIAGRAM_SPEEDITH_PAPER_FIG7_3);
+        assertEquals(sd, copy);
+        assertEquals(sd.getFingerprint(), copy.getFingerprint());
+    }
+
+    @Test
+    public void fingerprint_should_not_depend_on_spider_names() {
+        Region habitat = new Region(Zone.fromInContours("A").withOutContours("B"));
+        TreeMap<String, Region> habitatsS = new TreeMap<>();
+        habitatsS.put("s", habitat);
+        TreeMap<String, Region> habitatsT = new TreeMap<>();
+        habitatsT.put("t", habitat);
+        PrimarySpiderDiagram psdS = createPrimarySD(habitatsS, null, POWER_REGION_AB);
+        PrimarySpiderDiagram psdT = createPrimarySD(habitatsT, null, POWER_REGION_AB);
+        assertNotEquals(psdS, psdT);
+        assertTrue(psdS.isSEquivalentTo(psdT));
+        assertEquals(psdS.getFingerprint(), psdT.getFingerprint());
+    }
+
+    @Test
+    public void fingerprint_should_not_depend_on_the_order_of_commutative_operands() {
+        SpiderDiagram ab = createCompoundSD(Operator.Conjunction, DIAGRAM_SPEEDITH_PAPER_FIG7_2, DIAGRAM_SPEEDITH_PAPER_FIG7_3);
+        SpiderDiagram ba = createCompoundSD(Operator.Conjunction, DIAGRAM_SPEEDITH_PAPER_FIG7_3, DIAGRAM_SPEEDITH_PAPER_FIG7_2);
+        assertEquals(ab.getFingerprint(), ba.getFingerprint());
+    }
+
+    @Test
+    public void fingerprint_should_depend_on_the_order_of_implication_operands() {
+        SpiderDiagram ab = createCompoundSD(Operator.Implication, DIAGRAM_SPEEDITH_PAPER_FIG7_2, DIAGRAM_SPEEDITH_PAPER_FIG7_3);
+        SpiderDiagram ba = createCompoundSD(Operator.Implication, DIAGRAM_SPEEDITH_PAPER_FIG7_3, DIAGRAM_SPEEDITH_PAPER_FIG7_2);
+        assertNotEquals(ab.getFingerprint(), ba.getFingerprint());
+    }
+
+    @Test
+    public void different_diagrams_should_have_different_fingerprints() {
+        assertNotEquals(VENN_2_AB_DIAGRAM.getFingerprint(), VENN_DIAGRAM_A_SUBSET_B.getFingerprint());
+        assertNotEquals(VENN_DIAGRAM_A_SUBSET_B.getFingerprint(), VENN_DIAGRAM_EVERYTHING_A_OR_B.getFingerprint());
+        assertNotEquals(VENN_2_AB_DIAGRAM.getFingerprint(), SpiderDiagrams.createNullSD().getFingerprint());
+    }
+
+    @Test
+    public void isSEquivalentTo_should_reject_diagrams_with_different_fingerprints() {
+        assertFalse(VENN_DIAGRAM_A_SUBSET_B.isSEquivalentTo(VENN_DIAGRAM_EVERYTHING_A_OR_B));
+        assertFalse(createCompoundSD(Operator.Negation, VENN_DIAGRAM_A_SUBSET_B).isSEquivalentTo(VENN_DIAGRAM_A_SUBSET_B));
+    }
+}
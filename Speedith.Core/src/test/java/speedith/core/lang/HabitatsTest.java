@@ -0,0 +1,62 @@
+package speedith.core.lang;
+
+import org.junit.Test;
+
+import java.util.TreeMap;
+
+import static org.junit.Assert.*;
+
+public class HabitatsTest {
+
+    private static final Region RegionA = new Region(Zone.fromInContours("A").withOutContours("B"));
+    private static final Region RegionB = new Region(Zone.fromInContours("B").withOutContours("A"));
+
+    @Test
+    public void of_should_contain_the_habitats_of_the_map() {
+        TreeMap<String, Region> map = new TreeMap<>();
+        map.put("t", RegionB);
+        map.put("s", RegionA);
+        Habitats habitats = Habitats.of(map);
+        assertEquals(map, habitats);
+        assertEquals(habitats, map);
+        assertEquals(map.hashCode(), habitats.hashCode());
+        assertEquals(map.keySet(), habitats.keySet());
+        assertEquals("s", habitats.firstKey());
+        assertEquals(RegionB, habitats.get("t"));
+        assertNull(habitats.get("u"));
+        assertSame(habitats, Habitats.of(habitats));
+    }
+
+    @Test
+    public void plus_should_add_or_replace_the_habitat() {
+        Habitats habitats = Habitats.empty().plus("t", RegionA).plus("s", RegionA);
+        assertSame(habitats, habitats.plus("s", RegionA));
+        Habitats replaced = habitats.plus("t", RegionB);
+        TreeMap<String, Region> expected = new TreeMap<>();
+        expected.put("s", RegionA);
+        expected.put("t", RegionB);
+        assertEquals(expected, replaced);
+        assertEquals(expected.hashCode(), replaced.hashCode());
+        assertSame(habitats.keySet(), replaced.keySet());
+    }
+
+    @Test
+    public void minus_should_remove_the_habitat() {
+        Habitats habitats = Habitats.empty().plus("s", RegionA).plus("t", RegionB);
+        Habitats removed = habitats.minus("s");
+        assertEquals(Habitats.empty().plus("t", RegionB), removed);
+        assertEquals(RegionB.hashCode() ^ "t".hashCode(), removed.hashCode());
+        assertSame(removed, removed.minus("s"));
+        assertTrue(removed.minus("t").isEmpty());
+    }
+
+    @Test
+    public void primary_diagrams_should_share_the_unchanged_collections() {
+        ZoneSet presentZones = RegionA.sortedZones().plus(Zone.fromOutContours("A", "B"));
+        PrimarySpiderDiagram psd = SpiderDiagrams.createPrimarySD(Spiders.of("s"), Habitats.empty().plus("s", RegionA), null, presentZones);
+        PrimarySpiderDiagram shaded = psd.addShading(Zone.fromInContours("A", "B"));
+        assertSame(psd.getHabitats(), shaded.getHabitats());
+        assertSame(psd.getPresentZones(), shaded.getPresentZones());
+        assertEquals(ZoneSet.of(Zone.fromInContours("A", "B")), shaded.getShadedZones());
+    }
+}
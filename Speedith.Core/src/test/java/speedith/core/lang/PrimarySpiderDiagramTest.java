@@ -30,14 +30,23 @@ import org.junit.Test;
 import speedith.core.lang.reader.ReadingException;
 import speedith.core.reasoning.util.unitary.TestSpiderDiagrams;
 
-import java.io.IOException;
+import java.io.*;
 import java.util.Arrays;
 import java.util.SortedSet;
+import java.util.TreeMap;
 import java.util.TreeSet;
 
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static speedith.core.i18n.Translations.i18n;
+import static speedith.core.lang.SpiderDiagrams.createPrimarySD;
+import static speedith.core.lang.SpiderDiagrams.createValidPrimarySD;
 import static speedith.core.reasoning.util.unitary.TestSpiderDiagrams.DIAGRAM_SPEEDITH_PAPER_FIG2_D1;
 import static speedith.core.reasoning.util.unitary.TestSpiderDiagrams.DIAGRAM_SPEEDITH_PAPER_FIG2_D2;
 
@@ -46,6 +55,11 @@ import static speedith.core.reasoning.util.unitary.TestSpiderDiagrams.DIAGRAM_SP
  */
 public class PrimarySpiderDiagramTest {
 
+    private static final Zone ZoneAB = Zone.fromInContours("A", "B");
+    private static final Zone ZoneAOutB = Zone.fromInContours("A").withOutContours("B");
+    private static final Zone ZoneBOutA = Zone.fromInContours("B").withOutContours("A");
+    private static final Zone ZoneOutAB = Zone.fromOutContours("A", "B");
+
     @Test(expected = IllegalArgumentException.class)
     public void addShading_should_throw_an_exception_if_adding_a_zone_that_does_not_have_the_right_contours() {
         DIAGRAM_SPEEDITH_PAPER_FIG2_D1.addShading(
@@ -78,6 +92,55 @@ public class PrimarySpiderDiagramTest {
         );
     }
 
+    @Test
+    public void derived_zone_sets_should_partition_the_shaded_and_present_zones() {
+        Zone onlyA = Zone.fromInContours("A").withOutContours("B");
+        Zone onlyB = Zone.fromInContours("B").withOutContours("A");
+        Zone aAndB = Zone.fromInContours("A", "B");
+        Zone outside = Zone.fromOutContours("A", "B");
+        PrimarySpiderDiagram psd = SpiderDiagrams.createPrimarySD(null, null, Arrays.asList(onlyA, aAndB), Arrays.asList(onlyA, onlyB, outside));
+
+        assertEquals(new TreeSet<>(Arrays.asList(onlyA)), psd.getVisibleShadedZones());
+        assertEquals(new TreeSet<>(Arrays.asList(onlyB, outside)), psd.getUnshadedZones());
+        assertEquals(new TreeSet<>(Arrays.asList(aAndB)), psd.getMissingZones());
+        assertSame(psd.getUnshadedZones(), psd.getUnshadedZones());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void derived_zone_sets_should_be_unmodifiable() {
+        DIAGRAM_SPEEDITH_PAPER_FIG2_D2.getMissingZones().add(Zone.fromInContours("A"));
+    }
+
+    @Test
+    public void habitats_of_unknown_spiders_should_make_the_diagram_invalid() {
+        TreeMap<String, Region> habitats = new TreeMap<>();
+        habitats.put("s1", new Region(Zone.fromInContours("A")));
+        PrimarySpiderDiagram psd = SpiderDiagrams.createPrimarySD(Arrays.asList("s2"), habitats, null, Arrays.asList(Zone.fromInContours("A"), Zone.fromOutContours("A")));
+
+        assertFalse(psd.isValid());
+    }
+
+    @Test
+    public void createValidPrimarySD_should_throw_an_exception_for_habitats_of_unknown_spiders() {
+        TreeMap<String, Region> habitats = new TreeMap<>();
+        habitats.put("s1", new Region(Zone.fromInContours("A")));
+        try {
+            SpiderDiagrams.createValidPrimarySD(null, habitats, null, Arrays.asList(Zone.fromInContours("A"), Zone.fromOutContours("A")));
+            fail("The habitat of an unknown spider should be rejected.");
+        } catch (IllegalArgumentException e) {
+            assertEquals(i18n("ERR_SD_HABITATS_WITHOUT_SPIDERS"), e.getMessage());
+        }
+    }
+
+    @Test
+    public void createPrimarySD_should_not_be_affected_by_later_changes_of_the_given_collections() {
+        TreeSet<Zone> shadedZones = new TreeSet<>(Arrays.asList(Zone.fromInContours("A", "B")));
+        PrimarySpiderDiagram psd = SpiderDiagrams.createPrimarySD(null, null, shadedZones, null);
+        shadedZones.add(Zone.fromInContours("A").withOutContours("B"));
+
+        assertEquals(new TreeSet<>(Arrays.asList(Zone.fromInContours("A", "B"))), psd.getShadedZones());
+    }
+
     /**
      * Test of getAllContours method, of class PrimarySpiderDiagram.
      */
@@ -138,4 +201,55 @@ public class PrimarySpiderDiagramTest {
         psd = (PrimarySpiderDiagram) csd.getOperand(1);
         assertEquals(new TreeSet<>(Arrays.asList("t1", "t2", "t3")), psd.getSpidersInZone(Zone.fromInContours("B")));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void getSemanticNormalForm_should_ignore_spider_names_and_present_zones() {
+        TreeMap<String, Region> habitatsS = new TreeMap<>();
+        habitatsS.put("s", new Region(ZoneAOutB, ZoneAB));
+        TreeMap<String, Region> habitatsT = new TreeMap<>();
+        habitatsT.put("t", new Region(ZoneAOutB, ZoneAB));
+        PrimarySpiderDiagram allPresent = createValidPrimarySD(Arrays.asList("s"), habitatsS, Arrays.asList(ZoneAB), Arrays.asList(ZoneAOutB, ZoneBOutA, ZoneOutAB));
+        PrimarySpiderDiagram renamed = createValidPrimarySD(Arrays.asList("t"), habitatsT, Arrays.asList(ZoneAB), Arrays.asList(ZoneOutAB));
+        assertSame(allPresent.getSemanticNormalForm(), renamed.getSemanticNormalForm());
+        assertTrue(allPresent.getSemanticNormalForm().isValid());
+    }
+
+    @Test
+    public void getSemanticNormalForm_should_remove_free_contours() {
+        PrimarySpiderDiagram withFreeContour = createValidPrimarySD(null, null, Arrays.asList(ZoneAB, ZoneAOutB), Arrays.asList(ZoneBOutA, ZoneOutAB));
+        PrimarySpiderDiagram withoutFreeContour = createValidPrimarySD(null, null, Arrays.asList(Zone.fromInContours("A")), Arrays.asList(Zone.fromOutContours("A")));
+        assertSame(withoutFreeContour.getSemanticNormalForm(), withFreeContour.getSemanticNormalForm());
+        assertSame(withFreeContour.getSemanticNormalForm(), withFreeContour.getSemanticNormalForm().getSemanticNormalForm());
+        assertTrue(withFreeContour.getSemanticNormalForm().isValid());
+    }
+
+    @Test
+    public void getSemanticNormalForm_should_normalise_diagrams_without_a_present_outer_zone() {
+        PrimarySpiderDiagram withoutOuterZone = createPrimarySD(null, null, Arrays.asList(ZoneAOutB), null);
+        PrimarySpiderDiagram withOuterZone = createValidPrimarySD(null, null, Arrays.asList(ZoneAOutB), Arrays.asList(ZoneOutAB));
+        assertFalse(withoutOuterZone.isValid());
+        assertTrue(withoutOuterZone.isWellFormed());
+        assertSame(withOuterZone.getSemanticNormalForm(), withoutOuterZone.getSemanticNormalForm());
+    }
+
+    @Test
+    public void getSemanticNormalForm_should_distinguish_diagrams_with_different_shading() {
+        PrimarySpiderDiagram shadedA = createValidPrimarySD(null, null, Arrays.asList(ZoneAOutB), Arrays.asList(ZoneOutAB));
+        PrimarySpiderDiagram shadedB = createValidPrimarySD(null, null, Arrays.asList(ZoneBOutA), Arrays.asList(ZoneOutAB));
+        assertThat(shadedA.getSemanticNormalForm(), not(equalTo(shadedB.getSemanticNormalForm())));
+    }
+
+    @Test
+    public void serialization_should_restore_the_pooled_diagram() throws IOException, ClassNotFoundException {
+        TreeMap<String, Region> habitats = new TreeMap<>();
+        habitats.put("s", new Region(ZoneAOutB, ZoneAB));
+        PrimarySpiderDiagram psd = createValidPrimarySD(Arrays.asList("s"), habitats, Arrays.asList(ZoneAB), Arrays.asList(ZoneOutAB, ZoneBOutA));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(psd);
+        }
+        try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertSame(psd, input.readObject());
+        }
+    }
+}
@@ -28,6 +28,8 @@ package speedith.core.lang;
 
 import org.junit.*;
 
+import java.io.*;
+
 import java.util.*;
 
 import static org.junit.Assert.*;
@@ -367,4 +369,39 @@ public class RegionTest {
         assertFalse(m_region4.isSubregionOf(m_region11));
         assertFalse(m_region4.isSubregionOf(m_region12));
     }
+
+    @Test
+    public void testUnionAndSubtract() {
+        assertEquals(m_region1, m_region4.union(m_region8));
+        assertEquals(m_region2, m_region4.union(m_region9));
+        assertSame(m_region1, m_region1.union(m_region4));
+        assertSame(m_region1, m_region1.union(m_region5));
+        Region region37 = new Region(ZoneTest.m_zone3, ZoneTest.m_zone7);
+        assertEquals(region37, m_region2.subtract(m_region4));
+        assertEquals(new TreeSet<>(region37.sortedZones()), m_region2.subtract(m_region4).sortedZones());
+        assertSame(m_region4, m_region4.subtract(region37));
+        assertEquals(m_region5, m_region10.subtract(m_region2));
+        assertEquals(m_region2.hashCode(), m_region4.union(m_region9).hashCode());
+    }
+
+    @Test
+    public void deserialization_should_read_a_region_saved_by_the_former_case_class() throws IOException, ClassNotFoundException {
+        // Serialized with the case class Region(zones: Set[Zone]).
+        try (ObjectInputStream input = new ObjectInputStream(RegionTest.class.getResourceAsStream("LegacyRegion.ser"))) {
+            Region region = (Region) input.readObject();
+            assertEquals(new Region(Zone.fromInContours("A").withOutContours("B"), Zone.fromInContours("A", "B")), region);
+            assertEquals(2, region.zones().size());
+        }
+    }
+
+    @Test
+    public void serialization_should_restore_an_equal_region() throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(m_region1);
+        }
+        try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertEquals(m_region1, input.readObject());
+        }
+    }
 }
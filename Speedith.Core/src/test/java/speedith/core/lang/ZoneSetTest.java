@@ -0,0 +1,74 @@
+package speedith.core.lang;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.TreeSet;
+
+import static org.junit.Assert.*;
+
+public class ZoneSetTest {
+
+    private static final Zone ZoneA = Zone.fromInContours("A").withOutContours("B");
+    private static final Zone ZoneB = Zone.fromInContours("B").withOutContours("A");
+    private static final Zone ZoneAB = Zone.fromInContours("A", "B");
+    private static final Zone ZoneOut = Zone.fromOutContours("A", "B");
+
+    @Test
+    public void of_should_sort_and_remove_duplicates() {
+        ZoneSet zones = ZoneSet.of(ZoneAB, ZoneOut, ZoneA, ZoneAB);
+        TreeSet<Zone> expected = new TreeSet<>(Arrays.asList(ZoneAB, ZoneOut, ZoneA));
+        assertEquals(expected, zones);
+        assertEquals(zones, expected);
+        assertEquals(expected.hashCode(), zones.hashCode());
+        assertEquals(Arrays.asList(expected.toArray()), Arrays.asList(zones.toArray()));
+        assertSame(zones, ZoneSet.of(zones));
+    }
+
+    @Test
+    public void plus_should_return_the_same_set_if_it_contains_the_zones_already() {
+        ZoneSet zones = ZoneSet.of(ZoneA, ZoneB);
+        assertSame(zones, zones.plus(ZoneB, ZoneA));
+        assertSame(zones, zones.minus(ZoneAB));
+    }
+
+    @Test
+    public void plus_and_minus_should_maintain_the_hash_code() {
+        ZoneSet zones = ZoneSet.of(ZoneA, ZoneOut);
+        ZoneSet added = zones.plus(ZoneB, ZoneAB, ZoneA);
+        assertEquals(ZoneSet.of(ZoneA, ZoneB, ZoneAB, ZoneOut), added);
+        assertEquals(new TreeSet<>(added).hashCode(), added.hashCode());
+        ZoneSet removed = added.minus(ZoneA, ZoneAB);
+        assertEquals(ZoneSet.of(ZoneB, ZoneOut), removed);
+        assertEquals(new TreeSet<>(removed).hashCode(), removed.hashCode());
+        assertEquals(ZoneSet.empty(), removed.minus(removed));
+    }
+
+    @Test
+    public void intersect_should_return_the_common_zones() {
+        ZoneSet zones = ZoneSet.of(ZoneA, ZoneB, ZoneOut);
+        assertEquals(ZoneSet.of(ZoneB, ZoneOut), zones.intersect(Arrays.asList(ZoneOut, ZoneAB, ZoneB)));
+    }
+
+    @Test
+    public void getContours_should_return_all_contours_of_the_zones() {
+        assertEquals(new TreeSet<>(Arrays.asList("A", "B", "C")), ZoneSet.of(ZoneA, Zone.fromInContours("C")).getContours());
+        assertTrue(ZoneSet.empty().getContours().isEmpty());
+    }
+
+    @Test
+    public void sorted_set_views_should_contain_the_zones_in_the_range() {
+        ZoneSet zones = ZoneSet.of(ZoneA, ZoneB, ZoneAB, ZoneOut);
+        TreeSet<Zone> expected = new TreeSet<>(zones);
+        assertEquals(expected.first(), zones.first());
+        assertEquals(expected.last(), zones.last());
+        assertEquals(expected.headSet(ZoneB), zones.headSet(ZoneB));
+        assertEquals(expected.tailSet(ZoneB), zones.tailSet(ZoneB));
+        assertEquals(expected.subSet(expected.first(), ZoneB), zones.subSet(expected.first(), ZoneB));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void add_should_throw_an_exception() {
+        ZoneSet.of(ZoneA).add(ZoneB);
+    }
+}
@@ -2,6 +2,7 @@ package speedith.core.lang;
 
 import org.junit.Test;
 
+import java.math.BigInteger;
 import java.util.*;
 
 import static java.util.Arrays.asList;
@@ -128,4 +129,41 @@ public class ZonesTest {
     public void isZoneOutsideContours_should_return_true_when_zone_is_no_contour() {
         assertTrue(Zones.isZoneOutsideContours(zoneAB_CD, "C", "D"));
     }
+
+    @Test
+    public void allZonesOf_should_enumerate_the_same_zones_as_allZonesForContours() {
+        assertThat(
+                allZonesOf("A", "B", "C"),
+                containsInAnyOrder(allZonesForContours("A", "B", "C").toArray(new Zone[0]))
+        );
+        assertThat(allZonesOf(), contains(new Zone()));
+    }
+
+    @Test
+    public void allZonesOf_should_enumerate_zones_lazily() {
+        String[] contours = new String[64];
+        for (int i = 0; i < contours.length; i++) {
+            contours[i] = "C" + i;
+        }
+        Iterator<Zone> zones = allZonesOf(contours).iterator();
+        assertEquals(Zone.fromOutContours(contours), zones.next());
+        assertEquals(Zone.fromInContours("C0").withOutContours(Arrays.copyOfRange(contours, 1, 64)), zones.next());
+        assertTrue(zones.hasNext());
+    }
+
+    @Test
+    public void allZonesCount_should_not_overflow() {
+        assertEquals(BigInteger.valueOf(8), allZonesCount(3));
+        assertEquals(BigInteger.ONE.shiftLeft(100), allZonesCount(100));
+    }
+
+    @Test
+    public void isAllZonesCount_should_not_overflow() {
+        assertTrue(isAllZonesCount(1, 0));
+        assertTrue(isAllZonesCount(1L << 40, 40));
+        assertFalse(isAllZonesCount(0, 32));
+        assertFalse(isAllZonesCount(Integer.MIN_VALUE, 31));
+        assertFalse(isAllZonesCount(1, 64));
+        assertFalse(isAllZonesCount(1, -1));
+    }
 }
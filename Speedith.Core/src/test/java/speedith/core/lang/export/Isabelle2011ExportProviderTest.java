@@ -9,6 +9,7 @@ import speedith.core.reasoning.args.*;
 import speedith.core.reasoning.rules.*;
 import speedith.core.reasoning.util.unitary.TestSpiderDiagrams;
 
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -72,6 +73,26 @@ public class Isabelle2011ExportProviderTest {
         assertInferenceStep(new RemoveContour(), new MultipleRuleArgs(new ContourArg(0, 1, "A"), new ContourArg(0, 1, "C")), subgoal4, "(EX s s1. distinct[s, s1] & s : (-(B Un D)) Un (D - B) & s1 : (-(B Un D)) Un (B - D) & B Int D <= {s, s1}) --> (EX s s1. distinct[s, s1] & s : (-(B Un D)) Un (D - B) & s1 : (-(B Un D)) Un (B - D) & B Int D <= {s, s1})");
     }
 
+    @Test
+    public void exporting_many_diagrams_at_once_must_produce_one_formula_per_line() throws Exception {
+        SpiderDiagram fig7Goal = diagramSpeedithPaperFig7Goal();
+        SpiderDiagram fig7Part = TestSpiderDiagrams.DIAGRAM_SPEEDITH_PAPER_FIG7_2;
+        List<SpiderDiagram> diagrams = new ArrayList<>();
+        diagrams.add(fig7Goal);
+        diagrams.add(createNullSD());
+        diagrams.add(fig7Part);
+        diagrams.add(fig7Goal);
+        StringBuilder expectedOutput = new StringBuilder();
+        for (SpiderDiagram diagram : diagrams) {
+            expectedOutput.append(isabelleExporter.export(diagram)).append('\n');
+        }
+
+        StringWriter output = new StringWriter();
+        isabelleExporter.exportAllTo(diagrams, output);
+
+        assertThat(output.toString(), equalTo(expectedOutput.toString()));
+    }
+
     private SpiderDiagram assertFig7InitialGoal() throws ExportException {
         SpiderDiagram initialGoal = diagramSpeedithPaperFig7Goal();
         String expectedIsaFormula = "(EX s. s : C - (A Un B) & A Int B Int C <= {s} & (A Int C) - B <= {s} & B - (A Un C) <= {s} & (B Int C) - A <= {s}) & (EX s1 s2. distinct[s1, s2] & s1 : -(C Un D) & s2 : (C - D) Un (C Int D) & C - D <= {s1, s2} & D - C <= {s1, s2}) --> (EX s s1. distinct[s, s1] & s : (-(B Un D)) Un (D - B) & s1 : (-(B Un D)) Un (B - D) & B Int D <= {s, s1})";
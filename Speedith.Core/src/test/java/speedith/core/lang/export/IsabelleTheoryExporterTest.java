@@ -0,0 +1,67 @@
+package speedith.core.lang.export;
+
+import org.junit.Test;
+import speedith.core.lang.Operator;
+import speedith.core.lang.SpiderDiagram;
+import speedith.core.reasoning.ProofTrace;
+import speedith.core.reasoning.RuleApplicationType;
+import speedith.core.reasoning.args.SubDiagramIndexArg;
+import speedith.core.reasoning.rules.ImplicationTautology;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static speedith.core.lang.SpiderDiagrams.createCompoundSD;
+import static speedith.core.reasoning.util.unitary.TestSpiderDiagrams.DIAGRAM_SPEEDITH_PAPER_FIG7_2;
+
+public class IsabelleTheoryExporterTest {
+
+    private static final String FIG7_2_FORMULA = "(EX s1 s2. distinct[s1, s2] & s1 : -(C Un D) & s2 : (C - D) Un (C Int D) & C - D <= {s1, s2} & D - C <= {s1, s2})";
+
+    @Test
+    public void exporting_a_finished_proof_must_define_repeated_diagrams_once() throws Exception {
+        SpiderDiagram tautology = createCompoundSD(Operator.Implication, DIAGRAM_SPEEDITH_PAPER_FIG7_2, DIAGRAM_SPEEDITH_PAPER_FIG7_2);
+        ProofTrace proof = new ProofTrace(tautology);
+        proof.applyRule(new ImplicationTautology(), new SubDiagramIndexArg(0, 0), RuleApplicationType.INTERACTIVE, null);
+
+        String theory = new IsabelleTheoryExporter("Fig7").export(proof);
+
+        assertThat(theory, equalTo(
+                "theory Fig7\n" +
+                "imports Main\n" +
+                "begin\n\n" +
+                "locale Fig7_contours =\n" +
+                "  fixes C D :: \"'a set\"\n" +
+                "begin\n\n" +
+                "definition sd_1 :: bool where\n" +
+                "  \"sd_1 == " + FIG7_2_FORMULA + "\"\n\n" +
+                "lemmas sd_defs = sd_1_def\n\n" +
+                "(* " + new ImplicationTautology().getPrettyName() + " *)\n" +
+                "lemma step_0: \"(True) ==> ((sd_1 --> sd_1))\"\n" +
+                "  unfolding sd_defs by auto\n\n" +
+                "lemma proof_goal: \"(sd_1 --> sd_1)\"\n" +
+                "  apply (rule step_0)\n" +
+                "  apply (rule TrueI)\n" +
+                "  done\n\n" +
+                "end\n\n" +
+                "end\n"));
+    }
+
+    @Test
+    public void exporting_an_unfinished_proof_must_end_with_oops() throws Exception {
+        ProofTrace proof = new ProofTrace(DIAGRAM_SPEEDITH_PAPER_FIG7_2);
+
+        String theory = new IsabelleTheoryExporter("Fig7").export(proof);
+
+        assertThat(theory, equalTo(
+                "theory Fig7\n" +
+                "imports Main\n" +
+                "begin\n\n" +
+                "locale Fig7_contours =\n" +
+                "  fixes C D :: \"'a set\"\n" +
+                "begin\n\n" +
+                "lemma proof_goal: \"(" + FIG7_2_FORMULA + ")\"\n" +
+                "  oops\n\n" +
+                "end\n\n" +
+                "end\n"));
+    }
+}
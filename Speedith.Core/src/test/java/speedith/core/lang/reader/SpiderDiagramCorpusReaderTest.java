@@ -0,0 +1,103 @@
+package speedith.core.lang.reader;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import speedith.core.lang.SpiderDiagram;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static speedith.core.lang.reader.SpiderDiagramsReader.readSpiderDiagram;
+import static speedith.core.lang.reader.SpiderDiagramsReaderTest.*;
+
+public class SpiderDiagramCorpusReaderTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void readSpiderDiagram_should_return_the_appended_diagrams_in_order() throws Exception {
+        List<SpiderDiagram> diagrams = Arrays.asList(
+                readSpiderDiagram(SD_EXAMPLE_1),
+                readSpiderDiagram(SD_EXAMPLE_4),
+                readSpiderDiagram(SD_EXAMPLE_15),
+                readSpiderDiagram(SD_EXAMPLE_1));
+        File corpus = tempFolder.newFile("diagrams.sdc");
+        try (SpiderDiagramCorpusWriter writer = new SpiderDiagramCorpusWriter(corpus)) {
+            writer.appendAll(diagrams);
+        }
+
+        try (SpiderDiagramCorpusReader reader = new SpiderDiagramCorpusReader(corpus)) {
+            assertEquals(diagrams.size(), reader.size());
+            for (int i = 0; i < diagrams.size(); i++) {
+                assertEquals(diagrams.get(i), reader.readSpiderDiagram(i));
+            }
+        }
+    }
+
+    @Test
+    public void a_new_writer_should_append_to_an_existing_corpus() throws Exception {
+        File corpus = new File(tempFolder.getRoot(), "diagrams.sdc");
+        try (SpiderDiagramCorpusWriter writer = new SpiderDiagramCorpusWriter(corpus)) {
+            writer.append(readSpiderDiagram(SD_EXAMPLE_2));
+        }
+        try (SpiderDiagramCorpusWriter writer = new SpiderDiagramCorpusWriter(corpus)) {
+            writer.append(readSpiderDiagram(SD_EXAMPLE_3));
+        }
+
+        try (SpiderDiagramCorpusReader reader = new SpiderDiagramCorpusReader(corpus)) {
+            assertEquals(2, reader.size());
+            assertEquals(readSpiderDiagram(SD_EXAMPLE_2), reader.readSpiderDiagram(0));
+            assertEquals(readSpiderDiagram(SD_EXAMPLE_3), reader.readSpiderDiagram(1));
+        }
+    }
+
+    @Test(expected = ReadingException.class)
+    public void opening_a_file_without_the_corpus_header_should_fail() throws Exception {
+        File notACorpus = tempFolder.newFile("diagram.sd");
+        try (FileOutputStream out = new FileOutputStream(notACorpus)) {
+            out.write(SD_EXAMPLE_1.getBytes("UTF-8"));
+        }
+        new SpiderDiagramCorpusReader(notACorpus).close();
+    }
+
+    @Test
+    public void opening_a_writer_on_a_file_without_the_corpus_header_should_fail_and_leave_the_file_unchanged() throws Exception {
+        File notACorpus = tempFolder.newFile("diagram.sd");
+        byte[] content = SD_EXAMPLE_1.getBytes("UTF-8");
+        try (FileOutputStream out = new FileOutputStream(notACorpus)) {
+            out.write(content);
+        }
+        try {
+            new SpiderDiagramCorpusWriter(notACorpus).close();
+            fail();
+        } catch (ReadingException e) {
+            assertArrayEquals(content, Files.readAllBytes(notACorpus.toPath()));
+        }
+    }
+
+    @Test(expected = ReadingException.class)
+    public void opening_a_truncated_corpus_should_fail() throws Exception {
+        File corpus = tempFolder.newFile("diagrams.sdc");
+        try (SpiderDiagramCorpusWriter writer = new SpiderDiagramCorpusWriter(corpus)) {
+            writer.append(readSpiderDiagram(SD_EXAMPLE_1));
+        }
+        truncate(corpus, corpus.length() - 5);
+        new SpiderDiagramCorpusReader(corpus).close();
+    }
+
+    private static void truncate(File file, long length) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(length);
+        }
+    }
+}
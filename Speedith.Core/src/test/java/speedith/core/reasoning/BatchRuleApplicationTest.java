@@ -0,0 +1,58 @@
+package speedith.core.reasoning;
+
+import org.junit.Test;
+import speedith.core.lang.Operator;
+import speedith.core.lang.SpiderDiagram;
+import speedith.core.lang.Zone;
+import speedith.core.reasoning.args.MultipleRuleArgs;
+import speedith.core.reasoning.args.SubDiagramIndexArg;
+import speedith.core.reasoning.args.ZoneArg;
+import speedith.core.reasoning.rules.ImplicationTautology;
+import speedith.core.reasoning.rules.IntroShadedZone;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static speedith.core.lang.SpiderDiagrams.createCompoundSD;
+import static speedith.core.reasoning.util.unitary.TestSpiderDiagrams.EULER_DIAGRAM_A_SUBSET_B;
+import static speedith.core.reasoning.util.unitary.TestSpiderDiagrams.VENN_DIAGRAM_A_SUBSET_B;
+
+public class BatchRuleApplicationTest {
+
+    private static final Zone MissingZone = Zone.fromInContours("A").withOutContours("B");
+    private final Goals goals = Goals.createGoalsFrom(createCompoundSD(Operator.Conjunction, EULER_DIAGRAM_A_SUBSET_B, EULER_DIAGRAM_A_SUBSET_B));
+
+    @Test
+    public void applyAll_should_apply_all_inferences_in_one_pass() throws RuleApplicationException {
+        RuleApplicationResult result = BatchRuleApplication.applyAll(Arrays.asList(introShadedZone(1), introShadedZone(2)), goals);
+
+        SpiderDiagram expected = createCompoundSD(Operator.Conjunction, VENN_DIAGRAM_A_SUBSET_B, VENN_DIAGRAM_A_SUBSET_B);
+        assertEquals(expected, result.getGoals().getGoalAt(0));
+    }
+
+    @Test
+    public void applyAll_should_give_the_same_result_as_applying_the_inferences_one_after_another() throws RuleApplicationException {
+        InferenceApplication first = introShadedZone(2);
+        InferenceApplication second = introShadedZone(1);
+        Goals sequentialResult = second.applyTo(first.applyTo(goals).getGoals()).getGoals();
+
+        RuleApplicationResult result = BatchRuleApplication.applyAll(Arrays.asList(first, second), goals);
+
+        assertEquals(sequentialResult.getGoals(), result.getGoals().getGoals());
+    }
+
+    @Test(expected = RuleApplicationException.class)
+    public void applyAll_should_throw_an_exception_when_two_inferences_have_the_same_target() throws RuleApplicationException {
+        BatchRuleApplication.applyAll(Arrays.asList(introShadedZone(1), introShadedZone(1)), goals);
+    }
+
+    @Test(expected = RuleApplicationException.class)
+    public void applyAll_should_throw_an_exception_when_an_inference_is_not_a_transformer_rule() throws RuleApplicationException {
+        InferenceApplication tautology = new InferenceApplication(new ImplicationTautology(), new SubDiagramIndexArg(0, 0), RuleApplicationType.INTERACTIVE, null);
+        BatchRuleApplication.applyAll(Arrays.asList(introShadedZone(1), tautology), goals);
+    }
+
+    private static InferenceApplication introShadedZone(int subDiagramIndex) {
+        return new InferenceApplication(new IntroShadedZone(), new MultipleRuleArgs(new ZoneArg(0, subDiagramIndex, MissingZone)), RuleApplicationType.TACTIC, null);
+    }
+}
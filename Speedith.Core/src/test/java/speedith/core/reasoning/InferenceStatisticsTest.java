@@ -0,0 +1,124 @@
+package speedith.core.reasoning;
+
+import org.junit.Before;
+import org.junit.Test;
+import speedith.core.lang.Operator;
+import speedith.core.lang.SpiderDiagram;
+import speedith.core.lang.Zone;
+import speedith.core.reasoning.args.MultipleRuleArgs;
+import speedith.core.reasoning.args.SubDiagramIndexArg;
+import speedith.core.reasoning.args.ZoneArg;
+import speedith.core.reasoning.rules.ImplicationTautology;
+import speedith.core.reasoning.rules.IntroShadedZone;
+
+import java.io.StringWriter;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+import static speedith.core.lang.SpiderDiagrams.createCompoundSD;
+import static speedith.core.reasoning.Goals.createGoalsFrom;
+import static speedith.core.reasoning.util.unitary.TestSpiderDiagrams.DIAGRAM_SPEEDITH_PAPER_FIG7_2;
+import static speedith.core.reasoning.util.unitary.TestSpiderDiagrams.DIAGRAM_SPEEDITH_PAPER_FIG7_3;
+import static speedith.core.reasoning.util.unitary.TestSpiderDiagrams.EULER_DIAGRAM_A_SUBSET_B;
+
+public class InferenceStatisticsTest {
+
+    private final SpiderDiagram tautology = createCompoundSD(Operator.Implication, DIAGRAM_SPEEDITH_PAPER_FIG7_2, DIAGRAM_SPEEDITH_PAPER_FIG7_2);
+    private final SpiderDiagram nonTautology = createCompoundSD(Operator.Implication, DIAGRAM_SPEEDITH_PAPER_FIG7_2, DIAGRAM_SPEEDITH_PAPER_FIG7_3);
+    private final ImplicationTautology rule = new ImplicationTautology();
+    private InferenceStatistics statistics;
+
+    @Before
+    public void setUp() {
+        statistics = new InferenceStatistics();
+        statistics.setEnabled(true);
+    }
+
+    @Test
+    public void apply_should_count_successful_and_failed_applications() throws Exception {
+        statistics.apply(rule, new SubDiagramIndexArg(0, 0), createGoalsFrom(tautology));
+        try {
+            statistics.apply(rule, new SubDiagramIndexArg(0, 0), createGoalsFrom(nonTautology));
+            fail("The rule should not be applicable to an implication of different diagrams.");
+        } catch (Exception e) {
+            // Expected.
+        }
+
+        InferenceStatistics.Entry entry = statistics.getEntry(rule.getInferenceName());
+        assertEquals(2, entry.getInvocations());
+        assertEquals(1, entry.getFailures());
+        assertTrue(entry.getTotalNanos() >= entry.getMaxNanos());
+        long histogramTotal = 0;
+        for (long count : entry.getLatencyHistogram()) {
+            histogramTotal += count;
+        }
+        assertEquals(2, histogramTotal);
+    }
+
+    @Test
+    public void apply_should_not_record_anything_when_disabled() throws Exception {
+        statistics.setEnabled(false);
+        statistics.apply(rule, new SubDiagramIndexArg(0, 0), createGoalsFrom(tautology));
+        assertTrue(statistics.getEntries().isEmpty());
+    }
+
+    @Test
+    public void applyAll_should_count_every_application_of_a_batch() throws Exception {
+        Goals goals = createGoalsFrom(createCompoundSD(Operator.Conjunction, EULER_DIAGRAM_A_SUBSET_B, EULER_DIAGRAM_A_SUBSET_B));
+        Zone missingZone = Zone.fromInContours("A").withOutContours("B");
+        IntroShadedZone introShadedZone = new IntroShadedZone();
+
+        statistics.applyAll(Arrays.asList(
+                new InferenceApplication(introShadedZone, new MultipleRuleArgs(new ZoneArg(0, 1, missingZone)), RuleApplicationType.TACTIC, null),
+                new InferenceApplication(introShadedZone, new MultipleRuleArgs(new ZoneArg(0, 2, missingZone)), RuleApplicationType.TACTIC, null)
+        ), goals);
+
+        InferenceStatistics.Entry entry = statistics.getEntry(introShadedZone.getInferenceName());
+        assertEquals(2, entry.getInvocations());
+        assertEquals(0, entry.getFailures());
+        long histogramTotal = 0;
+        for (long count : entry.getLatencyHistogram()) {
+            histogramTotal += count;
+        }
+        assertEquals(2, histogramTotal);
+    }
+
+    @Test
+    public void record_should_count_applications_measured_together() {
+        statistics.record("a", 4, 4000, 400, true);
+        InferenceStatistics.Entry entry = statistics.getEntry("a");
+        assertEquals(4, entry.getInvocations());
+        assertEquals(4, entry.getFailures());
+        assertEquals(4000, entry.getTotalNanos());
+        assertEquals(1000, entry.getMaxNanos());
+        assertEquals(400, entry.getAllocatedBytes());
+        assertEquals(4, entry.getLatencyHistogram()[1]);
+    }
+
+    @Test
+    public void record_should_report_unmeasured_allocations_as_negative() {
+        statistics.record("a", 10, 100, false);
+        statistics.record("b", 10, 100, false);
+        statistics.record("b", 10, -1, false);
+        assertEquals(100, statistics.getEntry("a").getAllocatedBytes());
+        assertEquals(-1, statistics.getEntry("b").getAllocatedBytes());
+    }
+
+    @Test
+    public void writeJson_and_writeCsv_should_write_one_record_per_inference() throws Exception {
+        statistics.record("a", 1500, 100, false);
+        statistics.record("b, \"quoted\"", 10, -1, true);
+
+        StringWriter json = new StringWriter();
+        statistics.writeJson(json);
+        assertTrue(json.toString().startsWith("[\n  {\"inference\": \"a\", \"invocations\": 1, \"failures\": 0, \"totalNanos\": 1500"));
+        assertTrue(json.toString().contains("\"b, \\\"quoted\\\"\""));
+
+        StringWriter csv = new StringWriter();
+        statistics.writeCsv(csv);
+        String[] lines = csv.toString().split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[1].startsWith("a,1,0,1500,1500,100,0,1,0"));
+        assertTrue(lines[2].startsWith("\"b, \"\"quoted\"\"\",1,1,10,10,-1,1,0"));
+    }
+}
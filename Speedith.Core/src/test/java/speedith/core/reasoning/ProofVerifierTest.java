@@ -0,0 +1,97 @@
+package speedith.core.reasoning;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import speedith.core.lang.Operator;
+import speedith.core.lang.SpiderDiagram;
+import speedith.core.reasoning.ProofVerificationReport.StepStatus;
+import speedith.core.reasoning.args.SubDiagramIndexArg;
+import speedith.core.reasoning.rules.ImplicationTautology;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.*;
+import static speedith.core.lang.SpiderDiagrams.createCompoundSD;
+import static speedith.core.reasoning.Goals.createGoalsFrom;
+import static speedith.core.reasoning.util.unitary.TestSpiderDiagrams.DIAGRAM_SPEEDITH_PAPER_FIG7_2;
+import static speedith.core.reasoning.util.unitary.TestSpiderDiagrams.DIAGRAM_SPEEDITH_PAPER_FIG7_3;
+
+public class ProofVerifierTest {
+
+    private final SpiderDiagram tautology = createCompoundSD(Operator.Implication, DIAGRAM_SPEEDITH_PAPER_FIG7_2, DIAGRAM_SPEEDITH_PAPER_FIG7_2);
+    private final InferenceApplication implicationTautology = new InferenceApplication(new ImplicationTautology(), new SubDiagramIndexArg(0, 0), RuleApplicationType.INTERACTIVE, null);
+    private ExecutorService executor;
+    private ProofVerifier verifier;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+        verifier = new ProofVerifier(executor);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void verify_should_accept_a_correct_proof() throws Exception {
+        ProofTrace proof = new ProofTrace(tautology);
+        proof.applyRule(new ImplicationTautology(), new SubDiagramIndexArg(0, 0), RuleApplicationType.INTERACTIVE, null);
+
+        ProofVerificationReport report = verifier.verify(proof);
+
+        assertTrue(report.isValid());
+        assertEquals(1, report.getSteps().size());
+    }
+
+    @Test
+    public void verify_should_report_a_step_whose_stored_goals_differ() throws Exception {
+        ProofTrace proof = proofWithSteps(
+                createGoalsFrom(tautology),
+                createGoalsFrom(DIAGRAM_SPEEDITH_PAPER_FIG7_2));
+
+        ProofVerificationReport report = verifier.verify(proof);
+
+        assertFalse(report.isValid());
+        assertEquals(StepStatus.Mismatch, report.getSteps().get(0).getStatus());
+    }
+
+    @Test
+    public void verify_should_report_a_step_that_cannot_be_applied() throws Exception {
+        ProofTrace proof = proofWithSteps(
+                createGoalsFrom(createCompoundSD(Operator.Implication, DIAGRAM_SPEEDITH_PAPER_FIG7_2, DIAGRAM_SPEEDITH_PAPER_FIG7_3)),
+                createGoalsFrom(new ArrayList<SpiderDiagram>()));
+
+        ProofVerificationReport report = verifier.verify(proof);
+
+        assertEquals(StepStatus.Failed, report.getSteps().get(0).getStatus());
+        assertNotNull(report.getSteps().get(0).getFailure());
+    }
+
+    @Test
+    public void verifyAll_should_return_one_report_per_proof_in_order() throws Exception {
+        ProofTrace valid = new ProofTrace(tautology);
+        valid.applyRule(new ImplicationTautology(), new SubDiagramIndexArg(0, 0), RuleApplicationType.INTERACTIVE, null);
+        ProofTrace invalid = proofWithSteps(
+                createGoalsFrom(tautology),
+                createGoalsFrom(tautology));
+
+        List<ProofVerificationReport> reports = verifier.verifyAll(Arrays.asList(valid, invalid, valid));
+
+        assertEquals(3, reports.size());
+        assertTrue(reports.get(0).isValid());
+        assertFalse(reports.get(1).isValid());
+        assertTrue(reports.get(2).isValid());
+        assertSame(invalid, reports.get(1).getProof());
+    }
+
+    private ProofTrace proofWithSteps(Goals before, Goals after) {
+        return new ProofTrace(Arrays.asList(before, after), Arrays.asList(implicationTautology));
+    }
+}
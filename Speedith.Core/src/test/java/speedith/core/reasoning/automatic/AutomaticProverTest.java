@@ -0,0 +1,143 @@
+package speedith.core.reasoning.automatic;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import speedith.core.lang.*;
+import speedith.core.reasoning.*;
+import speedith.core.reasoning.automatic.strategies.NoStrategy;
+import speedith.core.reasoning.rules.SplitConjunction;
+import speedith.core.reasoning.rules.TrivialImplicationTautology;
+import speedith.core.reasoning.tactical.TacticApplicationException;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.*;
+import static speedith.core.reasoning.util.unitary.TestSpiderDiagrams.*;
+
+public class AutomaticProverTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private static final PrimarySpiderDiagram AInB = subset("A", "B");
+    private static final PrimarySpiderDiagram BInC = subset("B", "C");
+
+    @Test
+    public void generateProof_should_prove_the_conjuncts_of_the_conclusion_and_combine_their_proofs() throws Exception {
+        Goals goal = Goals.createGoalsFrom(implication(AInB, and(AInB, and(AInB, AInB))));
+
+        Proof proof = new TautologyProver().generateProof(goal);
+
+        assertTrue(proof.isFinished());
+        assertEquals(5, proof.getInferenceApplicationCount());
+        assertTrue(proof.getInferenceApplicationAt(0).getInference() instanceof SplitConjunction);
+        assertTrue(proof.getInferenceApplicationAt(1).getInference() instanceof SplitConjunction);
+        for (int i = 2; i < 5; i++) {
+            assertTrue(proof.getInferenceApplicationAt(i).getInference() instanceof TrivialImplicationTautology);
+        }
+        assertTrue(ProofVerifier.verifyInParallel(proof).isValid());
+    }
+
+    @Test
+    public void generateProof_should_prove_the_conjuncts_on_the_given_executor() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            TautologyProver prover = new TautologyProver();
+            prover.setSubgoalExecutor(executor);
+
+            Proof proof = prover.generateProof(Goals.createGoalsFrom(implication(AInB, and(AInB, AInB))));
+
+            assertTrue(proof.isFinished());
+            assertTrue(ProofVerifier.verifyInParallel(proof).isValid());
+            assertFalse(executor.isShutdown());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void generateProof_should_prove_the_conjuncts_when_called_from_the_only_thread_of_the_given_executor() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final TautologyProver prover = new TautologyProver();
+            prover.setSubgoalExecutor(executor);
+
+            Proof proof = executor.submit(new Callable<Proof>() {
+                @Override
+                public Proof call() throws Exception {
+                    return prover.generateProof(Goals.createGoalsFrom(implication(AInB, and(AInB, AInB))));
+                }
+            }).get();
+
+            assertTrue(proof.isFinished());
+            assertTrue(ProofVerifier.verifyInParallel(proof).isValid());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test(expected = AutomaticProofException.class)
+    public void generateProof_should_fail_if_any_conjunct_of_the_conclusion_cannot_be_proved() throws Exception {
+        TautologyProver prover = new TautologyProver();
+        prover.setCounterModelFinder(null);
+
+        prover.generateProof(Goals.createGoalsFrom(implication(AInB, and(AInB, BInC))));
+    }
+
+    @Test
+    public void generateProof_should_not_search_for_a_counter_model_of_a_cached_goal() throws Exception {
+        Goals goal = Goals.createGoalsFrom(implication(AInB, AInB));
+        TautologyProver prover = new TautologyProver();
+        prover.setProofCache(new ProofCache(tempFolder.getRoot()));
+        prover.generateProof(goal);
+        prover.setCounterModelFinder(new CounterModelFinder() {
+            @Override
+            public CounterModel findCounterModel(SpiderDiagram goal) {
+                throw new AssertionError("The goal is in the proof cache.");
+            }
+        });
+
+        Proof proof = prover.generateProof(goal);
+
+        assertTrue(proof.isFinished());
+    }
+
+    /**
+     * Proves only goals whose conclusion is syntactically equal to their
+     * premise, so that the tests do not depend on a search.
+     */
+    private static class TautologyProver extends AutomaticProver {
+
+        TautologyProver() {
+            super(new NoStrategy());
+        }
+
+        @Override
+        protected Proof prove(Proof p, int subgoalindex) throws RuleApplicationException, TacticApplicationException {
+            return tryToFinish(p, subgoalindex);
+        }
+
+        @Override
+        public AutomaticProver getAutomaticProver() {
+            return this;
+        }
+
+        @Override
+        public String getAutomaticProverName() {
+            return "tautology";
+        }
+
+        @Override
+        public String getDescription() {
+            return "Proves tautologies only.";
+        }
+
+        @Override
+        public String getPrettyName() {
+            return "Tautology";
+        }
+    }
+}
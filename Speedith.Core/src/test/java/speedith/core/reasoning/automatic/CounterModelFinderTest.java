@@ -0,0 +1,86 @@
+package speedith.core.reasoning.automatic;
+
+import org.junit.Test;
+import speedith.core.lang.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeMap;
+
+import static org.junit.Assert.*;
+import static speedith.core.lang.SpiderDiagrams.createCompoundSD;
+import static speedith.core.lang.SpiderDiagrams.createPrimarySD;
+
+public class CounterModelFinderTest {
+
+    private static final Zone ZoneA = Zone.fromInContours("A").withOutContours("B");
+    private static final Zone ZoneB = Zone.fromInContours("B").withOutContours("A");
+    private static final Zone ZoneAB = Zone.fromInContours("A", "B");
+    private static final Zone ZoneOut = Zone.fromOutContours("A", "B");
+    private static final List<Zone> AllZones = Arrays.asList(ZoneA, ZoneB, ZoneAB, ZoneOut);
+
+    private final CounterModelFinder finder = new CounterModelFinder();
+
+    @Test
+    public void findCounterModel_should_not_find_a_counter_model_of_a_valid_euler_goal() {
+        PrimarySpiderDiagram aInB = eulerDiagram(ZoneA);
+        PrimarySpiderDiagram disjoint = eulerDiagram(ZoneAB);
+        SpiderDiagram goal = createCompoundSD(Operator.Implication, createCompoundSD(Operator.Conjunction, aInB, disjoint), eulerDiagram(ZoneA, ZoneAB));
+        assertNull(finder.findCounterModel(goal));
+    }
+
+    @Test
+    public void findCounterModel_should_find_an_element_in_a_zone_shaded_only_in_the_conclusion() {
+        SpiderDiagram goal = createCompoundSD(Operator.Implication, eulerDiagram(ZoneA), eulerDiagram(ZoneB));
+        CounterModel counterModel = finder.findCounterModel(goal);
+        assertNotNull(counterModel);
+        assertEquals(Arrays.asList(ZoneB), counterModel.getElements());
+    }
+
+    @Test
+    public void findCounterModel_should_find_counter_models_of_goals_with_many_contours() {
+        String[] contours = new String[40];
+        for (int i = 0; i < contours.length; i++) {
+            contours[i] = "C" + i;
+        }
+        Zone allOutside = Zone.fromOutContours(contours);
+        PrimarySpiderDiagram premise = createPrimarySD(null, null, Collections.<Zone>emptyList(), Arrays.asList(allOutside));
+        PrimarySpiderDiagram conclusion = createPrimarySD(null, null, Arrays.asList(allOutside), null);
+        CounterModel counterModel = finder.findCounterModel(createCompoundSD(Operator.Implication, premise, conclusion));
+        assertNotNull(counterModel);
+        assertEquals(Arrays.asList(allOutside), counterModel.getElements());
+    }
+
+    @Test
+    public void findCounterModel_should_not_find_a_counter_model_of_a_valid_spider_goal() {
+        PrimarySpiderDiagram spiderInA = spiderDiagram(new Region(ZoneA, ZoneAB));
+        PrimarySpiderDiagram spiderAnywhere = spiderDiagram(new Region(AllZones));
+        assertNull(finder.findCounterModel(createCompoundSD(Operator.Implication, spiderInA, spiderAnywhere)));
+    }
+
+    @Test
+    public void findCounterModel_should_find_a_counter_model_of_a_spider_goal() {
+        PrimarySpiderDiagram spiderInA = spiderDiagram(new Region(ZoneA, ZoneAB));
+        PrimarySpiderDiagram spiderInB = spiderDiagram(new Region(ZoneB, ZoneAB));
+        CounterModel counterModel = finder.findCounterModel(createCompoundSD(Operator.Implication, spiderInA, spiderInB));
+        assertNotNull(counterModel);
+        assertEquals(Arrays.asList(ZoneA), counterModel.getElements());
+    }
+
+    @Test
+    public void findCounterModel_should_ignore_goals_that_are_not_implications() {
+        assertNull(finder.findCounterModel(eulerDiagram(ZoneA)));
+        assertNull(finder.findCounterModel(createCompoundSD(Operator.Disjunction, eulerDiagram(ZoneA), eulerDiagram(ZoneB))));
+    }
+
+    private static PrimarySpiderDiagram eulerDiagram(Zone... shadedZones) {
+        return createPrimarySD(null, null, Arrays.asList(shadedZones), AllZones);
+    }
+
+    private static PrimarySpiderDiagram spiderDiagram(Region habitat) {
+        TreeMap<String, Region> habitats = new TreeMap<>();
+        habitats.put("s", habitat);
+        return createPrimarySD(Arrays.asList("s"), habitats, null, AllZones);
+    }
+}
@@ -0,0 +1,76 @@
+package speedith.core.reasoning.automatic;
+
+import org.junit.Test;
+import speedith.core.lang.*;
+import speedith.core.reasoning.Proof;
+import speedith.core.reasoning.ProofTrace;
+
+import java.util.Arrays;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static speedith.core.lang.SpiderDiagrams.createValidPrimarySD;
+import static speedith.core.reasoning.util.unitary.TestSpiderDiagrams.*;
+
+public class PremiseFilterTest {
+
+    private static final PrimarySpiderDiagram AInB = subset("A", "B");
+    private static final PrimarySpiderDiagram BInC = subset("B", "C");
+    private static final PrimarySpiderDiagram AInC = subset("A", "C");
+    private static final PrimarySpiderDiagram DInE = subset("D", "E");
+    private static final PrimarySpiderDiagram EInF = subset("E", "F");
+
+    private final PremiseFilter filter = new PremiseFilter();
+
+    @Test
+    public void removeIrrelevantPremises_should_eliminate_conjuncts_that_share_no_contours_with_the_conclusion() throws Exception {
+        Proof proof = new ProofTrace(implication(and(AInB, and(DInE, BInC)), AInC));
+        assertEquals(1, filter.removeIrrelevantPremises(proof, 0, "test"));
+        assertEquals(implication(and(AInB, BInC), AInC), proof.getLastGoals().getGoalAt(0));
+        assertEquals(1, proof.getInferenceApplicationCount());
+    }
+
+    @Test
+    public void removeIrrelevantPremises_should_eliminate_groups_of_conjuncts_that_share_contours_only_with_each_other() throws Exception {
+        Proof proof = new ProofTrace(implication(and(and(DInE, EInF), AInB), AInB));
+        assertEquals(1, filter.removeIrrelevantPremises(proof, 0, "test"));
+        assertEquals(implication(AInB, AInB), proof.getLastGoals().getGoalAt(0));
+    }
+
+    @Test
+    public void removeIrrelevantPremises_should_keep_conjuncts_that_share_contours_with_the_conclusion() throws Exception {
+        assertKeepsAllPremises(implication(and(AInB, BInC), BInC));
+    }
+
+    @Test
+    public void removeIrrelevantPremises_should_keep_conjuncts_connected_to_the_conclusion_through_other_conjuncts() throws Exception {
+        assertKeepsAllPremises(implication(and(BInC, AInB), AInB));
+    }
+
+    @Test
+    public void removeIrrelevantPremises_should_keep_conjuncts_with_spiders() throws Exception {
+        TreeMap<String, Region> habitats = new TreeMap<>();
+        habitats.put("s", new Region(Zone.fromInContours("D").withOutContours("E")));
+        PrimarySpiderDiagram spiderInD = createValidPrimarySD(Arrays.asList("s"), habitats, null, Arrays.asList(Zone.fromOutContours("D", "E")));
+        assertKeepsAllPremises(implication(and(spiderInD, AInB), AInB));
+    }
+
+    @Test
+    public void removeIrrelevantPremises_should_keep_conjuncts_that_shade_all_their_zones() throws Exception {
+        PrimarySpiderDiagram emptyD = createValidPrimarySD(null, null, Arrays.asList(Zone.fromInContours("D"), Zone.fromOutContours("D")), Arrays.asList(Zone.fromOutContours("D")));
+        assertKeepsAllPremises(implication(and(emptyD, AInB), AInB));
+    }
+
+    @Test
+    public void removeIrrelevantPremises_should_keep_groups_that_jointly_shade_all_their_zones() throws Exception {
+        PrimarySpiderDiagram emptyD = createValidPrimarySD(null, null, Arrays.asList(Zone.fromInContours("D")), Arrays.asList(Zone.fromOutContours("D")));
+        PrimarySpiderDiagram fullD = createValidPrimarySD(null, null, Arrays.asList(Zone.fromOutContours("D")), Arrays.asList(Zone.fromOutContours("D")));
+        assertKeepsAllPremises(implication(and(AInB, and(emptyD, fullD)), AInB));
+    }
+
+    private void assertKeepsAllPremises(SpiderDiagram goal) throws Exception {
+        Proof proof = new ProofTrace(goal);
+        assertEquals(0, filter.removeIrrelevantPremises(proof, 0, "test"));
+        assertEquals(goal, proof.getLastGoals().getGoalAt(0));
+    }
+}
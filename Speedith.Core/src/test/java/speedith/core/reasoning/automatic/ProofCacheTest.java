@@ -0,0 +1,111 @@
+package speedith.core.reasoning.automatic;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import speedith.core.lang.Operator;
+import speedith.core.reasoning.Goals;
+import speedith.core.reasoning.Proof;
+import speedith.core.reasoning.ProofTrace;
+import speedith.core.reasoning.RuleApplicationType;
+import speedith.core.reasoning.args.SubDiagramIndexArg;
+import speedith.core.reasoning.rules.ImplicationTautology;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+import static speedith.core.lang.SpiderDiagrams.createCompoundSD;
+import static speedith.core.reasoning.Goals.createGoalsFrom;
+import static speedith.core.reasoning.util.unitary.TestSpiderDiagrams.DIAGRAM_SPEEDITH_PAPER_FIG7_2;
+
+public class ProofCacheTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private final Goals tautology = createGoalsFrom(createCompoundSD(Operator.Implication, DIAGRAM_SPEEDITH_PAPER_FIG7_2, DIAGRAM_SPEEDITH_PAPER_FIG7_2));
+
+    @Test
+    public void lookup_should_return_a_replayed_copy_of_a_stored_proof() throws Exception {
+        ProofCache cache = new ProofCache(tempFolder.getRoot());
+        Proof proof = proveTautology();
+
+        cache.store(proof);
+        Proof cached = new ProofCache(tempFolder.getRoot()).lookup(tautology);
+
+        assertNotNull(cached);
+        assertTrue(cached.isFinished());
+        assertEquals(proof.getGoals(), cached.getGoals());
+    }
+
+    @Test
+    public void lookup_should_miss_for_goals_that_were_never_stored() throws Exception {
+        ProofCache cache = new ProofCache(tempFolder.getRoot());
+        cache.store(proveTautology());
+
+        assertNull(cache.lookup(createGoalsFrom(DIAGRAM_SPEEDITH_PAPER_FIG7_2)));
+    }
+
+    @Test
+    public void lookup_should_miss_for_corrupt_entries() throws Exception {
+        ProofCache cache = new ProofCache(tempFolder.getRoot());
+        try (FileOutputStream out = new FileOutputStream(entryFile())) {
+            out.write(new byte[]{1, 2, 3});
+        }
+
+        assertNull(cache.lookup(tautology));
+    }
+
+    @Test
+    public void store_should_write_the_proof_in_a_textual_form() throws Exception {
+        ProofCache cache = new ProofCache(tempFolder.getRoot());
+        cache.store(proveTautology());
+
+        String entry = readEntry();
+
+        assertTrue(entry.startsWith("SPEEDITH_PROOF_CACHE 1\n"));
+        assertTrue(entry.contains("step AUTOMATIC null rule \"" + ImplicationTautology.InferenceRuleName + "\" subdiagram 0 0\n"));
+    }
+
+    @Test
+    public void lookup_should_miss_for_entries_that_refer_to_unknown_inferences() throws Exception {
+        ProofCache cache = new ProofCache(tempFolder.getRoot());
+        cache.store(proveTautology());
+        String entry = readEntry().replace(ImplicationTautology.InferenceRuleName, "unknown_inference");
+        Files.write(entryFile().toPath(), entry.getBytes(Charset.forName("UTF-8")));
+
+        assertNull(cache.lookup(tautology));
+    }
+
+    @Test(expected = IOException.class)
+    public void store_should_fail_for_inferences_that_are_not_registered() throws Exception {
+        ProofCache cache = new ProofCache(tempFolder.getRoot());
+        ProofTrace proof = new ProofTrace(tautology);
+        proof.applyRule(new ImplicationTautology() {
+            @Override
+            public String getInferenceName() {
+                return "unregistered_inference";
+            }
+        }, new SubDiagramIndexArg(0, 0), RuleApplicationType.AUTOMATIC, null);
+
+        cache.store(proof);
+    }
+
+    private Proof proveTautology() throws Exception {
+        ProofTrace proof = new ProofTrace(tautology);
+        proof.applyRule(new ImplicationTautology(), new SubDiagramIndexArg(0, 0), RuleApplicationType.AUTOMATIC, null);
+        return proof;
+    }
+
+    private File entryFile() {
+        return new File(tempFolder.getRoot(), ProofCache.keyOf(tautology) + ".proof");
+    }
+
+    private String readEntry() throws IOException {
+        return new String(Files.readAllBytes(entryFile().toPath()), Charset.forName("UTF-8"));
+    }
+}
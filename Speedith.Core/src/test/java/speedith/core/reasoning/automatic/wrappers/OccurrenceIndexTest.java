@@ -0,0 +1,90 @@
+package speedith.core.reasoning.automatic.wrappers;
+
+import org.junit.Test;
+import speedith.core.lang.Operator;
+import speedith.core.lang.SpiderDiagram;
+
+import static org.junit.Assert.*;
+import static speedith.core.lang.SpiderDiagrams.createCompoundSD;
+import static speedith.core.reasoning.util.unitary.TestSpiderDiagrams.*;
+
+public class OccurrenceIndexTest {
+
+    private final OccurrenceIndex index = new OccurrenceIndex();
+
+    @Test
+    public void occurrenceOf_should_return_the_same_occurrence_for_equal_diagrams() {
+        SpiderDiagram goal = createCompoundSD(Operator.Implication, DIAGRAM_SPEEDITH_PAPER_FIG7_1, DIAGRAM_SPEEDITH_PAPER_FIG7_2);
+
+        SpiderDiagramOccurrence occurrence = index.occurrenceOf(goal, 0);
+
+        assertSame(occurrence, index.occurrenceOf(goal, 0));
+        assertEquals(SpiderDiagramOccurrence.wrapDiagram(goal, 0), occurrence);
+    }
+
+    @Test
+    public void occurrenceOf_should_reuse_the_occurrences_of_unchanged_operands() {
+        SpiderDiagram goal = createCompoundSD(Operator.Implication, DIAGRAM_SPEEDITH_PAPER_FIG7_1, DIAGRAM_SPEEDITH_PAPER_FIG7_2);
+        SpiderDiagram changedGoal = createCompoundSD(Operator.Implication, DIAGRAM_SPEEDITH_PAPER_FIG7_3, DIAGRAM_SPEEDITH_PAPER_FIG7_2);
+
+        CompoundSpiderDiagramOccurrence occurrence = (CompoundSpiderDiagramOccurrence) index.occurrenceOf(goal, 0);
+        CompoundSpiderDiagramOccurrence changedOccurrence = (CompoundSpiderDiagramOccurrence) index.occurrenceOf(changedGoal, 0);
+
+        assertSame(occurrence.getOperand(1), changedOccurrence.getOperand(1));
+        assertEquals(2, changedOccurrence.getOperand(1).getOccurrenceIndex());
+    }
+
+    @Test
+    public void occurrenceOf_should_distinguish_occurrence_indices() {
+        SpiderDiagram goal = createCompoundSD(Operator.Conjunction, DIAGRAM_SPEEDITH_PAPER_FIG7_1, DIAGRAM_SPEEDITH_PAPER_FIG7_1);
+
+        CompoundSpiderDiagramOccurrence occurrence = (CompoundSpiderDiagramOccurrence) index.occurrenceOf(goal, 0);
+
+        assertEquals(1, occurrence.getOperand(0).getOccurrenceIndex());
+        assertEquals(2, occurrence.getOperand(1).getOccurrenceIndex());
+    }
+
+    @Test
+    public void occurrenceOf_should_not_share_occurrences_between_indices() {
+        SpiderDiagram goal = createCompoundSD(Operator.Implication, DIAGRAM_SPEEDITH_PAPER_FIG7_1, DIAGRAM_SPEEDITH_PAPER_FIG7_2);
+
+        SpiderDiagramOccurrence occurrence = index.occurrenceOf(goal, 0);
+        SpiderDiagramOccurrence otherOccurrence = new OccurrenceIndex().occurrenceOf(goal, 0);
+
+        assertNotSame(occurrence, otherOccurrence);
+        assertEquals(occurrence, otherOccurrence);
+    }
+
+    @Test
+    public void setCurrent_should_bind_the_index_to_the_current_thread_and_return_the_previous_one() throws Exception {
+        OccurrenceIndex previous = OccurrenceIndex.setCurrent(index);
+        try {
+            assertSame(index, OccurrenceIndex.getCurrent());
+            final OccurrenceIndex[] otherThreadIndex = {index};
+            Thread otherThread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    otherThreadIndex[0] = OccurrenceIndex.getCurrent();
+                }
+            });
+            otherThread.start();
+            otherThread.join();
+            assertNull(otherThreadIndex[0]);
+        } finally {
+            assertSame(index, OccurrenceIndex.setCurrent(previous));
+        }
+        assertSame(previous, OccurrenceIndex.getCurrent());
+    }
+
+    @Test
+    public void cachePredicateResult_should_store_the_result_per_predicate() {
+        SpiderDiagramOccurrence occurrence = index.occurrenceOf(DIAGRAM_SPEEDITH_PAPER_FIG7_5, 3);
+        Object predicate = new Object();
+
+        assertNull(occurrence.getCachedPredicateResult(predicate));
+        occurrence.cachePredicateResult(predicate, true);
+
+        assertEquals(Boolean.TRUE, occurrence.getCachedPredicateResult(predicate));
+        assertNull(occurrence.getCachedPredicateResult(new Object()));
+    }
+}
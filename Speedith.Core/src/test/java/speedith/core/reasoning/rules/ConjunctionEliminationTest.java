@@ -0,0 +1,44 @@
+package speedith.core.reasoning.rules;
+
+import org.junit.Test;
+import speedith.core.lang.Operator;
+import speedith.core.lang.SpiderDiagram;
+import speedith.core.reasoning.Goals;
+import speedith.core.reasoning.args.MultipleRuleArgs;
+import speedith.core.reasoning.args.SubDiagramIndexArg;
+import speedith.core.reasoning.args.SubgoalIndexArg;
+
+import static org.junit.Assert.*;
+import static speedith.core.lang.SpiderDiagrams.createCompoundSD;
+import static speedith.core.reasoning.util.unitary.TestSpiderDiagrams.EULER_DIAGRAM_A_SUBSET_B;
+import static speedith.core.reasoning.util.unitary.TestSpiderDiagrams.VENN_DIAGRAM_A_SUBSET_B;
+
+public class ConjunctionEliminationTest {
+
+    private final ConjunctionElimination rule = new ConjunctionElimination();
+    private final SpiderDiagram conjunction = createCompoundSD(Operator.Conjunction, EULER_DIAGRAM_A_SUBSET_B, VENN_DIAGRAM_A_SUBSET_B);
+    private final Goals goals = Goals.createGoalsFrom(createCompoundSD(Operator.Implication, conjunction, conjunction));
+
+    @Test
+    public void isApplicable_should_reject_a_conjunction_in_a_conclusion() {
+        MultipleRuleArgs args = new MultipleRuleArgs(new SubDiagramIndexArg(0, 4), new SubDiagramIndexArg(0, 5));
+
+        assertFalse(rule.isApplicable(args, goals));
+    }
+
+    @Test
+    public void isApplicable_should_reject_targets_that_are_not_conjunctions() {
+        assertFalse(rule.isApplicable(new MultipleRuleArgs(new SubDiagramIndexArg(0, 0), new SubDiagramIndexArg(0, 1)), goals));
+        assertFalse(rule.isApplicable(new MultipleRuleArgs(new SubDiagramIndexArg(0, 2), new SubDiagramIndexArg(0, 3)), goals));
+    }
+
+    @Test
+    public void isApplicable_should_reject_invalid_arguments() {
+        assertFalse(rule.isApplicable(null, goals));
+        assertFalse(rule.isApplicable(new SubDiagramIndexArg(0, 1), goals));
+        assertFalse(rule.isApplicable(new MultipleRuleArgs(new SubDiagramIndexArg(0, 1)), goals));
+        assertFalse(rule.isApplicable(new MultipleRuleArgs(new SubDiagramIndexArg(0, 1), new SubgoalIndexArg(0)), goals));
+        assertFalse(rule.isApplicable(new MultipleRuleArgs(new SubDiagramIndexArg(0, 7), new SubDiagramIndexArg(0, 8)), goals));
+        assertFalse(rule.isApplicable(new MultipleRuleArgs(new SubDiagramIndexArg(0, 1), new SubDiagramIndexArg(0, 3)), null));
+    }
+}
@@ -99,4 +99,22 @@ public class IntroContourTest {
                 equalTo(expectedResult));
 
     }
+
+    @Test
+    public void isApplicable_should_reject_contours_that_are_in_the_target_diagram() {
+        Goals goals = Goals.createGoalsFrom(TestSpiderDiagrams.EULER_DIAGRAM_A_SUBSET_B);
+        MultipleRuleArgs args = new MultipleRuleArgs(new ContourArg(0, 0, "C"), new ContourArg(0, 0, "A"));
+
+        assertFalse(introContour.isApplicable(args, goals));
+    }
+
+    @Test
+    public void isApplicable_should_reject_invalid_arguments() {
+        Goals goals = Goals.createGoalsFrom(TestSpiderDiagrams.EULER_DIAGRAM_A_SUBSET_B);
+        assertFalse(introContour.isApplicable(null, goals));
+        assertFalse(introContour.isApplicable(new ContourArg(0, 0, "C"), goals));
+        assertFalse(introContour.isApplicable(new MultipleRuleArgs(new ContourArg(0, 1, "C")), goals));
+        assertFalse(introContour.isApplicable(new MultipleRuleArgs(new ContourArg(1, 0, "C")), goals));
+        assertFalse(introContour.isApplicable(new MultipleRuleArgs(new ContourArg(0, 0, "C")), null));
+    }
 }
@@ -20,6 +20,7 @@ import java.util.List;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 
@@ -98,4 +99,22 @@ public class IntroduceShadedZoneTest {
                 equalTo(expectedResult));
 
     }
+
+    @Test
+    public void isApplicable_should_reject_present_zones() {
+        Goals goals = Goals.createGoalsFrom(TestSpiderDiagrams.EULER_DIAGRAM_A_SUBSET_B);
+        MultipleRuleArgs args = new MultipleRuleArgs(new ZoneArg(0, 0, new Zone(Collections.singleton("B"), Collections.singleton("A"))));
+
+        assertFalse(introShadedZone.isApplicable(args, goals));
+    }
+
+    @Test
+    public void isApplicable_should_reject_invalid_arguments() {
+        Goals goals = Goals.createGoalsFrom(TestSpiderDiagrams.EULER_DIAGRAM_A_SUBSET_B);
+        Zone missingZone = new Zone(Collections.singleton("A"), Collections.singleton("B"));
+        assertFalse(introShadedZone.isApplicable(null, goals));
+        assertFalse(introShadedZone.isApplicable(new ZoneArg(0, 0, missingZone), goals));
+        assertFalse(introShadedZone.isApplicable(new MultipleRuleArgs(new ZoneArg(0, 1, missingZone)), goals));
+        assertFalse(introShadedZone.isApplicable(new MultipleRuleArgs(new ZoneArg(0, 0, missingZone)), null));
+    }
 }
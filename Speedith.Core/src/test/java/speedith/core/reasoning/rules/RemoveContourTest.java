@@ -2,6 +2,7 @@ package speedith.core.reasoning.rules;
 
 import org.junit.Before;
 import org.junit.Test;
+import speedith.core.lang.Operator;
 import speedith.core.lang.PrimarySpiderDiagram;
 import speedith.core.lang.SpiderDiagram;
 import speedith.core.lang.TransformationException;
@@ -22,8 +23,10 @@ import java.util.List;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
+import static speedith.core.lang.SpiderDiagrams.createCompoundSD;
 
 /**
  *
@@ -115,4 +118,30 @@ public class RemoveContourTest {
         RuleApplicationResult result = removeContour.apply(new MultipleRuleArgs(new ContourArg(0,0,"C")), targetOfInference);
 
     }
+
+    @Test
+    public void isApplicable_should_reject_contours_that_are_not_in_the_target_diagram() {
+        Goals goals = Goals.createGoalsFrom(createCompoundSD(Operator.Implication, TestSpiderDiagrams.EULER_DIAGRAM_A_SUBSET_B, TestSpiderDiagrams.EULER_DIAGRAM_A_SUBSET_B));
+        MultipleRuleArgs args = new MultipleRuleArgs(new ContourArg(0, 1, "C"));
+
+        assertFalse(removeContour.isApplicable(args, goals));
+    }
+
+    @Test
+    public void isApplicable_should_reject_contours_of_a_conclusion() {
+        Goals goals = Goals.createGoalsFrom(createCompoundSD(Operator.Implication, TestSpiderDiagrams.EULER_DIAGRAM_A_SUBSET_B, TestSpiderDiagrams.EULER_DIAGRAM_A_SUBSET_B));
+
+        assertFalse(removeContour.isApplicable(new MultipleRuleArgs(new ContourArg(0, 2, "A")), goals));
+        assertFalse(removeContour.isApplicable(new MultipleRuleArgs(new ContourArg(0, 0, "A")), Goals.createGoalsFrom(TestSpiderDiagrams.EULER_DIAGRAM_A_SUBSET_B)));
+    }
+
+    @Test
+    public void isApplicable_should_reject_invalid_arguments() {
+        Goals goals = Goals.createGoalsFrom(createCompoundSD(Operator.Implication, TestSpiderDiagrams.EULER_DIAGRAM_A_SUBSET_B, TestSpiderDiagrams.EULER_DIAGRAM_A_SUBSET_B));
+        assertFalse(removeContour.isApplicable(null, goals));
+        assertFalse(removeContour.isApplicable(new MultipleRuleArgs(new ZoneArg(0, 1, Zone.fromInContours("A"))), goals));
+        assertFalse(removeContour.isApplicable(new MultipleRuleArgs(new ContourArg(0, 0, "A")), goals));
+        assertFalse(removeContour.isApplicable(new MultipleRuleArgs(new ContourArg(0, 3, "A")), goals));
+        assertFalse(removeContour.isApplicable(new MultipleRuleArgs(new ContourArg(0, 1, "A")), null));
+    }
 }
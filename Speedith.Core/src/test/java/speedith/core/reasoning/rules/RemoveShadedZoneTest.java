@@ -3,7 +3,9 @@ package speedith.core.reasoning.rules;
 import org.junit.Before;
 import org.junit.Test;
 import speedith.core.lang.PrimarySpiderDiagram;
+import speedith.core.lang.Region;
 import speedith.core.lang.SpiderDiagram;
+import speedith.core.lang.SpiderDiagrams;
 import speedith.core.lang.TransformationException;
 import speedith.core.lang.Zone;
 import speedith.core.reasoning.Goals;
@@ -18,10 +20,12 @@ import speedith.core.reasoning.util.unitary.TestSpiderDiagrams;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.TreeMap;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 
@@ -110,4 +114,39 @@ public class RemoveShadedZoneTest {
                 equalTo(expectedResult));
 
     }
+
+    @Test
+    public void isApplicable_should_reject_zones_that_are_not_shaded() {
+        Goals goals = Goals.createGoalsFrom(TestSpiderDiagrams.VENN_DIAGRAM_A_SUBSET_B);
+        MultipleRuleArgs args = new MultipleRuleArgs(new ZoneArg(0, 0, new Zone(Collections.singleton("B"), Collections.singleton("A"))));
+
+        assertFalse(removeShadedZone.isApplicable(args, goals));
+    }
+
+    @Test
+    public void isApplicable_should_reject_the_outer_zone() {
+        Goals goals = Goals.createGoalsFrom(TestSpiderDiagrams.VENN_DIAGRAM_EVERYTHING_A_OR_B);
+
+        assertFalse(removeShadedZone.isApplicable(new MultipleRuleArgs(new ZoneArg(0, 0, Zone.fromOutContours("A", "B"))), goals));
+    }
+
+    @Test
+    public void isApplicable_should_reject_zones_that_contain_a_spider() {
+        Zone zone = new Zone(Collections.singleton("A"), Collections.singleton("B"));
+        TreeMap<String, Region> habitats = new TreeMap<>();
+        habitats.put("s", new Region(zone));
+        PrimarySpiderDiagram target = SpiderDiagrams.createPrimarySD(Arrays.asList("s"), habitats, Arrays.asList(zone), TestSpiderDiagrams.POWER_REGION_AB);
+
+        assertFalse(removeShadedZone.isApplicable(new MultipleRuleArgs(new ZoneArg(0, 0, zone)), Goals.createGoalsFrom(target)));
+    }
+
+    @Test
+    public void isApplicable_should_reject_invalid_arguments() {
+        Goals goals = Goals.createGoalsFrom(TestSpiderDiagrams.VENN_DIAGRAM_A_SUBSET_B);
+        Zone shadedZone = new Zone(Collections.singleton("A"), Collections.singleton("B"));
+        assertFalse(removeShadedZone.isApplicable(null, goals));
+        assertFalse(removeShadedZone.isApplicable(new ZoneArg(0, 0, shadedZone), goals));
+        assertFalse(removeShadedZone.isApplicable(new MultipleRuleArgs(new ZoneArg(1, 0, shadedZone)), goals));
+        assertFalse(removeShadedZone.isApplicable(new MultipleRuleArgs(new ZoneArg(0, 0, shadedZone)), null));
+    }
 }
@@ -0,0 +1,42 @@
+package speedith.core.reasoning.rules;
+
+import org.junit.Test;
+import speedith.core.lang.Operator;
+import speedith.core.lang.Zone;
+import speedith.core.reasoning.Goals;
+import speedith.core.reasoning.args.MultipleRuleArgs;
+import speedith.core.reasoning.args.ZoneArg;
+
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+import static speedith.core.lang.SpiderDiagrams.createCompoundSD;
+import static speedith.core.reasoning.util.unitary.TestSpiderDiagrams.VENN_DIAGRAM_A_SUBSET_B;
+
+public class RemoveShadingTest {
+
+    private final RemoveShading rule = new RemoveShading();
+    private final Goals goals = Goals.createGoalsFrom(createCompoundSD(Operator.Implication, VENN_DIAGRAM_A_SUBSET_B, VENN_DIAGRAM_A_SUBSET_B));
+    private final Zone shadedZone = new Zone(Collections.singleton("A"), Collections.singleton("B"));
+
+    @Test
+    public void isApplicable_should_reject_zones_that_are_not_shaded() {
+        MultipleRuleArgs args = new MultipleRuleArgs(new ZoneArg(0, 1, new Zone(Collections.singleton("B"), Collections.singleton("A"))));
+
+        assertFalse(rule.isApplicable(args, goals));
+    }
+
+    @Test
+    public void isApplicable_should_reject_shaded_zones_of_a_conclusion() {
+        assertFalse(rule.isApplicable(new MultipleRuleArgs(new ZoneArg(0, 2, shadedZone)), goals));
+    }
+
+    @Test
+    public void isApplicable_should_reject_invalid_arguments() {
+        assertFalse(rule.isApplicable(null, goals));
+        assertFalse(rule.isApplicable(new ZoneArg(0, 1, shadedZone), goals));
+        assertFalse(rule.isApplicable(new MultipleRuleArgs(new ZoneArg(0, 0, shadedZone)), goals));
+        assertFalse(rule.isApplicable(new MultipleRuleArgs(new ZoneArg(1, 1, shadedZone)), goals));
+        assertFalse(rule.isApplicable(new MultipleRuleArgs(new ZoneArg(0, 1, shadedZone)), null));
+    }
+}
@@ -0,0 +1,47 @@
+package speedith.core.reasoning.rules;
+
+import org.junit.Test;
+import speedith.core.lang.Operator;
+import speedith.core.lang.SpiderDiagram;
+import speedith.core.reasoning.Goals;
+import speedith.core.reasoning.args.SubDiagramIndexArg;
+import speedith.core.reasoning.args.SubgoalIndexArg;
+
+import static org.junit.Assert.*;
+import static speedith.core.lang.SpiderDiagrams.createCompoundSD;
+import static speedith.core.reasoning.util.unitary.TestSpiderDiagrams.EULER_DIAGRAM_A_SUBSET_B;
+import static speedith.core.reasoning.util.unitary.TestSpiderDiagrams.VENN_DIAGRAM_A_SUBSET_B;
+
+public class SplitConjunctionTest {
+
+    private final SplitConjunction rule = new SplitConjunction();
+    private final SpiderDiagram conjunction = createCompoundSD(Operator.Conjunction, EULER_DIAGRAM_A_SUBSET_B, VENN_DIAGRAM_A_SUBSET_B);
+    private final Goals goals = Goals.createGoalsFrom(createCompoundSD(Operator.Implication, conjunction, conjunction));
+
+    @Test
+    public void apply_should_split_a_conjunction_in_a_conclusion_into_two_subgoals() throws Exception {
+        assertEquals(2, rule.apply(new SubDiagramIndexArg(0, 4), goals).getGoals().getGoalsCount());
+    }
+
+    @Test
+    public void isApplicable_should_reject_a_conjunction_in_a_premise() {
+        SubDiagramIndexArg args = new SubDiagramIndexArg(0, 1);
+
+        assertFalse(rule.isApplicable(args, goals));
+    }
+
+    @Test
+    public void isApplicable_should_reject_targets_that_are_not_conjunctions() {
+        assertFalse(rule.isApplicable(new SubDiagramIndexArg(0, 0), goals));
+        assertFalse(rule.isApplicable(new SubDiagramIndexArg(0, 5), goals));
+    }
+
+    @Test
+    public void isApplicable_should_reject_invalid_arguments() {
+        assertFalse(rule.isApplicable(null, goals));
+        assertFalse(rule.isApplicable(new SubgoalIndexArg(0), goals));
+        assertFalse(rule.isApplicable(new SubDiagramIndexArg(0, 7), goals));
+        assertFalse(rule.isApplicable(new SubDiagramIndexArg(1, 4), goals));
+        assertFalse(rule.isApplicable(new SubDiagramIndexArg(0, 4), null));
+    }
+}
@@ -0,0 +1,40 @@
+package speedith.core.reasoning.rules;
+
+import org.junit.Test;
+import speedith.core.lang.Operator;
+import speedith.core.lang.SpiderDiagram;
+import speedith.core.reasoning.Goals;
+import speedith.core.reasoning.args.SubDiagramIndexArg;
+import speedith.core.reasoning.args.SubgoalIndexArg;
+
+import static org.junit.Assert.*;
+import static speedith.core.lang.SpiderDiagrams.createCompoundSD;
+import static speedith.core.reasoning.util.unitary.TestSpiderDiagrams.DIAGRAM_SPEEDITH_PAPER_FIG7_2;
+import static speedith.core.reasoning.util.unitary.TestSpiderDiagrams.DIAGRAM_SPEEDITH_PAPER_FIG7_3;
+
+public class TrivialImplicationTautologyTest {
+
+    private final TrivialImplicationTautology rule = new TrivialImplicationTautology();
+    private final SpiderDiagram tautology = createCompoundSD(Operator.Implication, DIAGRAM_SPEEDITH_PAPER_FIG7_2, DIAGRAM_SPEEDITH_PAPER_FIG7_2);
+    private final SpiderDiagram nonTautology = createCompoundSD(Operator.Implication, DIAGRAM_SPEEDITH_PAPER_FIG7_2, DIAGRAM_SPEEDITH_PAPER_FIG7_3);
+
+    @Test
+    public void isApplicable_should_accept_an_implication_with_equal_operands() {
+        assertTrue(rule.isApplicable(new SubDiagramIndexArg(0, 0), Goals.createGoalsFrom(tautology)));
+    }
+
+    @Test
+    public void isApplicable_should_reject_an_implication_with_different_operands() {
+        assertFalse(rule.isApplicable(new SubDiagramIndexArg(0, 0), Goals.createGoalsFrom(nonTautology)));
+    }
+
+    @Test
+    public void isApplicable_should_reject_invalid_arguments() {
+        Goals goals = Goals.createGoalsFrom(tautology);
+        assertFalse(rule.isApplicable(new SubDiagramIndexArg(0, 1), goals));
+        assertFalse(rule.isApplicable(new SubDiagramIndexArg(0, 3), goals));
+        assertFalse(rule.isApplicable(new SubDiagramIndexArg(1, 0), goals));
+        assertFalse(rule.isApplicable(new SubgoalIndexArg(0), goals));
+        assertFalse(rule.isApplicable(new SubDiagramIndexArg(0, 0), null));
+    }
+}
@@ -0,0 +1,93 @@
+package speedith.core.reasoning.rules;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+import speedith.core.lang.Operator;
+import speedith.core.lang.SpiderDiagram;
+import speedith.core.lang.Zone;
+import speedith.core.reasoning.Goals;
+import speedith.core.reasoning.InferenceRule;
+import speedith.core.reasoning.args.*;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+import static speedith.core.lang.SpiderDiagrams.createCompoundSD;
+import static speedith.core.reasoning.util.unitary.TestSpiderDiagrams.*;
+
+/**
+ * Checks that {@link InferenceRule#tryApply(RuleArg, Goals)} of the rules
+ * that check their applicability directly agrees with {@link
+ * InferenceRule#apply(RuleArg, Goals)}. The tests of the individual rules
+ * check the other cases in which the rules are not applicable.
+ */
+@RunWith(Parameterized.class)
+public class TryApplyTest {
+
+    private static final Zone AOnly = new Zone(Collections.singleton("A"), Collections.singleton("B"));
+    private static final Zone BOnly = new Zone(Collections.singleton("B"), Collections.singleton("A"));
+    private static final SpiderDiagram Conjunction = createCompoundSD(Operator.Conjunction, EULER_DIAGRAM_A_SUBSET_B, VENN_DIAGRAM_A_SUBSET_B);
+    private static final Goals ConjunctionGoals = Goals.createGoalsFrom(implication(Conjunction, Conjunction));
+    private static final Goals EulerGoals = Goals.createGoalsFrom(EULER_DIAGRAM_A_SUBSET_B);
+    private static final Goals EulerImplicationGoals = Goals.createGoalsFrom(implication(EULER_DIAGRAM_A_SUBSET_B, EULER_DIAGRAM_A_SUBSET_B));
+    private static final Goals VennGoals = Goals.createGoalsFrom(VENN_DIAGRAM_A_SUBSET_B);
+    private static final Goals VennImplicationGoals = Goals.createGoalsFrom(implication(VENN_DIAGRAM_A_SUBSET_B, VENN_DIAGRAM_A_SUBSET_B));
+
+    private final InferenceRule<?> rule;
+    private final Goals goals;
+    private final RuleArg applicableArgs;
+    private final RuleArg inapplicableArgs;
+
+    public TryApplyTest(String name, InferenceRule<?> rule, Goals goals, RuleArg applicableArgs, RuleArg inapplicableArgs) {
+        this.rule = rule;
+        this.goals = goals;
+        this.applicableArgs = applicableArgs;
+        this.inapplicableArgs = inapplicableArgs;
+    }
+
+    @Parameters(name = "{0}")
+    public static Collection<Object[]> rules() {
+        return Arrays.asList(new Object[][]{
+                {"ConjunctionElimination", new ConjunctionElimination(), ConjunctionGoals,
+                        new MultipleRuleArgs(new SubDiagramIndexArg(0, 1), new SubDiagramIndexArg(0, 3)),
+                        new MultipleRuleArgs(new SubDiagramIndexArg(0, 4), new SubDiagramIndexArg(0, 5))},
+                {"IntroContour", new IntroContour(), EulerGoals,
+                        new MultipleRuleArgs(new ContourArg(0, 0, "C")),
+                        new MultipleRuleArgs(new ContourArg(0, 0, "C"), new ContourArg(0, 0, "A"))},
+                {"IntroShadedZone", new IntroShadedZone(), EulerGoals,
+                        new MultipleRuleArgs(new ZoneArg(0, 0, AOnly)),
+                        new MultipleRuleArgs(new ZoneArg(0, 0, BOnly))},
+                {"RemoveContour", new RemoveContour(), EulerImplicationGoals,
+                        new MultipleRuleArgs(new ContourArg(0, 1, "A")),
+                        new MultipleRuleArgs(new ContourArg(0, 1, "C"))},
+                {"RemoveShadedZone", new RemoveShadedZone(), VennGoals,
+                        new MultipleRuleArgs(new ZoneArg(0, 0, AOnly)),
+                        new MultipleRuleArgs(new ZoneArg(0, 0, BOnly))},
+                {"RemoveShading", new RemoveShading(), VennImplicationGoals,
+                        new MultipleRuleArgs(new ZoneArg(0, 1, AOnly)),
+                        new MultipleRuleArgs(new ZoneArg(0, 1, BOnly))},
+                {"SplitConjunction", new SplitConjunction(), ConjunctionGoals,
+                        new SubDiagramIndexArg(0, 4),
+                        new SubDiagramIndexArg(0, 1)},
+                {"TrivialImplicationTautology", new TrivialImplicationTautology(), VennImplicationGoals,
+                        new SubDiagramIndexArg(0, 0),
+                        new SubDiagramIndexArg(0, 1)}
+        });
+    }
+
+    @Test
+    public void tryApply_should_return_the_result_of_apply_when_applicable() throws Exception {
+        assertTrue(rule.isApplicable(applicableArgs, goals));
+        assertEquals(rule.apply(applicableArgs, goals).getGoals().getGoals(), rule.tryApply(applicableArgs, goals).getGoals().getGoals());
+    }
+
+    @Test
+    public void tryApply_should_return_null_when_not_applicable() {
+        assertFalse(rule.isApplicable(inapplicableArgs, goals));
+        assertNull(rule.tryApply(inapplicableArgs, goals));
+    }
+}
@@ -0,0 +1,40 @@
+package speedith.core.reasoning.tactical;
+
+import org.junit.Test;
+import speedith.core.lang.CompoundSpiderDiagram;
+import speedith.core.lang.Operator;
+import speedith.core.lang.PrimarySpiderDiagram;
+import speedith.core.lang.Zone;
+import speedith.core.reasoning.Goals;
+import speedith.core.reasoning.args.SubgoalIndexArg;
+import speedith.core.reasoning.rules.RemoveShadedZone;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+import static speedith.core.lang.SpiderDiagrams.createCompoundSD;
+import static speedith.core.lang.SpiderDiagrams.createPrimarySD;
+
+public class MatchConclusionTest {
+
+    private final Zone aOnly = Zone.fromInContours("A").withOutContours("B");
+    private final Zone bOnly = Zone.fromInContours("B").withOutContours("A");
+    private final Zone ab = Zone.fromInContours("A", "B");
+    private final Zone outside = Zone.fromOutContours("A", "B");
+
+    @Test
+    public void apply_should_remove_the_shaded_zones_missing_in_the_conclusion_but_not_a_shaded_outer_zone() throws Exception {
+        PrimarySpiderDiagram premise = createPrimarySD(null, null, Arrays.asList(outside, aOnly), Arrays.asList(outside, aOnly, bOnly, ab));
+        PrimarySpiderDiagram conclusion = createPrimarySD(null, null, Arrays.asList(outside, aOnly), Arrays.asList(bOnly, ab));
+        Goals goals = Goals.createGoalsFrom(createCompoundSD(Operator.Implication, premise, conclusion));
+
+        TacticApplicationResult result = new MatchConclusion().apply(new SubgoalIndexArg(0), goals);
+
+        assertEquals(1, result.getApplicationCount());
+        assertTrue(result.getApplicationList().get(0).getInference() instanceof RemoveShadedZone);
+        PrimarySpiderDiagram newPremise = (PrimarySpiderDiagram) ((CompoundSpiderDiagram) result.getGoals().getGoalAt(0)).getOperand(0);
+        assertEquals(3, newPremise.getPresentZones().size());
+        assertFalse(newPremise.getPresentZones().contains(aOnly));
+        assertTrue(newPremise.getVisibleShadedZones().contains(outside));
+    }
+}
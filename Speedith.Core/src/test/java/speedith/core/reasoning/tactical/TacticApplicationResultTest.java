@@ -0,0 +1,72 @@
+package speedith.core.reasoning.tactical;
+
+import org.junit.Test;
+import speedith.core.reasoning.Goals;
+import speedith.core.reasoning.InferenceApplication;
+import speedith.core.reasoning.RuleApplicationType;
+import speedith.core.reasoning.rules.ImplicationTautology;
+import speedith.core.reasoning.rules.Idempotency;
+
+import java.io.*;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+import static speedith.core.reasoning.Goals.createGoalsFrom;
+import static speedith.core.reasoning.util.unitary.TestSpiderDiagrams.DIAGRAM_SPEEDITH_PAPER_FIG7_2;
+
+public class TacticApplicationResultTest {
+
+    private final InferenceApplication app1 = new InferenceApplication(new Idempotency(), null, RuleApplicationType.TACTIC, "test");
+    private final InferenceApplication app2 = new InferenceApplication(new ImplicationTautology(), null, RuleApplicationType.TACTIC, "test");
+    private final Goals goals = createGoalsFrom(DIAGRAM_SPEEDITH_PAPER_FIG7_2);
+
+    @Test
+    public void withApplication_should_append_without_changing_the_original_result() {
+        TacticApplicationResult empty = new TacticApplicationResult();
+        TacticApplicationResult one = empty.withApplication(app1, goals);
+        TacticApplicationResult two = one.withApplication(app2, null);
+
+        assertTrue(empty.getApplicationList().isEmpty());
+        assertEquals(Arrays.asList(app1), one.getApplicationList());
+        assertEquals(Arrays.asList(app1, app2), two.getApplicationList());
+        assertSame(goals, one.getGoals());
+        assertNull(two.getGoals());
+    }
+
+    @Test
+    public void results_sharing_a_prefix_should_keep_their_own_applications() {
+        TacticApplicationResult prefix = new TacticApplicationResult(Arrays.asList(app1), goals);
+        TacticApplicationResult left = prefix.withApplication(app1, goals);
+        TacticApplicationResult right = prefix.withApplication(app2, goals);
+
+        assertEquals(Arrays.asList(app1, app1), left.getApplicationList());
+        assertEquals(Arrays.asList(app1, app2), right.getApplicationList());
+        assertEquals(Arrays.asList(app1), prefix.withGoals(null).getApplicationList());
+    }
+
+    @Test
+    public void deserialization_should_read_a_result_saved_by_the_former_implementation() throws IOException, ClassNotFoundException {
+        // Serialized with the list of applications of the former implementation.
+        try (ObjectInputStream input = new ObjectInputStream(TacticApplicationResultTest.class.getResourceAsStream("LegacyTacticApplicationResult.ser"))) {
+            TacticApplicationResult result = (TacticApplicationResult) input.readObject();
+            assertEquals(2, result.getApplicationCount());
+            assertTrue(result.getApplicationList().get(0).getInference() instanceof Idempotency);
+            assertTrue(result.getApplicationList().get(1).getInference() instanceof ImplicationTautology);
+            assertEquals(goals, result.getGoals());
+        }
+    }
+
+    @Test
+    public void serialization_should_restore_the_applications_and_goals() throws IOException, ClassNotFoundException {
+        TacticApplicationResult result = new TacticApplicationResult().withApplication(app1, null).withApplication(app2, goals);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(result);
+        }
+        try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            TacticApplicationResult restored = (TacticApplicationResult) input.readObject();
+            assertEquals(2, restored.getApplicationCount());
+            assertEquals(goals, restored.getGoals());
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package speedith.core.reasoning.tactical;
+
+import org.junit.Test;
+import speedith.core.reasoning.Goals;
+import speedith.core.reasoning.InferenceApplication;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.*;
+import static speedith.core.reasoning.util.unitary.TestSpiderDiagrams.*;
+
+public class TacticResultCacheTest {
+
+    private final Goals goals = Goals.createGoalsFrom(DIAGRAM_SPEEDITH_PAPER_FIG7_1);
+    private final Goals otherGoals = Goals.createGoalsFrom(DIAGRAM_SPEEDITH_PAPER_FIG7_2);
+
+    @Test
+    public void lookup_should_return_the_stored_result_for_equal_goals() throws TacticApplicationException {
+        TacticResultCache cache = new TacticResultCache(10);
+        TacticApplicationResult result = new TacticApplicationResult(new ArrayList<InferenceApplication>(), goals);
+
+        cache.storeResult("vennify", 0, goals, result);
+
+        assertSame(result, cache.lookup("vennify", 0, Goals.createGoalsFrom(DIAGRAM_SPEEDITH_PAPER_FIG7_1)));
+        assertNull(cache.lookup("vennify", 1, goals));
+        assertNull(cache.lookup("devennify", 0, goals));
+        assertNull(cache.lookup("vennify", 0, otherGoals));
+    }
+
+    @Test
+    public void lookup_should_throw_a_new_exception_with_the_message_of_the_stored_failure() {
+        TacticResultCache cache = new TacticResultCache(10);
+        TacticApplicationException failure = new TacticApplicationException("Could not apply tactic");
+        cache.storeFailure("vennify", 0, goals, failure);
+
+        try {
+            cache.lookup("vennify", 0, goals);
+            fail();
+        } catch (TacticApplicationException e) {
+            assertNotSame(failure, e);
+            assertEquals(failure.getMessage(), e.getMessage());
+        }
+    }
+
+    @Test
+    public void setCurrent_should_bind_the_cache_to_the_current_thread_and_return_the_previous_one() {
+        TacticResultCache cache = new TacticResultCache(10);
+
+        TacticResultCache previous = TacticResultCache.setCurrent(cache);
+        try {
+            assertSame(cache, TacticResultCache.getCurrent());
+        } finally {
+            assertSame(cache, TacticResultCache.setCurrent(previous));
+        }
+        assertSame(previous, TacticResultCache.getCurrent());
+    }
+
+    @Test
+    public void storeResult_should_drop_the_least_recently_used_entry() throws TacticApplicationException {
+        TacticResultCache cache = new TacticResultCache(2);
+        TacticApplicationResult result = new TacticApplicationResult();
+        cache.storeResult("a", 0, goals, result);
+        cache.storeResult("b", 0, goals, result);
+        cache.lookup("a", 0, goals);
+
+        cache.storeResult("c", 0, goals, result);
+
+        assertEquals(2, cache.size());
+        assertSame(result, cache.lookup("a", 0, goals));
+        assertNull(cache.lookup("b", 0, goals));
+        assertSame(result, cache.lookup("c", 0, goals));
+    }
+}
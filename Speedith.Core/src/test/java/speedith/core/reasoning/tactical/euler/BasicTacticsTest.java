@@ -0,0 +1,46 @@
+package speedith.core.reasoning.tactical.euler;
+
+import org.junit.Test;
+import scala.Option;
+import speedith.core.lang.Operator;
+import speedith.core.lang.PrimarySpiderDiagram;
+import speedith.core.lang.Zone;
+import speedith.core.lang.Zones;
+import speedith.core.reasoning.Goals;
+import speedith.core.reasoning.InferenceApplication;
+import speedith.core.reasoning.args.MultipleRuleArgs;
+import speedith.core.reasoning.args.SubgoalIndexArg;
+import speedith.core.reasoning.rules.IntroContour;
+import speedith.core.reasoning.tactical.MatchConclusion;
+import speedith.core.reasoning.tactical.TacticApplicationResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+import static speedith.core.lang.SpiderDiagrams.createCompoundSD;
+import static speedith.core.lang.SpiderDiagrams.createPrimarySD;
+
+public class BasicTacticsTest {
+
+    @Test
+    public void matchConclusionFast_should_introduce_all_missing_contours_at_once_and_reach_the_goal_of_matchConclusion() throws Exception {
+        PrimarySpiderDiagram premise = createPrimarySD(null, null, null, Arrays.asList(Zone.fromInContours("A"), Zone.fromOutContours("A")));
+        // The zone inside all contours is missing, so that the goal is not a
+        // trivial tautology once the contours are introduced.
+        ArrayList<Zone> conclusionZones = new ArrayList<>(Zones.allZonesForContours("A", "B", "C"));
+        PrimarySpiderDiagram conclusion = createPrimarySD(null, null, Arrays.asList(Zone.fromInContours("A", "B", "C")), conclusionZones.subList(0, conclusionZones.size() - 1));
+        Goals goals = Goals.createGoalsFrom(createCompoundSD(Operator.Implication, premise, conclusion));
+
+        Option<TacticApplicationResult> fast = BasicTactics.matchConclusionFast().apply("match").apply(goals).apply(0).apply(new TacticApplicationResult());
+        TacticApplicationResult stepwise = new MatchConclusion().apply(new SubgoalIndexArg(0), goals);
+
+        assertTrue(fast.isDefined());
+        assertEquals(stepwise.getGoals(), fast.get().getGoals());
+        assertEquals(2, stepwise.getApplicationCount());
+        assertEquals(1, fast.get().getApplicationCount());
+        InferenceApplication introduction = fast.get().getApplicationList().get(0);
+        assertTrue(introduction.getInference() instanceof IntroContour);
+        assertEquals(2, ((MultipleRuleArgs) introduction.getRuleArguments()).size());
+    }
+}
@@ -0,0 +1,39 @@
+package speedith.core.reasoning.tactical.euler;
+
+import org.junit.Test;
+import speedith.core.lang.PrimarySpiderDiagram;
+import speedith.core.lang.Zone;
+import speedith.core.reasoning.automatic.wrappers.PrimarySpiderDiagramOccurrence;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+import static speedith.core.lang.SpiderDiagrams.createPrimarySD;
+
+public class DiagramFactsTest {
+
+    private final Zone aOnly = Zone.fromInContours("A").withOutContours("B");
+    private final Zone bOnly = Zone.fromInContours("B").withOutContours("A");
+    private final Zone ab = Zone.fromInContours("A", "B");
+    private final Zone outside = Zone.fromOutContours("A", "B");
+    private final PrimarySpiderDiagram diagram = createPrimarySD(null, null, Arrays.asList(aOnly, ab), Arrays.asList(aOnly, bOnly, outside));
+
+    @Test
+    public void of_should_return_the_facts_cached_on_the_occurrence() {
+        PrimarySpiderDiagramOccurrence occurrence = new PrimarySpiderDiagramOccurrence(diagram, 1);
+        assertSame(DiagramFacts.of(occurrence), DiagramFacts.of(occurrence));
+    }
+
+    @Test
+    public void facts_should_split_the_shaded_zones_into_missing_and_visible_ones() {
+        DiagramFacts facts = DiagramFacts.of(new PrimarySpiderDiagramOccurrence(diagram, 0));
+        assertEquals(1, facts.missingZones().size());
+        assertTrue(facts.missingZones().contains(ab));
+        assertEquals(1, facts.visibleShadedZones().size());
+        assertTrue(facts.visibleShadedZones().contains(aOnly));
+        assertEquals(2, facts.unshadedZones().size());
+        assertTrue(facts.unshadedZones().contains(bOnly));
+        assertTrue(facts.unshadedZones().contains(outside));
+        assertEquals(2, facts.contours().size());
+    }
+}
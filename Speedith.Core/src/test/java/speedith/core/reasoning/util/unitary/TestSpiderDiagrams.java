@@ -9,7 +9,9 @@ import java.io.IOException;
 import java.util.*;
 
 import static java.util.Collections.unmodifiableList;
+import static speedith.core.lang.SpiderDiagrams.createCompoundSD;
 import static speedith.core.lang.SpiderDiagrams.createPrimarySD;
+import static speedith.core.lang.SpiderDiagrams.createValidPrimarySD;
 import static speedith.core.lang.Zones.getZonesInsideAllContours;
 import static speedith.core.lang.Zones.getZonesOutsideContours;
 
@@ -43,6 +45,22 @@ public class TestSpiderDiagrams {
 
     public static final PrimarySpiderDiagram EULER_DIAGRAM_A_SUBSET_B_INTERSECT_C = getASubSetBAndCPresent();
 
+    /**
+     * Creates an Euler diagram with two contours in which the inner contour
+     * is inside the outer one.
+     */
+    public static PrimarySpiderDiagram subset(String inner, String outer) {
+        return createValidPrimarySD(null, null, Arrays.asList(Zone.fromInContours(inner).withOutContours(outer)), Arrays.asList(Zone.fromOutContours(inner, outer)));
+    }
+
+    public static SpiderDiagram and(SpiderDiagram left, SpiderDiagram right) {
+        return createCompoundSD(Operator.Conjunction, left, right);
+    }
+
+    public static SpiderDiagram implication(SpiderDiagram premise, SpiderDiagram conclusion) {
+        return createCompoundSD(Operator.Implication, premise, conclusion);
+    }
+
     public static SpiderDiagram diagramSpeedithPaperFig7Goal() {
         return tryReadSpiderDiagramFromSDTFile(3);
     }
@@ -0,0 +1,79 @@
+package speedith.core.reasoning.util.unitary;
+
+import org.junit.Test;
+import speedith.core.lang.PrimarySpiderDiagram;
+import speedith.core.lang.Zone;
+import speedith.core.lang.Zones;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static speedith.core.lang.SpiderDiagrams.createPrimarySD;
+import static speedith.core.reasoning.util.unitary.TestSpiderDiagrams.*;
+
+public class ZoneTransferTopologicalTest {
+
+    private static final String[] Contours = {"A", "B", "C", "D", "E"};
+
+    @Test(expected = IllegalArgumentException.class)
+    public void transferContour_should_throw_an_exception_if_the_contour_is_in_the_destination_diagram() {
+        new ZoneTransferTopological(VENN_3_ABC_DIAGRAM, VENN_3_ABD_DIAGRAM).transferContour("A");
+    }
+
+    @Test
+    public void transferContour_should_equal_the_expanding_implementation_on_Venn_diagrams() {
+        ZoneTransferTopological zoneTransfer = new ZoneTransferTopological(VENN_3_ABC_DIAGRAM, VENN_3_ABD_DIAGRAM);
+        assertThat(
+                zoneTransfer.transferContour("C"),
+                equalTo(zoneTransfer.transferContourByExpansion("C"))
+        );
+    }
+
+    @Test
+    public void transferContour_should_equal_the_expanding_implementation_on_random_Euler_diagrams() {
+        Random random = new Random(20161019);
+        for (int i = 0; i < 500; i++) {
+            PrimarySpiderDiagram source = randomEulerDiagram(random);
+            PrimarySpiderDiagram destination = randomEulerDiagram(random);
+            ZoneTransferTopological zoneTransfer = new ZoneTransferTopological(source, destination);
+            for (String contour : zoneTransfer.contoursOnlyInSource()) {
+                assertThat(
+                        source + " -> " + destination,
+                        zoneTransfer.transferContour(contour),
+                        equalTo(zoneTransfer.transferContourByExpansion(contour))
+                );
+            }
+        }
+    }
+
+    /**
+     * Creates a normalised Euler diagram: every zone is either present or
+     * missing, and some of the present zones are shaded.
+     */
+    private static PrimarySpiderDiagram randomEulerDiagram(Random random) {
+        ArrayList<String> contours = new ArrayList<>();
+        for (String contour : Contours) {
+            if (random.nextInt(3) > 0) {
+                contours.add(contour);
+            }
+        }
+        ArrayList<Zone> shadedZones = new ArrayList<>();
+        ArrayList<Zone> presentZones = new ArrayList<>();
+        for (Zone zone : Zones.allZonesForContours(contours.toArray(new String[contours.size()]))) {
+            switch (random.nextInt(4)) {
+                case 0:
+                    shadedZones.add(zone);
+                    break;
+                case 1:
+                    shadedZones.add(zone);
+                    presentZones.add(zone);
+                    break;
+                default:
+                    presentZones.add(zone);
+            }
+        }
+        return createPrimarySD(null, null, shadedZones, presentZones);
+    }
+}
@@ -29,6 +29,7 @@ package speedith.ui;
 import icircles.abstractDescription.*;
 import icircles.concreteDiagram.ConcreteDiagram;
 import icircles.util.CannotDrawException;
+import java.math.BigInteger;
 import java.util.Map.Entry;
 import java.util.*;
 import javax.swing.JPanel;
@@ -45,6 +46,12 @@ public final class DiagramVisualisation {
     
     //<editor-fold defaultstate="collapsed" desc="Constants">
     private static final int DefaultDiagramSize = 500;
+    /**
+     * The maximum number of zones we are willing to draw. Diagrams may mention
+     * many more contours than the ones that fit into this limit, as long as
+     * most of their zones are missing.
+     */
+    private static final int MaxDrawnZones = 1 << 10;
     //</editor-fold>
 
     // <editor-fold defaultstate="collapsed" desc="Constructors">
@@ -63,7 +70,7 @@ public final class DiagramVisualisation {
      * @return an abstract description of the spider diagram that corresponds to
      * the given primary spider diagram.
      * @throws CannotDrawException This exception is thrown if there are too many
-     * contours in the diagram.
+     * zones to draw in the diagram.
      */
     public static AbstractDescription getAbstractDescription(PrimarySpiderDiagram psd) throws CannotDrawException {
 
@@ -76,10 +83,6 @@ public final class DiagramVisualisation {
         // diagram.
         SortedSet<String> contourStrings = psd.getAllContours();
 
-        if (contourStrings.size() > 10) {
-            throw new CannotDrawException(i18n("TOO_MANY_CONTOURS"));
-        }
-
         HashMap<String, AbstractCurve> contourMap = new HashMap<>();
         TreeSet<AbstractCurve> contours = new TreeSet<>();
         TreeSet<AbstractBasicRegion> shadedHabitatZones = new TreeSet<>();
@@ -87,14 +90,11 @@ public final class DiagramVisualisation {
 
         String[] allContours = contourStrings.toArray(new String[contourStrings.size()]);
 
-        // Now construct a list of all possible zones. There are 2^size(contours)
-        // zones. This is why we don't want more than say 10 contours... Things
-        // just blow up otherwise.
-        int allZonesCount = 1 << contourStrings.size();
-        // This array contains bit flags for each zone. The flags indicate whether
-        // a particular zone is shaded or whether is part of a spider's habitat
-        // (or both).
-        byte[] allZones = new byte[allZonesCount];
+        // There are 2^size(contours) possible zones. Instead of allocating an
+        // array for all of them, we keep bit flags only for the zones that are
+        // mentioned in the diagram. The flags indicate whether a particular
+        // zone is shaded or whether is part of a spider's habitat (or both).
+        HashMap<BitSet, Byte> markedZones = new HashMap<>();
         final byte IsShaded = 1;
         final byte IsInHabitat = 2;
         final byte IsPresent = 4;
@@ -111,7 +111,7 @@ public final class DiagramVisualisation {
             for (Region region : psd.getHabitats().values()) {
                 for (Zone zone : region.sortedZones()) {
                     // Mark this zone as being part of a spider's habitat.
-                    markZone(allZones, allContours, zone, IsInHabitat);
+                    markZone(markedZones, allContours, zone, IsInHabitat);
                 }
             }
         }
@@ -119,31 +119,51 @@ public final class DiagramVisualisation {
         // Mark all present zones:
         if (psd.getPresentZonesCount() > 0) {
             for (Zone zone : psd.getPresentZones()) {
-                markZone(allZones, allContours, zone, IsPresent);
+                markZone(markedZones, allContours, zone, IsPresent);
             }
         }
 
         // Finally, get the shaded zones:
         if (psd.getShadedZonesCount() > 0) {
             for (Zone zone : psd.getShadedZones()) {
-                markZone(allZones, allContours, zone, IsShaded);
+                markZone(markedZones, allContours, zone, IsShaded);
             }
         }
 
-        // Now get all the zones that are not shaded:
-        for (int i = 0; i < allZones.length; i++) {
-            byte b = allZones[i];
+        // The shaded zones that are neither in a habitat nor present are not
+        // drawn. All other zones are. We refuse to draw too many of them.
+        int hiddenZonesCount = 0;
+        for (Entry<BitSet, Byte> markedZone : markedZones.entrySet()) {
+            byte b = markedZone.getValue();
             if ((b & IsShaded) == 0) {
-                // The zone is not shaded. Put it into the list of non-shaded zones.
-                final AbstractBasicRegion abr = constructABR(allContours, i, contourMap);
-                allVisibleZones.add(abr);
-            } else if ((b & IsInHabitat) != 0 || (b & IsPresent) != 0) {
+                continue;
+            }
+            if ((b & IsInHabitat) != 0 || (b & IsPresent) != 0) {
                 // The zone is shaded and it is also in a habitat of a spider or just forced to be present.
                 // This means that we have to specify it as a shaded zone (to
                 // force it being drawn).
-                final AbstractBasicRegion abr = constructABR(allContours, i, contourMap);
+                final AbstractBasicRegion abr = constructABR(allContours, markedZone.getKey(), contourMap);
                 allVisibleZones.add(abr);
                 shadedHabitatZones.add(abr);
+            } else {
+                ++hiddenZonesCount;
+            }
+        }
+        BigInteger drawnZonesCount = Zones.allZonesCount(allContours.length).subtract(BigInteger.valueOf(hiddenZonesCount));
+        if (drawnZonesCount.compareTo(BigInteger.valueOf(MaxDrawnZones)) > 0) {
+            throw new CannotDrawException(i18n("TOO_MANY_CONTOURS"));
+        }
+
+        // Now get all the zones that are not shaded. At this point there are at
+        // most 'MaxDrawnZones' of them, and fewer than 2^31 zones in total (the
+        // rest are shaded zones in the diagram).
+        long allZonesCount = 1L << allContours.length;
+        for (long zoneIndex = 0; zoneIndex < allZonesCount; zoneIndex++) {
+            BitSet zone = BitSet.valueOf(new long[]{zoneIndex});
+            Byte b = markedZones.get(zone);
+            if (b == null || (b & IsShaded) == 0) {
+                // The zone is not shaded. Put it into the list of non-shaded zones.
+                allVisibleZones.add(constructABR(allContours, zone, contourMap));
             }
         }
         AbstractDescription ad = new AbstractDescription(contours, allVisibleZones, shadedHabitatZones);
@@ -226,18 +246,19 @@ public final class DiagramVisualisation {
 
     // <editor-fold defaultstate="collapsed" desc="Private Helper Methods">
     /**
-     * This method assigns the given code to the given zone in the 'allZones'
-     * array.
+     * This method assigns the given code to the given zone in the 'markedZones'
+     * map.
      * <p>This method effectively flags the zone with the given code.</p>
      */
-    private static void markZone(byte[] allZones, String[] allContours, Zone zone, byte code) {
+    private static void markZone(HashMap<BitSet, Byte> markedZones, String[] allContours, Zone zone, byte code) {
         // We have to mark the zone with the given code. But how do we determine
-        // the index of the zone?
+        // the key of the zone?
         // Well, say we have N contours. Then a zone is specified with N bits,
         // where 1 means that the zone is inside that contour and 0 means that
         // the zone is outside.
-        // The resulting number is the index of the zone.
-        allZones[getZoneInMask(allContours, zone)] |= code;
+        BitSet zoneMask = getZoneInMask(allContours, zone);
+        Byte oldCode = markedZones.get(zoneMask);
+        markedZones.put(zoneMask, (byte) (oldCode == null ? code : oldCode | code));
     }
 
     static SpeedithCirclesPanel getSpiderDiagramPanel(AbstractDescription ad, int size) throws CannotDrawException {
@@ -251,23 +272,20 @@ public final class DiagramVisualisation {
         return new SpeedithCirclesPanel(cd);
     }
 
-    private static int getZoneInMask(String[] allContours, Zone zone) {
-        int mask = 0;
+    private static BitSet getZoneInMask(String[] allContours, Zone zone) {
+        BitSet mask = new BitSet(allContours.length);
         if (zone.getInContoursCount() > 0) {
             for (String inContour : zone.getInContours()) {
-                int contourIndex = Arrays.binarySearch(allContours, inContour);
-                mask |= (1 << contourIndex);
+                mask.set(Arrays.binarySearch(allContours, inContour));
             }
         }
         return mask;
     }
 
-    private static AbstractBasicRegion constructABR(String[] allContours, int zoneIndex, HashMap<String, AbstractCurve> contourMap) {
+    private static AbstractBasicRegion constructABR(String[] allContours, BitSet zoneMask, HashMap<String, AbstractCurve> contourMap) {
         TreeSet<AbstractCurve> inContours = new TreeSet<>();
-        for (int i = 0; i < allContours.length; i++) {
-            if ((zoneIndex & (1 << i)) != 0) {
-                inContours.add(contourMap.get(allContours[i]));
-            }
+        for (int i = zoneMask.nextSetBit(0); i >= 0; i = zoneMask.nextSetBit(i + 1)) {
+            inContours.add(contourMap.get(allContours[i]));
         }
         return AbstractBasicRegion.get(inContours);
     }